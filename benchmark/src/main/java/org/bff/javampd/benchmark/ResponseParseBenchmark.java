@@ -0,0 +1,116 @@
+package org.bff.javampd.benchmark;
+
+import org.bff.javampd.server.ResponseReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a large <code>listallinfo</code> style response through a
+ * <code>BufferedReader</code>, the way responses used to be read, with the byte level
+ * {@link ResponseReader}, both for every line and for only the <code>file:</code> values.
+ * <p>
+ * The response is generated rather than recorded so the run is repeatable; about one title in
+ * eight has non ASCII characters.
+ *
+ * @author bill
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseParseBenchmark {
+    private static final String FILE_PREFIX = "file:";
+    private static final byte[] FILE_PREFIX_BYTES = FILE_PREFIX.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OK = "OK".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"20000"})
+    private int songs;
+
+    private byte[] response;
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < songs; i++) {
+            if (i % 12 == 0) {
+                sb.append("directory: Artist ").append(i / 120).append("/Album ").append(i / 12).append('\n');
+            }
+            sb.append("file: Artist ").append(i / 120).append("/Album ").append(i / 12)
+                    .append("/").append(i % 12 + 1).append(" - Song ").append(i).append(".flac\n");
+            sb.append("Last-Modified: 2016-02-14T12:34:56Z\n");
+            sb.append("Time: ").append(180 + i % 240).append('\n');
+            sb.append("duration: ").append(180 + i % 240).append(".123\n");
+            sb.append("Artist: Artist ").append(i / 120).append('\n');
+            sb.append("AlbumArtist: Artist ").append(i / 120).append('\n');
+            sb.append("Title: ").append(i % 8 == 0 ? "Sigur Rós Ágætis byrjun " : "Song ").append(i).append('\n');
+            sb.append("Album: Album ").append(i / 12).append('\n');
+            sb.append("Track: ").append(i % 12 + 1).append('\n');
+            sb.append("Date: ").append(1970 + i % 50).append('\n');
+            sb.append("Genre: Genre ").append(i % 20).append('\n');
+        }
+        sb.append("OK\n");
+        response = sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<String> bufferedReaderLines() throws IOException {
+        List<String> lines = new ArrayList<>();
+        BufferedReader reader = bufferedReader();
+        String line;
+        while (!"OK".equals(line = reader.readLine())) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    @Benchmark
+    public List<String> bufferedReaderFileValues() throws IOException {
+        List<String> values = new ArrayList<>();
+        for (String line : bufferedReaderLines()) {
+            if (line.startsWith(FILE_PREFIX)) {
+                values.add(line.substring(FILE_PREFIX.length()).trim());
+            }
+        }
+        return values;
+    }
+
+    @Benchmark
+    public List<String> responseReaderLines() throws IOException {
+        List<String> lines = new ArrayList<>();
+        ResponseReader reader = responseReader();
+        while (reader.nextLine() && !reader.lineEquals(OK)) {
+            lines.add(reader.getLine());
+        }
+        return lines;
+    }
+
+    @Benchmark
+    public List<String> responseReaderFileValues() throws IOException {
+        List<String> values = new ArrayList<>();
+        ResponseReader reader = responseReader();
+        while (reader.nextLine() && !reader.lineEquals(OK)) {
+            if (reader.lineStartsWith(FILE_PREFIX_BYTES)) {
+                values.add(reader.getValue(FILE_PREFIX_BYTES.length));
+            }
+        }
+        return values;
+    }
+
+    private BufferedReader bufferedReader() {
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(response), StandardCharsets.UTF_8));
+    }
+
+    private ResponseReader responseReader() {
+        return new ResponseReader(new ByteArrayInputStream(response), StandardCharsets.UTF_8);
+    }
+}
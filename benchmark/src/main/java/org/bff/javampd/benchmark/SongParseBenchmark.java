@@ -0,0 +1,77 @@
+package org.bff.javampd.benchmark;
+
+import org.bff.javampd.song.MPDSong;
+import org.bff.javampd.song.MPDSongConverter;
+import org.bff.javampd.song.SongConverter;
+import org.bff.javampd.song.SongProcessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per song cost of turning response lines into {@link MPDSong}s.  <code>allProcessors</code> offers
+ * every line to each of the tag processors in turn, the way the converter used to, and
+ * <code>dispatch</code> uses the converter, which looks up the one processor for the tag of the line.
+ *
+ * @author bill
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SongParseBenchmark {
+    private static final int SONGS = 1000;
+    private static final String FILE_PREFIX = SongProcessor.getDelimitingPrefix();
+
+    private final SongConverter converter = new MPDSongConverter();
+    private List<String> response;
+
+    @Setup
+    public void setUp() {
+        response = new ArrayList<>();
+        for (int i = 0; i < SONGS; i++) {
+            response.add("file: Artist/Album " + i / 12 + "/" + i + ".flac");
+            response.add("Last-Modified: 2016-02-14T12:34:56Z");
+            response.add("Time: " + (180 + i % 240));
+            response.add("duration: " + (180 + i % 240) + ".123");
+            response.add("Artist: Artist " + i / 120);
+            response.add("AlbumArtist: Artist " + i / 120);
+            response.add("Title: Song " + i);
+            response.add("Album: Album " + i / 12);
+            response.add("Track: " + (i % 12 + 1));
+            response.add("Date: " + (1970 + i % 50));
+            response.add("Genre: Genre " + i % 20);
+            response.add("Disc: 1");
+            response.add("Pos: " + i);
+            response.add("Id: " + i);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SONGS)
+    public List<MPDSong> allProcessors() {
+        List<MPDSong> songs = new ArrayList<>();
+        MPDSong song = null;
+        for (String line : response) {
+            if (line.startsWith(FILE_PREFIX)) {
+                song = new MPDSong(line.substring(FILE_PREFIX.length()).trim(), "");
+                songs.add(song);
+            } else if (song != null) {
+                for (SongProcessor songProcessor : SongProcessor.values()) {
+                    songProcessor.getProcessor().processTag(song, line);
+                }
+            }
+        }
+        return songs;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SONGS)
+    public List<MPDSong> dispatch() {
+        return converter.convertResponseToSong(response);
+    }
+}
@@ -6,4 +6,12 @@ public interface Clock {
     LocalDateTime now();
 
     LocalDateTime min();
+
+    /**
+     * @return the current value of a monotonic time source in nanoseconds, only meaningful as the
+     * difference between two calls
+     */
+    default long nanoTime() {
+        return System.nanoTime();
+    }
 }
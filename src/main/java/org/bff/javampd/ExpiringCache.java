@@ -0,0 +1,100 @@
+package org.bff.javampd;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Holds a value loaded from the server until it is older than the expiry interval.  Reads are lock
+ * free.  When the value has expired only one thread loads it, threads asking at the same time wait
+ * for that load and share the result instead of sending the same command again.
+ *
+ * @param <T> the type of value
+ * @author bill
+ */
+public class ExpiringCache<T> {
+    private final Clock clock;
+    private final Supplier<T> loader;
+    private final Object lock = new Object();
+
+    private volatile long expiryNanos;
+    private volatile Entry<T> entry;
+
+    /**
+     * @param clock                 the source of time
+     * @param expiryIntervalSeconds how long a value is kept
+     * @param loader                loads a new value
+     */
+    public ExpiringCache(Clock clock, long expiryIntervalSeconds, Supplier<T> loader) {
+        this.clock = clock;
+        this.loader = loader;
+        setExpiryInterval(expiryIntervalSeconds);
+    }
+
+    /**
+     * Returns the value, loading it first if it has expired
+     *
+     * @return the value
+     */
+    public T get() {
+        long now = clock.nanoTime();
+        Entry<T> current = this.entry;
+        if (isExpired(current, now)) {
+            synchronized (lock) {
+                current = this.entry;
+                if (isExpired(current, now)) {
+                    T value = loader.get();
+                    current = new Entry<>(value, clock.nanoTime());
+                    this.entry = current;
+                }
+            }
+        }
+        return current.value;
+    }
+
+    /**
+     * Replaces the value with one just read from the server
+     *
+     * @param value the value
+     */
+    public void set(T value) {
+        this.entry = new Entry<>(value, clock.nanoTime());
+    }
+
+    /**
+     * Sets how long a value is kept, 0 loads a new value every time
+     *
+     * @param seconds the expiry interval in seconds
+     */
+    public void setExpiryInterval(long seconds) {
+        this.expiryNanos = TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+    /**
+     * Drops the value so the next call loads a new one
+     */
+    public void invalidate() {
+        this.entry = null;
+    }
+
+    /*
+     * A value loaded by another thread after this one asked has a negative age, so it is shared
+     * even when the expiry interval is 0.
+     */
+    private boolean isExpired(Entry<T> current, long now) {
+        if (current == null) {
+            return true;
+        }
+        long age = now - current.loaded;
+        return expiryNanos == 0 ? age >= 0 : age > expiryNanos;
+    }
+
+    private static class Entry<T> {
+        private final T value;
+        private final long loaded;
+
+        private Entry(T value, long loaded) {
+            this.value = value;
+            this.loaded = loaded;
+        }
+    }
+}
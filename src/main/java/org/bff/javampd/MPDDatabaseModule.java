@@ -15,8 +15,8 @@ import org.bff.javampd.genre.GenreDatabase;
 import org.bff.javampd.genre.MPDGenreDatabase;
 import org.bff.javampd.playlist.MPDPlaylistDatabase;
 import org.bff.javampd.playlist.PlaylistDatabase;
+import org.bff.javampd.song.IndexedSongSearcher;
 import org.bff.javampd.song.MPDSongDatabase;
-import org.bff.javampd.song.MPDSongSearcher;
 import org.bff.javampd.song.SongDatabase;
 import org.bff.javampd.song.SongSearcher;
 import org.bff.javampd.year.DateDatabase;
@@ -39,6 +39,6 @@ public class MPDDatabaseModule extends AbstractModule {
         bind(FileDatabase.class).to(MPDFileDatabase.class);
         bind(DateDatabase.class).to(MPDDateDatabase.class);
         bind(MusicDatabase.class).to(MPDMusicDatabase.class);
-        bind(SongSearcher.class).to(MPDSongSearcher.class);
+        bind(SongSearcher.class).to(IndexedSongSearcher.class);
     }
 }
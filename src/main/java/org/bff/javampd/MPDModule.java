@@ -7,7 +7,7 @@ import org.bff.javampd.album.AlbumConverter;
 import org.bff.javampd.album.MPDAlbumConverter;
 import org.bff.javampd.command.CommandExecutor;
 import org.bff.javampd.command.MPDCommandExecutor;
-import org.bff.javampd.database.MPDTagLister;
+import org.bff.javampd.database.IndexedTagLister;
 import org.bff.javampd.database.TagLister;
 import org.bff.javampd.player.MPDPlayer;
 import org.bff.javampd.player.Player;
@@ -35,7 +35,7 @@ public class MPDModule extends AbstractModule {
         bind(ServerStatistics.class).to(MPDServerStatistics.class);
         bind(Player.class).to(MPDPlayer.class);
         bind(CommandExecutor.class).to(MPDCommandExecutor.class);
-        bind(TagLister.class).to(MPDTagLister.class);
+        bind(TagLister.class).to(IndexedTagLister.class);
         bind(SongConverter.class).to(MPDSongConverter.class);
         bind(AlbumConverter.class).to(MPDAlbumConverter.class);
         bind(Clock.class).to(MPDSystemClock.class);
@@ -76,7 +76,8 @@ public interface AlbumDatabase {
      * Returns a windowed list of {@link org.bff.javampd.album.MPDAlbum}s between the specified
      * <tt>fromIndex</tt>, inclusive, and <tt>toIndex</tt>, exclusive.  (If
      * <tt>fromIndex</tt> and <tt>toIndex</tt> are equal, the returned list is
-     * empty.)
+     * empty.)  The full list is kept until the next database update so paging doesn't list every
+     * album again.
      *
      * @param start starting number
      * @param end   ending number
@@ -85,6 +86,16 @@ public interface AlbumDatabase {
      */
     Collection<MPDAlbum> listAllAlbums(int start, int end);
 
+    /**
+     * Returns up to <tt>count</tt> {@link org.bff.javampd.album.MPDAlbum}s following an album.  Unlike
+     * {@link #listAllAlbums(int, int)} pages don't shift when the database is updated between calls.
+     *
+     * @param album the last album of the previous page or null for the first page
+     * @param count the most albums to return
+     * @return a {@link java.util.Collection} of {@link org.bff.javampd.album.MPDAlbum}s
+     */
+    Collection<MPDAlbum> listAllAlbumsAfter(MPDAlbum album, int count);
+
     /**
      * Returns a list of {@link MPDAlbum}s for the album name.
      *
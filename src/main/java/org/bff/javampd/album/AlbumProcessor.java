@@ -2,11 +2,17 @@ package org.bff.javampd.album;
 
 import org.bff.javampd.processor.*;
 
+import java.util.Arrays;
+
 public enum AlbumProcessor {
     ARTIST(new ArtistTagProcessor()),
     DATE(new DateTagProcessor()),
     ALBUM(new AlbumTagProcessor());
 
+    private static final TagDispatcher<AlbumTagResponseProcessor> DISPATCHER = new TagDispatcher<>(
+            Arrays.stream(values()).map(AlbumProcessor::getProcessor).toArray(AlbumTagResponseProcessor[]::new),
+            AlbumTagResponseProcessor::getPrefix);
+
     private final transient AlbumTagResponseProcessor albumTagResponseProcessor;
 
     AlbumProcessor(AlbumTagResponseProcessor albumTagResponseProcessor) {
@@ -25,4 +31,14 @@ public enum AlbumProcessor {
     public static String getDelimitingPrefix() {
         return ALBUM.getProcessor().getPrefix();
     }
+
+    /**
+     * Returns the processor for the tag of a response line
+     *
+     * @param line the response line
+     * @return the processor or null if the tag isn't processed
+     */
+    public static AlbumTagResponseProcessor lookup(String line) {
+        return DISPATCHER.lookup(line);
+    }
 }
@@ -2,6 +2,7 @@ package org.bff.javampd.album;
 
 import org.bff.javampd.MPDItem;
 import org.bff.javampd.artist.MPDConverter;
+import org.bff.javampd.processor.AlbumTagResponseProcessor;
 
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -44,8 +45,9 @@ public class MPDAlbumConverter extends MPDConverter implements AlbumConverter {
 
     @Override
     public void processLine(MPDItem item, String line) {
-        for (AlbumProcessor albumProcessor : AlbumProcessor.values()) {
-            albumProcessor.getProcessor().processTag((MPDAlbum) item, line);
+        AlbumTagResponseProcessor processor = AlbumProcessor.lookup(line);
+        if (processor != null) {
+            processor.processTag((MPDAlbum) item, line);
         }
     }
 }
@@ -2,11 +2,14 @@ package org.bff.javampd.album;
 
 import com.google.inject.Inject;
 import org.bff.javampd.artist.MPDArtist;
+import org.bff.javampd.database.ListingCache;
 import org.bff.javampd.database.TagLister;
 import org.bff.javampd.genre.MPDGenre;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,6 +25,15 @@ public class MPDAlbumDatabase implements AlbumDatabase {
 
     private TagLister tagLister;
     private AlbumConverter albumConverter;
+    private ListingCache listingCache;
+
+    /**
+     * albums are listed grouped by artist, the date only separates albums of the same name
+     */
+    private static final Comparator<MPDAlbum> LISTING_ORDER =
+            Comparator.comparing(MPDAlbum::getArtistName, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                    .thenComparing(MPDAlbum::getName)
+                    .thenComparing(MPDAlbum::getDate, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
 
     private static final TagLister.GroupType[] ALBUM_TAGS = {
             TagLister.GroupType.ARTIST,
@@ -30,9 +42,11 @@ public class MPDAlbumDatabase implements AlbumDatabase {
 
     @Inject
     public MPDAlbumDatabase(TagLister tagLister,
-                            AlbumConverter albumConverter) {
+                            AlbumConverter albumConverter,
+                            ListingCache listingCache) {
         this.tagLister = tagLister;
         this.albumConverter = albumConverter;
+        this.listingCache = listingCache;
     }
 
     @Override
@@ -62,12 +76,19 @@ public class MPDAlbumDatabase implements AlbumDatabase {
 
     @Override
     public Collection<MPDAlbum> listAllAlbums(int start, int end) {
-        List<MPDAlbum> albums = new ArrayList<>(listAllAlbums());
+        return listAlbums().window(start, end);
+    }
 
-        int toIndex = end > albums.size() ? albums.size() : end;
-        int fromIndex = start > end ? end : start;
+    @Override
+    public Collection<MPDAlbum> listAllAlbumsAfter(MPDAlbum album, int count) {
+        return listAlbums().after(album, count);
+    }
 
-        return albums.subList(fromIndex, toIndex);
+    private ListingCache.Listing<MPDAlbum> listAlbums() {
+        return listingCache.get("albums",
+                this::listAllAlbums,
+                album -> Arrays.asList(album.getName(), album.getArtistName(), album.getDate()),
+                LISTING_ORDER);
     }
 
     @Override
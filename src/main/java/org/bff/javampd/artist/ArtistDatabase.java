@@ -18,6 +18,53 @@ public interface ArtistDatabase {
      */
     Collection<MPDArtist> listAllArtists();
 
+    /**
+     * Returns a windowed list of {@link org.bff.javampd.artist.MPDArtist}s between <tt>start</tt>,
+     * inclusive, and <tt>end</tt>, exclusive.  The full list is kept until the next database update
+     * so paging doesn't list every artist again.
+     *
+     * @param start starting number
+     * @param end   ending number
+     * @return a {@link java.util.Collection} of {@link org.bff.javampd.artist.MPDArtist}s
+     */
+    Collection<MPDArtist> listAllArtists(int start, int end);
+
+    /**
+     * Returns up to <tt>count</tt> {@link org.bff.javampd.artist.MPDArtist}s following an artist.
+     *
+     * @param artist the last artist of the previous page or null for the first page
+     * @param count  the most artists to return
+     * @return a {@link java.util.Collection} of {@link org.bff.javampd.artist.MPDArtist}s
+     */
+    Collection<MPDArtist> listAllArtistsAfter(MPDArtist artist, int count);
+
+    /**
+     * Returns a {@link java.util.Collection} of {@link org.bff.javampd.artist.MPDArtist}s of all
+     * album artists in the database.
+     *
+     * @return a {@link java.util.Collection} of {@link org.bff.javampd.artist.MPDArtist}s
+     */
+    Collection<MPDArtist> listAllAlbumArtists();
+
+    /**
+     * Returns a windowed list of album artists between <tt>start</tt>, inclusive, and <tt>end</tt>,
+     * exclusive.
+     *
+     * @param start starting number
+     * @param end   ending number
+     * @return a {@link java.util.Collection} of {@link org.bff.javampd.artist.MPDArtist}s
+     */
+    Collection<MPDArtist> listAllAlbumArtists(int start, int end);
+
+    /**
+     * Returns up to <tt>count</tt> album artists following an album artist.
+     *
+     * @param artist the last album artist of the previous page or null for the first page
+     * @param count  the most album artists to return
+     * @return a {@link java.util.Collection} of {@link org.bff.javampd.artist.MPDArtist}s
+     */
+    Collection<MPDArtist> listAllAlbumArtistsAfter(MPDArtist artist, int count);
+
     /**
      * Returns a {@link java.util.Collection} of {@link org.bff.javampd.artist.MPDArtist}s of all
      * artists by a particular genre.
@@ -1,6 +1,7 @@
 package org.bff.javampd.artist;
 
 import com.google.inject.Inject;
+import org.bff.javampd.database.ListingCache;
 import org.bff.javampd.database.TagLister;
 import org.bff.javampd.genre.MPDGenre;
 import org.slf4j.Logger;
@@ -23,20 +24,56 @@ public class MPDArtistDatabase implements ArtistDatabase {
     private static final Logger LOGGER = LoggerFactory.getLogger(MPDArtistDatabase.class);
 
     private TagLister tagLister;
+    private ListingCache listingCache;
 
     @Inject
-    public MPDArtistDatabase(TagLister tagLister) {
+    public MPDArtistDatabase(TagLister tagLister,
+                             ListingCache listingCache) {
         this.tagLister = tagLister;
+        this.listingCache = listingCache;
     }
 
     @Override
     public Collection<MPDArtist> listAllArtists() {
-        return tagLister.list(TagLister.ListType.ARTIST)
+        return listArtists(TagLister.ListType.ARTIST);
+    }
+
+    @Override
+    public Collection<MPDArtist> listAllArtists(int start, int end) {
+        return listing(TagLister.ListType.ARTIST).window(start, end);
+    }
+
+    @Override
+    public Collection<MPDArtist> listAllArtistsAfter(MPDArtist artist, int count) {
+        return listing(TagLister.ListType.ARTIST).after(artist, count);
+    }
+
+    @Override
+    public Collection<MPDArtist> listAllAlbumArtists() {
+        return listArtists(TagLister.ListType.ALBUM_ARTIST);
+    }
+
+    @Override
+    public Collection<MPDArtist> listAllAlbumArtists(int start, int end) {
+        return listing(TagLister.ListType.ALBUM_ARTIST).window(start, end);
+    }
+
+    @Override
+    public Collection<MPDArtist> listAllAlbumArtistsAfter(MPDArtist artist, int count) {
+        return listing(TagLister.ListType.ALBUM_ARTIST).after(artist, count);
+    }
+
+    private Collection<MPDArtist> listArtists(TagLister.ListType listType) {
+        return tagLister.list(listType)
                 .stream()
                 .map(s -> new MPDArtist(convertResponse(s)))
                 .collect(Collectors.toList());
     }
 
+    private ListingCache.Listing<MPDArtist> listing(TagLister.ListType listType) {
+        return listingCache.get(listType.getType(), () -> listArtists(listType), MPDArtist::getName);
+    }
+
     @Override
     public Collection<MPDArtist> listArtistsByGenre(MPDGenre genre) {
         List<String> list = new ArrayList<>();
@@ -0,0 +1,218 @@
+package org.bff.javampd.command;
+
+import org.bff.javampd.MPDException;
+import org.bff.javampd.server.MPDCommandListException;
+import org.bff.javampd.server.MPDCommandListSecurityException;
+import org.bff.javampd.server.MPDConnectionException;
+import org.bff.javampd.server.MPDResponseException;
+import org.bff.javampd.server.MPDSecurityException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Merges commands sent by different threads at about the same time into a single command list.  The
+ * first caller of a batch waits up to the window for others to join, or until the batch is full, then
+ * sends the whole batch and hands each caller the response of its own command.  A batch is sent
+ * with the earliest deadline of its commands so no caller waits longer than its own deadline.
+ *
+ * @author bill
+ */
+class CommandBatcher {
+    private final BiFunction<List<MPDCommand>, Deadline, List<List<String>>> listSender;
+    private final BiFunction<MPDCommand, Deadline, List<String>> commandSender;
+    private final long windowNanos;
+    private final int maxCommands;
+
+    private final Object lock = new Object();
+    private List<PendingCommand> batch = new ArrayList<>();
+
+    /**
+     * Creates the batcher
+     *
+     * @param listSender    sends a command list by the deadline and returns the response of each command
+     * @param commandSender sends a single command by the deadline, used when nobody joined the batch
+     * @param windowMillis  the time to wait for other commands to join a batch
+     * @param maxCommands   the number of commands that sends a batch straight away
+     */
+    CommandBatcher(BiFunction<List<MPDCommand>, Deadline, List<List<String>>> listSender,
+                   BiFunction<MPDCommand, Deadline, List<String>> commandSender,
+                   int windowMillis,
+                   int maxCommands) {
+        if (windowMillis < 0) {
+            throw new IllegalArgumentException("Batch window cannot be negative");
+        }
+
+        if (maxCommands < 1) {
+            throw new IllegalArgumentException("Batches must hold at least 1 command");
+        }
+
+        this.listSender = listSender;
+        this.commandSender = commandSender;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxCommands = maxCommands;
+    }
+
+    /**
+     * Adds the command to the current batch and waits for its response
+     *
+     * @param command the command to send
+     * @return the response lines of the command
+     */
+    List<String> send(MPDCommand command) {
+        return send(command, Deadline.NONE);
+    }
+
+    /**
+     * Adds the command to the current batch and waits for its response
+     *
+     * @param command  the command to send
+     * @param deadline the time by which the command has to be answered
+     * @return the response lines of the command
+     */
+    List<String> send(MPDCommand command, Deadline deadline) {
+        PendingCommand pending = new PendingCommand(command, deadline);
+        boolean leader;
+        synchronized (lock) {
+            batch.add(pending);
+            leader = batch.size() == 1;
+            if (batch.size() >= maxCommands) {
+                lock.notifyAll();
+            }
+        }
+
+        if (leader) {
+            send(collectBatch());
+        }
+
+        return pending.get();
+    }
+
+    private List<PendingCommand> collectBatch() {
+        boolean interrupted = false;
+        synchronized (lock) {
+            long deadline = System.nanoTime() + windowNanos;
+            long remaining = windowNanos;
+            while (batch.size() < maxCommands && remaining > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    break;
+                }
+                remaining = deadline - System.nanoTime();
+            }
+
+            List<PendingCommand> commands = batch;
+            batch = new ArrayList<>();
+
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return commands;
+        }
+    }
+
+    private void send(List<PendingCommand> commands) {
+        List<PendingCommand> remaining = commands;
+        while (!remaining.isEmpty()) {
+            remaining = sendBatch(remaining);
+        }
+    }
+
+    /**
+     * Sends the commands and completes their futures
+     *
+     * @return the commands that weren't run because an earlier command in the list failed
+     */
+    private List<PendingCommand> sendBatch(List<PendingCommand> commands) {
+        if (commands.size() == 1) {
+            PendingCommand pending = commands.get(0);
+            try {
+                pending.future.complete(commandSender.apply(pending.command, pending.deadline));
+            } catch (RuntimeException e) {
+                pending.future.completeExceptionally(e);
+            }
+            return new ArrayList<>();
+        }
+
+        List<MPDCommand> commandList = new ArrayList<>();
+        Deadline deadline = Deadline.NONE;
+        for (PendingCommand pending : commands) {
+            commandList.add(pending.command);
+            deadline = deadline.earliest(pending.deadline);
+        }
+
+        try {
+            List<List<String>> responses = listSender.apply(commandList, deadline);
+            for (int i = 0; i < commands.size(); i++) {
+                commands.get(i).future.complete(i < responses.size() ? responses.get(i) : new ArrayList<>());
+            }
+            return new ArrayList<>();
+        } catch (MPDCommandListException e) {
+            return failAt(commands, e.getCommandIndex(), e.getResponses(),
+                    new MPDResponseException(e.getMessage(), e.getCommand()));
+        } catch (MPDCommandListSecurityException e) {
+            return failAt(commands, e.getCommandIndex(), e.getResponses(),
+                    new MPDSecurityException(e.getMessage(), e.getCommand()));
+        } catch (RuntimeException e) {
+            commands.forEach(pending -> pending.future.completeExceptionally(e));
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Completes the commands that ran before the failed one and fails that one
+     *
+     * @return the commands after the failed one, which didn't run
+     */
+    private static List<PendingCommand> failAt(List<PendingCommand> commands, int failed,
+                                               List<List<String>> responses, MPDException error) {
+        for (int i = 0; i < failed && i < commands.size(); i++) {
+            commands.get(i).future.complete(responses.get(i));
+        }
+        if (failed >= commands.size()) {
+            return new ArrayList<>();
+        }
+        commands.get(failed).future.completeExceptionally(error);
+        return new ArrayList<>(commands.subList(failed + 1, commands.size()));
+    }
+
+    private static class PendingCommand {
+        private final MPDCommand command;
+        private final Deadline deadline;
+        private final CompletableFuture<List<String>> future = new CompletableFuture<>();
+
+        private PendingCommand(MPDCommand command, Deadline deadline) {
+            this.command = command;
+            this.deadline = deadline;
+        }
+
+        private List<String> get() {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        return future.get();
+                    } catch (InterruptedException e) {
+                        //the batch is already on its way, the response still has to be read
+                        interrupted = true;
+                    }
+                }
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof MPDException) {
+                    throw (MPDException) e.getCause();
+                }
+                throw new MPDConnectionException(e.getCause());
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package org.bff.javampd.command;
 
+import org.bff.javampd.server.ConnectionChangeListener;
+import org.bff.javampd.server.ConnectionState;
 import org.bff.javampd.server.MPD;
+import org.bff.javampd.server.MPDEventLoopGroup;
+import org.bff.javampd.server.MPDSocket;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * @author bill
@@ -47,6 +54,61 @@ public interface CommandExecutor {
      */
     Collection<String> sendCommand(MPDCommand command);
 
+    /**
+     * Sends a {@link MPDCommand} to the {@link org.bff.javampd.server.MPD} server handing each line of
+     * the response to the consumer while the response is still being read, so the response is never
+     * held in memory as a whole.  The consumer runs while the connection is held, keep it quick and
+     * don't send commands from it: a command sent on the connection being read throws an
+     * {@link IllegalStateException}.  When using {@link #useEventLoopGroup} the response is read in full
+     * before it is handed to the consumer.
+     * <p>
+     * Commands are only retried if the connection fails before the first line has been handed over.
+     * If the consumer throws, the rest of the response is discarded and the exception rethrown.
+     *
+     * @param command  the command to send
+     * @param consumer receives the response lines in order
+     */
+    void streamCommand(MPDCommand command, Consumer<String> consumer);
+
+    /**
+     * Sends a {@link MPDCommand} to the {@link org.bff.javampd.server.MPD} server returning only the
+     * values of the response lines that start with one of the prefixes, such as <code>file:</code>.
+     * The other lines are skipped without being decoded, which saves a lot of garbage on large
+     * responses like <code>lsinfo</code>.
+     *
+     * @param command  the command to send
+     * @param prefixes the prefixes of the response lines to keep
+     * @return the values after the prefixes as a <CODE>List</CODE> of <CODE>Strings</CODE>
+     */
+    List<String> sendCommandForValues(MPDCommand command, String... prefixes);
+
+    /**
+     * Sends a {@link MPDCommand} to the {@link org.bff.javampd.server.MPD} server without waiting for
+     * the response.  Asynchronous commands are pipelined on a connection of their own so many commands
+     * can be in flight at once, and the responses complete the futures in the order the commands were sent.
+     * <p>
+     * Failed commands are not retried, the future completes exceptionally with a
+     * {@link org.bff.javampd.server.MPDConnectionException} or
+     * {@link org.bff.javampd.server.MPDSecurityException}.
+     *
+     * @param command the command to send
+     * @return a future completed with the response as a <CODE>List</CODE> of <CODE>Strings</CODE>
+     */
+    CompletableFuture<List<String>> sendCommandAsync(MPDCommand command);
+
+    /**
+     * Sends a command and waits no longer than the timeout, including the time spent waiting for
+     * a free connection, reconnecting and reading the whole response.  A connection that doesn't
+     * finish its answer in time is dropped and the next command reconnects, so a stalled or slow
+     * server doesn't hold up later commands.
+     *
+     * @param command the command to send
+     * @param timeout the longest time to wait for the response
+     * @return the response lines
+     * @throws org.bff.javampd.server.MPDTimeoutException if the response didn't arrive in time
+     */
+    List<String> sendCommand(MPDCommand command, Duration timeout);
+
     /**
      * Sends a list of {@link MPDCommand}s all at once to the MPD server and returns
      * true if all commands were sent successfully.  If any of the commands received
@@ -56,6 +118,16 @@ public interface CommandExecutor {
      */
     void sendCommands(List<MPDCommand> commandList);
 
+    /**
+     * Sends a list of {@link MPDCommand}s all at once to the MPD server and returns the
+     * response of each command, so several queries need only one round trip.
+     *
+     * @param commandList the list of {@link MPDCommand}s
+     * @return the response lines of each command, in the order the commands were given
+     * @throws org.bff.javampd.server.MPDCommandListException if one of the commands failed
+     */
+    List<List<String>> sendCommandList(List<MPDCommand> commandList);
+
     /**
      * Returns the {@link org.bff.javampd.server.MPD} version
      *
@@ -82,6 +154,109 @@ public interface CommandExecutor {
      */
     void usePassword(String password);
 
+    /**
+     * Creates a new authenticated {@link MPDSocket} that is not shared with any other caller of this
+     * executor.  Use this for commands such as <code>idle</code> that block until the server has
+     * something to report.  The caller is responsible for closing the socket.
+     *
+     * @return a new {@link MPDSocket}
+     */
+    MPDSocket createDedicatedSocket();
+
+    /**
+     * Sends commands over a pool of connections instead of a single shared connection so commands
+     * from different threads run in parallel.  Pooled connections are opened on demand and
+     * authenticated with the password given to {@link #usePassword}.
+     *
+     * @param settings the pool size and timeouts
+     */
+    void useConnectionPool(ConnectionPoolSettings settings);
+
+    /**
+     * Sends all commands, blocking and asynchronous, pipelined over a single non-blocking connection
+     * driven by the given {@link MPDEventLoopGroup} instead of blocking sockets.  Blocking commands wait
+     * for their response but no thread is dedicated to the connection, so a few event loop threads can
+     * serve many servers.  Takes precedence over {@link #useConnectionPool}.
+     *
+     * @param eventLoopGroup the shared event loops
+     */
+    void useEventLoopGroup(MPDEventLoopGroup eventLoopGroup);
+
+    /**
+     * Merges commands sent by different threads at about the same time into a single command list
+     * so they share one round trip.  The first command of a batch waits up to the window for others
+     * to join, a full batch is sent straight away.  Commands are already pipelined when using
+     * {@link #useEventLoopGroup} so they aren't batched.
+     *
+     * @param windowMillis the time in milliseconds to wait for other commands to join a batch
+     * @param maxCommands  the most commands in one batch
+     */
+    void useCommandBatching(int windowMillis, int maxCommands);
+
+    /**
+     * Sends bulk reads such as <code>listallinfo</code> or <code>lsinfo</code> on a connection of
+     * their own so interactive commands like pause never wait for a large response to finish.
+     * Commands are classed by name, use {@link MPDCommand#withPriority} to choose the lane for a
+     * single call.  A command list only goes on the bulk connection when all its commands are bulk.
+     * Pooled commands already run on separate connections so the pool isn't split into lanes.
+     */
+    void usePriorityLanes();
+
+    /**
+     * Gives every command a deadline as if it had been sent with {@link #sendCommand(MPDCommand, Duration)},
+     * including streamed responses and command lists.  A streamed response may take longer as long as
+     * the server keeps sending it.  A batch of commands is sent with the earliest deadline of its commands.
+     *
+     * @param commandTimeout the timeout in milliseconds, 0 to wait forever
+     */
+    void setCommandTimeout(int commandTimeout);
+
+    /**
+     * Limits the number of callers waiting for a connection.  Once the limit is reached further
+     * commands fail straight away with an {@link org.bff.javampd.server.MPDConnectionException}
+     * instead of queueing behind a slow server.  Commands pipelined over an
+     * {@link MPDEventLoopGroup} don't wait for a connection and aren't limited.
+     *
+     * @param maxQueuedCommands the most waiting callers, 0 for no limit
+     */
+    void setMaxQueuedCommands(int maxQueuedCommands);
+
+    /**
+     * Stops commands from reconnecting on their own once the server can't be reached.  Commands
+     * then fail straight away while a background task tries to reach the server, doubling the delay
+     * between attempts from the initial delay up to the maximum.  Connections over an
+     * {@link MPDEventLoopGroup} reconnect on the next command as before.
+     *
+     * @param initialDelay the delay in milliseconds before the first attempt
+     * @param maxDelay     the longest delay in milliseconds between attempts
+     */
+    void useReconnectBackoff(int initialDelay, int maxDelay);
+
+    /**
+     * Returns the state of the connection to the server.  Always connected unless
+     * {@link #useReconnectBackoff} is used.
+     *
+     * @return the connection state
+     */
+    ConnectionState getConnectionState();
+
+    /**
+     * Adds a listener told when the server becomes unreachable and when the connection is restored
+     * in the background.  Only fired when {@link #useReconnectBackoff} is used.  An
+     * {@link org.bff.javampd.server.MPD} passes these events on to the connection listeners of
+     * {@link org.bff.javampd.server.MPD#getMonitor()}, so applications should listen there.
+     *
+     * @param listener the listener
+     */
+    void addConnectionChangeListener(ConnectionChangeListener listener);
+
+    /**
+     * Removes a connection change listener
+     *
+     * @param listener the listener
+     */
+    void removeConnectionChangeListener(ConnectionChangeListener listener);
+
     /**
      * Close the connection executor socket
      */
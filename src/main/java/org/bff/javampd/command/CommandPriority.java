@@ -0,0 +1,18 @@
+package org.bff.javampd.command;
+
+/**
+ * The lane a {@link MPDCommand} is sent on when the executor keeps separate connections for
+ * interactive commands and bulk reads.
+ *
+ * @author bill
+ */
+public enum CommandPriority {
+    /**
+     * short commands a user is waiting on, such as play or pause
+     */
+    INTERACTIVE,
+    /**
+     * large reads such as a scan of the database that can wait behind each other
+     */
+    BULK
+}
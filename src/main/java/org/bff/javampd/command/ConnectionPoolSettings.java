@@ -0,0 +1,59 @@
+package org.bff.javampd.command;
+
+/**
+ * Sizing and timeouts for the {@link MPDCommandExecutor} connection pool.
+ * <p>
+ * All timeouts are in milliseconds.  An idle timeout of 0 never evicts idle connections and
+ * a borrow timeout of 0 waits forever for a free connection.
+ *
+ * @author bill
+ */
+public class ConnectionPoolSettings {
+    private final int minSize;
+    private final int maxSize;
+    private final int idleTimeout;
+    private final int borrowTimeout;
+
+    /**
+     * Creates the pool settings
+     *
+     * @param minSize       the number of idle connections kept open when evicting
+     * @param maxSize       the maximum number of connections to the server
+     * @param idleTimeout   the time a connection may sit idle before it is closed, 0 to never close
+     * @param borrowTimeout the time to wait for a free connection, 0 to wait forever
+     */
+    public ConnectionPoolSettings(int minSize, int maxSize, int idleTimeout, int borrowTimeout) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Maximum pool size must be at least 1");
+        }
+
+        if (minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Minimum pool size must be between 0 and " + maxSize);
+        }
+
+        if (idleTimeout < 0 || borrowTimeout < 0) {
+            throw new IllegalArgumentException("Pool timeouts cannot be negative");
+        }
+
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeout = idleTimeout;
+        this.borrowTimeout = borrowTimeout;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public int getBorrowTimeout() {
+        return borrowTimeout;
+    }
+}
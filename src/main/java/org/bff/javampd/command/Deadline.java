@@ -0,0 +1,76 @@
+package org.bff.javampd.command;
+
+import org.bff.javampd.server.MPDTimeoutException;
+
+import java.time.Duration;
+
+/**
+ * The time by which a command has to be answered, or none to wait forever
+ *
+ * @author bill
+ */
+final class Deadline {
+    static final Deadline NONE = new Deadline(0, false);
+
+    private final long nanoTime;
+    private final boolean set;
+
+    private Deadline(long nanoTime, boolean set) {
+        this.nanoTime = nanoTime;
+        this.set = set;
+    }
+
+    /**
+     * Creates the deadline the timeout from now
+     *
+     * @param timeout the time the command may take
+     * @return the deadline
+     */
+    static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos(), true);
+    }
+
+    /**
+     * Creates the deadline a number of milliseconds from now
+     *
+     * @param timeout the time the command may take in milliseconds, 0 for no deadline
+     * @return the deadline
+     */
+    static Deadline afterMillis(int timeout) {
+        return timeout > 0 ? after(Duration.ofMillis(timeout)) : NONE;
+    }
+
+    /**
+     * Returns the deadline that passes first
+     *
+     * @param deadline the other deadline
+     * @return the earlier of the two
+     */
+    Deadline earliest(Deadline deadline) {
+        if (!deadline.set) {
+            return this;
+        }
+        if (!set) {
+            return deadline;
+        }
+        return deadline.nanoTime - nanoTime < 0 ? deadline : this;
+    }
+
+    boolean isSet() {
+        return set;
+    }
+
+    /**
+     * Returns the time left before the deadline
+     *
+     * @return the time left
+     * @throws MPDTimeoutException if the deadline has already passed
+     */
+    Duration remaining() {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining <= 0) {
+            throw new MPDTimeoutException("Timed out before the command could be sent");
+        }
+        return Duration.ofNanos(remaining);
+    }
+}
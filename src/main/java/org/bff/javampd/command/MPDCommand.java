@@ -15,6 +15,7 @@ import java.util.List;
 public class MPDCommand {
     private String command;
     private List<String> params;
+    private CommandPriority priority;
 
     /**
      * Constructor for MPD command for a command requiring more than 1 parameter.
@@ -51,6 +52,28 @@ public class MPDCommand {
         return params;
     }
 
+    /**
+     * Returns the priority the command was given with {@link #withPriority}.  Returns null
+     * if the executor decides from the command itself.
+     *
+     * @return the priority of the command
+     */
+    public CommandPriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Returns a copy of this command sent on the lane of the priority whatever the command is.
+     *
+     * @param priority the priority of the command
+     * @return the command with the priority
+     */
+    public MPDCommand withPriority(CommandPriority priority) {
+        MPDCommand mpdCommand = new MPDCommand(command, params.toArray(new String[params.size()]));
+        mpdCommand.priority = priority;
+        return mpdCommand;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
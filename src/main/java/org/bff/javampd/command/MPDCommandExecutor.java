@@ -1,17 +1,37 @@
 package org.bff.javampd.command;
 
 import com.google.inject.Singleton;
+import org.bff.javampd.MPDException;
 import org.bff.javampd.server.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Executes commands to the {@link org.bff.javampd.server.MPD}.
  * You <b>MUST</b> call {@link #setMpd} before making any calls
  * to the server
+ * <p>
+ * By default all commands share a single connection.  After {@link #useConnectionPool} commands
+ * are sent over a pool of connections so independent commands from different threads run in parallel.
+ * After {@link #useEventLoopGroup} all commands are pipelined over one non-blocking connection driven
+ * by the shared {@link MPDEventLoopGroup}.  After {@link #useCommandBatching} commands sent by different
+ * threads at about the same time are merged into command lists.
  *
  * @author bill
  */
@@ -23,6 +43,21 @@ public class MPDCommandExecutor implements CommandExecutor {
     private MPD mpd;
     private ServerProperties serverProperties;
     private String password;
+    private volatile MPDConnectionPool pool;
+    private AsyncConnection asyncConnection;
+    private volatile MPDEventLoopGroup eventLoopGroup;
+    private volatile CommandBatcher batcher;
+    private volatile int commandTimeout;
+    private volatile int maxQueuedCommands;
+    private volatile ConnectionCircuit circuit;
+    private volatile boolean priorityLanes;
+    private final Set<String> bulkReads;
+    private MPDSocket bulkSocket;
+    private AsyncConnection bulkAsyncConnection;
+    private final List<ConnectionChangeListener> connectionListeners = new CopyOnWriteArrayList<>();
+    private final Object asyncLock = new Object();
+    private final ReentrantLock socketLock = new ReentrantLock();
+    private final ReentrantLock bulkLock = new ReentrantLock();
 
     /**
      * You <b>MUST</b> call {@link #setMpd} before
@@ -30,65 +65,499 @@ public class MPDCommandExecutor implements CommandExecutor {
      */
     public MPDCommandExecutor() {
         serverProperties = new ServerProperties();
+        bulkReads = new HashSet<>(serverProperties.getBulkReads());
     }
 
     @Override
-    public synchronized List<String> sendCommand(String command) {
+    public List<String> sendCommand(String command) {
         return sendCommand(new MPDCommand(command));
     }
 
     @Override
-    public synchronized List<String> sendCommand(String command, String... params) {
+    public List<String> sendCommand(String command, String... params) {
         return sendCommand(new MPDCommand(command, params));
     }
 
     @Override
-    public synchronized List<String> sendCommand(String command, Integer... params) {
+    public List<String> sendCommand(String command, Integer... params) {
         String[] intParms = new String[params.length];
         for (int i = 0; i < params.length; ++i) {
             intParms[i] = Integer.toString(params[i]);
         }
-        return new ArrayList<>(sendCommand(new MPDCommand(command, intParms)));
+        return sendCommand(new MPDCommand(command, intParms));
     }
 
     @Override
-    public synchronized List<String> sendCommand(MPDCommand command) {
+    public List<String> sendCommand(MPDCommand command) {
+        return sendCommand(command, Deadline.afterMillis(this.commandTimeout));
+    }
+
+    @Override
+    public List<String> sendCommand(MPDCommand command, Duration timeout) {
+        return sendCommand(command, Deadline.after(timeout));
+    }
+
+    private List<String> sendCommand(MPDCommand command, Deadline deadline) {
+        if (this.eventLoopGroup != null) {
+            return sendAndWait(isBulk(command), deadline, connection -> connection.sendCommand(command));
+        }
+
+        if (this.pool == null && isBulk(command)) {
+            return sendSingleCommand(command, deadline);
+        }
+
+        CommandBatcher commandBatcher = this.batcher;
+        if (commandBatcher != null && isBatchable(command)) {
+            return commandBatcher.send(command, deadline);
+        }
+
+        return sendSingleCommand(command, deadline);
+    }
+
+    private List<String> sendSingleCommand(MPDCommand command, Deadline deadline) {
+        return sendOnSocket(isBulk(command), deadline, command.getCommand(),
+                (socket, d) -> d.isSet() ? socket.sendCommand(command, d.remaining()) : socket.sendCommand(command));
+    }
+
+    private void lockSocket() {
+        lockSocket(socketLock);
+    }
+
+    private void lockSocket(ReentrantLock lock) {
+        checkQueue(lock);
+        lock.lock();
+    }
+
+    private void lockSocket(ReentrantLock lock, Deadline deadline) {
+        if (!deadline.isSet()) {
+            lockSocket(lock);
+            return;
+        }
+
+        checkQueue(lock);
         try {
-            checkSocket();
-            return new ArrayList<>(mpdSocket.sendCommand(command));
+            if (!lock.tryLock(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new MPDTimeoutException("Timed out waiting for the connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MPDConnectionException("Interrupted waiting for the connection", e);
+        }
+    }
+
+    private void checkQueue(ReentrantLock lock) {
+        int limit = this.maxQueuedCommands;
+        int waiting = lock.getQueueLength();
+        if (limit > 0 && waiting >= limit && !lock.isHeldByCurrentThread()) {
+            throw new MPDConnectionException("Too many commands waiting for the connection, " + waiting + " already waiting");
+        }
+    }
+
+    /**
+     * A command sent while this thread holds the connection, such as from a response consumer, isn't
+     * batched since the batch would wait for the connection this thread is holding
+     */
+    private boolean isBatchable(MPDCommand command) {
+        return !command.getCommand().equals(serverProperties.getClose())
+                && !command.getCommand().equals(serverProperties.getPassword())
+                && !socketLock.isHeldByCurrentThread();
+    }
+
+    private boolean isBulk(MPDCommand command) {
+        if (!this.priorityLanes) {
+            return false;
+        }
+
+        CommandPriority priority = command.getPriority();
+        if (priority != null) {
+            return priority == CommandPriority.BULK;
+        }
+        return bulkReads.contains(command.getCommand());
+    }
+
+    private boolean isBulk(List<MPDCommand> commandList) {
+        return !commandList.isEmpty() && commandList.stream().allMatch(this::isBulk);
+    }
+
+    /**
+     * Sends on a pooled connection, the bulk connection or the shared connection.  The deadline covers
+     * the wait for the connection as well as each read of the response.
+     */
+    private <T> T sendOnSocket(boolean bulk, Deadline deadline, String commandName,
+                               BiFunction<MPDSocket, Deadline, T> send) {
+        MPDConnectionPool connectionPool = this.pool;
+        if (connectionPool != null) {
+            checkMpd();
+            MPDSocket socket = deadline.isSet()
+                    ? connectionPool.borrow(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS)
+                    : connectionPool.borrow();
+            return sendOnPooledSocket(connectionPool, socket, commandName, pooledSocket -> send.apply(pooledSocket, deadline));
+        }
+
+        if (bulk) {
+            lockSocket(bulkLock, deadline);
+            try {
+                return sendOnBulkSocket(socket -> send.apply(socket, deadline));
+            } finally {
+                bulkLock.unlock();
+            }
+        }
+
+        lockSocket(socketLock, deadline);
+        try {
+            try {
+                checkSocket();
+                return send.apply(mpdSocket, deadline);
+            } catch (MPDCommandListSecurityException se) {
+                throw se;
+            } catch (MPDSecurityException se) {
+                LOGGER.warn("Connection exception while sending {}, will retry", commandName, se);
+                authenticate();
+                return send.apply(mpdSocket, deadline);
+            }
+        } finally {
+            socketLock.unlock();
+        }
+    }
+
+    /**
+     * Sends on the bulk connection so a large read doesn't hold up the interactive commands
+     */
+    private <T> T sendOnBulkSocket(Function<MPDSocket, T> send) {
+        if (bulkSocket == null) {
+            bulkSocket = createDedicatedSocket();
+        }
+
+        try {
+            return send.apply(bulkSocket);
+        } catch (MPDCommandListSecurityException se) {
+            throw se;
         } catch (MPDSecurityException se) {
-            LOGGER.warn("Connection exception while sending command {}, will retry", command.getCommand(), se);
-            authenticate();
-            return new ArrayList<>(mpdSocket.sendCommand(command));
+            LOGGER.warn("Connection exception while sending bulk command, will retry", se);
+            authenticate(bulkSocket, se);
+            return send.apply(bulkSocket);
         }
     }
 
     @Override
-    public synchronized void sendCommands(List<MPDCommand> commandList) {
+    public void streamCommand(MPDCommand command, Consumer<String> consumer) {
+        Deadline deadline = Deadline.afterMillis(this.commandTimeout);
+        if (this.eventLoopGroup != null) {
+            sendAndWait(isBulk(command), deadline, connection -> connection.sendCommand(command)).forEach(consumer);
+            return;
+        }
+
+        sendOnSocket(isBulk(command), deadline, command.getCommand(), (socket, d) -> {
+            if (d.isSet()) {
+                socket.streamCommand(command, consumer, d.remaining());
+            } else {
+                socket.streamCommand(command, consumer);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public List<String> sendCommandForValues(MPDCommand command, String... prefixes) {
+        Deadline deadline = Deadline.afterMillis(this.commandTimeout);
+        if (this.eventLoopGroup != null) {
+            return filterValues(sendAndWait(isBulk(command), deadline, connection -> connection.sendCommand(command)), prefixes);
+        }
+
+        return sendOnSocket(isBulk(command), deadline, command.getCommand(),
+                (socket, d) -> d.isSet()
+                        ? socket.sendCommandForValues(command, d.remaining(), prefixes)
+                        : socket.sendCommandForValues(command, prefixes));
+    }
+
+    private static List<String> filterValues(List<String> response, String... prefixes) {
+        List<String> values = new ArrayList<>();
+        for (String line : response) {
+            for (String prefix : prefixes) {
+                if (line.startsWith(prefix)) {
+                    values.add(line.substring(prefix.length()).trim());
+                    break;
+                }
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public CompletableFuture<List<String>> sendCommandAsync(MPDCommand command) {
         try {
-            checkSocket();
-            mpdSocket.sendCommands(commandList);
+            return getAsyncConnection(isBulk(command)).sendCommand(command);
+        } catch (MPDException e) {
+            CompletableFuture<List<String>> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+
+    private AsyncConnection getAsyncConnection(boolean bulk) {
+        synchronized (asyncLock) {
+            checkMpd();
+
+            if (bulk) {
+                if (bulkAsyncConnection == null || bulkAsyncConnection.isClosed()) {
+                    bulkAsyncConnection = openAsyncConnection();
+                }
+                return bulkAsyncConnection;
+            }
+
+            if (asyncConnection == null || asyncConnection.isClosed()) {
+                asyncConnection = openAsyncConnection();
+            }
+            return asyncConnection;
+        }
+    }
+
+    private AsyncConnection openAsyncConnection() {
+        AsyncConnection connection = createAsyncConnection();
+        if (password != null) {
+            connection.sendCommand(new MPDCommand(serverProperties.getPassword(), password))
+                    .whenComplete((response, e) -> {
+                        if (e != null) {
+                            LOGGER.error("Error authenticating to mpd", e);
+                        }
+                    });
+        }
+        return connection;
+    }
+
+    @Override
+    public void sendCommands(List<MPDCommand> commandList) {
+        Deadline deadline = Deadline.afterMillis(this.commandTimeout);
+        if (this.eventLoopGroup != null) {
+            boolean bulk = isBulk(commandList);
+            sendResuming(commandList, commands -> {
+                sendAndWait(bulk, deadline, connection -> connection.sendCommands(commands));
+                return Collections.emptyList();
+            }, () -> authenticateAsync(bulk, deadline));
+            return;
+        }
+
+        sendOnSocket(isBulk(commandList), deadline, "command list", (socket, d) ->
+                sendResuming(commandList, commands -> {
+                    if (d.isSet()) {
+                        socket.sendCommands(commands, d.remaining());
+                    } else {
+                        socket.sendCommands(commands);
+                    }
+                    return Collections.emptyList();
+                }, () -> authenticate(socket)));
+    }
+
+    @Override
+    public List<List<String>> sendCommandList(List<MPDCommand> commandList) {
+        return sendCommandList(commandList, Deadline.afterMillis(this.commandTimeout));
+    }
+
+    private List<List<String>> sendCommandList(List<MPDCommand> commandList, Deadline deadline) {
+        if (this.eventLoopGroup != null) {
+            boolean bulk = isBulk(commandList);
+            return sendResuming(commandList,
+                    commands -> sendAndWait(bulk, deadline, connection -> connection.sendCommandList(commands)),
+                    () -> authenticateAsync(bulk, deadline));
+        }
+
+        return sendOnSocket(isBulk(commandList), deadline, "command list", (socket, d) ->
+                sendResuming(commandList,
+                        commands -> d.isSet()
+                                ? socket.sendCommandList(commands, d.remaining())
+                                : socket.sendCommandList(commands),
+                        () -> authenticate(socket)));
+    }
+
+    /**
+     * Sends a command list and, if a command in it is refused for lack of permission, authenticates
+     * and sends the list again from that command.  The commands before it have already run, sending
+     * them again would run another caller's batched <code>add</code> twice.
+     */
+    private List<List<String>> sendResuming(List<MPDCommand> commandList,
+                                            Function<List<MPDCommand>, List<List<String>>> send,
+                                            Runnable authenticate) {
+        try {
+            return send.apply(commandList);
+        } catch (MPDCommandListSecurityException se) {
+            int index = se.getCommandIndex();
+            if (password == null || index < 0 || index >= commandList.size()) {
+                throw se;
+            }
+
+            LOGGER.warn("Command {} of the command list was refused, will retry from there", index, se);
+            authenticate.run();
+            List<List<String>> responses = new ArrayList<>(se.getResponses());
+            try {
+                responses.addAll(send.apply(commandList.subList(index, commandList.size())));
+            } catch (MPDCommandListException e) {
+                responses.addAll(e.getResponses());
+                throw new MPDCommandListException(e.getMessage(), e.getCommand(), index + e.getCommandIndex(), responses);
+            } catch (MPDCommandListSecurityException e) {
+                responses.addAll(e.getResponses());
+                throw new MPDCommandListSecurityException(e.getMessage(), e.getCommand(),
+                        index + e.getCommandIndex(), responses);
+            }
+            return responses;
+        }
+    }
+
+    private void authenticate(MPDSocket socket) {
+        socket.sendCommand(new MPDCommand(serverProperties.getPassword(), password));
+    }
+
+    private void authenticateAsync(boolean bulk, Deadline deadline) {
+        sendAndWait(bulk, deadline,
+                connection -> connection.sendCommand(new MPDCommand(serverProperties.getPassword(), password)));
+    }
+
+    private <T> T sendAndWait(boolean bulk, Deadline deadline, Function<AsyncConnection, CompletableFuture<T>> send) {
+        AsyncConnection connection = getAsyncConnection(bulk);
+        try {
+            return await(send.apply(connection), connection, deadline);
+        } catch (MPDCommandListSecurityException se) {
+            throw se;
         } catch (MPDSecurityException se) {
-            LOGGER.warn("Connection exception while sending commands, will retry", se);
-            authenticate();
-            mpdSocket.sendCommands(commandList);
+            if (password == null) {
+                throw se;
+            }
+            LOGGER.warn("Security exception while sending command, will retry", se);
+            await(connection.sendCommand(new MPDCommand(serverProperties.getPassword(), password)), connection, deadline);
+            return await(send.apply(connection), connection, deadline);
+        } catch (MPDTimeoutException te) {
+            throw te;
+        } catch (MPDConnectionException ce) {
+            if (!connection.isClosed()) {
+                throw ce;
+            }
+            LOGGER.warn("Connection lost while sending command, will retry", ce);
+            AsyncConnection reconnected = getAsyncConnection(bulk);
+            return await(send.apply(reconnected), reconnected, deadline);
         }
     }
 
-    private void checkSocket() {
+    /**
+     * Waits until the deadline for the response.  A connection that doesn't answer in time is closed
+     * so the commands queued behind it fail instead of waiting too, the next command reconnects.
+     */
+    private static <T> T await(CompletableFuture<T> future, AsyncConnection connection, Deadline deadline) {
+        try {
+            if (!deadline.isSet()) {
+                return future.get();
+            }
+            return future.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            LOGGER.warn("Timed out waiting for the server, dropping the connection");
+            connection.close();
+            throw new MPDTimeoutException("Timed out waiting for the response", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MPDConnectionException(e);
+        }
+    }
+
+    private static MPDException unwrap(ExecutionException e) {
+        if (e.getCause() instanceof MPDException) {
+            return (MPDException) e.getCause();
+        }
+        return new MPDConnectionException(e.getCause());
+    }
+
+    /**
+     * Sends on a borrowed socket and hands it back.  A socket whose connection failed or timed out is
+     * closed instead so the next borrower doesn't pay for it, an error answered by the server leaves
+     * the connection usable.
+     */
+    private <T> T sendOnPooledSocket(MPDConnectionPool connectionPool, MPDSocket socket, String commandName,
+                                     Function<MPDSocket, T> send) {
+        boolean broken = false;
+        try {
+            try {
+                return send.apply(socket);
+            } catch (MPDCommandListSecurityException se) {
+                throw se;
+            } catch (MPDSecurityException se) {
+                LOGGER.warn("Connection exception while sending {}, will retry", commandName, se);
+                authenticate(socket, se);
+                return send.apply(socket);
+            }
+        } catch (MPDConnectionException e) {
+            broken = !(e instanceof MPDResponseException);
+            throw e;
+        } finally {
+            if (broken) {
+                connectionPool.invalidate(socket);
+            } else {
+                connectionPool.release(socket);
+            }
+        }
+    }
+
+    private void authenticate(MPDSocket socket, MPDSecurityException se) {
+        if (password == null) {
+            throw se;
+        }
+        socket.sendCommand(new MPDCommand(serverProperties.getPassword(), password));
+    }
+
+    private void checkMpd() {
         if (mpd == null) {
             throw new MPDConnectionException("Socket could not be established.  Was mpd set?");
         }
+    }
+
+    private void checkSocket() {
+        checkMpd();
 
         if (mpdSocket == null) {
-            mpdSocket = createSocket();
+            mpdSocket = openSocket();
         }
     }
 
+    private MPDSocket openSocket() {
+        ConnectionCircuit connectionCircuit = this.circuit;
+        if (connectionCircuit == null) {
+            return createSocket();
+        }
+
+        connectionCircuit.checkAvailable();
+        MPDSocket socket;
+        try {
+            socket = createSocket();
+        } catch (MPDException e) {
+            connectionCircuit.connectionLost();
+            throw e;
+        }
+        socket.setConnectionCircuit(connectionCircuit);
+        return socket;
+    }
+
     @Override
     public String getMPDVersion() {
-        checkSocket();
-        return mpdSocket.getVersion();
+        if (this.eventLoopGroup != null) {
+            return getAsyncConnection(false).getVersion();
+        }
+
+        MPDConnectionPool connectionPool = this.pool;
+        if (connectionPool != null) {
+            checkMpd();
+            MPDSocket socket = connectionPool.borrow();
+            try {
+                return socket.getVersion();
+            } finally {
+                connectionPool.release(socket);
+            }
+        }
+
+        lockSocket();
+        try {
+            checkSocket();
+            return mpdSocket.getVersion();
+        } finally {
+            socketLock.unlock();
+        }
     }
 
     @Override
@@ -112,6 +581,22 @@ public class MPDCommandExecutor implements CommandExecutor {
         }
     }
 
+    @Override
+    public MPDSocket createDedicatedSocket() {
+        checkMpd();
+
+        MPDSocket socket = openSocket();
+        if (password != null) {
+            try {
+                socket.sendCommand(new MPDCommand(serverProperties.getPassword(), password));
+            } catch (MPDException e) {
+                socket.close();
+                throw e;
+            }
+        }
+        return socket;
+    }
+
     @Override
     public void usePassword(String password) {
         if (password == null || password.isEmpty()) {
@@ -121,13 +606,155 @@ public class MPDCommandExecutor implements CommandExecutor {
         this.password = password;
     }
 
+    @Override
+    public void useConnectionPool(ConnectionPoolSettings settings) {
+        MPDConnectionPool oldPool = this.pool;
+        MPDConnectionPool connectionPool = new MPDConnectionPool(this::createDedicatedSocket, settings);
+        connectionPool.setMaxWaiting(this.maxQueuedCommands);
+        this.pool = connectionPool;
+        if (oldPool != null) {
+            oldPool.close();
+        }
+    }
+
+    @Override
+    public void useEventLoopGroup(MPDEventLoopGroup eventLoopGroup) {
+        this.eventLoopGroup = eventLoopGroup;
+    }
+
+    @Override
+    public void setCommandTimeout(int commandTimeout) {
+        if (commandTimeout < 0) {
+            throw new IllegalArgumentException("Command timeout cannot be negative");
+        }
+        this.commandTimeout = commandTimeout;
+    }
+
+    @Override
+    public void setMaxQueuedCommands(int maxQueuedCommands) {
+        if (maxQueuedCommands < 0) {
+            throw new IllegalArgumentException("Maximum queued commands cannot be negative");
+        }
+        this.maxQueuedCommands = maxQueuedCommands;
+        MPDConnectionPool connectionPool = this.pool;
+        if (connectionPool != null) {
+            connectionPool.setMaxWaiting(maxQueuedCommands);
+        }
+    }
+
+    @Override
+    public void useReconnectBackoff(int initialDelay, int maxDelay) {
+        ConnectionCircuit connectionCircuit = new ConnectionCircuit(() -> createSocket().close(), initialDelay, maxDelay);
+        connectionCircuit.addConnectionChangeListener(this::fireConnectionChangeEvent);
+
+        lockSocket();
+        try {
+            ConnectionCircuit oldCircuit = this.circuit;
+            this.circuit = connectionCircuit;
+            if (oldCircuit != null) {
+                oldCircuit.close();
+            }
+            if (this.mpdSocket != null) {
+                this.mpdSocket.setConnectionCircuit(connectionCircuit);
+            }
+        } finally {
+            socketLock.unlock();
+        }
+
+        lockSocket(bulkLock);
+        try {
+            if (this.bulkSocket != null) {
+                this.bulkSocket.setConnectionCircuit(connectionCircuit);
+            }
+        } finally {
+            bulkLock.unlock();
+        }
+    }
+
+    @Override
+    public ConnectionState getConnectionState() {
+        ConnectionCircuit connectionCircuit = this.circuit;
+        return connectionCircuit == null ? ConnectionState.CONNECTED : connectionCircuit.getState();
+    }
+
+    @Override
+    public void addConnectionChangeListener(ConnectionChangeListener listener) {
+        connectionListeners.add(listener);
+    }
+
+    @Override
+    public void removeConnectionChangeListener(ConnectionChangeListener listener) {
+        connectionListeners.remove(listener);
+    }
+
+    private void fireConnectionChangeEvent(ConnectionChangeEvent event) {
+        ConnectionChangeEvent executorEvent = new ConnectionChangeEvent(this, event.getState());
+        for (ConnectionChangeListener listener : connectionListeners) {
+            listener.connectionChangeEventReceived(executorEvent);
+        }
+    }
+
+    @Override
+    public void useCommandBatching(int windowMillis, int maxCommands) {
+        this.batcher = new CommandBatcher(this::sendCommandList, this::sendSingleCommand, windowMillis, maxCommands);
+    }
+
+    @Override
+    public void usePriorityLanes() {
+        this.priorityLanes = true;
+    }
+
     @Override
     public void close() {
-        this.mpdSocket.close();
+        ConnectionCircuit connectionCircuit = this.circuit;
+        if (connectionCircuit != null) {
+            connectionCircuit.close();
+        }
+
+        synchronized (asyncLock) {
+            if (this.asyncConnection != null) {
+                this.asyncConnection.close();
+            }
+            if (this.bulkAsyncConnection != null) {
+                this.bulkAsyncConnection.close();
+            }
+        }
+
+        MPDConnectionPool connectionPool = this.pool;
+        if (connectionPool != null) {
+            connectionPool.close();
+        }
+
+        if (this.mpdSocket != null) {
+            this.mpdSocket.close();
+        }
+
+        if (this.bulkSocket != null) {
+            this.bulkSocket.close();
+        }
     }
 
     protected MPDSocket createSocket() {
-        return new MPDSocket(mpd.getAddress(),
+        MPDSocket socket = new MPDSocket(mpd.getAddress(),
+                mpd.getPort(),
+                mpd.getTimeout());
+        socket.setPingIdleTime(mpd.getPingIdleTime());
+        if (mpd.getKeepAliveInterval() > 0) {
+            socket.startKeepAlive(mpd.getKeepAliveInterval());
+        }
+        return socket;
+    }
+
+    protected AsyncConnection createAsyncConnection() {
+        MPDEventLoopGroup group = this.eventLoopGroup;
+        if (group != null) {
+            return new MPDNioSocket(group,
+                    mpd.getAddress(),
+                    mpd.getPort(),
+                    mpd.getTimeout());
+        }
+
+        return new MPDAsyncSocket(mpd.getAddress(),
                 mpd.getPort(),
                 mpd.getTimeout());
     }
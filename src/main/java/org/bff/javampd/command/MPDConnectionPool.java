@@ -0,0 +1,299 @@
+package org.bff.javampd.command;
+
+import org.bff.javampd.MPDException;
+import org.bff.javampd.server.MPDConnectionException;
+import org.bff.javampd.server.MPDSocket;
+import org.bff.javampd.server.MPDTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A bounded pool of authenticated {@link MPDSocket}s.  Connections are opened on demand up to
+ * the maximum size, handed out most recently used first, and closed once they have been idle
+ * longer than the idle timeout as long as more than the minimum number are open.
+ *
+ * @author bill
+ */
+class MPDConnectionPool {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MPDConnectionPool.class);
+
+    private final Supplier<MPDSocket> socketFactory;
+    private final ConnectionPoolSettings settings;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<IdleSocket> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService evictor;
+
+    private int open;
+    private boolean closed;
+    private volatile int maxWaiting;
+
+    /**
+     * Creates the pool.  No connections are opened until they are borrowed.
+     *
+     * @param socketFactory creates new authenticated sockets
+     * @param settings      the pool size and timeouts
+     */
+    MPDConnectionPool(Supplier<MPDSocket> socketFactory, ConnectionPoolSettings settings) {
+        this.socketFactory = socketFactory;
+        this.settings = settings;
+
+        if (settings.getIdleTimeout() > 0) {
+            this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "javampd-pool-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = Math.max(1, settings.getIdleTimeout() / 2);
+            this.evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            this.evictor = null;
+        }
+    }
+
+    /**
+     * Borrows a socket, opening a new one if none are idle and the pool isn't full.  Otherwise waits
+     * up to the borrow timeout for another caller to release one.  Every borrowed socket must be
+     * handed back with {@link #release(MPDSocket)} or {@link #invalidate(MPDSocket)}.
+     *
+     * @return an authenticated socket
+     * @throws MPDConnectionException if the pool is closed or no socket became free in time
+     */
+    MPDSocket borrow() {
+        return borrow(settings.getBorrowTimeout(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a socket waiting no longer than the given timeout for one to become free
+     *
+     * @param timeout the time to wait for a free socket, 0 to wait forever
+     * @param unit    the unit of the timeout
+     * @return an authenticated socket
+     * @throws MPDConnectionException if the pool is closed, too many callers are already waiting or no
+     *                                socket became free in time
+     */
+    MPDSocket borrow(long timeout, TimeUnit unit) {
+        long remaining = unit.toNanos(timeout);
+
+        lock.lock();
+        try {
+            while (true) {
+                checkClosed();
+
+                IdleSocket idleSocket = idle.pollFirst();
+                if (idleSocket != null) {
+                    return idleSocket.socket;
+                }
+
+                if (open < settings.getMaxSize()) {
+                    ++open;
+                    break;
+                }
+
+                int waiting = lock.getWaitQueueLength(available);
+                if (maxWaiting > 0 && waiting >= maxWaiting) {
+                    throw new MPDConnectionException("Too many commands waiting for a free connection, "
+                            + waiting + " already waiting");
+                }
+
+                if (timeout == 0) {
+                    available.await();
+                } else {
+                    if (remaining <= 0) {
+                        throw new MPDTimeoutException("Timed out waiting for a free connection after "
+                                + unit.toMillis(timeout) + "ms");
+                    }
+                    remaining = available.awaitNanos(remaining);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MPDConnectionException("Interrupted waiting for a free connection", e);
+        } finally {
+            lock.unlock();
+        }
+
+        return openSocket();
+    }
+
+    /**
+     * Limits the callers waiting for a free socket, more are turned away straight away
+     *
+     * @param maxWaiting the most callers waiting, 0 for no limit
+     */
+    void setMaxWaiting(int maxWaiting) {
+        this.maxWaiting = maxWaiting;
+    }
+
+    private MPDSocket openSocket() {
+        try {
+            LOGGER.debug("opening pooled connection");
+            return socketFactory.get();
+        } catch (RuntimeException e) {
+            discarded();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a healthy socket to the pool
+     *
+     * @param socket the borrowed socket
+     */
+    void release(MPDSocket socket) {
+        lock.lock();
+        try {
+            if (!closed) {
+                idle.addFirst(new IdleSocket(socket, System.nanoTime()));
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        invalidate(socket);
+    }
+
+    /**
+     * Closes a borrowed socket instead of returning it to the pool, freeing its slot
+     *
+     * @param socket the borrowed socket
+     */
+    void invalidate(MPDSocket socket) {
+        try {
+            closeSocket(socket);
+        } finally {
+            discarded();
+        }
+    }
+
+    private void discarded() {
+        lock.lock();
+        try {
+            --open;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes sockets that have been idle longer than the idle timeout, keeping at least the
+     * minimum number of connections open
+     */
+    void evictIdle() {
+        if (settings.getIdleTimeout() == 0) {
+            return;
+        }
+
+        long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(settings.getIdleTimeout());
+        Deque<MPDSocket> evicted = new ArrayDeque<>();
+
+        lock.lock();
+        try {
+            Iterator<IdleSocket> iterator = idle.descendingIterator();
+            while (iterator.hasNext() && open > settings.getMinSize()) {
+                IdleSocket idleSocket = iterator.next();
+                if (idleSocket.idleSince - cutoff > 0) {
+                    break;
+                }
+                iterator.remove();
+                --open;
+                evicted.add(idleSocket.socket);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (!evicted.isEmpty()) {
+            LOGGER.debug("evicting {} idle connections", evicted.size());
+            evicted.forEach(MPDConnectionPool::closeSocket);
+        }
+    }
+
+    /**
+     * Closes every idle socket.  Sockets that are borrowed are closed when they are released.
+     */
+    void close() {
+        Deque<IdleSocket> sockets;
+        lock.lock();
+        try {
+            closed = true;
+            sockets = new ArrayDeque<>(idle);
+            open -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        sockets.forEach(idleSocket -> closeSocket(idleSocket.socket));
+    }
+
+    /**
+     * Returns the number of open connections, borrowed or idle
+     *
+     * @return the number of open connections
+     */
+    int getOpenCount() {
+        lock.lock();
+        try {
+            return open;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of idle connections
+     *
+     * @return the number of idle connections
+     */
+    int getIdleCount() {
+        lock.lock();
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkClosed() {
+        if (closed) {
+            throw new MPDConnectionException("Close has been called on MPD.  Create a new MPD.");
+        }
+    }
+
+    private static void closeSocket(MPDSocket socket) {
+        try {
+            socket.close();
+        } catch (MPDException e) {
+            LOGGER.warn("Problem closing pooled connection", e);
+        }
+    }
+
+    private static class IdleSocket {
+        private final MPDSocket socket;
+        private final long idleSince;
+
+        IdleSocket(MPDSocket socket, long idleSince) {
+            this.socket = socket;
+            this.idleSince = idleSince;
+        }
+    }
+}
@@ -12,7 +12,8 @@ public class DatabaseProperties extends MPDProperties {
         GROUP("MPD_DB_GROUP"),
         LISTINFO("MPD_DB_LIST_INFO"),
         SEARCH("MPD_DB_SEARCH"),
-        LISTSONGS("MPD_DB_LIST_SONGS");
+        LISTSONGS("MPD_DB_LIST_SONGS"),
+        LISTSONGINFO("MPD_DB_LIST_SONG_INFO");
 
         private final String key;
 
@@ -48,4 +49,8 @@ public class DatabaseProperties extends MPDProperties {
     public String getListSongs() {
         return getPropertyString(Command.LISTSONGS.getKey());
     }
+
+    public String getListSongInfo() {
+        return getPropertyString(Command.LISTSONGINFO.getKey());
+    }
 }
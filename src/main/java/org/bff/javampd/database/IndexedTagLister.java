@@ -0,0 +1,151 @@
+package org.bff.javampd.database;
+
+import com.google.inject.Inject;
+import org.bff.javampd.song.MPDSong;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * {@link TagLister} that answers <code>list</code> from the {@link LibraryIndex} when it is enabled
+ * and otherwise passes through to the {@link MPDTagLister}.  The lines are in the same form the
+ * server would send them so the databases convert them unchanged.
+ *
+ * @author bill
+ */
+public class IndexedTagLister implements TagLister {
+    private static final Map<ListType, String> KEYS = new EnumMap<>(ListType.class);
+
+    static {
+        KEYS.put(ListType.ALBUM, "Album: ");
+        KEYS.put(ListType.ARTIST, "Artist: ");
+        KEYS.put(ListType.ALBUM_ARTIST, "AlbumArtist: ");
+        KEYS.put(ListType.GENRE, "Genre: ");
+        KEYS.put(ListType.DATE, "Date: ");
+    }
+
+    private final MPDTagLister tagLister;
+    private final LibraryIndex libraryIndex;
+
+    @Inject
+    public IndexedTagLister(MPDTagLister tagLister,
+                            LibraryIndex libraryIndex) {
+        this.tagLister = tagLister;
+        this.libraryIndex = libraryIndex;
+    }
+
+    @Override
+    public List<String> listInfo(ListInfoType... types) {
+        return tagLister.listInfo(types);
+    }
+
+    @Override
+    public List<String> list(ListType listType) {
+        return list(listType, new ArrayList<>());
+    }
+
+    @Override
+    public List<String> list(ListType listType, GroupType... groupTypes) {
+        return list(listType, new ArrayList<>(), groupTypes);
+    }
+
+    @Override
+    public List<String> list(ListType listType, List<String> params, GroupType... groupTypes) {
+        Map<ListType, String> filters = libraryIndex.isEnabled() ? parseFilters(params) : null;
+        if (filters == null) {
+            return tagLister.list(listType, params, groupTypes);
+        }
+
+        if (filters.isEmpty() && groupTypes.length == 0) {
+            String key = KEYS.get(listType);
+            return libraryIndex.getValues(listType)
+                    .stream()
+                    .map(value -> key + value)
+                    .collect(Collectors.toList());
+        }
+
+        ListType[] columns = new ListType[groupTypes.length + 1];
+        columns[0] = listType;
+        for (int i = 0; i < groupTypes.length; i++) {
+            columns[i + 1] = ListType.valueOf(groupTypes[i].name());
+        }
+
+        Set<List<String>> rows = new TreeSet<>(IndexedTagLister::compareRows);
+        for (MPDSong song : findSongs(filters)) {
+            List<String> row = new ArrayList<>(columns.length);
+            for (ListType column : columns) {
+                row.add(LibraryIndex.getTag(song, column));
+            }
+            if (row.get(0) != null) {
+                rows.add(row);
+            }
+        }
+
+        List<String> response = new ArrayList<>();
+        for (List<String> row : rows) {
+            for (int i = 0; i < columns.length; i++) {
+                if (row.get(i) != null) {
+                    response.add(KEYS.get(columns[i]) + row.get(i));
+                }
+            }
+        }
+        return response;
+    }
+
+    private Collection<MPDSong> findSongs(Map<ListType, String> filters) {
+        if (filters.isEmpty()) {
+            return libraryIndex.getSongs();
+        }
+
+        Iterator<Map.Entry<ListType, String>> iterator = filters.entrySet().iterator();
+        Map.Entry<ListType, String> first = iterator.next();
+        Collection<MPDSong> songs = libraryIndex.getSongs(first.getKey(), first.getValue());
+        while (iterator.hasNext()) {
+            Map.Entry<ListType, String> filter = iterator.next();
+            songs = songs.stream()
+                    .filter(song -> filter.getValue().equals(LibraryIndex.getTag(song, filter.getKey())))
+                    .collect(Collectors.toList());
+        }
+        return songs;
+    }
+
+    /**
+     * Reads the type and value pairs of a <code>list</code>.
+     *
+     * @return the filters or null if one of them isn't an indexed tag
+     */
+    private static Map<ListType, String> parseFilters(List<String> params) {
+        if (params.size() % 2 != 0) {
+            return null;
+        }
+
+        Map<ListType, String> filters = new EnumMap<>(ListType.class);
+        for (int i = 0; i < params.size(); i += 2) {
+            ListType type = findType(params.get(i));
+            if (type == null || filters.containsKey(type)) {
+                return null;
+            }
+            filters.put(type, params.get(i + 1));
+        }
+        return filters;
+    }
+
+    private static ListType findType(String type) {
+        for (ListType listType : ListType.values()) {
+            if (listType.getType().equals(type)) {
+                return listType;
+            }
+        }
+        return null;
+    }
+
+    private static int compareRows(List<String> row1, List<String> row2) {
+        for (int i = 0; i < row1.size(); i++) {
+            int result = Comparator.nullsFirst(String::compareTo).compare(row1.get(i), row2.get(i));
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+}
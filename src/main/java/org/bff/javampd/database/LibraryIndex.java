@@ -0,0 +1,186 @@
+package org.bff.javampd.database;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.bff.javampd.song.MPDSong;
+import org.bff.javampd.song.MPDSongSearcher;
+import org.bff.javampd.statistics.ServerStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * An in-memory copy of the MPD database.  When enabled the whole library is loaded once with
+ * <code>listallinfo</code> and the lookups used by the {@link MusicDatabase} are answered locally
+ * instead of sending a <code>find</code> or <code>list</code> for every call.
+ * <p>
+ * The index is reloaded the first time it is used after the <code>db_update</code> time reported
+ * by {@link ServerStatistics#getLastUpdateTime()} changes.  Statistics are cached, so call
+ * {@link ServerStatistics#forceUpdate()} or {@link #refresh()} to see an update straight away.
+ * <p>
+ * The index is disabled by default, use {@link org.bff.javampd.server.MPD.Builder#libraryIndex(boolean)}
+ * to enable it.
+ *
+ * @author bill
+ */
+@Singleton
+public class LibraryIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LibraryIndex.class);
+
+    private static final Map<TagLister.ListType, Function<MPDSong, String>> TAGS = new EnumMap<>(TagLister.ListType.class);
+
+    static {
+        TAGS.put(TagLister.ListType.ALBUM, MPDSong::getAlbumName);
+        TAGS.put(TagLister.ListType.ARTIST, MPDSong::getArtistName);
+        TAGS.put(TagLister.ListType.ALBUM_ARTIST, MPDSong::getAlbumArtistName);
+        TAGS.put(TagLister.ListType.GENRE, MPDSong::getGenre);
+        TAGS.put(TagLister.ListType.DATE, MPDSong::getYear);
+    }
+
+    private final MPDSongSearcher songSearcher;
+    private final ServerStatistics serverStatistics;
+
+    private volatile boolean enabled;
+    private volatile Snapshot snapshot;
+
+    @Inject
+    public LibraryIndex(MPDSongSearcher songSearcher,
+                        ServerStatistics serverStatistics) {
+        this.songSearcher = songSearcher;
+        this.serverStatistics = serverStatistics;
+    }
+
+    /**
+     * @return true if lookups should be answered by the index
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns the index on or off.  Turning it off releases the loaded library.
+     *
+     * @param enabled true to answer lookups from the index
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            this.snapshot = null;
+        }
+    }
+
+    /**
+     * Reloads the library from the server now
+     */
+    public synchronized void refresh() {
+        this.snapshot = load(serverStatistics.getLastUpdateTime());
+    }
+
+    /**
+     * Returns every song in the library in the order the server listed them
+     *
+     * @return the songs
+     */
+    public Collection<MPDSong> getSongs() {
+        return current().songs;
+    }
+
+    /**
+     * Returns the songs with a tag exactly matching the value, the same as a <code>find</code>
+     *
+     * @param type  the tag
+     * @param value the value to match
+     * @return the matching songs, empty if there are none
+     */
+    public Collection<MPDSong> getSongs(TagLister.ListType type, String value) {
+        return Collections.unmodifiableList(current().tags.get(type).getOrDefault(value, Collections.emptyList()));
+    }
+
+    /**
+     * Returns the distinct values of a tag in sorted order, the same as a <code>list</code>
+     *
+     * @param type the tag
+     * @return the values
+     */
+    public Collection<String> getValues(TagLister.ListType type) {
+        return current().tags.get(type).keySet();
+    }
+
+    /**
+     * Returns the song for a file
+     *
+     * @param file the path of the file relative to the music directory
+     * @return the song or null if the file isn't in the library
+     */
+    public MPDSong getSong(String file) {
+        return current().files.get(file);
+    }
+
+    /**
+     * Returns the value of a tag for a song
+     *
+     * @param song the song
+     * @param type the tag
+     * @return the value or null if the song doesn't have the tag
+     */
+    public static String getTag(MPDSong song, TagLister.ListType type) {
+        return TAGS.get(type).apply(song);
+    }
+
+    private Snapshot current() {
+        long lastUpdate = serverStatistics.getLastUpdateTime();
+        Snapshot current = this.snapshot;
+        if (current == null || current.lastUpdate != lastUpdate) {
+            current = reload(lastUpdate);
+        }
+        return current;
+    }
+
+    private synchronized Snapshot reload(long lastUpdate) {
+        Snapshot current = this.snapshot;
+        if (current == null || current.lastUpdate != lastUpdate) {
+            current = load(lastUpdate);
+            this.snapshot = current;
+        }
+        return current;
+    }
+
+    private Snapshot load(long lastUpdate) {
+        List<MPDSong> songs = new ArrayList<>();
+        songSearcher.listAllSongs(songs::add);
+        LOGGER.debug("Indexed {} songs for database update {}", songs.size(), lastUpdate);
+        return new Snapshot(lastUpdate, songs);
+    }
+
+    private static class Snapshot {
+        private final long lastUpdate;
+        private final List<MPDSong> songs;
+        private final Map<String, MPDSong> files;
+        private final Map<TagLister.ListType, NavigableMap<String, List<MPDSong>>> tags;
+
+        private Snapshot(long lastUpdate, List<MPDSong> songs) {
+            this.lastUpdate = lastUpdate;
+            this.songs = Collections.unmodifiableList(songs);
+            this.files = new HashMap<>(songs.size() * 2);
+            this.tags = new EnumMap<>(TagLister.ListType.class);
+
+            for (TagLister.ListType type : TagLister.ListType.values()) {
+                tags.put(type, new TreeMap<>());
+            }
+
+            for (MPDSong song : songs) {
+                files.put(song.getFile(), song);
+                TAGS.forEach((type, tag) -> {
+                    String value = tag.apply(song);
+                    if (value != null) {
+                        tags.get(type).computeIfAbsent(value, k -> new ArrayList<>()).add(song);
+                    }
+                });
+            }
+
+            tags.replaceAll((type, map) -> Collections.unmodifiableNavigableMap(map));
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package org.bff.javampd.database;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.bff.javampd.MPDItem;
+import org.bff.javampd.statistics.ServerStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the full album, artist and genre listings so they can be paged without sending a new
+ * <code>list</code> for every page.  The protocol has no <code>window</code> for <code>list</code>, so
+ * without the cache every page costs the same as listing everything.
+ * <p>
+ * A listing is loaded the first time it is asked for and again the first time it is used after the
+ * <code>db_update</code> time reported by {@link ServerStatistics#getLastUpdateTime()} changes.
+ * Statistics are cached, so call {@link ServerStatistics#forceUpdate()} or {@link #clear()} to see an
+ * update straight away.
+ *
+ * @author bill
+ */
+@Singleton
+public class ListingCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ListingCache.class);
+
+    private final ServerStatistics serverStatistics;
+    private final Map<String, Listing<?>> listings = new ConcurrentHashMap<>();
+
+    @Inject
+    public ListingCache(ServerStatistics serverStatistics) {
+        this.serverStatistics = serverStatistics;
+    }
+
+    /**
+     * Returns a listing the server sorts by name, loading it if it hasn't been loaded since the last
+     * database update
+     *
+     * @param name   the name of the listing
+     * @param loader lists every item from the server in the server's order
+     * @param key    the identity of an item used to find a cursor
+     * @param <T>    the type of item
+     * @return the listing
+     */
+    public <T extends MPDItem> Listing<T> get(String name,
+                                              Supplier<Collection<T>> loader,
+                                              Function<T, ?> key) {
+        return get(name, loader, key, MPDItem::compareTo);
+    }
+
+    /**
+     * Returns a listing, loading it if it hasn't been loaded since the last database update
+     *
+     * @param name   the name of the listing
+     * @param loader lists every item from the server in the server's order
+     * @param key    the identity of an item used to find a cursor
+     * @param order  the order the server lists the items in, used to place a cursor that is gone
+     * @param <T>    the type of item
+     * @return the listing
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends MPDItem> Listing<T> get(String name,
+                                              Supplier<Collection<T>> loader,
+                                              Function<T, ?> key,
+                                              Comparator<? super T> order) {
+        long lastUpdate = serverStatistics.getLastUpdateTime();
+        Listing<T> listing = (Listing<T>) listings.get(name);
+        if (listing == null || listing.lastUpdate != lastUpdate) {
+            listing = reload(name, loader, key, order, lastUpdate);
+        }
+        return listing;
+    }
+
+    /**
+     * Drops every loaded listing
+     */
+    public void clear() {
+        listings.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized <T extends MPDItem> Listing<T> reload(String name,
+                                                              Supplier<Collection<T>> loader,
+                                                              Function<T, ?> key,
+                                                              Comparator<? super T> order,
+                                                              long lastUpdate) {
+        Listing<T> listing = (Listing<T>) listings.get(name);
+        if (listing == null || listing.lastUpdate != lastUpdate) {
+            listing = new Listing<>(lastUpdate, new ArrayList<>(loader.get()), key, order);
+            listings.put(name, listing);
+            LOGGER.debug("Loaded {} {} for database update {}", listing.items.size(), name, lastUpdate);
+        }
+        return listing;
+    }
+
+    /**
+     * An immutable listing of items in the order the server returned them
+     *
+     * @param <T> the type of item
+     */
+    public static final class Listing<T extends MPDItem> {
+        private final long lastUpdate;
+        private final List<T> items;
+        private final Function<T, ?> key;
+        private final Comparator<? super T> order;
+        private final Map<Object, Integer> positions;
+
+        private Listing(long lastUpdate, List<T> items, Function<T, ?> key, Comparator<? super T> order) {
+            this.lastUpdate = lastUpdate;
+            this.items = Collections.unmodifiableList(items);
+            this.key = key;
+            this.order = order;
+            this.positions = new HashMap<>(items.size() * 2);
+
+            for (int i = 0; i < items.size(); i++) {
+                positions.putIfAbsent(key.apply(items.get(i)), i);
+            }
+        }
+
+        /**
+         * @return every item
+         */
+        public List<T> getItems() {
+            return items;
+        }
+
+        /**
+         * Returns the items between <tt>start</tt>, inclusive, and <tt>end</tt>, exclusive.  Indexes
+         * past the end of the listing are ignored.
+         *
+         * @param start the starting index
+         * @param end   the ending index
+         * @return the items
+         */
+        public List<T> window(int start, int end) {
+            int toIndex = Math.max(0, Math.min(end, items.size()));
+            int fromIndex = Math.max(0, Math.min(start, toIndex));
+            return items.subList(fromIndex, toIndex);
+        }
+
+        /**
+         * Returns up to <tt>count</tt> items following an item.  If the item is no longer listed the
+         * page starts at the first item the server sorts after it.
+         *
+         * @param after the last item of the previous page or null for the first page
+         * @param count the most items to return
+         * @return the items
+         */
+        public List<T> after(T after, int count) {
+            int start = after == null ? 0 : indexAfter(after);
+            return window(start, (int) Math.min((long) start + count, Integer.MAX_VALUE));
+        }
+
+        private int indexAfter(T after) {
+            Integer position = positions.get(key.apply(after));
+            if (position != null) {
+                return position + 1;
+            }
+
+            for (int i = 0; i < items.size(); i++) {
+                if (order.compare(items.get(i), after) > 0) {
+                    return i;
+                }
+            }
+            return items.size();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.bff.javampd.database;
 
 import com.google.inject.Inject;
 import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.command.MPDCommand;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -25,18 +26,11 @@ public class MPDTagLister implements TagLister {
 
     @Override
     public List<String> listInfo(ListInfoType... types) {
-        List<String> returnList = new ArrayList<>();
-        List<String> list = commandExecutor.sendCommand(databaseProperties.getListInfo());
-
-        for (String s : list) {
-            for (ListInfoType type : types) {
-                if (s.startsWith(type.getPrefix())) {
-                    returnList.add(s.substring(type.getPrefix().length()).trim());
-                }
-            }
-        }
+        String[] prefixes = Arrays.stream(types)
+                .map(ListInfoType::getPrefix)
+                .toArray(String[]::new);
 
-        return returnList;
+        return commandExecutor.sendCommandForValues(new MPDCommand(databaseProperties.getListInfo()), prefixes);
     }
 
     @Override
@@ -17,6 +17,26 @@ public interface GenreDatabase {
      */
     Collection<MPDGenre> listAllGenres();
 
+    /**
+     * Returns a windowed list of {@link org.bff.javampd.genre.MPDGenre}s between <tt>start</tt>,
+     * inclusive, and <tt>end</tt>, exclusive.  The full list is kept until the next database update
+     * so paging doesn't list every genre again.
+     *
+     * @param start starting number
+     * @param end   ending number
+     * @return a {@link java.util.Collection} of {@link org.bff.javampd.genre.MPDGenre}s
+     */
+    Collection<MPDGenre> listAllGenres(int start, int end);
+
+    /**
+     * Returns up to <tt>count</tt> {@link org.bff.javampd.genre.MPDGenre}s following a genre.
+     *
+     * @param genre the last genre of the previous page or null for the first page
+     * @param count the most genres to return
+     * @return a {@link java.util.Collection} of {@link org.bff.javampd.genre.MPDGenre}s
+     */
+    Collection<MPDGenre> listAllGenresAfter(MPDGenre genre, int count);
+
     /**
      * Returns a {@link org.bff.javampd.genre.MPDGenre} with the passed name.
      *
@@ -1,6 +1,7 @@
 package org.bff.javampd.genre;
 
 import com.google.inject.Inject;
+import org.bff.javampd.database.ListingCache;
 import org.bff.javampd.database.TagLister;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,10 +23,13 @@ public class MPDGenreDatabase implements GenreDatabase {
     private static final Logger LOGGER = LoggerFactory.getLogger(MPDGenreDatabase.class);
 
     private TagLister tagLister;
+    private ListingCache listingCache;
 
     @Inject
-    public MPDGenreDatabase(TagLister tagLister) {
+    public MPDGenreDatabase(TagLister tagLister,
+                            ListingCache listingCache) {
         this.tagLister = tagLister;
+        this.listingCache = listingCache;
     }
 
     @Override
@@ -36,6 +40,20 @@ public class MPDGenreDatabase implements GenreDatabase {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Collection<MPDGenre> listAllGenres(int start, int end) {
+        return listGenres().window(start, end);
+    }
+
+    @Override
+    public Collection<MPDGenre> listAllGenresAfter(MPDGenre genre, int count) {
+        return listGenres().after(genre, count);
+    }
+
+    private ListingCache.Listing<MPDGenre> listGenres() {
+        return listingCache.get("genres", this::listAllGenres, MPDGenre::getName);
+    }
+
     @Override
     public MPDGenre listGenreByName(String name) {
 
@@ -1,6 +1,7 @@
 package org.bff.javampd.monitor;
 
 import org.bff.javampd.server.ConnectionChangeListener;
+import org.bff.javampd.server.ConnectionState;
 import org.bff.javampd.server.Server;
 
 public interface ConnectionMonitor extends Monitor {
@@ -33,4 +34,12 @@ public interface ConnectionMonitor extends Monitor {
      * @return true if the server is connected
      */
     boolean isConnected();
+
+    /**
+     * Passes on a change of the connection state seen while sending commands, such as the
+     * reconnect circuit opening, so the listeners hear about it without waiting for the next check
+     *
+     * @param state the new connection state
+     */
+    void connectionStateChanged(ConnectionState state);
 }
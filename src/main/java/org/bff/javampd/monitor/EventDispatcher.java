@@ -0,0 +1,103 @@
+package org.bff.javampd.monitor;
+
+import com.google.inject.Singleton;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Decides how the monitors deliver events to their listeners.  By default listeners are called on the
+ * monitor thread as soon as the event happens.  Given an {@link Executor} each listener gets a bounded
+ * queue of its own and is called on the executor instead, so a slow listener doesn't hold up the
+ * monitor or the other listeners.  Events for one listener are still delivered one at a time and in
+ * order.
+ *
+ * @author bill
+ */
+@Singleton
+public class EventDispatcher {
+
+    /**
+     * What to do when an event arrives for a listener whose queue is full
+     */
+    public enum OverflowPolicy {
+        /**
+         * the oldest queued event is dropped
+         */
+        DROP_OLDEST,
+        /**
+         * queued events of the same type as the new one are dropped since the new one supersedes
+         * them, the oldest event is dropped if there aren't any.  Only track position, volume and
+         * bitrate events are replaced this way, other events such as player or playlist changes
+         * stand for distinct transitions and are dropped oldest first.
+         */
+        COALESCE
+    }
+
+    private volatile Settings settings;
+
+    /**
+     * Calls listeners on the executor instead of the monitor thread
+     *
+     * @param executor       the executor the listeners are called on
+     * @param queueSize      the number of events queued for each listener
+     * @param overflowPolicy what to do when a listener's queue is full
+     */
+    public void useExecutor(Executor executor, int queueSize, OverflowPolicy overflowPolicy) {
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("Listener queue size must be at least 1");
+        }
+        this.settings = new Settings(executor, queueSize, overflowPolicy);
+    }
+
+    /**
+     * Calls listeners on the monitor thread again
+     */
+    public void useMonitorThread() {
+        this.settings = null;
+    }
+
+    /**
+     * @return true if listeners are called on an executor
+     */
+    public boolean isAsynchronous() {
+        return settings != null;
+    }
+
+    /**
+     * Creates an empty list of listeners that delivers events the way this dispatcher is set up
+     *
+     * @param <L> the type of listener
+     * @return the listener list
+     */
+    <L> ListenerList<L> createListenerList() {
+        return new ListenerList<>(this);
+    }
+
+    Settings getSettings() {
+        return settings;
+    }
+
+    static class Settings {
+        private final Executor executor;
+        private final int queueSize;
+        private final OverflowPolicy overflowPolicy;
+
+        private Settings(Executor executor, int queueSize, OverflowPolicy overflowPolicy) {
+            this.executor = executor;
+            this.queueSize = queueSize;
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        Executor getExecutor() {
+            return executor;
+        }
+
+        int getQueueSize() {
+            return queueSize;
+        }
+
+        OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package org.bff.javampd.monitor;
+
+import org.bff.javampd.MPDException;
+import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.command.MPDCommand;
+import org.bff.javampd.server.MPDSocket;
+import org.bff.javampd.server.ServerProperties;
+import org.bff.javampd.server.StatusSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monitors the server by blocking on the MPD <code>idle</code> command on its own connection.  Nothing
+ * is sent to the server until it reports a change, and then only the {@link Monitor}s registered for the
+ * changed {@link IdleSubsystem}s are checked.  The status is fetched at most once per change notification
+ * and only when a {@link StatusMonitor} needs it.
+ *
+ * @author bill
+ */
+public class IdleMonitorThread implements Runnable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdleMonitorThread.class);
+
+    private final Map<IdleSubsystem, Set<Monitor>> monitors;
+    private final CommandExecutor commandExecutor;
+    private final ConnectionMonitor connectionMonitor;
+    private final ServerProperties serverProperties;
+
+    private final int exceptionDelay;
+    private volatile MPDSocket socket;
+    private volatile boolean stopped;
+    private volatile boolean done;
+    private volatile boolean initialized;
+
+    /**
+     * Creates the idle monitor thread
+     *
+     * @param commandExecutor   creates the dedicated idle connection
+     * @param connectionMonitor connection monitor
+     * @param exceptionDelay    the number of seconds to wait should an error occur
+     */
+    public IdleMonitorThread(CommandExecutor commandExecutor,
+                             ConnectionMonitor connectionMonitor,
+                             int exceptionDelay) {
+        this.commandExecutor = commandExecutor;
+        this.connectionMonitor = connectionMonitor;
+        this.exceptionDelay = exceptionDelay;
+        this.serverProperties = new ServerProperties();
+        this.monitors = new EnumMap<>(IdleSubsystem.class);
+    }
+
+    /**
+     * Registers the {@link Monitor}s to check when the given {@link IdleSubsystem} changes.  The server is
+     * only asked to report subsystems that have at least one monitor.
+     *
+     * @param subsystem the {@link IdleSubsystem}
+     * @param monitors  the {@link Monitor}s to check
+     */
+    public synchronized void addMonitor(IdleSubsystem subsystem, Monitor... monitors) {
+        this.monitors.computeIfAbsent(subsystem, s -> new LinkedHashSet<>())
+                .addAll(Arrays.asList(monitors));
+    }
+
+    /**
+     * Removes the {@link Monitor} from all subsystems
+     *
+     * @param monitor the {@link Monitor} to remove
+     */
+    public synchronized void removeMonitor(Monitor monitor) {
+        this.monitors.values().forEach(set -> set.remove(monitor));
+    }
+
+    @Override
+    public void run() {
+        this.stopped = false;
+        this.done = false;
+        this.initialized = false;
+
+        try {
+            loadInitialStatus();
+
+            while (!this.stopped) {
+                try {
+                    processChanges(idle());
+                } catch (MPDException mpdException) {
+                    if (this.stopped) {
+                        break;
+                    }
+                    LOGGER.error("Error while waiting for idle changes", mpdException);
+                    closeSocket();
+                    waitForConnection();
+                }
+            }
+        } finally {
+            resetMonitors();
+            closeSocket();
+            this.done = true;
+        }
+    }
+
+    private void loadInitialStatus() {
+        try {
+            processStatus(allMonitors());
+            allMonitors().forEach(Monitor::checkStatus);
+            this.initialized = true;
+        } catch (MPDException ex) {
+            LOGGER.error("Problem with initialization", ex);
+            throw ex;
+        }
+    }
+
+    private List<String> idle() {
+        List<String> subsystems = new ArrayList<>();
+        synchronized (this) {
+            monitors.forEach((subsystem, set) -> {
+                if (!set.isEmpty()) {
+                    subsystems.add(subsystem.getName());
+                }
+            });
+        }
+
+        return new ArrayList<>(getSocket().sendCommand(
+                new MPDCommand(serverProperties.getIdle(), subsystems.toArray(new String[subsystems.size()]))));
+    }
+
+    private void processChanges(List<String> response) {
+        Set<Monitor> changed = new LinkedHashSet<>();
+        synchronized (this) {
+            for (String line : response) {
+                IdleSubsystem subsystem = IdleSubsystem.lookup(line);
+                if (subsystem != null && monitors.containsKey(subsystem)) {
+                    LOGGER.debug("idle reported change in {}", subsystem);
+                    changed.addAll(monitors.get(subsystem));
+                }
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            processStatus(changed);
+            changed.forEach(Monitor::checkStatus);
+        }
+    }
+
+    private void processStatus(Collection<Monitor> changed) {
+        List<StatusMonitor> statusMonitors = new ArrayList<>();
+        for (Monitor monitor : changed) {
+            if (monitor instanceof StatusMonitor) {
+                statusMonitors.add((StatusMonitor) monitor);
+            }
+        }
+
+        if (!statusMonitors.isEmpty()) {
+            StatusSnapshot status = StatusSnapshot.parse(getSocket().sendCommand(new MPDCommand(serverProperties.getStatus())));
+            statusMonitors.forEach(monitor -> monitor.processResponseStatus(status));
+        }
+    }
+
+    private void waitForConnection() {
+        boolean retry = true;
+
+        while (retry && !this.stopped) {
+            try {
+                TimeUnit.SECONDS.sleep(this.exceptionDelay);
+            } catch (InterruptedException ex) {
+                LOGGER.error("IdleMonitor interrupted", ex);
+                Thread.currentThread().interrupt();
+                setStopped(true);
+                return;
+            }
+
+            try {
+                connectionMonitor.checkStatus();
+                retry = !connectionMonitor.isConnected();
+            } catch (MPDException e) {
+                LOGGER.error("Error checking connection status.", e);
+                throw e;
+            }
+        }
+    }
+
+    private synchronized Set<Monitor> allMonitors() {
+        Set<Monitor> all = new LinkedHashSet<>();
+        monitors.values().forEach(all::addAll);
+        return all;
+    }
+
+    private void resetMonitors() {
+        allMonitors().stream()
+                .filter(monitor -> monitor instanceof StatusMonitor)
+                .forEach(monitor -> ((StatusMonitor) monitor).reset());
+    }
+
+    private MPDSocket getSocket() {
+        MPDSocket mpdSocket = this.socket;
+        if (mpdSocket == null) {
+            mpdSocket = commandExecutor.createDedicatedSocket();
+            this.socket = mpdSocket;
+            if (this.stopped) {
+                closeSocket();
+                throw new MPDException("Idle monitor has been stopped");
+            }
+        }
+        return mpdSocket;
+    }
+
+    private void closeSocket() {
+        MPDSocket mpdSocket = this.socket;
+        this.socket = null;
+        if (mpdSocket != null) {
+            try {
+                mpdSocket.close();
+            } catch (MPDException e) {
+                LOGGER.warn("Problem closing idle connection", e);
+            }
+        }
+    }
+
+    public boolean isInitialized() {
+        return this.initialized;
+    }
+
+    public boolean isDone() {
+        return this.done;
+    }
+
+    /**
+     * Stops the thread.  Stopping closes the idle connection so a blocked <code>idle</code> returns
+     * immediately.
+     *
+     * @param stopped true to stop
+     */
+    public void setStopped(boolean stopped) {
+        this.stopped = stopped;
+        if (stopped) {
+            closeSocket();
+        }
+    }
+}
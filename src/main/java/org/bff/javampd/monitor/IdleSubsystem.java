@@ -0,0 +1,74 @@
+package org.bff.javampd.monitor;
+
+/**
+ * The MPD subsystems reported by the <code>idle</code> command
+ *
+ * @author bill
+ */
+public enum IdleSubsystem {
+    /**
+     * the song database has been modified after update
+     */
+    DATABASE("database"),
+    /**
+     * a database update has started or finished
+     */
+    UPDATE("update"),
+    /**
+     * the current playlist has been modified
+     */
+    PLAYLIST("playlist"),
+    /**
+     * the player has been started, stopped or seeked
+     */
+    PLAYER("player"),
+    /**
+     * the volume has been changed
+     */
+    MIXER("mixer"),
+    /**
+     * an audio output has been added, removed or modified
+     */
+    OUTPUT("output"),
+    /**
+     * options like repeat, random and crossfade have changed
+     */
+    OPTIONS("options");
+
+    private static final String PREFIX = "changed:";
+
+    private final String name;
+
+    IdleSubsystem(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the subsystem name as used by the <code>idle</code> command
+     *
+     * @return the subsystem name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the {@link IdleSubsystem} for a <code>changed: subsystem</code> response line
+     *
+     * @param line the response line
+     * @return the {@link IdleSubsystem} or null if the line isn't a known subsystem
+     */
+    public static IdleSubsystem lookup(String line) {
+        if (!line.startsWith(PREFIX)) {
+            return null;
+        }
+
+        String subsystem = line.substring(PREFIX.length()).trim();
+        for (IdleSubsystem idleSubsystem : values()) {
+            if (idleSubsystem.getName().equals(subsystem)) {
+                return idleSubsystem;
+            }
+        }
+        return null;
+    }
+}
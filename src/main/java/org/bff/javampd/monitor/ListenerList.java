@@ -0,0 +1,159 @@
+package org.bff.javampd.monitor;
+
+import org.bff.javampd.player.BitrateChangeEvent;
+import org.bff.javampd.player.TrackPositionChangeEvent;
+import org.bff.javampd.player.VolumeChangeEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
+
+/**
+ * The listeners of one kind of event.  The list is copied when a listener is added or removed so
+ * firing an event never waits on a lock held by someone changing the listeners.
+ *
+ * @param <L> the type of listener
+ * @author bill
+ */
+class ListenerList<L> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ListenerList.class);
+
+    /**
+     * events that only carry the latest value, other events such as player state changes share a
+     * class between distinct transitions so a newer one doesn't replace them
+     */
+    private static final Set<Class<?>> SUPERSEDING_EVENTS = new HashSet<>(Arrays.asList(
+            TrackPositionChangeEvent.class,
+            VolumeChangeEvent.class,
+            BitrateChangeEvent.class));
+
+    private final EventDispatcher dispatcher;
+    private final List<Registration<L>> registrations = new CopyOnWriteArrayList<>();
+
+    ListenerList(EventDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    void add(L listener) {
+        registrations.add(new Registration<>(listener));
+    }
+
+    void remove(L listener) {
+        for (Registration<L> registration : registrations) {
+            if (registration.listener.equals(listener)) {
+                registrations.remove(registration);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Delivers the event to every listener
+     *
+     * @param event    the event
+     * @param callback calls the listener with the event
+     * @param <E>      the type of event
+     */
+    <E> void fire(E event, BiConsumer<L, E> callback) {
+        EventDispatcher.Settings settings = dispatcher.getSettings();
+        for (Registration<L> registration : registrations) {
+            if (settings == null) {
+                callback.accept(registration.listener, event);
+            } else {
+                registration.enqueue(event, () -> callback.accept(registration.listener, event), settings);
+            }
+        }
+    }
+
+    private static class Registration<L> {
+        private final L listener;
+        private final Deque<PendingEvent> queue = new ArrayDeque<>();
+        private boolean draining;
+
+        private Registration(L listener) {
+            this.listener = listener;
+        }
+
+        private void enqueue(Object event, Runnable delivery, EventDispatcher.Settings settings) {
+            boolean startDraining;
+            synchronized (queue) {
+                if (queue.size() >= settings.getQueueSize()) {
+                    overflow(event, settings.getOverflowPolicy());
+                }
+                queue.addLast(new PendingEvent(event, delivery));
+                startDraining = !draining;
+                draining = true;
+            }
+
+            if (startDraining) {
+                try {
+                    settings.getExecutor().execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    LOGGER.error("Listener executor rejected event for {}", listener, e);
+                    synchronized (queue) {
+                        queue.clear();
+                        draining = false;
+                    }
+                }
+            }
+        }
+
+        private void overflow(Object event, EventDispatcher.OverflowPolicy overflowPolicy) {
+            if (overflowPolicy == EventDispatcher.OverflowPolicy.COALESCE
+                    && SUPERSEDING_EVENTS.contains(event.getClass())) {
+                boolean coalesced = false;
+                Iterator<PendingEvent> iterator = queue.iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().event.getClass() == event.getClass()) {
+                        iterator.remove();
+                        coalesced = true;
+                    }
+                }
+                if (coalesced) {
+                    return;
+                }
+            }
+
+            LOGGER.debug("Listener queue full, dropping oldest event for {}", listener);
+            queue.pollFirst();
+        }
+
+        private void drain() {
+            while (true) {
+                PendingEvent next;
+                synchronized (queue) {
+                    next = queue.pollFirst();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+
+                try {
+                    next.delivery.run();
+                } catch (RuntimeException e) {
+                    LOGGER.error("Error in listener {}", listener, e);
+                }
+            }
+        }
+    }
+
+    private static class PendingEvent {
+        private final Object event;
+        private final Runnable delivery;
+
+        private PendingEvent(Object event, Runnable delivery) {
+            this.event = event;
+            this.delivery = delivery;
+        }
+    }
+}
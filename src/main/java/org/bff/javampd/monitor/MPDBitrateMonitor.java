@@ -1,40 +1,44 @@
 package org.bff.javampd.monitor;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import org.bff.javampd.player.BitrateChangeEvent;
 import org.bff.javampd.player.BitrateChangeListener;
 import org.bff.javampd.server.Status;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.bff.javampd.server.StatusSnapshot;
 
 @Singleton
 public class MPDBitrateMonitor extends MPDVolumeMonitor implements BitrateMonitor {
     private int oldBitrate;
     private int newBitrate;
 
-    private List<BitrateChangeListener> bitrateListeners;
+    private final ListenerList<BitrateChangeListener> bitrateListeners;
 
     MPDBitrateMonitor() {
-        bitrateListeners = new ArrayList<>();
+        this(new EventDispatcher());
+    }
+
+    @Inject
+    MPDBitrateMonitor(EventDispatcher eventDispatcher) {
+        super(eventDispatcher);
+        bitrateListeners = eventDispatcher.createListenerList();
     }
 
     @Override
-    public synchronized void addBitrateChangeListener(BitrateChangeListener bcl) {
+    public void addBitrateChangeListener(BitrateChangeListener bcl) {
         bitrateListeners.add(bcl);
     }
 
     @Override
-    public synchronized void removeBitrateChangeListener(BitrateChangeListener bcl) {
+    public void removeBitrateChangeListener(BitrateChangeListener bcl) {
         bitrateListeners.remove(bcl);
     }
 
     @Override
-    public void processResponseStatus(String line) {
-        super.processResponseStatus(line);
-        if (Status.lookupStatus(line) == Status.BITRATE) {
-            newBitrate =
-                    Integer.parseInt(line.substring(Status.BITRATE.getStatusPrefix().length()).trim());
+    public void processResponseStatus(StatusSnapshot status) {
+        super.processResponseStatus(status);
+        if (status.contains(Status.BITRATE)) {
+            newBitrate = status.getBitrate();
         }
     }
 
@@ -48,9 +52,7 @@ public class MPDBitrateMonitor extends MPDVolumeMonitor implements BitrateMonito
     }
 
     private void fireBitrateChangeEvent(BitrateChangeEvent bitrateChangeEvent) {
-        for (BitrateChangeListener bcl : bitrateListeners) {
-            bcl.bitrateChanged(bitrateChangeEvent);
-        }
+        bitrateListeners.fire(bitrateChangeEvent, BitrateChangeListener::bitrateChanged);
     }
 
     @Override
@@ -1,21 +1,25 @@
 package org.bff.javampd.monitor;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import org.bff.javampd.server.ConnectionChangeEvent;
 import org.bff.javampd.server.ConnectionChangeListener;
+import org.bff.javampd.server.ConnectionState;
 import org.bff.javampd.server.Server;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Singleton
 public class MPDConnectionMonitor implements ConnectionMonitor {
-    private List<ConnectionChangeListener> connectionListeners;
+    private final ListenerList<ConnectionChangeListener> connectionListeners;
     private Server server;
-    private boolean connected = true;
+    private volatile ConnectionState state = ConnectionState.CONNECTED;
 
     MPDConnectionMonitor() {
-        this.connectionListeners = new ArrayList<>();
+        this(new EventDispatcher());
+    }
+
+    @Inject
+    MPDConnectionMonitor(EventDispatcher eventDispatcher) {
+        this.connectionListeners = eventDispatcher.createListenerList();
     }
 
     /**
@@ -25,7 +29,7 @@ public class MPDConnectionMonitor implements ConnectionMonitor {
      * @param ccl the ConnectionChangeListener to add
      */
     @Override
-    public synchronized void addConnectionChangeListener(ConnectionChangeListener ccl) {
+    public void addConnectionChangeListener(ConnectionChangeListener ccl) {
         connectionListeners.add(ccl);
     }
 
@@ -35,7 +39,7 @@ public class MPDConnectionMonitor implements ConnectionMonitor {
      * @param ccl the ConnectionChangeListener to remove
      */
     @Override
-    public synchronized void removeConnectionChangeListener(ConnectionChangeListener ccl) {
+    public void removeConnectionChangeListener(ConnectionChangeListener ccl) {
         connectionListeners.remove(ccl);
     }
 
@@ -45,21 +49,33 @@ public class MPDConnectionMonitor implements ConnectionMonitor {
      *
      * @param isConnected the connection status
      */
-    protected synchronized void fireConnectionChangeEvent(boolean isConnected) {
-        ConnectionChangeEvent cce = new ConnectionChangeEvent(this, isConnected);
+    protected void fireConnectionChangeEvent(boolean isConnected) {
+        fireConnectionChangeEvent(new ConnectionChangeEvent(this, isConnected));
+    }
 
-        for (ConnectionChangeListener ccl : connectionListeners) {
-            ccl.connectionChangeEventReceived(cce);
-        }
+    private void fireConnectionChangeEvent(ConnectionChangeEvent event) {
+        connectionListeners.fire(event, ConnectionChangeListener::connectionChangeEventReceived);
     }
 
     @Override
     public void checkStatus() {
         boolean conn = this.server.isConnected();
-        if (connected != conn) {
-            connected = conn;
-            fireConnectionChangeEvent(conn);
+        if (conn) {
+            connectionStateChanged(ConnectionState.CONNECTED);
+        } else if (isConnected()) {
+            connectionStateChanged(ConnectionState.OPEN_CIRCUIT);
+        }
+    }
+
+    @Override
+    public void connectionStateChanged(ConnectionState newState) {
+        synchronized (this) {
+            if (state == newState) {
+                return;
+            }
+            state = newState;
         }
+        fireConnectionChangeEvent(new ConnectionChangeEvent(this, newState));
     }
 
     @Override
@@ -69,6 +85,6 @@ public class MPDConnectionMonitor implements ConnectionMonitor {
 
     @Override
     public boolean isConnected() {
-        return this.connected;
+        return this.state == ConnectionState.CONNECTED;
     }
 }
@@ -1,29 +1,33 @@
 package org.bff.javampd.monitor;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import org.bff.javampd.server.ErrorEvent;
 import org.bff.javampd.server.ErrorListener;
 import org.bff.javampd.server.Status;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.bff.javampd.server.StatusSnapshot;
 
 @Singleton
 public class MPDErrorMonitor implements ErrorMonitor {
     private String error;
-    private List<ErrorListener> errorListeners;
+    private final ListenerList<ErrorListener> errorListeners;
 
     MPDErrorMonitor() {
-        this.errorListeners = new ArrayList<>();
+        this(new EventDispatcher());
+    }
+
+    @Inject
+    MPDErrorMonitor(EventDispatcher eventDispatcher) {
+        this.errorListeners = eventDispatcher.createListenerList();
     }
 
     @Override
-    public synchronized void addErrorListener(ErrorListener el) {
+    public void addErrorListener(ErrorListener el) {
         errorListeners.add(el);
     }
 
     @Override
-    public synchronized void removeErrorListener(ErrorListener el) {
+    public void removeErrorListener(ErrorListener el) {
         errorListeners.remove(el);
     }
 
@@ -34,18 +38,13 @@ public class MPDErrorMonitor implements ErrorMonitor {
      * @param message the event message
      */
     protected void fireMPDErrorEvent(String message) {
-        ErrorEvent ee = new ErrorEvent(this, message);
-
-        for (ErrorListener el : errorListeners) {
-            el.errorEventReceived(ee);
-        }
+        errorListeners.fire(new ErrorEvent(this, message), ErrorListener::errorEventReceived);
     }
 
     @Override
-    public void processResponseStatus(String line) {
-        Status status = Status.lookupStatus(line);
-        if (status == Status.ERROR) {
-            error = line.substring(Status.ERROR.getStatusPrefix().length()).trim();
+    public void processResponseStatus(StatusSnapshot status) {
+        if (status.contains(Status.ERROR)) {
+            error = status.getError();
         }
     }
 
@@ -0,0 +1,86 @@
+package org.bff.javampd.monitor;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.server.ServerStatus;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * MPDIdleMonitor is a {@link StandAloneMonitor} that waits for the server to push changes through the
+ * MPD <code>idle</code> command instead of polling the status every second.  It fires the same events
+ * as {@link MPDStandAloneMonitor} but only talks to the server when something has changed.
+ * <p>
+ * Since the server doesn't report elapsed time through <code>idle</code>,
+ * {@link org.bff.javampd.player.TrackPositionChangeEvent}s are only fired when the player changes.
+ *
+ * @author bill
+ */
+@Singleton
+public class MPDIdleMonitor extends MPDStandAloneMonitor {
+
+    private final IdleMonitorThread idleMonitorThread;
+
+    @Inject
+    MPDIdleMonitor(ServerStatus serverStatus,
+                   CommandExecutor commandExecutor,
+                   OutputMonitor outputMonitor,
+                   TrackMonitor trackMonitor,
+                   ConnectionMonitor connectionMonitor,
+                   PlayerMonitor playerMonitor,
+                   PlaylistMonitor playlistMonitor,
+                   ErrorMonitor errorMonitor) {
+        super(serverStatus,
+                outputMonitor,
+                trackMonitor,
+                connectionMonitor,
+                playerMonitor,
+                playlistMonitor,
+                errorMonitor);
+
+        this.idleMonitorThread = new IdleMonitorThread(commandExecutor,
+                connectionMonitor,
+                new MonitorProperties().getExceptionDelay());
+
+        idleMonitorThread.addMonitor(IdleSubsystem.PLAYER, playerMonitor, trackMonitor, playlistMonitor, errorMonitor);
+        idleMonitorThread.addMonitor(IdleSubsystem.MIXER, playerMonitor);
+        idleMonitorThread.addMonitor(IdleSubsystem.OPTIONS, errorMonitor);
+        idleMonitorThread.addMonitor(IdleSubsystem.UPDATE, errorMonitor);
+        idleMonitorThread.addMonitor(IdleSubsystem.PLAYLIST, playlistMonitor);
+        idleMonitorThread.addMonitor(IdleSubsystem.OUTPUT, outputMonitor);
+    }
+
+    /**
+     * Registers an additional {@link Monitor} to be checked when the {@link IdleSubsystem} changes
+     *
+     * @param subsystem the {@link IdleSubsystem} to watch
+     * @param monitor   the {@link Monitor} to check
+     */
+    public void addMonitor(IdleSubsystem subsystem, Monitor monitor) {
+        idleMonitorThread.addMonitor(subsystem, monitor);
+    }
+
+    @Override
+    public void start() {
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        executorService.execute(this.idleMonitorThread);
+        executorService.shutdown();
+    }
+
+    @Override
+    public void stop() {
+        this.idleMonitorThread.setStopped(true);
+    }
+
+    @Override
+    public boolean isDone() {
+        return this.idleMonitorThread.isDone();
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return this.idleMonitorThread.isInitialized();
+    }
+}
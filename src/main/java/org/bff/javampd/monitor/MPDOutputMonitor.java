@@ -12,15 +12,19 @@ import java.util.*;
 @Singleton
 public class MPDOutputMonitor implements OutputMonitor {
     private Map<Integer, MPDOutput> outputMap;
-    private List<OutputChangeListener> outputListeners;
+    private final ListenerList<OutputChangeListener> outputListeners;
 
     private Admin admin;
 
-    @Inject
     MPDOutputMonitor(Admin admin) {
+        this(admin, new EventDispatcher());
+    }
+
+    @Inject
+    MPDOutputMonitor(Admin admin, EventDispatcher eventDispatcher) {
         this.admin = admin;
         this.outputMap = new HashMap<>();
-        this.outputListeners = new ArrayList<>();
+        this.outputListeners = eventDispatcher.createListenerList();
     }
 
     @Override
@@ -50,12 +54,12 @@ public class MPDOutputMonitor implements OutputMonitor {
     }
 
     @Override
-    public synchronized void addOutputChangeListener(OutputChangeListener vcl) {
+    public void addOutputChangeListener(OutputChangeListener vcl) {
         outputListeners.add(vcl);
     }
 
     @Override
-    public synchronized void removeOutputChangeListener(OutputChangeListener vcl) {
+    public void removeOutputChangeListener(OutputChangeListener vcl) {
         outputListeners.remove(vcl);
     }
 
@@ -65,10 +69,8 @@ public class MPDOutputMonitor implements OutputMonitor {
      *
      * @param event the event id to send
      */
-    protected synchronized void fireOutputChangeEvent(OutputChangeEvent event) {
-        for (OutputChangeListener ocl : outputListeners) {
-            ocl.outputChanged(event);
-        }
+    protected void fireOutputChangeEvent(OutputChangeEvent event) {
+        outputListeners.fire(event, OutputChangeListener::outputChanged);
     }
 
     private void loadOutputs(Collection<MPDOutput> outputs) {
@@ -1,15 +1,14 @@
 package org.bff.javampd.monitor;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import org.bff.javampd.player.PlayerBasicChangeEvent;
 import org.bff.javampd.player.PlayerBasicChangeListener;
 import org.bff.javampd.server.Status;
+import org.bff.javampd.server.StatusSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import static org.bff.javampd.monitor.PlayerStatus.*;
 
 @Singleton
@@ -17,19 +16,25 @@ public class MPDPlayerMonitor extends MPDBitrateMonitor implements PlayerMonitor
     private static final Logger LOGGER = LoggerFactory.getLogger(MPDPlayerMonitor.class);
 
     private PlayerStatus status = PlayerStatus.STATUS_STOPPED;
-    private List<PlayerBasicChangeListener> playerListeners;
+    private final ListenerList<PlayerBasicChangeListener> playerListeners;
     private String state;
 
     MPDPlayerMonitor() {
-        this.playerListeners = new ArrayList<>();
+        this(new EventDispatcher());
+    }
+
+    @Inject
+    MPDPlayerMonitor(EventDispatcher eventDispatcher) {
+        super(eventDispatcher);
+        this.playerListeners = eventDispatcher.createListenerList();
         state = "";
     }
 
     @Override
-    public void processResponseStatus(String line) {
-        super.processResponseStatus(line);
-        if (Status.lookupStatus(line) == Status.STATE) {
-            state = line.substring(Status.STATE.getStatusPrefix().length()).trim();
+    public void processResponseStatus(StatusSnapshot status) {
+        super.processResponseStatus(status);
+        if (status.contains(Status.STATE)) {
+            state = status.getState();
         }
     }
 
@@ -63,12 +68,12 @@ public class MPDPlayerMonitor extends MPDBitrateMonitor implements PlayerMonitor
     }
 
     @Override
-    public synchronized void addPlayerChangeListener(PlayerBasicChangeListener pcl) {
+    public void addPlayerChangeListener(PlayerBasicChangeListener pcl) {
         playerListeners.add(pcl);
     }
 
     @Override
-    public synchronized void removePlayerChangeListener(PlayerBasicChangeListener pcl) {
+    public void removePlayerChangeListener(PlayerBasicChangeListener pcl) {
         playerListeners.remove(pcl);
     }
 
@@ -89,12 +94,8 @@ public class MPDPlayerMonitor extends MPDBitrateMonitor implements PlayerMonitor
      *
      * @param status the {@link org.bff.javampd.player.PlayerBasicChangeEvent.Status}
      */
-    protected synchronized void firePlayerChangeEvent(PlayerBasicChangeEvent.Status status) {
-        PlayerBasicChangeEvent pce = new PlayerBasicChangeEvent(this, status);
-
-        for (PlayerBasicChangeListener pcl : playerListeners) {
-            pcl.playerBasicChange(pce);
-        }
+    protected void firePlayerChangeEvent(PlayerBasicChangeEvent.Status status) {
+        playerListeners.fire(new PlayerBasicChangeEvent(this, status), PlayerBasicChangeListener::playerBasicChange);
     }
 
     private void processPlayingStatus(PlayerStatus oldStatus) {
@@ -5,13 +5,11 @@ import com.google.inject.Singleton;
 import org.bff.javampd.playlist.PlaylistBasicChangeEvent;
 import org.bff.javampd.playlist.PlaylistBasicChangeListener;
 import org.bff.javampd.server.Status;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.bff.javampd.server.StatusSnapshot;
 
 @Singleton
 public class MPDPlaylistMonitor implements PlaylistMonitor {
-    private List<PlaylistBasicChangeListener> playlistListeners;
+    private final ListenerList<PlaylistBasicChangeListener> playlistListeners;
 
     private int newPlaylistVersion;
     private int oldPlaylistVersion;
@@ -24,19 +22,23 @@ public class MPDPlaylistMonitor implements PlaylistMonitor {
 
     private PlayerMonitor playerMonitor;
 
-    @Inject
     MPDPlaylistMonitor(PlayerMonitor playerMonitor) {
+        this(playerMonitor, new EventDispatcher());
+    }
+
+    @Inject
+    MPDPlaylistMonitor(PlayerMonitor playerMonitor, EventDispatcher eventDispatcher) {
         this.playerMonitor = playerMonitor;
-        this.playlistListeners = new ArrayList<>();
+        this.playlistListeners = eventDispatcher.createListenerList();
     }
 
     @Override
-    public synchronized void addPlaylistChangeListener(PlaylistBasicChangeListener pcl) {
+    public void addPlaylistChangeListener(PlaylistBasicChangeListener pcl) {
         playlistListeners.add(pcl);
     }
 
     @Override
-    public synchronized void removePlaylistChangeListener(PlaylistBasicChangeListener pcl) {
+    public void removePlaylistChangeListener(PlaylistBasicChangeListener pcl) {
         playlistListeners.remove(pcl);
     }
 
@@ -58,34 +60,23 @@ public class MPDPlaylistMonitor implements PlaylistMonitor {
      *
      * @param event the {@link org.bff.javampd.playlist.PlaylistBasicChangeEvent.Event}
      */
-    public synchronized void firePlaylistChangeEvent(PlaylistBasicChangeEvent.Event event) {
-        PlaylistBasicChangeEvent pce = new PlaylistBasicChangeEvent(this, event);
-
-        for (PlaylistBasicChangeListener pcl : playlistListeners) {
-            pcl.playlistBasicChange(pce);
-        }
+    public void firePlaylistChangeEvent(PlaylistBasicChangeEvent.Event event) {
+        playlistListeners.fire(new PlaylistBasicChangeEvent(this, event), PlaylistBasicChangeListener::playlistBasicChange);
     }
 
     @Override
-    public void processResponseStatus(String line) {
-        Status status = Status.lookupStatus(line);
-
-        switch (status) {
-            case PLAYLIST:
-                newPlaylistVersion = Integer.parseInt(line.substring(Status.PLAYLIST.getStatusPrefix().length()).trim());
-                break;
-            case PLAYLISTLENGTH:
-                newPlaylistLength = Integer.parseInt(line.substring(Status.PLAYLISTLENGTH.getStatusPrefix().length()).trim());
-                break;
-            case CURRENTSONG:
-                newSong = Integer.parseInt(line.substring(Status.CURRENTSONG.getStatusPrefix().length()).trim());
-                break;
-            case CURRENTSONGID:
-                newSongId = Integer.parseInt(line.substring(Status.CURRENTSONGID.getStatusPrefix().length()).trim());
-                break;
-            default:
-                //Do nothing
-                break;
+    public void processResponseStatus(StatusSnapshot status) {
+        if (status.contains(Status.PLAYLIST)) {
+            newPlaylistVersion = status.getPlaylistVersion();
+        }
+        if (status.contains(Status.PLAYLISTLENGTH)) {
+            newPlaylistLength = status.getPlaylistLength();
+        }
+        if (status.contains(Status.CURRENTSONG)) {
+            newSong = status.getCurrentSong();
+        }
+        if (status.contains(Status.CURRENTSONGID)) {
+            newSongId = status.getCurrentSongId();
         }
     }
 
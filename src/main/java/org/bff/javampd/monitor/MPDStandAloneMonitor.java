@@ -10,6 +10,7 @@ import org.bff.javampd.server.ErrorListener;
 import org.bff.javampd.server.ServerStatus;
 
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * MPDStandAloneMonitor monitors a MPD connection by querying the status and
@@ -26,6 +27,9 @@ public class MPDStandAloneMonitor
         implements StandAloneMonitor, PlayerBasicChangeListener {
 
     private StandAloneMonitorThread standAloneMonitorThread;
+    private ScheduledMonitors scheduledMonitors;
+
+    private ServerStatus serverStatus;
 
     private OutputMonitor outputMonitor;
     private ErrorMonitor errorMonitor;
@@ -45,6 +49,7 @@ public class MPDStandAloneMonitor
                          PlaylistMonitor playlistMonitor,
                          ErrorMonitor errorMonitor) {
         this.monitorProperties = new MonitorProperties();
+        this.serverStatus = serverStatus;
         this.outputMonitor = outputMonitor;
         this.trackMonitor = trackMonitor;
         this.connectionMonitor = connectionMonitor;
@@ -171,23 +176,71 @@ public class MPDStandAloneMonitor
         errorMonitor.removeErrorListener(el);
     }
 
+    @Override
+    public void setMonitorScheduler(MonitorScheduler scheduler) {
+        ScheduledMonitors monitors = new ScheduledMonitors(serverStatus, connectionMonitor, scheduler);
+        monitors.setPeriod(MonitorType.STATUS,
+                TimeUnit.SECONDS.toMillis(monitorProperties.getMonitorDelay()),
+                MonitorScheduler.Mode.FIXED_DELAY);
+        addScheduledMonitor(monitors, MonitorType.TRACK, trackMonitor, monitorProperties.getTrackDelay());
+        addScheduledMonitor(monitors, MonitorType.PLAYER, playerMonitor, monitorProperties.getPlayerDelay());
+        addScheduledMonitor(monitors, MonitorType.ERROR, errorMonitor, monitorProperties.getErrorDelay());
+        addScheduledMonitor(monitors, MonitorType.PLAYLIST, playlistMonitor, monitorProperties.getPlaylistDelay());
+        addScheduledMonitor(monitors, MonitorType.CONNECTION, connectionMonitor, monitorProperties.getConnectionDelay());
+        addScheduledMonitor(monitors, MonitorType.OUTPUT, outputMonitor, monitorProperties.getOutputDelay());
+        this.scheduledMonitors = monitors;
+    }
+
+    /*
+     * The delays in the properties count status polls, the monitor is checked on the poll after the
+     * delay has passed
+     */
+    private void addScheduledMonitor(ScheduledMonitors monitors, MonitorType type, Monitor monitor, int delay) {
+        monitors.addMonitor(type,
+                monitor,
+                TimeUnit.SECONDS.toMillis((long) (delay + 1) * monitorProperties.getMonitorDelay()),
+                MonitorScheduler.Mode.FIXED_DELAY);
+    }
+
+    @Override
+    public void setMonitorPeriod(MonitorType type, long periodMillis, MonitorScheduler.Mode mode) {
+        if (scheduledMonitors == null) {
+            throw new IllegalStateException("Monitor periods need a monitor scheduler");
+        }
+        scheduledMonitors.setPeriod(type, periodMillis, mode);
+    }
+
     @Override
     public void start() {
-        Executors.newSingleThreadExecutor().execute(this.standAloneMonitorThread);
+        if (scheduledMonitors != null) {
+            scheduledMonitors.start();
+        } else {
+            Executors.newSingleThreadExecutor().execute(this.standAloneMonitorThread);
+        }
     }
 
     @Override
     public void stop() {
-        this.standAloneMonitorThread.setStopped(true);
+        if (scheduledMonitors != null) {
+            scheduledMonitors.stop();
+        } else {
+            this.standAloneMonitorThread.setStopped(true);
+        }
     }
 
     @Override
     public boolean isDone() {
+        if (scheduledMonitors != null) {
+            return scheduledMonitors.isDone();
+        }
         return this.standAloneMonitorThread.isDone();
     }
 
     @Override
     public boolean isLoaded() {
+        if (scheduledMonitors != null) {
+            return scheduledMonitors.isInitialized();
+        }
         return this.standAloneMonitorThread.isInitialized();
     }
 
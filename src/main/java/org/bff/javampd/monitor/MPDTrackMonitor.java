@@ -1,40 +1,52 @@
 package org.bff.javampd.monitor;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import org.bff.javampd.Clock;
+import org.bff.javampd.MPDSystemClock;
 import org.bff.javampd.player.TrackPositionChangeEvent;
 import org.bff.javampd.player.TrackPositionChangeListener;
-import org.bff.javampd.server.Status;
+import org.bff.javampd.server.StatusSnapshot;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Fires {@link TrackPositionChangeEvent}s as the current song plays.  The position is taken from the
+ * status and moved on with the clock while playing, so events can be fired more often than the
+ * status is read.  Each check fires an event if the position has moved since the last one.
+ */
 @Singleton
 public class MPDTrackMonitor implements TrackMonitor {
-    private List<TrackPositionChangeListener> trackListeners;
+    private final ListenerList<TrackPositionChangeListener> trackListeners;
+    private final TrackPositionEstimator estimator;
+    private final Clock clock;
     private long oldPos;
-    private long elapsedTime;
 
     MPDTrackMonitor() {
-        this.trackListeners = new ArrayList<>();
+        this(new EventDispatcher(), new MPDSystemClock());
+    }
+
+    @Inject
+    MPDTrackMonitor(EventDispatcher eventDispatcher, Clock clock) {
+        this.trackListeners = eventDispatcher.createListenerList();
+        this.estimator = new TrackPositionEstimator();
+        this.clock = clock;
     }
 
     @Override
     public void checkStatus() {
-        checkTrackPosition(elapsedTime);
+        checkTrackPositionMillis(estimator.getPositionMillis(clock.nanoTime()));
     }
 
     @Override
-    public void processResponseStatus(String line) {
-        if (Status.lookupStatus(line) == Status.TIME) {
-            elapsedTime =
-                    Long.parseLong(line.substring(Status.TIME.getStatusPrefix().length()).trim().split(":")[0]);
-        }
+    public void processResponseStatus(StatusSnapshot status) {
+        estimator.update(status, clock.nanoTime());
     }
 
     @Override
     public void reset() {
         oldPos = 0;
-        elapsedTime = 0;
+        estimator.reset();
     }
 
     /**
@@ -44,9 +56,13 @@ public class MPDTrackMonitor implements TrackMonitor {
      * @param newPos the new elapsed time to check
      */
     protected final void checkTrackPosition(long newPos) {
-        if (oldPos != newPos) {
-            oldPos = newPos;
-            fireTrackPositionChangeEvent(newPos);
+        checkTrackPositionMillis(TimeUnit.SECONDS.toMillis(newPos));
+    }
+
+    private void checkTrackPositionMillis(long newPosMillis) {
+        if (oldPos != newPosMillis) {
+            oldPos = newPosMillis;
+            fireTrackPositionChangeEvent(TimeUnit.MILLISECONDS.toSeconds(newPosMillis), newPosMillis);
         }
     }
 
@@ -57,7 +73,7 @@ public class MPDTrackMonitor implements TrackMonitor {
      * @param tpcl the TrackPositionChangeListener to add
      */
     @Override
-    public synchronized void addTrackPositionChangeListener(TrackPositionChangeListener tpcl) {
+    public void addTrackPositionChangeListener(TrackPositionChangeListener tpcl) {
         trackListeners.add(tpcl);
     }
 
@@ -67,13 +83,13 @@ public class MPDTrackMonitor implements TrackMonitor {
      * @param tpcl the TrackPositionChangeListener to remove
      */
     @Override
-    public synchronized void removeTrackPositionChangeListener(TrackPositionChangeListener tpcl) {
+    public void removeTrackPositionChangeListener(TrackPositionChangeListener tpcl) {
         trackListeners.remove(tpcl);
     }
 
     @Override
     public void resetElapsedTime() {
-        elapsedTime = 0;
+        estimator.resetPosition(clock.nanoTime());
         oldPos = 0;
     }
 
@@ -83,11 +99,12 @@ public class MPDTrackMonitor implements TrackMonitor {
      *
      * @param newTime the new elapsed time
      */
-    protected synchronized void fireTrackPositionChangeEvent(long newTime) {
-        TrackPositionChangeEvent tpce = new TrackPositionChangeEvent(this, newTime);
+    protected void fireTrackPositionChangeEvent(long newTime) {
+        fireTrackPositionChangeEvent(newTime, TimeUnit.SECONDS.toMillis(newTime));
+    }
 
-        for (TrackPositionChangeListener tpcl : trackListeners) {
-            tpcl.trackPositionChanged(tpce);
-        }
+    private void fireTrackPositionChangeEvent(long newTime, long newTimeMillis) {
+        trackListeners.fire(new TrackPositionChangeEvent(this, newTime, newTimeMillis),
+                TrackPositionChangeListener::trackPositionChanged);
     }
 }
@@ -1,25 +1,31 @@
 package org.bff.javampd.monitor;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
-import org.bff.javampd.player.VolumeChangeDelegate;
+import org.bff.javampd.player.VolumeChangeEvent;
 import org.bff.javampd.player.VolumeChangeListener;
 import org.bff.javampd.server.Status;
+import org.bff.javampd.server.StatusSnapshot;
 
 @Singleton
 public class MPDVolumeMonitor implements VolumeMonitor {
     private int newVolume;
     private int oldVolume;
-    private VolumeChangeDelegate volumeChangeDelegate;
+    private final ListenerList<VolumeChangeListener> volumeListeners;
 
     MPDVolumeMonitor() {
-        this.volumeChangeDelegate = new VolumeChangeDelegate();
+        this(new EventDispatcher());
+    }
+
+    @Inject
+    MPDVolumeMonitor(EventDispatcher eventDispatcher) {
+        this.volumeListeners = eventDispatcher.createListenerList();
     }
 
     @Override
-    public void processResponseStatus(String line) {
-        if (Status.lookupStatus(line) == Status.VOLUME) {
-            newVolume =
-                    Integer.parseInt(line.substring(Status.VOLUME.getStatusPrefix().length()).trim());
+    public void processResponseStatus(StatusSnapshot status) {
+        if (status.contains(Status.VOLUME)) {
+            newVolume = status.getVolume();
         }
     }
 
@@ -38,13 +44,13 @@ public class MPDVolumeMonitor implements VolumeMonitor {
     }
 
     @Override
-    public synchronized void addVolumeChangeListener(VolumeChangeListener vcl) {
-        volumeChangeDelegate.addVolumeChangeListener(vcl);
+    public void addVolumeChangeListener(VolumeChangeListener vcl) {
+        volumeListeners.add(vcl);
     }
 
     @Override
-    public synchronized void removeVolumeChangeListener(VolumeChangeListener vcl) {
-        volumeChangeDelegate.removeVolumeChangedListener(vcl);
+    public void removeVolumeChangeListener(VolumeChangeListener vcl) {
+        volumeListeners.remove(vcl);
     }
 
     /**
@@ -53,7 +59,7 @@ public class MPDVolumeMonitor implements VolumeMonitor {
      *
      * @param volume the new volume
      */
-    protected synchronized void fireVolumeChangeEvent(int volume) {
-        volumeChangeDelegate.fireVolumeChangeEvent(this, volume);
+    protected void fireVolumeChangeEvent(int volume) {
+        volumeListeners.fire(new VolumeChangeEvent(this, volume), VolumeChangeListener::volumeChanged);
     }
 }
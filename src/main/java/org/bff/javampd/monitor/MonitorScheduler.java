@@ -0,0 +1,97 @@
+package org.bff.javampd.monitor;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the status polls and {@link Monitor} checks of any number of {@link MPDStandAloneMonitor}s on a
+ * shared {@link ScheduledExecutorService}.  Each monitor runs at its own period so a monitor can be
+ * checked several times a second while another is only checked once a minute.
+ * <p>
+ * Share one scheduler between all the {@link org.bff.javampd.server.MPD}s in the application through
+ * {@link org.bff.javampd.server.MPD.Builder#monitorScheduler(MonitorScheduler)} and {@link #close()} it
+ * once they are all closed.
+ *
+ * @author bill
+ */
+public class MonitorScheduler {
+
+    /**
+     * How a period is measured
+     */
+    public enum Mode {
+        /**
+         * the period is measured from the start of one run to the start of the next, runs that take
+         * too long are caught up
+         */
+        FIXED_RATE,
+        /**
+         * the period is measured from the end of one run to the start of the next
+         */
+        FIXED_DELAY
+    }
+
+    private final ScheduledExecutorService executorService;
+
+    /**
+     * Starts the scheduler threads
+     *
+     * @param threads the number of scheduler threads
+     */
+    public MonitorScheduler(int threads) {
+        this(Executors.newScheduledThreadPool(threads, new MonitorThreadFactory()));
+    }
+
+    /**
+     * Runs the monitors on an existing executor.  The executor is shut down by {@link #close()}.
+     *
+     * @param executorService the executor to run the monitors on
+     */
+    public MonitorScheduler(ScheduledExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Runs the task every period until the returned future is cancelled
+     *
+     * @param task         the task to run
+     * @param periodMillis the period in milliseconds
+     * @param mode         how the period is measured
+     * @return the future used to cancel the task
+     */
+    ScheduledFuture<?> schedule(Runnable task, long periodMillis, Mode mode) {
+        if (mode == Mode.FIXED_RATE) {
+            return executorService.scheduleAtFixedRate(task, 0, periodMillis, TimeUnit.MILLISECONDS);
+        }
+        return executorService.scheduleWithFixedDelay(task, 0, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the scheduler threads.  Monitors still running are stopped.
+     */
+    public void close() {
+        executorService.shutdownNow();
+    }
+
+    /**
+     * @return true once {@link #close()} has been called
+     */
+    public boolean isClosed() {
+        return executorService.isShutdown();
+    }
+
+    private static class MonitorThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "javampd-monitor-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.bff.javampd.monitor;
+
+/**
+ * The checks a {@link MPDStandAloneMonitor} runs on a {@link MonitorScheduler}.  Each one can be given
+ * its own period.
+ *
+ * @author bill
+ */
+public enum MonitorType {
+    /**
+     * loads the server status the other monitors work from
+     */
+    STATUS,
+    TRACK,
+    PLAYER,
+    ERROR,
+    PLAYLIST,
+    CONNECTION,
+    OUTPUT
+}
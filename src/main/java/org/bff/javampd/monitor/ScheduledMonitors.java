@@ -0,0 +1,188 @@
+package org.bff.javampd.monitor;
+
+import org.bff.javampd.MPDException;
+import org.bff.javampd.server.ServerStatus;
+import org.bff.javampd.server.StatusSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs the status poll and each {@link Monitor} of a {@link MPDStandAloneMonitor} as separate tasks
+ * on a {@link MonitorScheduler}.  The tasks of one instance never run at the same time so the monitors
+ * don't need to be thread safe.  A task that finds another task of its instance running skips its turn
+ * instead of waiting, so a stalled server ties up at most one of the shared scheduler threads.
+ *
+ * @author bill
+ */
+class ScheduledMonitors {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScheduledMonitors.class);
+
+    private final ServerStatus serverStatus;
+    private final ConnectionMonitor connectionMonitor;
+    private final MonitorScheduler scheduler;
+
+    private final Map<MonitorType, Monitor> monitors = new EnumMap<>(MonitorType.class);
+    private final Map<MonitorType, Period> periods = new EnumMap<>(MonitorType.class);
+    private final List<ScheduledFuture<?>> futures = new ArrayList<>();
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    private volatile boolean done = true;
+    private volatile boolean initialized;
+    private boolean failed;
+
+    ScheduledMonitors(ServerStatus serverStatus,
+                      ConnectionMonitor connectionMonitor,
+                      MonitorScheduler scheduler) {
+        this.serverStatus = serverStatus;
+        this.connectionMonitor = connectionMonitor;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Adds a {@link Monitor} checked every period
+     *
+     * @param type         the type of monitor
+     * @param monitor      the monitor
+     * @param periodMillis the period in milliseconds
+     * @param mode         how the period is measured
+     */
+    synchronized void addMonitor(MonitorType type, Monitor monitor, long periodMillis, MonitorScheduler.Mode mode) {
+        runLock.lock();
+        try {
+            monitors.put(type, monitor);
+        } finally {
+            runLock.unlock();
+        }
+        setPeriod(type, periodMillis, mode);
+    }
+
+    /**
+     * Changes the period of a monitor or the status poll.  The period is used the next time
+     * the monitors are started.
+     *
+     * @param type         the type of monitor
+     * @param periodMillis the period in milliseconds
+     * @param mode         how the period is measured
+     */
+    synchronized void setPeriod(MonitorType type, long periodMillis, MonitorScheduler.Mode mode) {
+        if (periodMillis < 1) {
+            throw new IllegalArgumentException("Monitor period must be at least 1 millisecond");
+        }
+        periods.put(type, new Period(periodMillis, mode));
+    }
+
+    synchronized void start() {
+        if (!done) {
+            return;
+        }
+
+        this.done = false;
+        this.initialized = false;
+        this.failed = false;
+
+        Period statusPeriod = periods.get(MonitorType.STATUS);
+        futures.add(scheduler.schedule(this::pollStatus, statusPeriod.millis, statusPeriod.mode));
+        monitors.forEach((type, monitor) -> {
+            Period period = periods.get(type);
+            futures.add(scheduler.schedule(() -> check(monitor), period.millis, period.mode));
+        });
+    }
+
+    synchronized void stop() {
+        if (done) {
+            return;
+        }
+
+        futures.forEach(future -> future.cancel(false));
+        futures.clear();
+        this.done = true;
+
+        runLock.lock();
+        try {
+            monitors.values().forEach(monitor -> {
+                if (monitor instanceof StatusMonitor) {
+                    ((StatusMonitor) monitor).reset();
+                }
+            });
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    boolean isDone() {
+        return done;
+    }
+
+    boolean isInitialized() {
+        return initialized;
+    }
+
+    private void pollStatus() {
+        if (done || !runLock.tryLock()) {
+            return;
+        }
+
+        try {
+            if (failed) {
+                connectionMonitor.checkStatus();
+                if (!connectionMonitor.isConnected()) {
+                    return;
+                }
+                failed = false;
+            }
+
+            serverStatus.forceUpdate();
+            StatusSnapshot status = serverStatus.getStatusSnapshot();
+            for (Monitor monitor : monitors.values()) {
+                if (monitor instanceof StatusMonitor) {
+                    ((StatusMonitor) monitor).processResponseStatus(status);
+                }
+            }
+            this.initialized = true;
+        } catch (MPDException e) {
+            LOGGER.error("Error while checking statuses", e);
+            failed = true;
+        } catch (RuntimeException e) {
+            LOGGER.error("Error processing status", e);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private void check(Monitor monitor) {
+        if (done || !initialized || !runLock.tryLock()) {
+            return;
+        }
+
+        try {
+            if (failed) {
+                return;
+            }
+            monitor.checkStatus();
+        } catch (MPDException e) {
+            LOGGER.error("Error while checking statuses", e);
+            failed = true;
+        } catch (RuntimeException e) {
+            LOGGER.error("Error in monitor {}", monitor, e);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private static class Period {
+        private final long millis;
+        private final MonitorScheduler.Mode mode;
+
+        private Period(long millis, MonitorScheduler.Mode mode) {
+            this.millis = millis;
+            this.mode = mode;
+        }
+    }
+}
@@ -133,6 +133,26 @@ public interface StandAloneMonitor {
      */
     void removeErrorListener(ErrorListener el);
 
+    /**
+     * Runs the monitor on a shared {@link MonitorScheduler} instead of a thread of its own.  Each
+     * {@link MonitorType} is scheduled separately, by default at the periods in the properties.
+     * Must be called before {@link #start()}.
+     *
+     * @param scheduler the shared scheduler
+     */
+    void setMonitorScheduler(MonitorScheduler scheduler);
+
+    /**
+     * Changes how often a {@link MonitorType} runs on the {@link MonitorScheduler}.  The period is
+     * used the next time the monitor is started.
+     *
+     * @param type         the type of monitor
+     * @param periodMillis the period in milliseconds
+     * @param mode         how the period is measured
+     * @throws IllegalStateException if there is no {@link MonitorScheduler}
+     */
+    void setMonitorPeriod(MonitorType type, long periodMillis, MonitorScheduler.Mode mode);
+
     /**
      * Starts the monitor by creating and starting a thread using this instance
      * as the Runnable interface.
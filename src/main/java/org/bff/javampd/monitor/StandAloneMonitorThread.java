@@ -2,6 +2,7 @@ package org.bff.javampd.monitor;
 
 import org.bff.javampd.MPDException;
 import org.bff.javampd.server.ServerStatus;
+import org.bff.javampd.server.StatusSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -70,12 +71,10 @@ public class StandAloneMonitorThread implements Runnable {
         this.initialized = false;
         loadInitialStatus();
 
-        List<String> response;
         while (!this.stopped) {
             try {
                 synchronized (this) {
-                    response = new ArrayList<>(serverStatus.getStatus());
-                    processResponse(response);
+                    processResponse(loadStatus());
                     monitors.forEach(ThreadedMonitor::checkStatus);
                 }
                 TimeUnit.SECONDS.sleep(delay);
@@ -114,21 +113,24 @@ public class StandAloneMonitorThread implements Runnable {
         this.monitors.forEach(ThreadedMonitor::reset);
     }
 
-    private void processResponse(List<String> response) {
-        response.forEach(this::processResponseStatus);
+    /*
+     * The response is parsed once by the server status and the same snapshot is handed to every monitor
+     */
+    private StatusSnapshot loadStatus() {
+        serverStatus.forceUpdate();
+        return serverStatus.getStatusSnapshot();
     }
 
-    private void processResponseStatus(String line) {
+    private void processResponse(StatusSnapshot status) {
         for (ThreadedMonitor monitor : monitors) {
-            monitor.processResponseLine(line);
+            monitor.processResponseStatus(status);
         }
     }
 
     private void loadInitialStatus() {
         try {
             //initial load so no events fired
-            List<String> response = new ArrayList<>(serverStatus.getStatus());
-            processResponse(response);
+            processResponse(loadStatus());
             this.initialized = true;
         } catch (MPDException ex) {
             LOGGER.error("Problem with initialization", ex);
@@ -1,7 +1,26 @@
 package org.bff.javampd.monitor;
 
+import org.bff.javampd.server.StatusSnapshot;
+
+import java.util.Collections;
+
 public interface StatusMonitor extends Monitor {
-    void processResponseStatus(String line);
+    /**
+     * Updates the monitor from a parsed status response.  Only the statuses contained in the
+     * snapshot are changed.
+     *
+     * @param status the parsed status response
+     */
+    void processResponseStatus(StatusSnapshot status);
+
+    /**
+     * Updates the monitor from a single status line
+     *
+     * @param line the status line
+     */
+    default void processResponseStatus(String line) {
+        processResponseStatus(StatusSnapshot.parse(Collections.singletonList(line)));
+    }
 
     void reset();
 }
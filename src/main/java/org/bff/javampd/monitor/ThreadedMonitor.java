@@ -1,5 +1,7 @@
 package org.bff.javampd.monitor;
 
+import org.bff.javampd.server.StatusSnapshot;
+
 /**
  * Threaded version of a {@link Monitor}
  */
@@ -33,6 +35,12 @@ public class ThreadedMonitor {
         }
     }
 
+    public void processResponseStatus(StatusSnapshot status) {
+        if (monitor instanceof StatusMonitor) {
+            ((StatusMonitor) monitor).processResponseStatus(status);
+        }
+    }
+
     public void reset() {
         if (monitor instanceof StatusMonitor) {
             ((StatusMonitor) monitor).reset();
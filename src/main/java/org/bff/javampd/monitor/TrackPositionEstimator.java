@@ -0,0 +1,91 @@
+package org.bff.javampd.monitor;
+
+import org.bff.javampd.server.Status;
+import org.bff.javampd.server.StatusSnapshot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Works out the position in the current song between status reads.  While the player is playing the
+ * position moves on with the clock from the last time it was synchronized with the server.  It is only
+ * synchronized again when the player state or song changes or the server reports a position too far
+ * from the estimate, which means the song was seeked.
+ *
+ * @author bill
+ */
+class TrackPositionEstimator {
+    /**
+     * servers that don't send elapsed report whole seconds, so the estimate can be up to a second ahead
+     */
+    static final long SEEK_TOLERANCE_MILLIS = 1000;
+
+    private boolean playing;
+    private int songId = -1;
+    private long durationMillis;
+    private long baseMillis;
+    private long baseNanos;
+
+    /**
+     * Takes the position from a status read
+     *
+     * @param status   the status
+     * @param nanoTime the clock time of the status read
+     */
+    void update(StatusSnapshot status, long nanoTime) {
+        boolean resync = false;
+
+        if (status.contains(Status.STATE)) {
+            boolean nowPlaying = StandAloneMonitor.PlayerResponse.PLAY.getPrefix().equals(status.getState());
+            resync = nowPlaying != playing;
+            playing = nowPlaying;
+        }
+
+        if (status.contains(Status.CURRENTSONGID) && status.getCurrentSongId() != songId) {
+            songId = status.getCurrentSongId();
+            resync = true;
+        }
+
+        if (status.contains(Status.DURATION) || status.contains(Status.TIME)) {
+            durationMillis = status.getDurationMillis();
+        }
+
+        if (status.contains(Status.ELAPSED) || status.contains(Status.TIME)) {
+            long reported = status.getElapsedMillis();
+            if (resync || !playing || Math.abs(reported - getPositionMillis(nanoTime)) > SEEK_TOLERANCE_MILLIS) {
+                synchronize(reported, nanoTime);
+            }
+        }
+    }
+
+    /**
+     * Returns the position in the song at the clock time
+     *
+     * @param nanoTime the clock time
+     * @return the position in milliseconds
+     */
+    long getPositionMillis(long nanoTime) {
+        if (!playing) {
+            return baseMillis;
+        }
+
+        long position = baseMillis + TimeUnit.NANOSECONDS.toMillis(nanoTime - baseNanos);
+        return durationMillis > 0 ? Math.min(position, durationMillis) : position;
+    }
+
+    void reset() {
+        playing = false;
+        songId = -1;
+        durationMillis = 0;
+        baseMillis = 0;
+        baseNanos = 0;
+    }
+
+    void resetPosition(long nanoTime) {
+        synchronize(0, nanoTime);
+    }
+
+    private void synchronize(long positionMillis, long nanoTime) {
+        baseMillis = positionMillis;
+        baseNanos = nanoTime;
+    }
+}
@@ -1,5 +1,7 @@
 package org.bff.javampd.player;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Represents a change in the position of a playing song.
  *
@@ -8,6 +10,7 @@ package org.bff.javampd.player;
  */
 public class TrackPositionChangeEvent extends java.util.EventObject {
     private long newElapsedTime = 0;
+    private long newElapsedMillis = 0;
 
     /**
      * Creates a new instance of TrackPositionEvent.
@@ -16,8 +19,20 @@ public class TrackPositionChangeEvent extends java.util.EventObject {
      * @param newTime the new elapsed time of the song
      */
     public TrackPositionChangeEvent(Object source, long newTime) {
+        this(source, newTime, TimeUnit.SECONDS.toMillis(newTime));
+    }
+
+    /**
+     * Creates a new instance of TrackPositionEvent.
+     *
+     * @param source        the object on which the Event initially occurred
+     * @param newTime       the new elapsed time of the song in seconds
+     * @param newTimeMillis the new elapsed time of the song in milliseconds
+     */
+    public TrackPositionChangeEvent(Object source, long newTime, long newTimeMillis) {
         super(source);
         this.newElapsedTime = newTime;
+        this.newElapsedMillis = newTimeMillis;
     }
 
     /**
@@ -28,4 +43,13 @@ public class TrackPositionChangeEvent extends java.util.EventObject {
     public long getElapsedTime() {
         return newElapsedTime;
     }
+
+    /**
+     * Returns the elapsed time of the playing song in milliseconds.
+     *
+     * @return the new elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return newElapsedMillis;
+    }
 }
\ No newline at end of file
@@ -8,13 +8,15 @@ import org.bff.javampd.command.MPDCommand;
 import org.bff.javampd.file.MPDFile;
 import org.bff.javampd.genre.MPDGenre;
 import org.bff.javampd.server.ServerStatus;
+import org.bff.javampd.server.Status;
 import org.bff.javampd.song.MPDSong;
 import org.bff.javampd.song.SongConverter;
-import org.bff.javampd.song.SongDatabase;
+import org.bff.javampd.song.SongSearcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,11 +31,14 @@ import java.util.stream.Collectors;
 public class MPDPlaylist implements Playlist {
     private static final Logger LOGGER = LoggerFactory.getLogger(MPDPlaylist.class);
 
+    private static final int MAX_SYNC_ATTEMPTS = 3;
+
     private int oldVersion = -1;
     private int version = -1;
+    private List<MPDSong> songList;
+    private int songListVersion = -1;
 
     private List<PlaylistChangeListener> listeners;
-    private SongDatabase songDatabase;
     private ServerStatus serverStatus;
     private PlaylistProperties playlistProperties;
     private CommandExecutor commandExecutor;
@@ -42,19 +47,16 @@ public class MPDPlaylist implements Playlist {
     /**
      * Playlist constructor
      *
-     * @param songDatabase       the song database
      * @param serverStatus       the server status
      * @param playlistProperties playlist properties
      * @param commandExecutor    command runner
      * @param songConverter      song marshaller
      */
     @Inject
-    public MPDPlaylist(SongDatabase songDatabase,
-                       ServerStatus serverStatus,
+    public MPDPlaylist(ServerStatus serverStatus,
                        PlaylistProperties playlistProperties,
                        CommandExecutor commandExecutor,
                        SongConverter songConverter) {
-        this.songDatabase = songDatabase;
         this.serverStatus = serverStatus;
         this.playlistProperties = playlistProperties;
         this.commandExecutor = commandExecutor;
@@ -169,9 +171,9 @@ public class MPDPlaylist implements Playlist {
     @Override
     public void removeSong(MPDSong song) {
         if (song.getId() > -1) {
+            commandExecutor.sendCommand(playlistProperties.getRemoveId(), song.getId());
             updatePlaylist();
             firePlaylistChangeEvent(PlaylistChangeEvent.Event.SONG_DELETED, song.getName());
-            commandExecutor.sendCommand(playlistProperties.getRemoveId(), song.getId());
         } else {
             removeSong(song.getPosition());
         }
@@ -186,6 +188,51 @@ public class MPDPlaylist implements Playlist {
         }
     }
 
+    @Override
+    public void removeSongs(List<MPDSong> songList) {
+        List<MPDCommand> positionCommands = new ArrayList<>();
+        List<MPDCommand> idCommands = new ArrayList<>();
+
+        List<MPDSong> positioned = new ArrayList<>();
+        for (MPDSong song : songList) {
+            if (song.getPosition() > -1) {
+                positioned.add(song);
+            } else if (song.getId() > -1) {
+                idCommands.add(new MPDCommand(playlistProperties.getRemoveId(), Integer.toString(song.getId())));
+            }
+        }
+        positioned.sort(Comparator.comparingInt(MPDSong::getPosition));
+
+        // walk the runs from the end of the queue so a range never moves the positions still to come
+        int end = positioned.size();
+        while (end > 0) {
+            int start = end - 1;
+            while (start > 0 && positioned.get(start - 1).getPosition() >= positioned.get(start).getPosition() - 1) {
+                start--;
+            }
+
+            MPDSong first = positioned.get(start);
+            if (positioned.get(end - 1).getPosition() > first.getPosition()) {
+                positionCommands.add(new MPDCommand(playlistProperties.getRemove(),
+                        first.getPosition() + ":" + (positioned.get(end - 1).getPosition() + 1)));
+            } else if (first.getId() > -1) {
+                idCommands.add(new MPDCommand(playlistProperties.getRemoveId(), Integer.toString(first.getId())));
+            } else {
+                positionCommands.add(new MPDCommand(playlistProperties.getRemove(), Integer.toString(first.getPosition())));
+            }
+            end = start;
+        }
+
+        if (positionCommands.isEmpty() && idCommands.isEmpty()) {
+            return;
+        }
+
+        positionCommands.addAll(idCommands);
+        commandExecutor.sendCommands(positionCommands);
+        updatePlaylist();
+        firePlaylistChangeEvent(PlaylistChangeEvent.Event.MULTIPLE_SONGS_DELETED, Integer.toString(songList.size()));
+    }
+
     @Override
     public MPDSong getCurrentSong() {
         List<MPDSong> songs = convertResponseToSong(commandExecutor.sendCommand(playlistProperties.getCurrentSong()));
@@ -254,10 +301,21 @@ public class MPDPlaylist implements Playlist {
         }
     }
 
+    /**
+     * Adds every song exactly matching the tag and value pairs in one <code>findadd</code> so the
+     * songs never have to be fetched and added one at a time.
+     *
+     * @param params the tag and value pairs
+     */
+    private void findAdd(String... params) {
+        commandExecutor.sendCommand(playlistProperties.getFindAdd(), params);
+        updatePlaylist();
+    }
+
     private void updatePlaylist() {
         setVersion(getPlaylistVersion());
 
-        if (getPlaylistVersion() != oldVersion) {
+        if (getVersion() != oldVersion) {
             oldVersion = getVersion();
             firePlaylistChangeEvent(PlaylistChangeEvent.Event.PLAYLIST_CHANGED);
         }
@@ -278,33 +336,24 @@ public class MPDPlaylist implements Playlist {
 
     @Override
     public void insertAlbum(MPDArtist artist, MPDAlbum album) {
-        for (MPDSong song : songDatabase.findAlbumByArtist(artist, album)) {
-            addSong(song, false);
-        }
-        firePlaylistChangeEvent(PlaylistChangeEvent.Event.ALBUM_ADDED, album.getName());
+        insertAlbum(artist.getName(), album.getName());
     }
 
     @Override
     public void insertAlbum(String artist, String album) {
-        for (MPDSong song : songDatabase.findAlbumByArtist(artist, album)) {
-            addSong(song, false);
-        }
+        findAdd(SongSearcher.ScopeType.ARTIST.getType(), artist,
+                SongSearcher.ScopeType.ALBUM.getType(), album);
         firePlaylistChangeEvent(PlaylistChangeEvent.Event.ALBUM_ADDED, album);
     }
 
     @Override
     public void insertAlbum(MPDAlbum album) {
-        for (MPDSong song : songDatabase.findAlbum(album)) {
-            addSong(song, false);
-        }
-        firePlaylistChangeEvent(PlaylistChangeEvent.Event.ALBUM_ADDED, album.getName());
+        insertAlbum(album.getName());
     }
 
     @Override
     public void insertAlbum(String album) {
-        for (MPDSong song : songDatabase.findAlbum(album)) {
-            addSong(song, false);
-        }
+        findAdd(SongSearcher.ScopeType.ALBUM.getType(), album);
         firePlaylistChangeEvent(PlaylistChangeEvent.Event.ALBUM_ADDED, album);
     }
 
@@ -316,10 +365,10 @@ public class MPDPlaylist implements Playlist {
     @Override
     public void removeAlbum(String artistName, String albumName) {
         List<MPDSong> removeList = getSongList().stream()
-                .filter(song -> song.getArtistName().equals(artistName) && song.getAlbumName().equals(albumName))
+                .filter(song -> artistName.equals(song.getArtistName()) && albumName.equals(song.getAlbumName()))
                 .collect(Collectors.toList());
 
-        removeList.forEach(this::removeSong);
+        removeSongs(removeList);
     }
 
     @Override
@@ -329,10 +378,7 @@ public class MPDPlaylist implements Playlist {
 
     @Override
     public void insertArtist(String artistName) {
-        for (MPDSong song : songDatabase.findArtist(artistName)) {
-            addSong(song, false);
-        }
-
+        findAdd(SongSearcher.ScopeType.ARTIST.getType(), artistName);
         firePlaylistChangeEvent(PlaylistChangeEvent.Event.ARTIST_ADDED, artistName);
     }
 
@@ -343,9 +389,7 @@ public class MPDPlaylist implements Playlist {
 
     @Override
     public void insertGenre(String genreName) {
-        for (MPDSong song : songDatabase.findGenre(genreName)) {
-            addSong(song, false);
-        }
+        findAdd(SongSearcher.ScopeType.GENRE.getType(), genreName);
         firePlaylistChangeEvent(PlaylistChangeEvent.Event.GENRE_ADDED, genreName);
     }
 
@@ -358,18 +402,15 @@ public class MPDPlaylist implements Playlist {
     public void removeGenre(String genreName) {
         List<MPDSong> removeList =
                 getSongList().stream()
-                        .filter(song -> song.getGenre().equals(genreName))
+                        .filter(song -> genreName.equals(song.getGenre()))
                         .collect(Collectors.toList());
 
-        removeList.forEach(this::removeSong);
+        removeSongs(removeList);
     }
 
     @Override
     public void insertYear(String year) {
-        for (MPDSong song : songDatabase.findYear(year)) {
-            addSong(song, false);
-        }
-
+        findAdd(SongSearcher.ScopeType.DATE.getType(), year);
         firePlaylistChangeEvent(PlaylistChangeEvent.Event.YEAR_ADDED, year);
     }
 
@@ -377,12 +418,12 @@ public class MPDPlaylist implements Playlist {
     public void removeYear(String year) {
         List<MPDSong> removeList = new ArrayList<>();
         for (MPDSong song : getSongList()) {
-            if (song.getYear().equals(year)) {
+            if (year.equals(song.getYear())) {
                 removeList.add(song);
             }
         }
 
-        removeList.forEach(this::removeSong);
+        removeSongs(removeList);
     }
 
     @Override
@@ -394,12 +435,12 @@ public class MPDPlaylist implements Playlist {
     public void removeArtist(String artistName) {
         List<MPDSong> removeList = new ArrayList<>();
         for (MPDSong song : getSongList()) {
-            if (song.getArtistName().equals(artistName)) {
+            if (artistName.equals(song.getArtistName())) {
                 removeList.add(song);
             }
         }
 
-        removeList.forEach(this::removeSong);
+        removeSongs(removeList);
     }
 
     @Override
@@ -416,11 +457,89 @@ public class MPDPlaylist implements Playlist {
         this.version = version;
     }
 
+    /**
+     * Keeps a copy of the queue and only fetches the songs that changed since the copy was taken
+     * with <code>plchanges</code>.  The changes are read between two <code>status</code> calls so
+     * they are only applied when the queue didn't change while they were being read.
+     */
     @Override
-    public List<MPDSong> getSongList() {
+    public synchronized List<MPDSong> getSongList() {
+        for (int i = 0; i < MAX_SYNC_ATTEMPTS; i++) {
+            int[] queue = readQueueVersionAndLength();
+            if (queue == null) {
+                break;
+            }
+
+            if (songList != null && queue[0] == songListVersion) {
+                return new ArrayList<>(songList);
+            }
+
+            List<MPDSong> changes = songList == null
+                    ? listSongs()
+                    : convertResponseToSong(commandExecutor.sendCommand(playlistProperties.getChanges(), songListVersion));
+
+            int[] after = readQueueVersionAndLength();
+            if (after != null && after[0] == queue[0] && applyChanges(changes, queue[1])) {
+                songListVersion = queue[0];
+                return new ArrayList<>(songList);
+            }
+            songList = null;
+        }
+
+        LOGGER.debug("Could not synchronize the playlist, listing all songs");
+        songList = null;
         return listSongs();
     }
 
+    private boolean applyChanges(List<MPDSong> changes, int length) {
+        List<MPDSong> songs = songList == null ? new ArrayList<>(length) : songList;
+        for (MPDSong song : changes) {
+            int position = song.getPosition();
+            if (position < 0) {
+                return false;
+            }
+            while (songs.size() <= position) {
+                songs.add(null);
+            }
+            songs.set(position, song);
+        }
+
+        if (songs.size() > length) {
+            songs.subList(length, songs.size()).clear();
+        }
+
+        if (songs.size() != length || songs.contains(null)) {
+            return false;
+        }
+        songList = songs;
+        return true;
+    }
+
+    /**
+     * @return the playlist version and length or null if the status didn't have them
+     */
+    private int[] readQueueVersionAndLength() {
+        int playlistVersion = -1;
+        int length = -1;
+        for (String line : serverStatus.getStatus()) {
+            if (line.startsWith(Status.PLAYLISTLENGTH.getStatusPrefix())) {
+                length = parseStatus(line, Status.PLAYLISTLENGTH);
+            } else if (line.startsWith(Status.PLAYLIST.getStatusPrefix())) {
+                playlistVersion = parseStatus(line, Status.PLAYLIST);
+            }
+        }
+        return playlistVersion < 0 || length < 0 ? null : new int[]{playlistVersion, length};
+    }
+
+    private static int parseStatus(String line, Status status) {
+        try {
+            return Integer.parseInt(line.substring(status.getStatusPrefix().length()).trim());
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Could not parse {}", line, e);
+            return -1;
+        }
+    }
+
     @Override
     public void swap(MPDSong song, int i) {
         commandExecutor.sendCommand(playlistProperties.getSwapId(), song.getId(), i);
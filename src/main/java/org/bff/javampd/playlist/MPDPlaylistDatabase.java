@@ -6,12 +6,10 @@ import org.bff.javampd.database.DatabaseProperties;
 import org.bff.javampd.database.TagLister;
 import org.bff.javampd.song.MPDSong;
 import org.bff.javampd.song.SongConverter;
-import org.bff.javampd.song.SongDatabase;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * MPDPlaylistDatabase represents a playlist database to a {@link org.bff.javampd.server.MPD}.
@@ -22,19 +20,16 @@ import java.util.stream.Collectors;
  * @author Bill
  */
 public class MPDPlaylistDatabase implements PlaylistDatabase {
-    private SongDatabase songDatabase;
     private CommandExecutor commandExecutor;
     private DatabaseProperties databaseProperties;
     private TagLister tagLister;
     private SongConverter songConverter;
 
     @Inject
-    public MPDPlaylistDatabase(SongDatabase songDatabase,
-                               CommandExecutor commandExecutor,
+    public MPDPlaylistDatabase(CommandExecutor commandExecutor,
                                DatabaseProperties databaseProperties,
                                TagLister tagLister,
                                SongConverter songConverter) {
-        this.songDatabase = songDatabase;
         this.commandExecutor = commandExecutor;
         this.databaseProperties = databaseProperties;
         this.tagLister = tagLister;
@@ -46,9 +41,7 @@ public class MPDPlaylistDatabase implements PlaylistDatabase {
         List<MPDSavedPlaylist> playlists = new ArrayList<>();
 
         for (String s : listPlaylists()) {
-            MPDSavedPlaylist playlist = new MPDSavedPlaylist(s);
-            playlist.setSongs(listPlaylistSongs(s));
-            playlists.add(playlist);
+            playlists.add(new MPDSavedPlaylist(s, () -> listPlaylistSongs(s)));
         }
         return playlists;
     }
@@ -60,14 +53,7 @@ public class MPDPlaylistDatabase implements PlaylistDatabase {
 
     @Override
     public Collection<MPDSong> listPlaylistSongs(String playlistName) {
-        List<MPDSong> songList = new ArrayList<>();
-        List<String> response = commandExecutor.sendCommand(databaseProperties.getListSongs(), playlistName);
-        songList.addAll(
-                songConverter.getSongFileNameList(response)
-                        .stream()
-                        .map(song -> new ArrayList<>(songDatabase.searchFileName(song)).get(0))
-                        .collect(Collectors.toList()));
-
-        return songList;
+        return songConverter.convertResponseToSong(
+                commandExecutor.sendCommand(databaseProperties.getListSongInfo(), playlistName));
     }
 }
@@ -4,6 +4,7 @@ import org.bff.javampd.MPDItem;
 import org.bff.javampd.song.MPDSong;
 
 import java.util.Collection;
+import java.util.function.Supplier;
 
 /**
  * MPDSavedPlaylist represents a saved playlist.
@@ -12,6 +13,7 @@ import java.util.Collection;
  */
 public class MPDSavedPlaylist extends MPDItem {
     private Collection<MPDSong> songs;
+    private Supplier<Collection<MPDSong>> songLoader;
 
     /**
      * Creates a MPDSavedPlaylist object
@@ -22,12 +24,27 @@ public class MPDSavedPlaylist extends MPDItem {
         super(name);
     }
 
+    /**
+     * Creates a MPDSavedPlaylist object whose songs are loaded the first time they are asked for
+     *
+     * @param name       the name of the saved playlist
+     * @param songLoader loads the songs of the playlist
+     */
+    public MPDSavedPlaylist(String name, Supplier<Collection<MPDSong>> songLoader) {
+        super(name);
+        this.songLoader = songLoader;
+    }
+
     /**
      * Returns the list of {@link MPDSong}s for the playlist
      *
      * @return a {@link Collection} of {@link MPDSong}s
      */
-    public Collection<MPDSong> getSongs() {
+    public synchronized Collection<MPDSong> getSongs() {
+        if (songs == null && songLoader != null) {
+            songs = songLoader.get();
+            songLoader = null;
+        }
         return songs;
     }
 
@@ -36,10 +53,15 @@ public class MPDSavedPlaylist extends MPDItem {
      *
      * @param songs the {@link Collection} of {@link MPDSong}s
      */
-    public void setSongs(Collection<MPDSong> songs) {
+    public synchronized void setSongs(Collection<MPDSong> songs) {
         this.songs = songs;
+        this.songLoader = null;
     }
 
+    /**
+     * Playlists of the same name are compared by their songs, loading them if needed, so a loaded
+     * playlist equals an unloaded copy of it.  Playlists of different names are never loaded.
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -56,13 +78,13 @@ public class MPDSavedPlaylist extends MPDItem {
 
         MPDSavedPlaylist that = (MPDSavedPlaylist) o;
 
-        return songs != null ? songs.equals(that.songs) : that.songs == null;
+        Collection<MPDSong> thisSongs = getSongs();
+        Collection<MPDSong> thatSongs = that.getSongs();
+        return thisSongs != null ? thisSongs.equals(thatSongs) : thatSongs == null;
     }
 
     @Override
     public int hashCode() {
-        int result = super.hashCode();
-        result = 31 * result + (songs != null ? songs.hashCode() : 0);
-        return result;
+        return super.hashCode();
     }
 }
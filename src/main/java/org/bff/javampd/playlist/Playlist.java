@@ -103,6 +103,14 @@ public interface Playlist {
      */
     void removeSong(int position);
 
+    /**
+     * Removes a <CODE>List</CODE> of {@link org.bff.javampd.song.MPDSong}s from the playlist in one
+     * command list.  Songs next to each other in the playlist are removed as a range.
+     *
+     * @param songList the songs to remove
+     */
+    void removeSongs(List<MPDSong> songList);
+
     /**
      * Returns the current song.
      *
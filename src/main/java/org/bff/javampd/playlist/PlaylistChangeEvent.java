@@ -26,7 +26,8 @@ public class PlaylistChangeEvent extends EventObject {
         GENRE_ADDED,
         YEAR_ADDED,
         FILE_ADDED,
-        MULTIPLE_SONGS_ADDED
+        MULTIPLE_SONGS_ADDED,
+        MULTIPLE_SONGS_DELETED
     }
 
     /**
@@ -12,6 +12,7 @@ public class PlaylistProperties extends MPDProperties {
         CLEAR("MPD_PLAYLIST_CLEAR"),
         CURRSONG("MPD_PLAYLIST_CURRSONG"),
         DELETE("MPD_PLAYLIST_DELETE"),
+        FINDADD("MPD_PLAYLIST_FIND_ADD"),
         CHANGES("MPD_PLAYLIST_CHANGES"),
         ID("MPD_PLAYLIST_LIST_ID"),
         INFO("MPD_PLAYLIST_LIST"),
@@ -52,6 +53,10 @@ public class PlaylistProperties extends MPDProperties {
         return getPropertyString(Command.DELETE.getKey());
     }
 
+    public String getFindAdd() {
+        return getPropertyString(Command.FINDADD.getKey());
+    }
+
     public String getChanges() {
         return getPropertyString(Command.CHANGES.getKey());
     }
@@ -0,0 +1,82 @@
+package org.bff.javampd.processor;
+
+import java.util.function.Function;
+
+/**
+ * Finds the processor for a response line in one pass.  The key up to and including the first
+ * <code>:</code> is hashed in place and looked up in an open addressing table, so a line costs one
+ * scan and one comparison however many processors there are, and no strings are created.
+ *
+ * @param <P> the processor type
+ * @author bill
+ */
+public class TagDispatcher<P> {
+    private final String[] prefixes;
+    private final Object[] processors;
+    private final int mask;
+
+    /**
+     * Creates the lookup table.  Every prefix must be a key ending with its only <code>:</code> such as
+     * <code>Artist:</code>.
+     *
+     * @param processors   the processors to dispatch to
+     * @param prefixLookup returns the prefix of a processor
+     * @throws IllegalArgumentException if a prefix isn't a key or two processors have the same prefix
+     */
+    public TagDispatcher(P[] processors, Function<P, String> prefixLookup) {
+        int size = Integer.highestOneBit(Math.max(processors.length, 1) * 4);
+        this.prefixes = new String[size];
+        this.processors = new Object[size];
+        this.mask = size - 1;
+
+        for (P processor : processors) {
+            add(prefixLookup.apply(processor), processor);
+        }
+    }
+
+    private void add(String prefix, P processor) {
+        if (prefix.indexOf(':') != prefix.length() - 1) {
+            throw new IllegalArgumentException("Prefix must end with its only ':' but was " + prefix);
+        }
+
+        int i = hash(prefix, prefix.length()) & mask;
+        while (prefixes[i] != null) {
+            if (prefixes[i].equals(prefix)) {
+                throw new IllegalArgumentException("Duplicate prefix " + prefix);
+            }
+            i = (i + 1) & mask;
+        }
+        prefixes[i] = prefix;
+        processors[i] = processor;
+    }
+
+    /**
+     * Returns the processor for the key of the line
+     *
+     * @param line the response line
+     * @return the processor or null if there is no processor for the key
+     */
+    @SuppressWarnings("unchecked")
+    public P lookup(String line) {
+        int keyLength = line.indexOf(':') + 1;
+        if (keyLength == 0) {
+            return null;
+        }
+
+        for (int i = hash(line, keyLength) & mask; prefixes[i] != null; i = (i + 1) & mask) {
+            String prefix = prefixes[i];
+            if (prefix.length() == keyLength && line.startsWith(prefix)) {
+                return (P) processors[i];
+            }
+        }
+        return null;
+    }
+
+    private static int hash(String s, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + s.charAt(i);
+        }
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,77 @@
+package org.bff.javampd.server;
+
+import org.bff.javampd.command.MPDCommand;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A connection to the MPD server that doesn't wait for a response before the next command is written.
+ * Futures complete in the order the commands were sent.
+ *
+ * @author bill
+ */
+public interface AsyncConnection {
+    /**
+     * Writes the command without waiting for earlier commands to be answered
+     *
+     * @param command the command to send
+     * @return a future completed with the response lines, or exceptionally with a
+     * {@link MPDSecurityException} or {@link MPDConnectionException}
+     */
+    CompletableFuture<List<String>> sendCommand(MPDCommand command);
+
+    /**
+     * Writes the commands as a single command list.  The future completes with one
+     * <code>list_OK</code> line per command.
+     *
+     * @param commandList the commands to send
+     * @return a future completed with the response lines, or exceptionally with a
+     * {@link MPDSecurityException} or {@link MPDConnectionException}
+     */
+    CompletableFuture<List<String>> sendCommands(List<MPDCommand> commandList);
+
+    /**
+     * Writes the commands as a single command list.  The future completes with the response lines
+     * of each command.
+     *
+     * @param commandList the commands to send
+     * @return a future completed with the responses, or exceptionally with a
+     * {@link MPDCommandListException} naming the command that failed
+     */
+    default CompletableFuture<List<List<String>>> sendCommandList(List<MPDCommand> commandList) {
+        CompletableFuture<List<List<String>>> future = new CompletableFuture<>();
+        sendCommands(commandList).whenComplete((lines, e) -> {
+            if (e == null) {
+                future.complete(MPDSocket.splitCommandListResponse(lines));
+            } else if (e instanceof MPDConnectionException && !(e instanceof MPDCommandListException)
+                    && !isClosed()) {
+                //the first command failed so there are no responses to keep
+                future.completeExceptionally(MPDCommandListException.fromError(e.getMessage(), Collections.emptyList()));
+            } else {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Returns the version the server reported when the connection was made
+     *
+     * @return the version of MPD
+     */
+    String getVersion();
+
+    /**
+     * Returns true once the connection has been closed or has failed
+     *
+     * @return true if no more commands can be sent
+     */
+    boolean isClosed();
+
+    /**
+     * Closes the connection failing any outstanding commands
+     */
+    void close();
+}
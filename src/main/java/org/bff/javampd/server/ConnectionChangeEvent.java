@@ -9,7 +9,7 @@ import java.util.EventObject;
  * @version 1.0
  */
 public class ConnectionChangeEvent extends EventObject {
-    private boolean connected;
+    private final ConnectionState state;
 
     /**
      * Creates a new instance of ConnectionChangeEvent
@@ -18,8 +18,18 @@ public class ConnectionChangeEvent extends EventObject {
      * @param isConnected the connection status
      */
     public ConnectionChangeEvent(Object source, boolean isConnected) {
+        this(source, isConnected ? ConnectionState.CONNECTED : ConnectionState.OPEN_CIRCUIT);
+    }
+
+    /**
+     * Creates a new instance of ConnectionChangeEvent
+     *
+     * @param source the object on which the Event initially occurred
+     * @param state  the connection state
+     */
+    public ConnectionChangeEvent(Object source, ConnectionState state) {
         super(source);
-        this.connected = isConnected;
+        this.state = state;
     }
 
     /**
@@ -29,6 +39,15 @@ public class ConnectionChangeEvent extends EventObject {
      * @return true if connected; false otherwise
      */
     public boolean isConnected() {
-        return connected;
+        return state == ConnectionState.CONNECTED;
+    }
+
+    /**
+     * Returns the state of the connection
+     *
+     * @return the connection state
+     */
+    public ConnectionState getState() {
+        return state;
     }
 }
@@ -0,0 +1,203 @@
+package org.bff.javampd.server;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks whether the server can be reached for all the connections to it.  When a connection is lost
+ * and can't be restored straight away the circuit opens and every command fails fast instead of
+ * waiting on its own reconnect.  A background task then tries to reach the server, waiting a little
+ * longer after each failed attempt up to the maximum delay, and closes the circuit once the server
+ * answers.  Each delay is randomized so clients of a restarting server don't all retry at once.
+ * <p>
+ * Attempts of all the circuits are timed on one shared thread but each attempt runs on a thread of
+ * its own, so a server that takes a long time to answer doesn't hold up reconnecting to the others.
+ *
+ * @author bill
+ */
+public class ConnectionCircuit {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionCircuit.class);
+
+    private static final ScheduledExecutorService RECONNECT_SCHEDULER =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "javampd-reconnect");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private static final ExecutorService PROBE_EXECUTOR =
+            Executors.newCachedThreadPool(r -> {
+                Thread thread = new Thread(r, "javampd-reconnect-probe");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final Runnable probe;
+    private final long initialDelay;
+    private final long maxDelay;
+    private final ScheduledExecutorService scheduler;
+    private final Executor probeExecutor;
+    private final List<ConnectionChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final Object lock = new Object();
+    private ConnectionState state = ConnectionState.CONNECTED;
+    private long delay;
+    private long nextAttempt;
+    private ScheduledFuture<?> attempt;
+    private boolean closed;
+
+    /**
+     * Creates the circuit
+     *
+     * @param probe        connects to the server and throws if it can't be reached
+     * @param initialDelay the delay in milliseconds before the first attempt to reach the server
+     * @param maxDelay     the longest delay in milliseconds between attempts
+     */
+    public ConnectionCircuit(Runnable probe, int initialDelay, int maxDelay) {
+        this(probe, initialDelay, maxDelay, RECONNECT_SCHEDULER, PROBE_EXECUTOR);
+    }
+
+    ConnectionCircuit(Runnable probe, int initialDelay, int maxDelay, ScheduledExecutorService scheduler) {
+        this(probe, initialDelay, maxDelay, scheduler, Runnable::run);
+    }
+
+    ConnectionCircuit(Runnable probe, int initialDelay, int maxDelay,
+                      ScheduledExecutorService scheduler, Executor probeExecutor) {
+        if (initialDelay < 1) {
+            throw new IllegalArgumentException("Reconnect delay must be at least 1ms");
+        }
+
+        if (maxDelay < initialDelay) {
+            throw new IllegalArgumentException("Maximum reconnect delay must be at least " + initialDelay + "ms");
+        }
+
+        this.probe = probe;
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.scheduler = scheduler;
+        this.probeExecutor = probeExecutor;
+    }
+
+    public ConnectionState getState() {
+        synchronized (lock) {
+            return state;
+        }
+    }
+
+    /**
+     * Fails straight away unless the circuit is connected
+     *
+     * @throws MPDConnectionException if the server can't be reached at the moment
+     */
+    public void checkAvailable() {
+        synchronized (lock) {
+            if (state != ConnectionState.CONNECTED) {
+                long wait = Math.max(0, TimeUnit.NANOSECONDS.toMillis(nextAttempt - System.nanoTime()));
+                throw new MPDConnectionException("Connection to the server is down, "
+                        + (state == ConnectionState.RECONNECTING ? "reconnecting" : "next attempt in " + wait + "ms"));
+            }
+        }
+    }
+
+    /**
+     * Opens the circuit after a connection to the server was lost and couldn't be restored
+     */
+    public void connectionLost() {
+        synchronized (lock) {
+            if (closed || state != ConnectionState.CONNECTED) {
+                return;
+            }
+
+            LOGGER.warn("Connection to the server lost, reconnecting in the background");
+            state = ConnectionState.OPEN_CIRCUIT;
+            delay = initialDelay;
+            scheduleAttempt();
+        }
+        fireConnectionChangeEvent(ConnectionState.OPEN_CIRCUIT);
+    }
+
+    private void scheduleAttempt() {
+        long half = delay / 2;
+        long wait = half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+        nextAttempt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(wait);
+        attempt = scheduler.schedule(() -> probeExecutor.execute(this::attemptReconnect), wait, TimeUnit.MILLISECONDS);
+    }
+
+    private void attemptReconnect() {
+        synchronized (lock) {
+            if (closed || state != ConnectionState.OPEN_CIRCUIT) {
+                return;
+            }
+            state = ConnectionState.RECONNECTING;
+        }
+        fireConnectionChangeEvent(ConnectionState.RECONNECTING);
+
+        try {
+            probe.run();
+        } catch (RuntimeException e) {
+            synchronized (lock) {
+                if (closed) {
+                    return;
+                }
+                state = ConnectionState.OPEN_CIRCUIT;
+                delay = Math.min(delay * 2, maxDelay);
+                LOGGER.debug("Server still unreachable, next attempt in up to {}ms", delay, e);
+                scheduleAttempt();
+            }
+            fireConnectionChangeEvent(ConnectionState.OPEN_CIRCUIT);
+            return;
+        }
+
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            LOGGER.info("Connection to the server restored");
+            state = ConnectionState.CONNECTED;
+            attempt = null;
+        }
+        fireConnectionChangeEvent(ConnectionState.CONNECTED);
+    }
+
+    /**
+     * Stops reconnecting in the background
+     */
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            if (attempt != null) {
+                attempt.cancel(false);
+                attempt = null;
+            }
+        }
+    }
+
+    public void addConnectionChangeListener(ConnectionChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeConnectionChangeListener(ConnectionChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void fireConnectionChangeEvent(ConnectionState newState) {
+        ConnectionChangeEvent event = new ConnectionChangeEvent(this, newState);
+        for (ConnectionChangeListener listener : listeners) {
+            try {
+                listener.connectionChangeEventReceived(event);
+            } catch (RuntimeException e) {
+                LOGGER.error("Error in connection change listener {}", listener, e);
+            }
+        }
+    }
+}
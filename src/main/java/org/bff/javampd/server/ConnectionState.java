@@ -0,0 +1,22 @@
+package org.bff.javampd.server;
+
+/**
+ * The states of a {@link ConnectionCircuit}
+ *
+ * @author bill
+ */
+public enum ConnectionState {
+    /**
+     * commands are sent to the server
+     */
+    CONNECTED,
+    /**
+     * the connection was lost and an attempt to reach the server is in progress, commands fail
+     */
+    RECONNECTING,
+    /**
+     * the connection was lost and the next attempt to reach the server is waiting for its backoff
+     * delay, commands fail
+     */
+    OPEN_CIRCUIT
+}
@@ -14,8 +14,14 @@ import org.bff.javampd.MPDModule;
 import org.bff.javampd.MPDMonitorModule;
 import org.bff.javampd.admin.Admin;
 import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.command.ConnectionPoolSettings;
+import org.bff.javampd.database.LibraryIndex;
 import org.bff.javampd.database.MusicDatabase;
 import org.bff.javampd.monitor.ConnectionMonitor;
+import org.bff.javampd.monitor.EventDispatcher;
+import org.bff.javampd.monitor.MPDIdleMonitor;
+import org.bff.javampd.monitor.MonitorScheduler;
+import org.bff.javampd.monitor.MonitorType;
 import org.bff.javampd.monitor.StandAloneMonitor;
 import org.bff.javampd.player.Player;
 import org.bff.javampd.playlist.Playlist;
@@ -26,6 +32,9 @@ import org.slf4j.LoggerFactory;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * MPD represents a connection to a MPD server.  The commands
@@ -39,7 +48,12 @@ import java.net.UnknownHostException;
  * server - localhost
  * port - 6600
  * no timeout
+ * ping connections idle for 30 seconds before the next command
+ * no keepalive
  * no password
+ * polling monitor
+ * single connection
+ * no library index
  *
  * @author Bill
  */
@@ -51,11 +65,16 @@ public class MPD implements Server {
     private InetAddress address;
     private String password;
     private int timeout;
+    private int pingIdleTime;
+    private int keepAliveInterval;
     private boolean closed;
 
     private static final int DEFAULT_PORT = 6600;
     private static final int DEFAULT_TIMEOUT = 0;
     private static final String DEFAULT_SERVER = "localhost";
+    private static final int DEFAULT_PING_IDLE_TIME = 30000;
+    private static final int DEFAULT_POOL_IDLE_TIMEOUT = 30000;
+    private static final int DEFAULT_POOL_BORROW_TIMEOUT = 0;
 
     private final ServerProperties serverProperties;
     private final CommandExecutor commandExecutor;
@@ -75,6 +94,8 @@ public class MPD implements Server {
             this.password = builder.password;
             this.port = builder.port;
             this.timeout = builder.timeout;
+            this.pingIdleTime = builder.pingIdleTime;
+            this.keepAliveInterval = builder.keepAliveInterval;
             this.serverProperties = builder.serverProperties;
             this.commandExecutor = builder.commandExecutor;
             this.player = builder.player;
@@ -87,6 +108,27 @@ public class MPD implements Server {
             this.musicDatabase = builder.musicDatabase;
 
             this.commandExecutor.setMpd(this);
+            if (builder.eventLoopGroup != null) {
+                this.commandExecutor.useEventLoopGroup(builder.eventLoopGroup);
+            }
+            if (builder.poolSettings != null) {
+                this.commandExecutor.useConnectionPool(builder.poolSettings);
+            }
+            if (builder.reconnectInitialDelay > 0) {
+                this.commandExecutor.useReconnectBackoff(builder.reconnectInitialDelay, builder.reconnectMaxDelay);
+            }
+            if (builder.commandTimeout > 0) {
+                this.commandExecutor.setCommandTimeout(builder.commandTimeout);
+            }
+            if (builder.maxQueuedCommands > 0) {
+                this.commandExecutor.setMaxQueuedCommands(builder.maxQueuedCommands);
+            }
+            if (builder.batchMaxCommands > 0) {
+                this.commandExecutor.useCommandBatching(builder.batchWindow, builder.batchMaxCommands);
+            }
+            if (builder.priorityLanes) {
+                this.commandExecutor.usePriorityLanes();
+            }
             authenticate();
         } catch (Exception e) {
             LOGGER.error("Error creating mpd instance to server {} on port {}", this.address, this.port, e);
@@ -156,6 +198,16 @@ public class MPD implements Server {
         return timeout;
     }
 
+    @Override
+    public int getPingIdleTime() {
+        return pingIdleTime;
+    }
+
+    @Override
+    public int getKeepAliveInterval() {
+        return keepAliveInterval;
+    }
+
     @Override
     public Player getPlayer() {
         return this.player;
@@ -209,6 +261,8 @@ public class MPD implements Server {
         private int port = DEFAULT_PORT;
         private String server = DEFAULT_SERVER;
         private int timeout = DEFAULT_TIMEOUT;
+        private int pingIdleTime = DEFAULT_PING_IDLE_TIME;
+        private int keepAliveInterval;
         private String password;
         private ServerProperties serverProperties;
         private CommandExecutor commandExecutor;
@@ -221,6 +275,29 @@ public class MPD implements Server {
         private MusicDatabase musicDatabase;
         private Injector injector;
         private SongSearcher songSearcher;
+        private LibraryIndex libraryIndex;
+        private boolean idleMonitor;
+        private boolean useLibraryIndex;
+        private int minPoolSize;
+        private int maxPoolSize;
+        private int poolIdleTimeout = DEFAULT_POOL_IDLE_TIMEOUT;
+        private int poolBorrowTimeout = DEFAULT_POOL_BORROW_TIMEOUT;
+        private ConnectionPoolSettings poolSettings;
+        private MPDEventLoopGroup eventLoopGroup;
+        private int reconnectInitialDelay;
+        private int reconnectMaxDelay;
+        private int commandTimeout;
+        private int maxQueuedCommands;
+        private int batchWindow;
+        private int batchMaxCommands;
+        private boolean priorityLanes;
+        private MonitorScheduler monitorScheduler;
+        private Map<MonitorType, Long> monitorPeriods = new EnumMap<>(MonitorType.class);
+        private Map<MonitorType, MonitorScheduler.Mode> monitorModes = new EnumMap<>(MonitorType.class);
+        private EventDispatcher eventDispatcher;
+        private Executor listenerExecutor;
+        private int listenerQueueSize;
+        private EventDispatcher.OverflowPolicy listenerOverflowPolicy;
 
         public Builder() {
             injector = Guice.createInjector(new MPDModule(), new MPDDatabaseModule(), new MPDMonitorModule());
@@ -248,9 +325,261 @@ public class MPD implements Server {
             return this;
         }
 
+        /**
+         * Commands are sent without checking the connection first.  Once a connection has been idle
+         * for this many milliseconds a <code>ping</code> is sent ahead of the next command to make
+         * sure the server hasn't dropped it.  A time of 0 never pings and relies on reconnecting
+         * when a command fails.
+         *
+         * @param pingIdleTime the idle time in milliseconds
+         * @return the builder
+         */
+        public Builder pingIdleTime(int pingIdleTime) {
+            this.pingIdleTime = pingIdleTime;
+            return this;
+        }
+
+        /**
+         * Ping connections in the background when they have been idle for the given number of
+         * milliseconds so they stay open.  Use an interval shorter than the server's
+         * <code>connection_timeout</code>.
+         *
+         * @param keepAliveInterval the keepalive interval in milliseconds
+         * @return the builder
+         */
+        public Builder keepAlive(int keepAliveInterval) {
+            this.keepAliveInterval = keepAliveInterval;
+            return this;
+        }
+
+        /**
+         * Use the MPD <code>idle</code> command to have the server push changes to the
+         * {@link StandAloneMonitor} instead of polling the status.  The idle monitor uses
+         * its own connection to the server.
+         *
+         * @param idleMonitor true to use the idle based monitor
+         * @return the builder
+         */
+        public Builder idleMonitor(boolean idleMonitor) {
+            this.idleMonitor = idleMonitor;
+            return this;
+        }
+
+        /**
+         * Send commands over a pool of connections so commands from different threads run in
+         * parallel instead of queueing behind a single connection.  Connections are opened as they
+         * are needed up to the maximum size.
+         *
+         * @param minPoolSize the number of connections kept open when idle connections are closed
+         * @param maxPoolSize the maximum number of connections to the server
+         * @return the builder
+         */
+        public Builder poolSize(int minPoolSize, int maxPoolSize) {
+            this.minPoolSize = minPoolSize;
+            this.maxPoolSize = maxPoolSize;
+            return this;
+        }
+
+        /**
+         * The time in milliseconds a pooled connection may sit idle before it is closed.  The default
+         * is 30 seconds which is less than the default MPD connection timeout.  A timeout of 0 never
+         * closes idle connections.
+         *
+         * @param poolIdleTimeout the idle timeout in milliseconds
+         * @return the builder
+         */
+        public Builder poolIdleTimeout(int poolIdleTimeout) {
+            this.poolIdleTimeout = poolIdleTimeout;
+            return this;
+        }
+
+        /**
+         * The time in milliseconds to wait for a free pooled connection when all of them are busy.
+         * The default of 0 waits forever.
+         *
+         * @param poolBorrowTimeout the borrow timeout in milliseconds
+         * @return the builder
+         */
+        public Builder poolBorrowTimeout(int poolBorrowTimeout) {
+            this.poolBorrowTimeout = poolBorrowTimeout;
+            return this;
+        }
+
+        /**
+         * Use non-blocking connections driven by a shared {@link MPDEventLoopGroup} instead of a
+         * blocking socket.  Share the group between every {@link MPD} so a few threads can serve
+         * thousands of servers.  The group isn't closed when the {@link MPD} is closed.
+         *
+         * @param eventLoopGroup the shared event loops
+         * @return the builder
+         */
+        public Builder eventLoopGroup(MPDEventLoopGroup eventLoopGroup) {
+            this.eventLoopGroup = eventLoopGroup;
+            return this;
+        }
+
+        /**
+         * Once the server can't be reached fail commands straight away instead of having each one
+         * try to reconnect, and reconnect in the background.  The delay between attempts doubles
+         * from the initial delay up to the maximum, each delay is randomized so clients don't all
+         * retry at once.  The listeners added with
+         * {@link StandAloneMonitor#addConnectionChangeListener} hear as soon as the circuit opens,
+         * starts reconnecting and closes again.
+         *
+         * @param initialDelay the delay in milliseconds before the first attempt
+         * @param maxDelay     the longest delay in milliseconds between attempts
+         * @return the builder
+         */
+        public Builder reconnectBackoff(int initialDelay, int maxDelay) {
+            this.reconnectInitialDelay = initialDelay;
+            this.reconnectMaxDelay = maxDelay;
+            return this;
+        }
+
+        /**
+         * Give every command a deadline in milliseconds, including the time spent waiting for a
+         * connection.  A connection that doesn't answer in time is dropped and the next command
+         * reconnects.  The default of 0 waits forever.
+         *
+         * @param commandTimeout the timeout in milliseconds
+         * @return the builder
+         */
+        public Builder commandTimeout(int commandTimeout) {
+            this.commandTimeout = commandTimeout;
+            return this;
+        }
+
+        /**
+         * Fail commands straight away once this many callers are already waiting for a connection
+         * instead of queueing them behind a slow server.  The default of 0 has no limit.
+         *
+         * @param maxQueuedCommands the most waiting callers
+         * @return the builder
+         */
+        public Builder maxQueuedCommands(int maxQueuedCommands) {
+            this.maxQueuedCommands = maxQueuedCommands;
+            return this;
+        }
+
+        /**
+         * Merge commands sent by different threads at about the same time into one command list so
+         * they share a round trip.  A command waits up to the window for others to join its batch,
+         * a batch of maxCommands is sent straight away.  Not used with an {@link MPDEventLoopGroup},
+         * which already pipelines commands.
+         *
+         * @param windowMillis the time in milliseconds to wait for other commands
+         * @param maxCommands  the most commands in one batch
+         * @return the builder
+         */
+        public Builder commandBatching(int windowMillis, int maxCommands) {
+            this.batchWindow = windowMillis;
+            this.batchMaxCommands = maxCommands;
+            return this;
+        }
+
+        /**
+         * Send bulk reads of the database on a second connection so player and playlist commands
+         * don't wait behind a library scan.
+         *
+         * @param priorityLanes true to keep bulk reads on a connection of their own
+         * @return the builder
+         */
+        public Builder priorityLanes(boolean priorityLanes) {
+            this.priorityLanes = priorityLanes;
+            return this;
+        }
+
+        /**
+         * Run the {@link StandAloneMonitor} on a shared {@link MonitorScheduler} instead of a thread of
+         * its own, each monitor is then checked at its own period.  Share the scheduler between every
+         * {@link MPD}.  The scheduler isn't closed when the {@link MPD} is closed and isn't used by the
+         * idle monitor.
+         *
+         * @param monitorScheduler the shared scheduler
+         * @return the builder
+         */
+        public Builder monitorScheduler(MonitorScheduler monitorScheduler) {
+            this.monitorScheduler = monitorScheduler;
+            return this;
+        }
+
+        /**
+         * Sets how often a monitor runs on the {@link MonitorScheduler}.  Monitors without a period use
+         * the delays in the properties.
+         *
+         * @param type         the monitor
+         * @param periodMillis the period in milliseconds
+         * @param mode         fixed rate or fixed delay
+         * @return the builder
+         */
+        public Builder monitorPeriod(MonitorType type, long periodMillis, MonitorScheduler.Mode mode) {
+            this.monitorPeriods.put(type, periodMillis);
+            this.monitorModes.put(type, mode);
+            return this;
+        }
+
+        /**
+         * Call the monitor listeners on an {@link Executor} instead of the monitor thread so a slow
+         * listener doesn't delay the next status check.  Each listener has a queue of its own holding
+         * up to queueSize events, the overflow policy decides what happens when it is full.
+         *
+         * @param executor       the executor the listeners are called on
+         * @param queueSize      the number of events queued for each listener
+         * @param overflowPolicy what to do when a listener's queue is full
+         * @return the builder
+         */
+        public Builder listenerExecutor(Executor executor,
+                                        int queueSize,
+                                        EventDispatcher.OverflowPolicy overflowPolicy) {
+            this.listenerExecutor = executor;
+            this.listenerQueueSize = queueSize;
+            this.listenerOverflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Load the whole library into memory once and answer the album, artist, genre, date and song
+         * lookups of the {@link MusicDatabase} locally.  The library is loaded again when the
+         * database update time in the server statistics changes.
+         *
+         * @param useLibraryIndex true to use the in-memory {@link LibraryIndex}
+         * @return the builder
+         */
+        public Builder libraryIndex(boolean useLibraryIndex) {
+            this.useLibraryIndex = useLibraryIndex;
+            return this;
+        }
+
         public MPD build() {
+            if (maxPoolSize > 0) {
+                this.poolSettings = new ConnectionPoolSettings(minPoolSize,
+                        maxPoolSize,
+                        poolIdleTimeout,
+                        poolBorrowTimeout);
+            }
+
+            if (idleMonitor) {
+                this.standAloneMonitor = injector.getInstance(MPDIdleMonitor.class);
+            } else if (monitorScheduler != null) {
+                this.standAloneMonitor.setMonitorScheduler(monitorScheduler);
+                monitorPeriods.forEach((type, period) ->
+                        this.standAloneMonitor.setMonitorPeriod(type, period, monitorModes.get(type)));
+            }
+
+            if (listenerExecutor != null) {
+                this.eventDispatcher.useExecutor(listenerExecutor, listenerQueueSize, listenerOverflowPolicy);
+            }
+
+            if (useLibraryIndex) {
+                this.libraryIndex.setEnabled(true);
+            }
+
+            ConnectionMonitor connectionMonitor = injector.getInstance(ConnectionMonitor.class);
+            this.commandExecutor.addConnectionChangeListener(event ->
+                    connectionMonitor.connectionStateChanged(event.getState()));
+
             MPD mpd = new MPD(this);
-            injector.getInstance(ConnectionMonitor.class).setServer(mpd);
+            connectionMonitor.setServer(mpd);
             return mpd;
         }
 
@@ -263,7 +592,9 @@ public class MPD implements Server {
             this.serverStatus = injector.getInstance(ServerStatus.class);
             this.musicDatabase = injector.getInstance(MusicDatabase.class);
             this.songSearcher = injector.getInstance(SongSearcher.class);
+            this.libraryIndex = injector.getInstance(LibraryIndex.class);
             this.commandExecutor = injector.getInstance(CommandExecutor.class);
+            this.eventDispatcher = injector.getInstance(EventDispatcher.class);
         }
 
         private void bindMonitorAndRelay(Injector injector) {
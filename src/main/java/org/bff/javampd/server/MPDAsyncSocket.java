@@ -0,0 +1,167 @@
+package org.bff.javampd.server;
+
+import org.bff.javampd.command.MPDCommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A connection to the MPD server that pipelines commands.  Commands are written as soon as they are
+ * sent without waiting for the previous response, and a reader thread completes the returned futures
+ * in the order the commands were written since MPD answers commands on a connection in order.
+ * <p>
+ * Commands are never retried.  If the connection fails every outstanding future completes
+ * exceptionally with a {@link MPDConnectionException} and the socket is closed; create a new one to
+ * carry on.
+ *
+ * @author bill
+ */
+public class MPDAsyncSocket implements AsyncConnection {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MPDAsyncSocket.class);
+
+    private final Socket socket;
+    private final OutputStream outputStream;
+    private final BufferedReader reader;
+    private final PendingResponses pending;
+    private final ResponseProperties responseProperties;
+    private final String encoding;
+    private final String version;
+    private final Object writeLock = new Object();
+
+    private volatile boolean closed;
+
+    /**
+     * Connects to the server and starts the reader thread.  A timeout of 0 means an infinite wait.
+     *
+     * @param server  the server address
+     * @param port    the server port
+     * @param timeout the connect timeout in milliseconds, 0 for infinite wait
+     * @throws MPDConnectionException if the connection can't be established
+     */
+    public MPDAsyncSocket(InetAddress server, int port, int timeout) {
+        this.responseProperties = new ResponseProperties();
+        this.encoding = new ServerProperties().getEncoding();
+        this.pending = new PendingResponses();
+        this.socket = createSocket();
+
+        try {
+            this.socket.connect(new InetSocketAddress(server, port), timeout);
+            this.outputStream = socket.getOutputStream();
+            this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), encoding));
+            this.version = readVersion();
+        } catch (MPDConnectionException e) {
+            closeSocket();
+            throw e;
+        } catch (Exception e) {
+            LOGGER.error("failed to connect socket to {}", server);
+            closeSocket();
+            throw new MPDConnectionException(e);
+        }
+
+        Thread readerThread = new Thread(this::readResponses, "javampd-async-reader");
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+
+    protected Socket createSocket() {
+        return new Socket();
+    }
+
+    private String readVersion() throws IOException {
+        String line = reader.readLine();
+        if (line != null && line.startsWith(responseProperties.getOk())) {
+            return line.substring(responseProperties.getOk().length()).trim();
+        }
+        throw new MPDConnectionException("Command from server: " + line);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> sendCommand(MPDCommand command) {
+        return send(MPDSocket.convertCommand(command.getCommand(), command.getParams()));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> sendCommands(List<MPDCommand> commandList) {
+        return send(MPDSocket.convertCommandList(commandList));
+    }
+
+    private CompletableFuture<List<String>> send(String commandString) {
+        CompletableFuture<List<String>> future = new CompletableFuture<>();
+
+        synchronized (writeLock) {
+            if (this.closed) {
+                future.completeExceptionally(
+                        new MPDConnectionException("Connection is closed, unable to send command " + commandString.trim()));
+                return future;
+            }
+
+            LOGGER.debug("pipelining command: {}", commandString.trim());
+            pending.add(future);
+            try {
+                outputStream.write(commandString.getBytes(encoding));
+                outputStream.flush();
+            } catch (IOException e) {
+                LOGGER.error("Unable to send command {}", commandString.trim(), e);
+                fail(new MPDConnectionException("Unable to send command " + commandString.trim(), e));
+            }
+        }
+
+        return future;
+    }
+
+    private void readResponses() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                pending.processLine(line);
+            }
+            fail(new MPDConnectionException("Connection closed by server"));
+        } catch (IOException e) {
+            if (!this.closed) {
+                LOGGER.error("Error reading from {}", socket.getInetAddress(), e);
+            }
+            fail(new MPDConnectionException("Connection to server lost", e));
+        }
+    }
+
+    private void fail(MPDConnectionException exception) {
+        synchronized (writeLock) {
+            this.closed = true;
+            closeSocket();
+        }
+
+        pending.failAll(exception);
+    }
+
+    @Override
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    @Override
+    public void close() {
+        fail(new MPDConnectionException("Close has been called on MPD.  Create a new MPD."));
+    }
+
+    private void closeSocket() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            LOGGER.warn("Unable to close socket", e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.bff.javampd.server;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Represents a command in a command list failing.  The server runs the commands of a list in order
+ * and stops at the first error, which it reports as <code>ACK [error@index] {command} message</code>.
+ *
+ * @author bill
+ */
+public class MPDCommandListException extends MPDResponseException {
+    static final Pattern ERROR_PATTERN = Pattern.compile("^\\[(\\d+)@(\\d+)\\] \\{([^}]*)\\}");
+
+    private final int commandIndex;
+    private final List<List<String>> responses;
+
+    /**
+     * Class constructor specifying the message, the failed command and the responses of the
+     * commands before it.
+     *
+     * @param message      the exception message
+     * @param command      the command that failed
+     * @param commandIndex the position of the failed command in the list
+     * @param responses    the response lines of each command before the failed one
+     */
+    public MPDCommandListException(String message, String command, int commandIndex, List<List<String>> responses) {
+        super(message, command);
+        this.commandIndex = commandIndex;
+        this.responses = Collections.unmodifiableList(responses);
+    }
+
+    /**
+     * Returns the position of the failed command in the list, starting at 0
+     *
+     * @return the index of the failed command
+     */
+    public int getCommandIndex() {
+        return commandIndex;
+    }
+
+    /**
+     * Returns the responses of the commands that ran before the failed one
+     *
+     * @return the response lines of each command before the failed one
+     */
+    public List<List<String>> getResponses() {
+        return responses;
+    }
+
+    /**
+     * Creates the exception for an error line with the leading <code>ACK</code> removed.  An error
+     * that doesn't say which command failed gives a plain {@link MPDResponseException}.
+     *
+     * @param error     the error from the server
+     * @param responses the response lines of each command before the error
+     * @return the exception
+     */
+    static MPDResponseException fromError(String error, List<List<String>> responses) {
+        Matcher matcher = ERROR_PATTERN.matcher(error);
+        if (!matcher.find()) {
+            return new MPDResponseException(error);
+        }
+        return new MPDCommandListException(error, matcher.group(3), Integer.parseInt(matcher.group(2)), responses);
+    }
+}
@@ -0,0 +1,69 @@
+package org.bff.javampd.server;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+
+/**
+ * Represents a command in a command list being refused for lack of permission.  The commands before
+ * it have already run, so after authenticating only the commands from {@link #getCommandIndex()} on
+ * should be sent again.
+ *
+ * @author bill
+ */
+public class MPDCommandListSecurityException extends MPDSecurityException {
+    private final int commandIndex;
+    private final List<List<String>> responses;
+
+    /**
+     * Class constructor specifying the message, the refused command and the responses of the
+     * commands before it.
+     *
+     * @param message      the exception message
+     * @param command      the command that was refused
+     * @param commandIndex the position of the refused command in the list
+     * @param responses    the response lines of each command before the refused one
+     */
+    public MPDCommandListSecurityException(String message, String command, int commandIndex,
+                                           List<List<String>> responses) {
+        super(message, command);
+        this.commandIndex = commandIndex;
+        this.responses = Collections.unmodifiableList(responses);
+    }
+
+    /**
+     * Returns the position of the refused command in the list, starting at 0
+     *
+     * @return the index of the refused command
+     */
+    public int getCommandIndex() {
+        return commandIndex;
+    }
+
+    /**
+     * Returns the responses of the commands that ran before the refused one
+     *
+     * @return the response lines of each command before the refused one
+     */
+    public List<List<String>> getResponses() {
+        return responses;
+    }
+
+    /**
+     * Creates the exception for a permission error with the leading <code>ACK</code> removed.  An
+     * error that doesn't say which command was refused gives a plain {@link MPDSecurityException}.
+     *
+     * @param error     the error from the server
+     * @param command   the commands that were sent
+     * @param responses the response lines of each command before the error
+     * @return the exception
+     */
+    static MPDSecurityException fromError(String error, String command, List<List<String>> responses) {
+        Matcher matcher = MPDCommandListException.ERROR_PATTERN.matcher(error);
+        if (!matcher.find()) {
+            return new MPDSecurityException(error, command);
+        }
+        return new MPDCommandListSecurityException(error, matcher.group(3), Integer.parseInt(matcher.group(2)),
+                responses);
+    }
+}
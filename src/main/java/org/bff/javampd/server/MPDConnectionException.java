@@ -44,4 +44,15 @@ public class MPDConnectionException extends MPDException {
     public MPDConnectionException(String message, Throwable cause) {
         super(message, cause);
     }
+
+    /**
+     * Class constructor specifying the message and command generating the
+     * error.
+     *
+     * @param message the exception message
+     * @param command the command generating the exception
+     */
+    public MPDConnectionException(String message, String command) {
+        super(message, command);
+    }
 }
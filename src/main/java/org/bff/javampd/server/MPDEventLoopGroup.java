@@ -0,0 +1,153 @@
+package org.bff.javampd.server;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A small fixed set of threads, each running a {@link Selector}, that drive the non-blocking
+ * {@link MPDNioSocket} connections of any number of {@link MPD}s.  Connections are spread over the
+ * threads round robin.
+ * <p>
+ * Share one group between all the {@link MPD}s in the application through
+ * {@link MPD.Builder#eventLoopGroup(MPDEventLoopGroup)} and {@link #close()} it once they are all closed.
+ *
+ * @author bill
+ */
+public class MPDEventLoopGroup {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MPDEventLoopGroup.class);
+
+    private final EventLoop[] eventLoops;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Starts the event loop threads
+     *
+     * @param threads the number of event loop threads
+     * @throws MPDConnectionException if a selector can't be opened
+     */
+    public MPDEventLoopGroup(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Event loop group needs at least 1 thread");
+        }
+
+        this.eventLoops = new EventLoop[threads];
+        for (int i = 0; i < threads; i++) {
+            eventLoops[i] = new EventLoop("javampd-event-loop-" + i);
+        }
+    }
+
+    EventLoop next() {
+        return eventLoops[Math.floorMod(next.getAndIncrement(), eventLoops.length)];
+    }
+
+    /**
+     * Returns the number of event loop threads
+     *
+     * @return the number of threads
+     */
+    public int getThreadCount() {
+        return eventLoops.length;
+    }
+
+    /**
+     * Stops the event loop threads.  Connections still open are failed and closed.
+     */
+    public void close() {
+        for (EventLoop eventLoop : eventLoops) {
+            eventLoop.shutdown();
+        }
+    }
+
+    static class EventLoop implements Runnable {
+        private final Selector selector;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private volatile boolean shutdown;
+
+        EventLoop(String name) {
+            try {
+                this.selector = Selector.open();
+            } catch (IOException e) {
+                throw new MPDConnectionException("Unable to open selector", e);
+            }
+
+            Thread thread = new Thread(this, name);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        Selector getSelector() {
+            return selector;
+        }
+
+        /**
+         * Runs the task on the event loop thread
+         *
+         * @param task the task to run
+         */
+        void execute(Runnable task) {
+            if (shutdown) {
+                throw new MPDConnectionException("Event loop group has been closed");
+            }
+            tasks.add(task);
+            selector.wakeup();
+        }
+
+        void shutdown() {
+            this.shutdown = true;
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            while (!shutdown) {
+                try {
+                    selector.select();
+                    runTasks();
+                    processSelectedKeys();
+                } catch (Exception e) {
+                    LOGGER.error("Error in event loop", e);
+                }
+            }
+
+            closeConnections();
+        }
+
+        private void runTasks() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+        private void processSelectedKeys() {
+            Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+            while (iterator.hasNext()) {
+                SelectionKey key = iterator.next();
+                iterator.remove();
+                ((MPDNioSocket) key.attachment()).handle(key);
+            }
+        }
+
+        private void closeConnections() {
+            MPDConnectionException closed = new MPDConnectionException("Event loop group has been closed");
+            for (SelectionKey key : new ArrayList<>(selector.keys())) {
+                ((MPDNioSocket) key.attachment()).fail(closed);
+            }
+
+            try {
+                selector.close();
+            } catch (IOException e) {
+                LOGGER.warn("Unable to close selector", e);
+            }
+        }
+    }
+}
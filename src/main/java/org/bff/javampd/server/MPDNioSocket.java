@@ -0,0 +1,268 @@
+package org.bff.javampd.server;
+
+import org.bff.javampd.command.MPDCommand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A non-blocking pipelined connection to the MPD server.  Reads and writes happen on a thread of a
+ * shared {@link MPDEventLoopGroup} so the connection doesn't need a thread of its own.
+ * <p>
+ * Like {@link MPDAsyncSocket} commands are never retried and a failed connection fails every
+ * outstanding future.
+ *
+ * @author bill
+ */
+public class MPDNioSocket implements AsyncConnection {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MPDNioSocket.class);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final MPDEventLoopGroup.EventLoop eventLoop;
+    private final SocketChannel channel;
+    private final Charset charset;
+    private final String ok;
+    private final PendingResponses pending = new PendingResponses();
+    private final Queue<ByteBuffer> writeQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final CompletableFuture<String> versionFuture = new CompletableFuture<>();
+    private final Object writeLock = new Object();
+    private final String version;
+
+    // only used on the event loop thread
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private byte[] line = new byte[256];
+    private int lineLength;
+    private SelectionKey key;
+
+    private volatile boolean closed;
+
+    /**
+     * Connects to the server, waiting until it has sent its version.  A timeout of 0 means an
+     * infinite wait.
+     *
+     * @param eventLoopGroup the event loops that will drive the connection
+     * @param server         the server address
+     * @param port           the server port
+     * @param timeout        the connect timeout in milliseconds, 0 for infinite wait
+     * @throws MPDConnectionException if the connection can't be established
+     */
+    public MPDNioSocket(MPDEventLoopGroup eventLoopGroup, InetAddress server, int port, int timeout) {
+        ServerProperties serverProperties = new ServerProperties();
+        this.charset = Charset.forName(serverProperties.getEncoding());
+        this.ok = new ResponseProperties().getOk();
+        this.eventLoop = eventLoopGroup.next();
+        this.channel = openChannel(server, port);
+
+        try {
+            eventLoop.execute(this::register);
+            this.version = timeout > 0 ? versionFuture.get(timeout, TimeUnit.MILLISECONDS) : versionFuture.get();
+        } catch (TimeoutException e) {
+            fail(new MPDConnectionException("Timed out connecting to " + server));
+            throw new MPDConnectionException("Timed out connecting to " + server, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(new MPDConnectionException("Interrupted connecting to " + server));
+            throw new MPDConnectionException(e);
+        } catch (ExecutionException e) {
+            LOGGER.error("failed to connect socket to {}", server);
+            throw new MPDConnectionException(e.getCause().getMessage(), e.getCause());
+        } catch (MPDConnectionException e) {
+            fail(e);
+            throw e;
+        }
+    }
+
+    private static SocketChannel openChannel(InetAddress server, int port) {
+        SocketChannel socketChannel = null;
+        try {
+            socketChannel = SocketChannel.open();
+            socketChannel.configureBlocking(false);
+            socketChannel.connect(new InetSocketAddress(server, port));
+            return socketChannel;
+        } catch (IOException e) {
+            LOGGER.error("failed to connect socket to {}", server);
+            if (socketChannel != null) {
+                try {
+                    socketChannel.close();
+                } catch (IOException ex) {
+                    LOGGER.warn("Unable to close channel", ex);
+                }
+            }
+            throw new MPDConnectionException(e);
+        }
+    }
+
+    private void register() {
+        try {
+            int ops = channel.isConnected() ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT;
+            this.key = channel.register(eventLoop.getSelector(), ops, this);
+        } catch (IOException e) {
+            fail(new MPDConnectionException("Unable to register connection", e));
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<String>> sendCommand(MPDCommand command) {
+        return send(MPDSocket.convertCommand(command.getCommand(), command.getParams()));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> sendCommands(List<MPDCommand> commandList) {
+        return send(MPDSocket.convertCommandList(commandList));
+    }
+
+    private CompletableFuture<List<String>> send(String commandString) {
+        CompletableFuture<List<String>> future = new CompletableFuture<>();
+
+        synchronized (writeLock) {
+            if (this.closed) {
+                future.completeExceptionally(
+                        new MPDConnectionException("Connection is closed, unable to send command " + commandString.trim()));
+                return future;
+            }
+
+            LOGGER.debug("pipelining command: {}", commandString.trim());
+            pending.add(future);
+            writeQueue.add(ByteBuffer.wrap(commandString.getBytes(charset)));
+        }
+
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                eventLoop.execute(this::flush);
+            } catch (MPDConnectionException e) {
+                fail(e);
+            }
+        }
+        return future;
+    }
+
+    void handle(SelectionKey selectionKey) {
+        try {
+            if (selectionKey.isConnectable() && channel.finishConnect()) {
+                selectionKey.interestOps(SelectionKey.OP_READ);
+            }
+
+            if (selectionKey.isValid() && selectionKey.isReadable()) {
+                read();
+            }
+
+            if (selectionKey.isValid() && selectionKey.isWritable()) {
+                write();
+            }
+        } catch (IOException | CancelledKeyException e) {
+            if (!this.closed) {
+                LOGGER.error("Error on connection to {}", channel, e);
+            }
+            fail(new MPDConnectionException("Connection to server lost", e));
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        try {
+            if (key != null && key.isValid()) {
+                write();
+            }
+        } catch (IOException | CancelledKeyException e) {
+            fail(new MPDConnectionException("Connection to server lost", e));
+        }
+    }
+
+    private void write() throws IOException {
+        ByteBuffer buffer;
+        while ((buffer = writeQueue.peek()) != null) {
+            channel.write(buffer);
+            if (buffer.hasRemaining()) {
+                key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                return;
+            }
+            writeQueue.poll();
+        }
+        key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+    }
+
+    private void read() throws IOException {
+        int read;
+        while ((read = channel.read(readBuffer)) > 0) {
+            byte[] bytes = readBuffer.array();
+            for (int i = 0; i < readBuffer.position(); i++) {
+                if (bytes[i] == '\n') {
+                    processLine(new String(line, 0, lineLength, charset));
+                    lineLength = 0;
+                } else {
+                    appendToLine(bytes[i]);
+                }
+            }
+            readBuffer.clear();
+        }
+
+        if (read < 0) {
+            fail(new MPDConnectionException("Connection closed by server"));
+        }
+    }
+
+    private void appendToLine(byte b) {
+        if (lineLength == line.length) {
+            line = Arrays.copyOf(line, line.length * 2);
+        }
+        line[lineLength++] = b;
+    }
+
+    private void processLine(String responseLine) {
+        if (!versionFuture.isDone()) {
+            if (responseLine.startsWith(ok)) {
+                versionFuture.complete(responseLine.substring(ok.length()).trim());
+            } else {
+                fail(new MPDConnectionException("Command from server: " + responseLine));
+            }
+        } else {
+            pending.processLine(responseLine);
+        }
+    }
+
+    void fail(MPDConnectionException exception) {
+        synchronized (writeLock) {
+            this.closed = true;
+        }
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.warn("Unable to close channel", e);
+        }
+
+        versionFuture.completeExceptionally(exception);
+        pending.failAll(exception);
+        writeQueue.clear();
+    }
+
+    @Override
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    @Override
+    public void close() {
+        fail(new MPDConnectionException("Close has been called on MPD.  Create a new MPD."));
+    }
+}
@@ -0,0 +1,30 @@
+package org.bff.javampd.server;
+
+/**
+ * Represents an error the server answered a command with.  The connection is still usable after
+ * the error, unlike other {@link MPDConnectionException}s.
+ *
+ * @author bill
+ */
+public class MPDResponseException extends MPDConnectionException {
+
+    /**
+     * Class constructor specifying the message.
+     *
+     * @param message the exception message
+     */
+    public MPDResponseException(String message) {
+        super(message);
+    }
+
+    /**
+     * Class constructor specifying the message and command generating the
+     * error.
+     *
+     * @param message the exception message
+     * @param command the command generating the exception
+     */
+    public MPDResponseException(String message, String command) {
+        super(message, command);
+    }
+}
@@ -2,51 +2,35 @@ package org.bff.javampd.server;
 
 import com.google.inject.Inject;
 import org.bff.javampd.Clock;
+import org.bff.javampd.ExpiringCache;
 import org.bff.javampd.command.CommandExecutor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
 /**
+ * Answers the getters from a {@link StatusSnapshot} of the last <code>status</code> response.  The
+ * snapshot is kept for the expiry interval, when it expires only one caller sends <code>status</code>
+ * and any others asking at the same time share its response.
+ *
  * @author bill
  */
 public class MPDServerStatus implements ServerStatus {
-    private static final Logger LOGGER = LoggerFactory.getLogger(MPDServerStatus.class);
+    private static final long DEFAULT_EXPIRY_INTERVAL = 5;
 
-    private long expiryInterval = 5;
-    private List<String> cachedResponse;
-    private Clock clock;
-    private LocalDateTime responseDate;
+    private final ExpiringCache<StatusSnapshot> snapshot;
 
     private ServerProperties serverProperties;
     private CommandExecutor commandExecutor;
 
-    private enum TimeType {
-        ELAPSED(0),
-        TOTAL(1);
-
-        private int index;
-
-        TimeType(int index) {
-            this.index = index;
-        }
-
-        public int getIndex() {
-            return this.index;
-        }
-    }
-
     @Inject
     public MPDServerStatus(ServerProperties serverProperties,
                            CommandExecutor commandExecutor,
                            Clock clock) {
         this.serverProperties = serverProperties;
         this.commandExecutor = commandExecutor;
-        this.clock = clock;
-        this.responseDate = clock.min();
+        this.snapshot = new ExpiringCache<>(clock, DEFAULT_EXPIRY_INTERVAL,
+                () -> StatusSnapshot.parse(commandExecutor.sendCommand(serverProperties.getStatus())));
     }
 
     /**
@@ -59,137 +43,93 @@ public class MPDServerStatus implements ServerStatus {
      * @return the desired status information
      */
     protected String getStatus(Status status) {
-        LocalDateTime now = this.clock.now();
-        if (now.minusSeconds(this.expiryInterval).isAfter(this.responseDate)) {
-            this.responseDate = now;
-            this.cachedResponse = commandExecutor.sendCommand(serverProperties.getStatus());
-        }
-
-        for (String line : cachedResponse) {
-            if (line.startsWith(status.getStatusPrefix())) {
-                return line.substring(status.getStatusPrefix().length()).trim();
-            }
-        }
-        LOGGER.warn("Response did not contain status {}", status.getStatusPrefix());
-        return "";
+        return getStatusSnapshot().get(status);
     }
 
     @Override
     public Collection<String> getStatus() {
-        return commandExecutor.sendCommand(serverProperties.getStatus());
+        List<String> response = commandExecutor.sendCommand(serverProperties.getStatus());
+        snapshot.set(StatusSnapshot.parse(response));
+        return response;
+    }
+
+    @Override
+    public StatusSnapshot getStatusSnapshot() {
+        return snapshot.get();
     }
 
     @Override
     public int getPlaylistVersion() {
-        String version = getStatus(Status.PLAYLIST);
-        try {
-            return Integer.parseInt("".equals(version) ? "0" : version);
-        } catch (NumberFormatException nfe) {
-            LOGGER.error("Could not format playlist version response {}", version, nfe);
-            return 0;
-        }
+        return getStatusSnapshot().getPlaylistVersion();
     }
 
     @Override
     public String getState() {
-        return getStatus(Status.STATE);
+        return getStatusSnapshot().getState();
     }
 
     @Override
     public int getXFade() {
-        String xFade = getStatus(Status.XFADE);
-        try {
-            return Integer.parseInt("".equals(xFade) ? "0" : xFade);
-        } catch (NumberFormatException nfe) {
-            LOGGER.error("Could not format xfade response {}", xFade, nfe);
-            return 0;
-        }
+        return getStatusSnapshot().getXFade();
     }
 
     @Override
     public String getAudio() {
-        return getStatus(Status.AUDIO);
+        return getStatusSnapshot().getAudio();
     }
 
     @Override
     public boolean isError() {
-        return !"".equals(getStatus(Status.ERROR));
+        return getStatusSnapshot().isError();
     }
 
     @Override
     public String getError() {
-        return getStatus(Status.ERROR);
+        return getStatusSnapshot().getError();
     }
 
     @Override
     public long getElapsedTime() {
-        return lookupTime(TimeType.ELAPSED);
+        return getStatusSnapshot().getElapsedTime();
     }
 
     @Override
     public long getTotalTime() {
-        return lookupTime(TimeType.TOTAL);
+        return getStatusSnapshot().getTotalTime();
     }
 
     @Override
     public int getBitrate() {
-        String bitrate = getStatus(Status.BITRATE);
-        try {
-            return Integer.parseInt("".equals(bitrate) ? "0" : bitrate);
-        } catch (NumberFormatException nfe) {
-            LOGGER.error("Could not format bitrate response {}", bitrate, nfe);
-            return 0;
-        }
+        return getStatusSnapshot().getBitrate();
     }
 
     @Override
     public int getVolume() {
-        String volume = getStatus(Status.VOLUME);
-        try {
-            return Integer.parseInt("".equals(volume) ? "0" : volume);
-        } catch (NumberFormatException nfe) {
-            LOGGER.error("Could not format volume response {}", volume, nfe);
-            return 0;
-        }
+        return getStatusSnapshot().getVolume();
     }
 
     @Override
     public boolean isRepeat() {
-        return "1".equals(getStatus(Status.REPEAT));
+        return getStatusSnapshot().isRepeat();
     }
 
     @Override
     public boolean isRandom() {
-        return "1".equals(getStatus(Status.RANDOM));
+        return getStatusSnapshot().isRandom();
     }
 
     @Override
     public boolean isDatabaseUpdating() {
-        return !"".equals(getStatus(Status.UPDATINGDB));
+        return getStatusSnapshot().isDatabaseUpdating();
     }
 
     @Override
     public void setExpiryInterval(long seconds) {
-        this.expiryInterval = seconds;
+        snapshot.setExpiryInterval(seconds);
     }
 
     @Override
     public void forceUpdate() {
-        this.responseDate = this.clock.min();
-    }
-
-    private long lookupTime(TimeType type) {
-        String time = getStatus(Status.TIME);
-
-        if ("".equals(time) || !time.contains(":")) {
-            return 0;
-        } else {
-            try {
-                return Integer.parseInt(time.trim().split(":")[type.getIndex()]);
-            } catch (NumberFormatException nfe) {
-                LOGGER.error("Could not format time {}", time, nfe);
-                return 0;
-            }
-        }
+        snapshot.invalidate();
     }
 }
@@ -5,46 +5,95 @@ import org.bff.javampd.command.MPDCommand;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.FilterInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketAddress;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.Charset;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
+ * A connection to the MPD server.
+ * <p>
+ * Liveness is tracked passively.  Commands are written without a preceding <code>ping</code> and a
+ * failed read or write, including the server closing the connection, reconnects and retries the
+ * command once.  A <code>ping</code> is only sent before a command once the connection has been idle
+ * longer than {@link #setPingIdleTime(int)}, and {@link #startKeepAlive(int)} pings idle connections
+ * in the background so the server doesn't drop them.  With a {@link ConnectionCircuit} a connection
+ * that can't be restored straight away fails later commands fast while the circuit reconnects.
+ *
  * @author bill
  */
 public class MPDSocket {
     private static final Logger LOGGER = LoggerFactory.getLogger(MPDSocket.class);
 
+    private static final ScheduledExecutorService KEEP_ALIVE_SCHEDULER =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "javampd-keepalive");
+                thread.setDaemon(true);
+                return thread;
+            });
+
     private Socket socket;
-    private BufferedReader reader;
+    private ResponseReader reader;
 
     private final ResponseProperties responseProperties;
     private final ServerProperties serverProperties;
     private final String encoding;
+    private final byte[] okBytes;
+    private final byte[] listOkBytes;
+    private final byte[] errorBytes;
     private String lastError;
     private String version;
 
     private final String server;
     private final int port;
-    private boolean closed;
-
-    private static final int TRIES = 3;
+    private final int timeout;
+    private int readTimeout;
+    private volatile boolean closed;
+    private volatile ConnectionCircuit circuit;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile long lastActivity;
+    private boolean streaming;
+    private long pingIdleTime;
+    private ScheduledFuture<?> keepAlive;
+    private volatile int keepAliveInterval;
+    private long deadline;
+    private boolean timed;
+    private boolean responseTimed;
+
+    private static final int TRIES = 2;
 
     public MPDSocket(InetAddress server,
                      int port,
                      int timeout) {
         this.server = server.getHostAddress();
         this.port = port;
+        this.timeout = timeout;
         this.responseProperties = new ResponseProperties();
         this.serverProperties = new ServerProperties();
         this.encoding = serverProperties.getEncoding();
+        Charset charset = Charset.forName(encoding);
+        this.okBytes = responseProperties.getOk().getBytes(charset);
+        this.listOkBytes = responseProperties.getListOk().getBytes(charset);
+        this.errorBytes = responseProperties.getError().getBytes(charset);
         connect(timeout);
     }
 
@@ -58,8 +107,13 @@ public class MPDSocket {
      * @return the version of MPD
      * @throws MPDConnectionException if there is a socked io problem
      */
-    private synchronized void connect(int timeout) {
-        connectSocket(timeout);
+    private void connect(int timeout) {
+        lock.lock();
+        try {
+            connectSocket(timeout);
+        } finally {
+            lock.unlock();
+        }
     }
 
     private void readVersion() {
@@ -84,15 +138,18 @@ public class MPDSocket {
         SocketAddress socketAddress = new InetSocketAddress(server, port);
         try {
             this.socket.connect(socketAddress, timeout);
-            setReader(new BufferedReader(new InputStreamReader(socket.getInputStream(), encoding)));
+            this.socket.setSoTimeout(timeout);
+            setReader(new ResponseReader(new DeadlineInputStream(socket.getInputStream()), Charset.forName(encoding)));
             readVersion();
+            this.socket.setSoTimeout(readTimeout);
+            this.lastActivity = System.nanoTime();
         } catch (Exception ioe) {
             LOGGER.error("failed to connect socket to {}", server);
             throw new MPDConnectionException(ioe);
         }
     }
 
-    protected void setReader(BufferedReader reader) {
+    protected void setReader(ResponseReader reader) {
         this.reader = reader;
     }
 
@@ -100,46 +157,362 @@ public class MPDSocket {
         return new Socket();
     }
 
-    public synchronized Collection<String> sendCommand(MPDCommand command) {
-        checkConnection();
+    /**
+     * Sets how long in milliseconds the connection may sit idle before a <code>ping</code> is sent
+     * ahead of the next command to check it is still alive.  The default of 0 never pings and relies
+     * on reconnecting when a read or write fails.
+     *
+     * @param pingIdleTime the idle time in milliseconds, 0 to never ping
+     */
+    public void setPingIdleTime(int pingIdleTime) {
+        this.pingIdleTime = TimeUnit.MILLISECONDS.toNanos(pingIdleTime);
+    }
+
+    /**
+     * Pings the server in the background whenever the connection has been idle for the given
+     * interval.  A connection that doesn't answer is dropped so the next command reconnects.
+     *
+     * @param interval the keepalive interval in milliseconds
+     */
+    public void startKeepAlive(int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Keepalive interval must be greater than 0");
+        }
+
+        lock.lock();
+        try {
+            stopKeepAlive();
+            this.keepAliveInterval = interval;
+            long idleTime = TimeUnit.MILLISECONDS.toNanos(interval);
+            this.keepAlive = KEEP_ALIVE_SCHEDULER.scheduleWithFixedDelay(() -> keepAlive(idleTime),
+                    interval, interval, TimeUnit.MILLISECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void stopKeepAlive() {
+        if (this.keepAlive != null) {
+            this.keepAlive.cancel(false);
+            this.keepAlive = null;
+        }
+    }
+
+    private void keepAlive(long idleTime) {
+        if (this.closed || idleNanos() < idleTime || !lock.tryLock()) {
+            return;
+        }
+
+        try {
+            if (!this.closed && socket.isConnected() && !socket.isClosed() && !checkPing()) {
+                LOGGER.warn("keepalive ping to {} failed, dropped connection", server);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long idleNanos() {
+        return System.nanoTime() - this.lastActivity;
+    }
+
+    public List<String> sendCommand(MPDCommand command) {
+        return send(command, this::readResponse);
+    }
+
+    /**
+     * Sends a command and hands each response line to the consumer as soon as it has been read so
+     * large responses are never held in memory.  The command is only retried if the connection fails
+     * before the first line has been handed over.  If the consumer throws, the rest of the response is
+     * read and discarded before the exception is rethrown.
+     * <p>
+     * The consumer runs while the connection is held so it can't send commands on this socket, doing
+     * so throws an {@link IllegalStateException} instead of mixing the command into the response.
+     *
+     * @param command  the command to send
+     * @param consumer receives the response lines in order
+     */
+    public void streamCommand(MPDCommand command, Consumer<String> consumer) {
+        send(command, new StreamingHandler(consumer));
+    }
+
+    /**
+     * Sends a command and returns only the values of the response lines starting with one of the
+     * prefixes, for example <code>file:</code>.  Lines are matched on their raw bytes so only the
+     * values that are kept are ever decoded.
+     *
+     * @param command  the command to send
+     * @param prefixes the prefixes of the lines to keep
+     * @return the values after the prefixes with surrounding whitespace removed, in response order
+     */
+    public List<String> sendCommandForValues(MPDCommand command, String... prefixes) {
+        byte[][] prefixBytes = new byte[prefixes.length][];
+        for (int i = 0; i < prefixes.length; i++) {
+            prefixBytes[i] = prefixes[i].getBytes(Charset.forName(encoding));
+        }
+
+        return send(command, commandString -> readValues(commandString, prefixBytes));
+    }
+
+    /**
+     * Sends a command and waits no longer than the timeout for the connection and the whole
+     * response, including any reconnect on the way.  If the response isn't complete in time the
+     * connection is dropped, so a late response can't be mistaken for the response to the next
+     * command, and the next command reconnects.
+     *
+     * @param command the command to send
+     * @param timeout the longest time to wait
+     * @return the response lines
+     * @throws MPDTimeoutException if the connection wasn't free or the response didn't arrive in time
+     */
+    public List<String> sendCommand(MPDCommand command, Duration timeout) {
+        return sendWithin(timeout, command.getCommand(), () -> sendCommand(command));
+    }
+
+    /**
+     * Streams the response of a command like {@link #streamCommand(MPDCommand, Consumer)} waiting
+     * no longer than the timeout for the connection and for each read of the response.  A long
+     * response is fine as long as the server keeps sending it, a server that stops part way through
+     * drops the connection.
+     *
+     * @param command  the command to send
+     * @param consumer receives the response lines in order
+     * @param timeout  the longest time to wait
+     * @throws MPDTimeoutException if the connection wasn't free or the server stopped sending
+     */
+    public void streamCommand(MPDCommand command, Consumer<String> consumer, Duration timeout) {
+        sendWithin(timeout, command.getCommand(), false, () -> {
+            streamCommand(command, consumer);
+            return null;
+        });
+    }
+
+    /**
+     * Returns the values of the response lines like {@link #sendCommandForValues(MPDCommand, String...)}
+     * waiting no longer than the timeout for the connection and the whole response.
+     *
+     * @param command  the command to send
+     * @param timeout  the longest time to wait
+     * @param prefixes the prefixes of the lines to keep
+     * @return the values after the prefixes with surrounding whitespace removed, in response order
+     * @throws MPDTimeoutException if the connection wasn't free or the response didn't arrive in time
+     */
+    public List<String> sendCommandForValues(MPDCommand command, Duration timeout, String... prefixes) {
+        return sendWithin(timeout, command.getCommand(), () -> sendCommandForValues(command, prefixes));
+    }
+
+    private <T> T sendWithin(Duration timeout, String commandName, Supplier<T> send) {
+        return sendWithin(timeout, commandName, true, send);
+    }
+
+    /**
+     * Sends holding the connection for no longer than the timeout.  A reconnect only gets the time
+     * that is left, and when the whole response is timed each read of the socket only gets the time
+     * that is left too, otherwise every read gets the whole timeout.
+     */
+    private <T> T sendWithin(Duration timeout, String commandName, boolean wholeResponse, Supplier<T> send) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            if (!lock.tryLock(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new MPDTimeoutException("Timed out waiting for the connection to send " + commandName);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MPDConnectionException("Interrupted waiting for the connection", e);
+        }
+
+        try {
+            checkNotStreaming(commandName);
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining < 1) {
+                throw new MPDTimeoutException("Timed out waiting for the connection to send " + commandName);
+            }
+
+            this.deadline = deadline;
+            this.timed = true;
+            this.responseTimed = wholeResponse;
+            useReadTimeout((int) Math.min(remaining, Integer.MAX_VALUE));
+            return send.get();
+        } finally {
+            this.timed = false;
+            this.responseTimed = false;
+            useReadTimeout(0);
+            lock.unlock();
+        }
+    }
 
-        int count = 0;
-        while (count < TRIES) {
+    /**
+     * Stops a response consumer from writing a command into the middle of the response it is handed
+     */
+    private void checkNotStreaming(String commandName) {
+        if (streaming) {
+            throw new IllegalStateException("Can't send " + commandName
+                    + " from a response consumer while the response is still being read");
+        }
+    }
+
+    private void useReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+        if (!socket.isClosed()) {
             try {
-                return sendBytes(convertCommand(command.getCommand(), command.getParams()));
-            } catch (MPDException mpdException) {
-                logCommandError(command, mpdException);
-                throw mpdException;
-            } catch (Exception ex) {
-                logCommandError(command, ex);
+                socket.setSoTimeout(readTimeout);
+            } catch (SocketException e) {
+                LOGGER.warn("Unable to set the read timeout of the socket", e);
+            }
+        }
+    }
+
+    private List<String> send(MPDCommand command, ResponseHandler<List<String>> handler) {
+        return send(convertCommand(command.getCommand(), command.getParams()), command.getCommand(), handler);
+    }
+
+    private <T> T send(String commandString, String commandName, ResponseHandler<T> handler) {
+        lock.lock();
+        try {
+            checkNotStreaming(commandName);
+            checkConnection();
+
+            int count = 0;
+            while (true) {
                 try {
-                    connect();
-                } catch (Exception exc) {
-                    LOGGER.error("Unable to connect to {} on port {}", server, port, exc);
+                    sendBytes(commandString);
+                    return handler.handle(commandString);
+                } catch (MPDException mpdException) {
+                    logCommandError(commandString, mpdException);
+                    throw mpdException;
+                } catch (ConsumerException ce) {
+                    throw (RuntimeException) ce.getCause();
+                } catch (SocketTimeoutException ste) {
+                    logCommandError(commandString, ste);
+                    discardSocket();
+                    throw new MPDTimeoutException("Timed out waiting for the response to " + commandName, ste);
+                } catch (Exception ex) {
+                    if (this.closed) {
+                        throw new MPDConnectionException("Close has been called on MPD.  Create a new MPD.", ex);
+                    }
+                    logCommandError(commandString, ex);
+                    if (!handler.isRetryable()) {
+                        throw new MPDConnectionException("Connection lost part way through the response to " + commandName, ex);
+                    }
+                    if (++count >= TRIES) {
+                        LOGGER.error("Unable to send command {} after {} tries", commandName, TRIES);
+                        connectionLost();
+                        throw new MPDConnectionException("Unable to send command " + commandName, ex);
+                    }
+                    if (!reconnect() && this.circuit != null) {
+                        connectionLost();
+                        throw new MPDConnectionException("Unable to reconnect to send command " + commandName, ex);
+                    }
+                    LOGGER.warn("Retrying command {}", commandName);
                 }
-                ++count;
-                LOGGER.warn("Retrying command {} for the {} time", command.getCommand(), count);
             }
+        } finally {
+            lock.unlock();
         }
+    }
 
-        LOGGER.error("Unable to send command {} after {} tries", command, TRIES);
-        throw new MPDConnectionException("Unable to send command " + command);
+    /**
+     * Closes the socket without marking the connection closed so the next command reconnects
+     */
+    private void discardSocket() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            LOGGER.error("Unable to close socket", e);
+        }
     }
 
-    private static void logCommandError(MPDCommand command, Exception se) {
-        LOGGER.error("Error from: {}", command.getCommand(), se);
-        for (String str : command.getParams()) {
-            LOGGER.error("\tparam: {}", str);
+    private boolean reconnect() {
+        try {
+            connect();
+            return true;
+        } catch (MPDTimeoutException mte) {
+            throw mte;
+        } catch (Exception exc) {
+            LOGGER.error("Unable to connect to {} on port {}", server, port, exc);
+            if (timed && remainingMillis() < 1) {
+                throw new MPDTimeoutException("Timed out reconnecting to " + server, exc);
+            }
+            return false;
         }
     }
 
     /**
-     * Attempts to connect to MPD with an infinite timeout value.
-     * If MPD is already connected no attempt will be made to connect and the
-     * mpdVersion is returned.
+     * Shares the state of the connection to the server with the other connections using the same
+     * circuit.  Once the circuit is open commands fail straight away instead of trying to reconnect,
+     * the circuit reconnects in the background.
+     *
+     * @param circuit the circuit, null to reconnect on every command
+     */
+    public void setConnectionCircuit(ConnectionCircuit circuit) {
+        this.circuit = circuit;
+    }
+
+    private void connectionLost() {
+        ConnectionCircuit connectionCircuit = this.circuit;
+        if (connectionCircuit != null) {
+            connectionCircuit.connectionLost();
+        }
+    }
+
+    private static void logCommandError(String commandString, Exception se) {
+        LOGGER.error("Error from: {}", commandString.trim(), se);
+    }
+
+    /**
+     * Connects to MPD again with the timeout the socket was created with, or the time left of a
+     * timed command if that is shorter
      */
-    private synchronized void connect() {
-        connect(0);
+    private void connect() {
+        if (!timed) {
+            connect(this.timeout);
+            return;
+        }
+
+        long remaining = remainingMillis();
+        if (remaining < 1) {
+            throw new MPDTimeoutException("Timed out reconnecting to " + server);
+        }
+        connect((int) (this.timeout > 0 ? Math.min(this.timeout, remaining) : Math.min(remaining, Integer.MAX_VALUE)));
+    }
+
+    private long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+    }
+
+    /**
+     * Gives each read of the socket only the time left of a timed command, so a server that trickles
+     * the response a line at a time can't keep the command waiting past its timeout
+     */
+    private class DeadlineInputStream extends FilterInputStream {
+
+        DeadlineInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            limitRead();
+            return super.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            limitRead();
+            return super.read(b, off, len);
+        }
+
+        private void limitRead() throws IOException {
+            if (!responseTimed) {
+                return;
+            }
+
+            long remaining = remainingMillis();
+            if (remaining < 1) {
+                throw new SocketTimeoutException("Timed out waiting for the rest of the response");
+            }
+            socket.setSoTimeout((int) Math.min(remaining, Integer.MAX_VALUE));
+        }
     }
 
     private boolean isResponseOK(final String line) {
@@ -172,83 +545,261 @@ public class MPDSocket {
         return convertCommand(command, new ArrayList<>());
     }
 
-    private static String convertCommand(String command, List<String> params) {
+    static String convertCommandList(List<MPDCommand> commandList) {
+        ServerProperties properties = new ServerProperties();
+        StringBuilder sb = new StringBuilder(convertCommand(properties.getStartBulk()));
+
+        for (MPDCommand command : commandList) {
+            sb.append(convertCommand(command.getCommand(), command.getParams()));
+        }
+
+        return sb.append(convertCommand(properties.getEndBulk())).toString();
+    }
+
+    static String convertCommand(String command, List<String> params) {
         StringBuilder sb = new StringBuilder(command);
         for (String param : params) {
-            param = param.replaceAll("\"", "\\\\\"");
+            param = param.replace("\\", "\\\\").replace("\"", "\\\"");
             sb.append(" \"").append(param).append("\"");
         }
 
         return sb.append("\n").toString();
     }
 
-    public synchronized void sendCommands(List<MPDCommand> commandList) {
-        StringBuilder sb = new StringBuilder(convertCommand(serverProperties.getStartBulk()));
+    /**
+     * Sends the commands as a single command list and reads the whole response.  Use
+     * {@link #sendCommandList(List)} when the responses are needed.
+     *
+     * @param commandList the commands to send
+     * @throws MPDCommandListException if one of the commands failed
+     */
+    public void sendCommands(List<MPDCommand> commandList) {
+        sendCommandList(commandList);
+    }
 
-        for (MPDCommand command : commandList) {
-            sb.append(convertCommand(command.getCommand(), command.getParams()));
-        }
+    /**
+     * Sends the commands as a single command list waiting no longer than the timeout for the
+     * connection and the response
+     *
+     * @param commandList the commands to send
+     * @param timeout     the longest time to wait
+     * @throws MPDCommandListException if one of the commands failed
+     * @throws MPDTimeoutException     if the connection wasn't free or the response didn't arrive in time
+     */
+    public void sendCommands(List<MPDCommand> commandList, Duration timeout) {
+        sendCommandList(commandList, timeout);
+    }
 
-        sb.append(convertCommand(serverProperties.getEndBulk()));
+    /**
+     * Sends the commands as a single command list and returns the response of each command.  The
+     * server runs the commands in order and stops at the first one that fails, so several queries
+     * such as <code>status</code> and <code>stats</code> can be answered in one round trip.
+     *
+     * @param commandList the commands to send
+     * @return the response lines of each command, in the order the commands were given
+     * @throws MPDCommandListException if one of the commands failed, carrying the index of that
+     *                                 command and the responses of the commands before it
+     */
+    public List<List<String>> sendCommandList(List<MPDCommand> commandList) {
+        return send(convertCommandList(commandList), serverProperties.getStartBulk(), this::readCommandListResponse);
+    }
 
-        checkConnection();
+    /**
+     * Sends the commands as a single command list like {@link #sendCommandList(List)} waiting no
+     * longer than the timeout for the connection and the response
+     *
+     * @param commandList the commands to send
+     * @param timeout     the longest time to wait
+     * @return the response lines of each command, in the order the commands were given
+     * @throws MPDCommandListException if one of the commands failed
+     * @throws MPDTimeoutException     if the connection wasn't free or the response didn't arrive in time
+     */
+    public List<List<String>> sendCommandList(List<MPDCommand> commandList, Duration timeout) {
+        return sendWithin(timeout, serverProperties.getStartBulk(), () -> sendCommandList(commandList));
+    }
 
-        try {
-            sendBytes(sb.toString());
+    private List<List<String>> readCommandListResponse(String commands) throws IOException {
+        List<List<String>> responses = new ArrayList<>();
+        List<String> response = new ArrayList<>();
 
-            String line = reader.readLine();
-            while (line != null) {
-                if (!isResponseOK(line)) {
-                    LOGGER.warn("some command from a command list failed: {}", line);
-                }
+        while (true) {
+            String inLine = reader.readLine();
+            if (inLine == null) {
+                throw new EOFException("Connection closed by server");
+            }
 
-                if (reader.ready()) {
-                    line = reader.readLine();
-                    LOGGER.warn("unexpected response line {}", line);
-                } else {
-                    line = null;
+            if (inLine.startsWith(responseProperties.getListOk())) {
+                responses.add(response);
+                response = new ArrayList<>();
+            } else if (isResponseOK(inLine)) {
+                this.lastActivity = System.nanoTime();
+                return responses;
+            } else if (isResponseError(inLine)) {
+                if (lastError.contains("you don't have permission")) {
+                    throw MPDCommandListSecurityException.fromError(lastError, commands, responses);
                 }
+                throw MPDCommandListException.fromError(lastError, responses);
+            } else {
+                response.add(inLine);
             }
-        } catch (MPDSecurityException se) {
-            LOGGER.error("Response Error from command list", se);
-            throw se;
-        } catch (Exception e) {
-            LOGGER.error("Response Error from command list", e);
-            commandList.forEach(s -> LOGGER.error(s.getCommand()));
-            throw new MPDConnectionException(e.getMessage(), e);
         }
     }
 
-    private List<String> sendBytes(String command) throws IOException {
-        LOGGER.debug("start command: " + command.trim());
-
+    /**
+     * Splits the response to a command list on its <code>list_OK</code> lines
+     *
+     * @param lines the response lines of the whole command list
+     * @return the response lines of each command
+     */
+    static List<List<String>> splitCommandListResponse(List<String> lines) {
+        String listOk = new ResponseProperties().getListOk();
+        List<List<String>> responses = new ArrayList<>();
         List<String> response = new ArrayList<>();
 
+        for (String line : lines) {
+            if (line.startsWith(listOk)) {
+                responses.add(response);
+                response = new ArrayList<>();
+            } else {
+                response.add(line);
+            }
+        }
+        return responses;
+    }
+
+    private void sendBytes(String command) throws IOException {
+        LOGGER.debug("start command: {}", command.trim());
         writeToStream(command);
+    }
+
+    private List<String> readResponse(String command) throws IOException {
+        List<String> response = new ArrayList<>();
+        readResponse(command, response::add);
+
+        response.forEach(LOGGER::debug);
 
+        return response;
+    }
+
+    private void readResponse(String command, Consumer<String> consumer) throws IOException {
         String inLine = reader.readLine();
         LOGGER.debug("first response line is: {}", inLine);
-        while (inLine != null) {
+        while (true) {
+            if (inLine == null) {
+                throw new EOFException("Connection closed by server");
+            }
+
             if (isResponseOK(inLine)) {
                 LOGGER.debug("the response was ok");
+                this.lastActivity = System.nanoTime();
                 break;
             }
 
             if (isResponseError(inLine)) {
-                if (lastError.contains("you don't have permission")) {
-                    throw new MPDSecurityException(lastError, command);
-                } else {
-                    LOGGER.error("Got error from command {}", command);
-                    throw new MPDConnectionException(lastError);
-                }
+                throw responseException(command);
             }
-            response.add(inLine);
+            consumer.accept(inLine);
             inLine = reader.readLine();
         }
+    }
 
-        response.forEach(LOGGER::debug);
+    private List<String> readValues(String command, byte[][] prefixes) throws IOException {
+        List<String> values = new ArrayList<>();
 
-        return response;
+        while (true) {
+            if (!reader.nextLine()) {
+                throw new EOFException("Connection closed by server");
+            }
+
+            if (reader.lineStartsWith(okBytes) || reader.lineStartsWith(listOkBytes)) {
+                this.lastActivity = System.nanoTime();
+                return values;
+            }
+
+            if (reader.lineStartsWith(errorBytes)) {
+                String inLine = reader.getLine();
+                isResponseError(inLine);
+                throw responseException(command);
+            }
+
+            for (byte[] prefix : prefixes) {
+                if (reader.lineStartsWith(prefix)) {
+                    values.add(reader.getValue(prefix.length));
+                    break;
+                }
+            }
+        }
+    }
+
+    private MPDException responseException(String command) {
+        if (lastError.contains("you don't have permission")) {
+            return new MPDSecurityException(lastError, command);
+        } else {
+            LOGGER.error("Got error from command {}", command);
+            return new MPDResponseException(lastError);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseHandler<T> {
+        T handle(String command) throws IOException;
+
+        default boolean isRetryable() {
+            return true;
+        }
+    }
+
+    /**
+     * Hands the lines to a consumer as they are read.  Once a line has been handed over the command
+     * can't be retried without the consumer seeing it twice.  If the consumer throws, the rest of the
+     * response is still read so the connection can be used for the next command.
+     */
+    private class StreamingHandler implements ResponseHandler<List<String>> {
+        private final Consumer<String> consumer;
+        private boolean started;
+        private RuntimeException consumerException;
+
+        StreamingHandler(Consumer<String> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public List<String> handle(String command) throws IOException {
+            readResponse(command, this::accept);
+
+            if (consumerException != null) {
+                throw new ConsumerException(consumerException);
+            }
+            return Collections.emptyList();
+        }
+
+        private void accept(String line) {
+            started = true;
+            if (consumerException == null) {
+                streaming = true;
+                try {
+                    consumer.accept(line);
+                } catch (RuntimeException e) {
+                    consumerException = e;
+                } finally {
+                    streaming = false;
+                }
+            }
+        }
+
+        @Override
+        public boolean isRetryable() {
+            return !started;
+        }
+    }
+
+    /**
+     * Carries an exception thrown by a response consumer past the connection error handling
+     */
+    private static class ConsumerException extends RuntimeException {
+        ConsumerException(RuntimeException cause) {
+            super(cause);
+        }
     }
 
     private void checkConnection() {
@@ -258,16 +809,22 @@ public class MPDSocket {
             throw new MPDConnectionException("Close has been called on MPD.  Create a new MPD.");
         }
 
+        ConnectionCircuit connectionCircuit = this.circuit;
+        if (connectionCircuit != null) {
+            connectionCircuit.checkAvailable();
+        }
+
         if (!socket.isConnected()) {
             LOGGER.warn("socket hasn't been connected yet");
             connected = false;
+        } else if (socket.isClosed()) {
+            LOGGER.warn("socket is closed");
+            connected = false;
+        } else if (pingIdleTime > 0 && idleNanos() > pingIdleTime) {
+            LOGGER.debug("connection has been idle, checking it is still alive");
+            connected = checkPing();
         } else {
-            if (!socket.isClosed()) {
-                connected = checkPing();
-            } else {
-                LOGGER.warn("socket is closed");
-                connected = false;
-            }
+            connected = true;
         }
 
         if (!connected) {
@@ -275,6 +832,7 @@ public class MPDSocket {
             try {
                 connect();
             } catch (Exception e) {
+                connectionLost();
                 throw new MPDConnectionException("Connection to server lost: " + e.getMessage(), e);
             }
         }
@@ -282,15 +840,17 @@ public class MPDSocket {
 
     public void close() {
         this.closed = true;
+        stopKeepAlive();
         if (!this.socket.isClosed()) {
+            //close the socket first so a thread blocked reading a response is released
             try {
-                this.reader.close();
+                this.socket.close();
             } catch (IOException e) {
                 throw new MPDConnectionException("Unable to close socket", e);
             }
 
             try {
-                this.socket.close();
+                this.reader.close();
             } catch (IOException e) {
                 throw new MPDConnectionException("Unable to close socket", e);
             }
@@ -305,19 +865,39 @@ public class MPDSocket {
         return this.version;
     }
 
+    /**
+     * Pings the server waiting no longer than the connect timeout, or the keepalive interval without
+     * one, for the answer.  A connection that doesn't answer is dropped so a server that accepts the
+     * ping but never answers can't hold the connection.
+     */
     private boolean checkPing() {
         boolean connected = true;
         try {
+            socket.setSoTimeout(pingTimeout());
             writeToStream(convertCommand(serverProperties.getPing()));
             String inLine = reader.readLine();
-            if (!isResponseOK(inLine)) {
+            if (inLine == null || !isResponseOK(inLine)) {
                 connected = false;
+            } else {
+                this.lastActivity = System.nanoTime();
+                socket.setSoTimeout(readTimeout);
             }
         } catch (Exception e) {
             connected = false;
             LOGGER.error("lost socket connection", e);
         }
 
+        if (!connected) {
+            discardSocket();
+        }
         return connected;
     }
+
+    private int pingTimeout() {
+        int pingTimeout = timeout > 0 ? timeout : keepAliveInterval;
+        if (readTimeout > 0 && (pingTimeout == 0 || readTimeout < pingTimeout)) {
+            return readTimeout;
+        }
+        return pingTimeout;
+    }
 }
@@ -0,0 +1,28 @@
+package org.bff.javampd.server;
+
+/**
+ * Represents a command that didn't complete before its deadline
+ *
+ * @author bill
+ */
+public class MPDTimeoutException extends MPDConnectionException {
+
+    /**
+     * Class constructor specifying the message.
+     *
+     * @param message the exception message
+     */
+    public MPDTimeoutException(String message) {
+        super(message);
+    }
+
+    /**
+     * Class constructor specifying the message and cause.
+     *
+     * @param message the exception message
+     * @param cause   the cause of this exception
+     */
+    public MPDTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,99 @@
+package org.bff.javampd.server;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The futures of pipelined commands waiting for their responses.  Response lines are fed in as they
+ * are read and each <code>OK</code> or <code>ACK</code> completes the oldest future.
+ *
+ * @author bill
+ */
+class PendingResponses {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PendingResponses.class);
+
+    private final Queue<CompletableFuture<List<String>>> pending;
+    private final String ok;
+    private final String error;
+    private final String listOk;
+    private List<String> response;
+
+    PendingResponses() {
+        ResponseProperties responseProperties = new ResponseProperties();
+        this.ok = responseProperties.getOk();
+        this.error = responseProperties.getError();
+        this.listOk = responseProperties.getListOk();
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.response = new ArrayList<>();
+    }
+
+    /**
+     * Adds the future for a command that has just been written
+     *
+     * @param future the future to complete with the response
+     */
+    void add(CompletableFuture<List<String>> future) {
+        pending.add(future);
+    }
+
+    /**
+     * Handles a response line.  Only called from the thread reading the connection.
+     *
+     * @param line the response line
+     */
+    void processLine(String line) {
+        if (line.equals(ok)) {
+            complete(response);
+            response = new ArrayList<>();
+        } else if (line.startsWith(error)) {
+            completeWithError(line.substring(error.length()).trim(), response);
+            response = new ArrayList<>();
+        } else {
+            response.add(line);
+        }
+    }
+
+    private void complete(List<String> lines) {
+        CompletableFuture<List<String>> future = pending.poll();
+        if (future == null) {
+            LOGGER.warn("response received without a pending command");
+        } else {
+            future.complete(lines);
+        }
+    }
+
+    private void completeWithError(String message, List<String> lines) {
+        CompletableFuture<List<String>> future = pending.poll();
+        if (future == null) {
+            LOGGER.warn("error received without a pending command: {}", message);
+        } else if (message.contains("you don't have permission")) {
+            future.completeExceptionally(lines.stream().anyMatch(line -> line.startsWith(listOk))
+                    ? MPDCommandListSecurityException.fromError(message, null, MPDSocket.splitCommandListResponse(lines))
+                    : new MPDSecurityException(message));
+        } else if (lines.stream().anyMatch(line -> line.startsWith(listOk))) {
+            //part way through a command list, keep the responses of the commands that ran
+            future.completeExceptionally(
+                    MPDCommandListException.fromError(message, MPDSocket.splitCommandListResponse(lines)));
+        } else {
+            future.completeExceptionally(new MPDResponseException(message));
+        }
+    }
+
+    /**
+     * Fails every outstanding future
+     *
+     * @param exception the exception to complete the futures with
+     */
+    void failAll(MPDConnectionException exception) {
+        CompletableFuture<List<String>> future;
+        while ((future = pending.poll()) != null) {
+            future.completeExceptionally(exception);
+        }
+    }
+}
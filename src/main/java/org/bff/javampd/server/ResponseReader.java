@@ -0,0 +1,202 @@
+package org.bff.javampd.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Reads MPD response lines straight from the socket bytes.  Lines are found in a reusable
+ * {@link ByteBuffer} and are only decoded into <code>String</code>s when asked for, so lines can be
+ * matched on their key without creating any objects.
+ * <p>
+ * Use {@link #nextLine()} to move to the next line, the <code>lineStartsWith</code> and
+ * <code>lineEquals</code> methods to look at it, and {@link #getLine()} or {@link #getValue(int)} to
+ * decode it.  {@link #readLine()} does all of it at once in the same way as
+ * {@link java.io.BufferedReader#readLine()}.
+ * <p>
+ * Not thread safe.
+ *
+ * @author bill
+ */
+public class ResponseReader {
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final byte NEW_LINE = '\n';
+
+    private final InputStream inputStream;
+    private final Charset charset;
+    private ByteBuffer buffer;
+
+    private int lineStart;
+    private int lineEnd;
+
+    /**
+     * Creates a reader with the default buffer size
+     *
+     * @param inputStream the stream to read
+     * @param charset     the charset of the response
+     */
+    public ResponseReader(InputStream inputStream, Charset charset) {
+        this(inputStream, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a reader.  The buffer grows if a single line doesn't fit.
+     *
+     * @param inputStream the stream to read
+     * @param charset     the charset of the response
+     * @param bufferSize  the initial buffer size
+     */
+    public ResponseReader(InputStream inputStream, Charset charset, int bufferSize) {
+        this.inputStream = inputStream;
+        this.charset = charset;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.buffer.limit(0);
+    }
+
+    /**
+     * Moves to the next line, blocking until it has been read
+     *
+     * @return false if the end of the stream has been reached
+     * @throws IOException if there is a problem reading the stream
+     */
+    public boolean nextLine() throws IOException {
+        while (true) {
+            byte[] bytes = buffer.array();
+            int limit = buffer.limit();
+            for (int i = buffer.position(); i < limit; i++) {
+                if (bytes[i] == NEW_LINE) {
+                    lineStart = buffer.position();
+                    lineEnd = i;
+                    buffer.position(i + 1);
+                    return true;
+                }
+            }
+
+            if (!fill()) {
+                return lastLine();
+            }
+        }
+    }
+
+    /**
+     * Makes whatever is left after the end of the stream the last line
+     */
+    private boolean lastLine() {
+        if (!buffer.hasRemaining()) {
+            return false;
+        }
+
+        lineStart = buffer.position();
+        lineEnd = buffer.limit();
+        buffer.position(lineEnd);
+        return true;
+    }
+
+    /**
+     * Reads more bytes after the unread ones, compacting or growing the buffer to make room
+     */
+    private boolean fill() throws IOException {
+        if (buffer.position() > 0) {
+            buffer.compact();
+        } else if (buffer.limit() == buffer.capacity()) {
+            ByteBuffer bigger = ByteBuffer.allocate(buffer.capacity() * 2);
+            bigger.put(buffer);
+            buffer = bigger;
+        } else {
+            buffer.position(buffer.limit());
+            buffer.limit(buffer.capacity());
+        }
+
+        int read = inputStream.read(buffer.array(), buffer.position(), buffer.remaining());
+        if (read > 0) {
+            buffer.position(buffer.position() + read);
+        }
+        buffer.flip();
+
+        return read >= 0;
+    }
+
+    /**
+     * Reads the next line as a <code>String</code>
+     *
+     * @return the line without the line terminator or null at the end of the stream
+     * @throws IOException if there is a problem reading the stream
+     */
+    public String readLine() throws IOException {
+        return nextLine() ? getLine() : null;
+    }
+
+    /**
+     * Returns true if the current line starts with the bytes
+     *
+     * @param prefix the bytes to compare
+     * @return true if the line starts with the prefix
+     */
+    public boolean lineStartsWith(byte[] prefix) {
+        if (lineEnd - lineStart < prefix.length) {
+            return false;
+        }
+
+        byte[] bytes = buffer.array();
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[lineStart + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the current line is exactly the bytes
+     *
+     * @param line the bytes to compare
+     * @return true if the line is the same
+     */
+    public boolean lineEquals(byte[] line) {
+        return lineEnd - lineStart == line.length && lineStartsWith(line);
+    }
+
+    /**
+     * Decodes the current line
+     *
+     * @return the current line
+     */
+    public String getLine() {
+        return new String(buffer.array(), lineStart, lineEnd - lineStart, charset);
+    }
+
+    /**
+     * Decodes the current line after the first <code>offset</code> bytes with surrounding whitespace
+     * removed, for example the value after a <code>key:</code> prefix
+     *
+     * @param offset the number of bytes to skip
+     * @return the value
+     */
+    public String getValue(int offset) {
+        byte[] bytes = buffer.array();
+        int start = Math.min(lineStart + offset, lineEnd);
+        int end = lineEnd;
+        while (start < end && bytes[start] <= ' ') {
+            ++start;
+        }
+        while (end > start && bytes[end - 1] <= ' ') {
+            --end;
+        }
+        return new String(bytes, start, end - start, charset);
+    }
+
+    /**
+     * Returns true if a line can be read without blocking
+     *
+     * @return true if there are bytes waiting to be read
+     * @throws IOException if there is a problem reading the stream
+     */
+    public boolean ready() throws IOException {
+        return buffer.hasRemaining() || inputStream.available() > 0;
+    }
+
+    public void close() throws IOException {
+        inputStream.close();
+    }
+}
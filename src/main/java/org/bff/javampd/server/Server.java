@@ -57,6 +57,22 @@ public interface Server {
 
     int getTimeout();
 
+    /**
+     * Returns the time in milliseconds a connection may sit idle before it is pinged ahead of the
+     * next command, 0 to never ping
+     *
+     * @return the ping idle time in milliseconds
+     */
+    int getPingIdleTime();
+
+    /**
+     * Returns the interval in milliseconds idle connections are pinged in the background,
+     * 0 if there is no keepalive
+     *
+     * @return the keepalive interval in milliseconds
+     */
+    int getKeepAliveInterval();
+
     Player getPlayer();
 
     Playlist getPlaylist();
@@ -1,5 +1,8 @@
 package org.bff.javampd.server;
 
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * @author bill
  */
@@ -15,7 +18,9 @@ public class ServerProperties extends MPDProperties {
         STARTBULK("MPD_CMD_START_BULK"),
         ENDBULK("MPD_CMD_END_BULK"),
         PASSWORD("MPD_CMD_PASSWORD"),
-        PING("MPD_CMD_PING");
+        PING("MPD_CMD_PING"),
+        IDLE("MPD_CMD_IDLE"),
+        BULKREADS("MPD_CMD_BULK_READS");
 
         private final String key;
 
@@ -44,6 +49,10 @@ public class ServerProperties extends MPDProperties {
         return getResponseCommand(Command.PING);
     }
 
+    public String getIdle() {
+        return getResponseCommand(Command.IDLE);
+    }
+
     public String getPassword() {
         return getResponseCommand(Command.PASSWORD);
     }
@@ -60,6 +69,15 @@ public class ServerProperties extends MPDProperties {
         return getResponseCommand(Command.ENDBULK);
     }
 
+    /**
+     * Returns the commands that read large parts of the database, such as <code>listallinfo</code>
+     *
+     * @return the bulk read commands
+     */
+    public List<String> getBulkReads() {
+        return Arrays.asList(getResponseCommand(Command.BULKREADS).split(","));
+    }
+
     private String getResponseCommand(Command command) {
         return getPropertyString(command.getKey());
     }
@@ -18,6 +18,14 @@ public interface ServerStatus {
      */
     Collection<String> getStatus();
 
+    /**
+     * Returns the parsed status.  The same snapshot is returned until the expiry interval has passed,
+     * so the values read from it are all from one response.
+     *
+     * @return the {@link StatusSnapshot}
+     */
+    StatusSnapshot getStatusSnapshot();
+
     /**
      * Returns the current playlist version
      *
@@ -1,7 +1,7 @@
 package org.bff.javampd.server;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Enumeration of the available information from the MPD
@@ -64,6 +64,14 @@ public enum Status {
      * if there is an error, returns message here
      */
     ERROR("error:"),
+    /**
+     * the elapsed time of the current song in seconds with millisecond precision
+     */
+    ELAPSED("elapsed:"),
+    /**
+     * the duration of the current song in seconds with millisecond precision
+     */
+    DURATION("duration:"),
     /**
      * if the status is unknown
      */
@@ -73,7 +81,16 @@ public enum Status {
      * the prefix associated with the status
      */
     private String prefix;
-    private static final Logger LOGGER = LoggerFactory.getLogger(Status.class);
+
+    private static final Map<String, Status> STATUSES = new HashMap<>();
+
+    static {
+        for (Status status : Status.values()) {
+            if (status != UNKNOWN) {
+                STATUSES.put(status.getStatusPrefix(), status);
+            }
+        }
+    }
 
     /**
      * Enum constructor
@@ -95,19 +112,18 @@ public enum Status {
 
     /**
      * Returns the {@link Status} the status line starts with.
-     * If no status is found {@link #UNKNOWN} is returned
+     * If no status is found {@link #UNKNOWN} is returned.  Newer servers send
+     * statuses this enum doesn't know so they aren't logged.
      *
      * @param statusLine the line to process
-     * @return the {@link Status} the lines starts with.  <code>null</code>
+     * @return the {@link Status} the lines starts with or {@link #UNKNOWN}
      * if there isn't a match
      */
     public static Status lookupStatus(String statusLine) {
-        for (Status status : Status.values()) {
-            if (statusLine.startsWith(status.getStatusPrefix())) {
-                return status;
-            }
+        int separator = statusLine.indexOf(':');
+        if (separator < 0) {
+            return UNKNOWN;
         }
-        LOGGER.warn("Unknown status {} returned", statusLine);
-        return UNKNOWN;
+        return STATUSES.getOrDefault(statusLine.substring(0, separator + 1), UNKNOWN);
     }
 }
@@ -0,0 +1,220 @@
+package org.bff.javampd.server;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An immutable copy of one <code>status</code> response.  The response is parsed once when the
+ * snapshot is created, the getters don't do any parsing.
+ *
+ * @author bill
+ */
+public final class StatusSnapshot {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatusSnapshot.class);
+
+    private final Map<Status, String> values;
+    private final int volume;
+    private final boolean repeat;
+    private final boolean random;
+    private final int playlistVersion;
+    private final int playlistLength;
+    private final int currentSong;
+    private final int currentSongId;
+    private final long elapsedTime;
+    private final long totalTime;
+    private final long elapsedMillis;
+    private final long durationMillis;
+    private final int bitrate;
+    private final int xFade;
+
+    private StatusSnapshot(Map<Status, String> values) {
+        this.values = values;
+        this.volume = parseInt(Status.VOLUME, 0);
+        this.repeat = "1".equals(get(Status.REPEAT));
+        this.random = "1".equals(get(Status.RANDOM));
+        this.playlistVersion = parseInt(Status.PLAYLIST, 0);
+        this.playlistLength = parseInt(Status.PLAYLISTLENGTH, 0);
+        this.currentSong = parseInt(Status.CURRENTSONG, -1);
+        this.currentSongId = parseInt(Status.CURRENTSONGID, -1);
+        this.bitrate = parseInt(Status.BITRATE, 0);
+        this.xFade = parseInt(Status.XFADE, 0);
+
+        long[] time = parseTime(get(Status.TIME));
+        this.elapsedTime = time[0];
+        this.totalTime = time[1];
+        this.elapsedMillis = parseMillis(Status.ELAPSED, TimeUnit.SECONDS.toMillis(elapsedTime));
+        this.durationMillis = parseMillis(Status.DURATION, TimeUnit.SECONDS.toMillis(totalTime));
+    }
+
+    /**
+     * Parses a <code>status</code> response.  Lines the {@link Status} enum doesn't know are ignored.
+     *
+     * @param response the response lines
+     * @return the snapshot
+     */
+    public static StatusSnapshot parse(Collection<String> response) {
+        Map<Status, String> values = new EnumMap<>(Status.class);
+        for (String line : response) {
+            Status status = Status.lookupStatus(line);
+            if (status != Status.UNKNOWN) {
+                values.put(status, line.substring(status.getStatusPrefix().length()).trim());
+            }
+        }
+        return new StatusSnapshot(values);
+    }
+
+    /**
+     * Returns the value of a status as sent by the server
+     *
+     * @param status the status
+     * @return the value or "" if it isn't part of the response
+     */
+    public String get(Status status) {
+        return values.getOrDefault(status, "");
+    }
+
+    /**
+     * @param status the status
+     * @return true if the status is part of the response
+     */
+    public boolean contains(Status status) {
+        return values.containsKey(status);
+    }
+
+    public int getVolume() {
+        return volume;
+    }
+
+    public boolean isRepeat() {
+        return repeat;
+    }
+
+    public boolean isRandom() {
+        return random;
+    }
+
+    public int getPlaylistVersion() {
+        return playlistVersion;
+    }
+
+    public int getPlaylistLength() {
+        return playlistLength;
+    }
+
+    public String getState() {
+        return get(Status.STATE);
+    }
+
+    /**
+     * @return the position of the current song or -1 if there isn't one
+     */
+    public int getCurrentSong() {
+        return currentSong;
+    }
+
+    /**
+     * @return the id of the current song or -1 if there isn't one
+     */
+    public int getCurrentSongId() {
+        return currentSongId;
+    }
+
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    /**
+     * Returns the elapsed time in milliseconds.  Servers that don't send <code>elapsed</code> only
+     * give the time in whole seconds.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Returns the duration of the current song in milliseconds.  Servers that don't send
+     * <code>duration</code> only give the time in whole seconds.
+     *
+     * @return the duration in milliseconds
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public int getBitrate() {
+        return bitrate;
+    }
+
+    public int getXFade() {
+        return xFade;
+    }
+
+    public String getAudio() {
+        return get(Status.AUDIO);
+    }
+
+    public boolean isError() {
+        return !"".equals(get(Status.ERROR));
+    }
+
+    public String getError() {
+        return get(Status.ERROR);
+    }
+
+    public boolean isDatabaseUpdating() {
+        return !"".equals(get(Status.UPDATINGDB));
+    }
+
+    private int parseInt(Status status, int defaultValue) {
+        String value = get(status);
+        if ("".equals(value)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException nfe) {
+            LOGGER.error("Could not format {} response {}", status.getStatusPrefix(), value, nfe);
+            return defaultValue;
+        }
+    }
+
+    private long parseMillis(Status status, long defaultValue) {
+        String value = get(status);
+        if ("".equals(value)) {
+            return defaultValue;
+        }
+        try {
+            return Math.round(Double.parseDouble(value) * 1000);
+        } catch (NumberFormatException nfe) {
+            LOGGER.error("Could not format {} response {}", status.getStatusPrefix(), value, nfe);
+            return defaultValue;
+        }
+    }
+
+    private static long[] parseTime(String time) {
+        long[] times = new long[2];
+        if (!"".equals(time)) {
+            String[] split = time.split(":");
+            try {
+                times[0] = Integer.parseInt(split[0]);
+                if (split.length > 1) {
+                    times[1] = Integer.parseInt(split[1]);
+                }
+            } catch (NumberFormatException e) {
+                LOGGER.error("Could not format time {}", time, e);
+            }
+        }
+        return times;
+    }
+}
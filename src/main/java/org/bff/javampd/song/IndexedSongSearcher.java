@@ -0,0 +1,111 @@
+package org.bff.javampd.song;
+
+import com.google.inject.Inject;
+import org.bff.javampd.database.LibraryIndex;
+import org.bff.javampd.database.TagLister;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * {@link SongSearcher} that answers exact finds on album, artist, genre and date and the list of
+ * all songs from the {@link LibraryIndex} when it is enabled.  Partial searches, {@link SongQuery}s
+ * and every other scope are passed through to the {@link MPDSongSearcher}.
+ *
+ * @author bill
+ */
+public class IndexedSongSearcher implements SongSearcher {
+    private static final Map<ScopeType, TagLister.ListType> INDEXED_SCOPES = new EnumMap<>(ScopeType.class);
+
+    static {
+        INDEXED_SCOPES.put(ScopeType.ALBUM, TagLister.ListType.ALBUM);
+        INDEXED_SCOPES.put(ScopeType.ARTIST, TagLister.ListType.ARTIST);
+        INDEXED_SCOPES.put(ScopeType.GENRE, TagLister.ListType.GENRE);
+        INDEXED_SCOPES.put(ScopeType.DATE, TagLister.ListType.DATE);
+    }
+
+    private final MPDSongSearcher songSearcher;
+    private final LibraryIndex libraryIndex;
+
+    @Inject
+    public IndexedSongSearcher(MPDSongSearcher songSearcher,
+                               LibraryIndex libraryIndex) {
+        this.songSearcher = songSearcher;
+        this.libraryIndex = libraryIndex;
+    }
+
+    @Override
+    public Collection<MPDSong> search(ScopeType searchType, String criteria) {
+        return songSearcher.search(searchType, criteria);
+    }
+
+    @Override
+    public Collection<MPDSong> search(ScopeType searchType, String criteria, int start, int end) {
+        return songSearcher.search(searchType, criteria, start, end);
+    }
+
+    @Override
+    public Collection<MPDSong> find(ScopeType scopeType, String criteria) {
+        if (isIndexed(scopeType)) {
+            return libraryIndex.getSongs(INDEXED_SCOPES.get(scopeType), criteria);
+        }
+        return songSearcher.find(scopeType, criteria);
+    }
+
+    @Override
+    public Collection<MPDSong> find(ScopeType scopeType, String criteria, int start, int end) {
+        if (isIndexed(scopeType)) {
+            List<MPDSong> songs = new ArrayList<>(libraryIndex.getSongs(INDEXED_SCOPES.get(scopeType), criteria));
+            int toIndex = Math.min(end, songs.size());
+            int fromIndex = Math.min(start, toIndex);
+            return songs.subList(fromIndex, toIndex);
+        }
+        return songSearcher.find(scopeType, criteria, start, end);
+    }
+
+    @Override
+    public void search(ScopeType searchType, String criteria, Consumer<MPDSong> consumer) {
+        songSearcher.search(searchType, criteria, consumer);
+    }
+
+    @Override
+    public void find(ScopeType scopeType, String criteria, Consumer<MPDSong> consumer) {
+        if (isIndexed(scopeType)) {
+            libraryIndex.getSongs(INDEXED_SCOPES.get(scopeType), criteria).forEach(consumer);
+        } else {
+            songSearcher.find(scopeType, criteria, consumer);
+        }
+    }
+
+    @Override
+    public Collection<MPDSong> find(SongQuery query) {
+        return songSearcher.find(query);
+    }
+
+    @Override
+    public void find(SongQuery query, Consumer<MPDSong> consumer) {
+        songSearcher.find(query, consumer);
+    }
+
+    @Override
+    public Collection<MPDSong> search(SongQuery query) {
+        return songSearcher.search(query);
+    }
+
+    @Override
+    public void listAllSongs(Consumer<MPDSong> consumer) {
+        if (libraryIndex.isEnabled()) {
+            libraryIndex.getSongs().forEach(consumer);
+        } else {
+            songSearcher.listAllSongs(consumer);
+        }
+    }
+
+    private boolean isIndexed(ScopeType scopeType) {
+        return libraryIndex.isEnabled() && INDEXED_SCOPES.containsKey(scopeType);
+    }
+}
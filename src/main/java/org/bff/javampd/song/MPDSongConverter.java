@@ -1,8 +1,8 @@
 package org.bff.javampd.song;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -10,51 +10,19 @@ import java.util.stream.Collectors;
  */
 public class MPDSongConverter implements SongConverter {
 
-    private static String delimitingPrefix = SongProcessor.getDelimitingPrefix();
-
     @Override
     public List<MPDSong> convertResponseToSong(List<String> list) {
         List<MPDSong> songList = new ArrayList<>();
-        Iterator<String> iterator = list.iterator();
-
-        String line = null;
-        while (iterator.hasNext()) {
-            if (line == null || (!line.startsWith(delimitingPrefix))) {
-                line = iterator.next();
-            }
+        SongResponseParser parser = createSongParser(songList::add);
+        list.forEach(parser);
+        parser.finish();
 
-            if (line.startsWith(delimitingPrefix)) {
-                line = processSong(line.substring(delimitingPrefix.length()).trim(), iterator, songList);
-            }
-        }
         return songList;
     }
 
-    private static String processSong(String file, Iterator<String> iterator, List<MPDSong> songs) {
-        MPDSong song = new MPDSong(file, "");
-        initialize(song);
-        String line = iterator.next();
-        while (!line.startsWith(delimitingPrefix)) {
-            processLine(song, line);
-            if (!iterator.hasNext()) {
-                break;
-            }
-            line = iterator.next();
-        }
-        songs.add(song);
-
-        return line;
-    }
-
-    private static void initialize(MPDSong song) {
-        song.setName("");
-        song.setAlbumName("");
-        song.setArtistName("");
-        song.setComment("");
-        song.setDiscNumber("");
-        song.setGenre("");
-        song.setTitle("");
-        song.setYear("");
+    @Override
+    public SongResponseParser createSongParser(Consumer<MPDSong> songConsumer) {
+        return new SongResponseParser(songConsumer);
     }
 
     @Override
@@ -66,10 +34,4 @@ public class MPDSongConverter implements SongConverter {
                 .map(s -> (s.substring(prefix.length())).trim())
                 .collect(Collectors.toList());
     }
-
-    private static void processLine(MPDSong song, String line) {
-        for (SongProcessor songProcessor : SongProcessor.values()) {
-            songProcessor.getProcessor().processTag(song, line);
-        }
-    }
 }
@@ -9,8 +9,9 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * MPDSongDatabase represents a song database controller to a {@link org.bff.javampd.server.MPD}.
@@ -47,30 +48,25 @@ public class MPDSongDatabase implements SongDatabase {
 
     @Override
     public Collection<MPDSong> findAlbumByArtist(String artistName, String albumName) {
-        List<MPDSong> songList = new ArrayList<>(songSearcher.find(SongSearcher.ScopeType.ALBUM, albumName));
-
-        return songList.stream()
-                .filter(song -> song.getArtistName() != null && song.getArtistName().equals(artistName))
-                .collect(Collectors.toList());
-
+        return findAlbumBy(albumName, SongSearcher.ScopeType.ARTIST, artistName);
     }
 
     @Override
     public Collection<MPDSong> findAlbumByGenre(MPDGenre genre, MPDAlbum album) {
-        List<MPDSong> songList = new ArrayList<>(songSearcher.find(SongSearcher.ScopeType.ALBUM, album.getName()));
-
-        return songList.stream()
-                .filter(song -> song.getGenre() != null && song.getGenre().equals(genre.getName()))
-                .collect(Collectors.toList());
+        return findAlbumBy(album.getName(), SongSearcher.ScopeType.GENRE, genre.getName());
     }
 
     @Override
     public Collection<MPDSong> findAlbumByYear(String year, MPDAlbum album) {
-        List<MPDSong> songList = new ArrayList<>(songSearcher.find(SongSearcher.ScopeType.ALBUM, album.getName()));
+        return findAlbumBy(album.getName(), SongSearcher.ScopeType.DATE, year);
+    }
 
-        return songList.stream()
-                .filter(song -> song.getYear() != null && song.getYear().equals(year))
-                .collect(Collectors.toList());
+    private Collection<MPDSong> findAlbumBy(String albumName, SongSearcher.ScopeType scopeType, String criteria) {
+        return songSearcher.find(new SongQuery.Builder(
+                SongFilter.and(
+                        SongFilter.equalTo(SongSearcher.ScopeType.ALBUM, albumName),
+                        SongFilter.equalTo(scopeType, criteria)))
+                .build());
     }
 
     @Override
@@ -130,6 +126,10 @@ public class MPDSongDatabase implements SongDatabase {
 
     @Override
     public Collection<MPDSong> searchTitle(String title, int startYear, int endYear) {
+        if (endYear < startYear) {
+            return new ArrayList<>();
+        }
+
         List<MPDSong> retList = new ArrayList<>();
 
         for (MPDSong song : songSearcher.search(SongSearcher.ScopeType.TITLE, title)) {
@@ -174,13 +174,47 @@ public class MPDSongDatabase implements SongDatabase {
     }
 
     @Override
-    public MPDSong findSong(String name, String album, String artist) {
-        List<MPDSong> songs = new ArrayList<>(songSearcher.find(SongSearcher.ScopeType.ALBUM, album));
+    public void listAllSongs(Consumer<MPDSong> consumer) {
+        songSearcher.listAllSongs(consumer);
+    }
 
-        for (MPDSong song : songs) {
-            if (artist.equals(song.getArtistName())) {
-                return song;
-            }
+    @Override
+    public void findAlbum(String album, Consumer<MPDSong> consumer) {
+        songSearcher.find(SongSearcher.ScopeType.ALBUM, album, consumer);
+    }
+
+    @Override
+    public void findArtist(String artist, Consumer<MPDSong> consumer) {
+        songSearcher.find(SongSearcher.ScopeType.ARTIST, artist, consumer);
+    }
+
+    @Override
+    public void findGenre(String genre, Consumer<MPDSong> consumer) {
+        songSearcher.find(SongSearcher.ScopeType.GENRE, genre, consumer);
+    }
+
+    @Override
+    public void findYear(String year, Consumer<MPDSong> consumer) {
+        songSearcher.find(SongSearcher.ScopeType.DATE, year, consumer);
+    }
+
+    @Override
+    public void searchAny(String criteria, Consumer<MPDSong> consumer) {
+        songSearcher.search(SongSearcher.ScopeType.ANY, criteria, consumer);
+    }
+
+    @Override
+    public MPDSong findSong(String name, String album, String artist) {
+        Iterator<MPDSong> songs = songSearcher.find(new SongQuery.Builder(
+                SongFilter.and(
+                        SongFilter.equalTo(SongSearcher.ScopeType.TITLE, name),
+                        SongFilter.equalTo(SongSearcher.ScopeType.ALBUM, album),
+                        SongFilter.equalTo(SongSearcher.ScopeType.ARTIST, artist)))
+                .window(0, 1)
+                .build()).iterator();
+
+        if (songs.hasNext()) {
+            return songs.next();
         }
         LOGGER.info("Song not found title --> {}, artist --> {}, album --> {}", name, artist, album);
         return null;
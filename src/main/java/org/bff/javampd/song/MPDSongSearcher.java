@@ -2,9 +2,13 @@ package org.bff.javampd.song;
 
 import com.google.inject.Inject;
 import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.command.MPDCommand;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Implementation of {@link SongSearcher} for MPD
@@ -67,6 +71,42 @@ public class MPDSongSearcher implements SongSearcher {
                         params));
     }
 
+    @Override
+    public void search(ScopeType searchType, String criteria, Consumer<MPDSong> consumer) {
+        stream(new MPDCommand(searchProperties.getSearch(), generateParams(searchType, criteria)), consumer);
+    }
+
+    @Override
+    public void find(ScopeType scopeType, String criteria, Consumer<MPDSong> consumer) {
+        stream(new MPDCommand(searchProperties.getFind(), generateParams(scopeType, criteria)), consumer);
+    }
+
+    @Override
+    public Collection<MPDSong> find(SongQuery query) {
+        return find(generateParams(query));
+    }
+
+    @Override
+    public void find(SongQuery query, Consumer<MPDSong> consumer) {
+        stream(new MPDCommand(searchProperties.getFind(), generateParams(query)), consumer);
+    }
+
+    @Override
+    public Collection<MPDSong> search(SongQuery query) {
+        return search(generateParams(query));
+    }
+
+    @Override
+    public void listAllSongs(Consumer<MPDSong> consumer) {
+        stream(new MPDCommand(searchProperties.getListAllInfo()), consumer);
+    }
+
+    private void stream(MPDCommand command, Consumer<MPDSong> consumer) {
+        SongResponseParser parser = songConverter.createSongParser(consumer);
+        commandExecutor.streamCommand(command, parser);
+        parser.finish();
+    }
+
     private static String[] generateParams(ScopeType scopeType,
                                     String criteria) {
         String[] paramList;
@@ -82,12 +122,29 @@ public class MPDSongSearcher implements SongSearcher {
         return paramList;
     }
 
+    private String[] generateParams(SongQuery query) {
+        List<String> paramList = new ArrayList<>();
+        paramList.add(query.getFilter().getExpression());
+
+        if (query.getSort() != null) {
+            paramList.add(searchProperties.getSort());
+            paramList.add((query.isDescending() ? "-" : "") + query.getSort().getType());
+        }
+
+        if (query.isWindowed()) {
+            paramList.add(searchProperties.getWindow());
+            paramList.add(query.getStart() + ":" + query.getEnd());
+        }
+
+        return paramList.toArray(new String[paramList.size()]);
+    }
+
     private String[] addWindowedParams(String[] params,
                                        int start,
                                        int end) {
         String[] paramList = Arrays.copyOf(params, params.length + 2);
         paramList[params.length] = searchProperties.getWindow();
-        paramList[params.length + 1] = start + "." + end;
+        paramList[params.length + 1] = start + ":" + end;
 
         return paramList;
     }
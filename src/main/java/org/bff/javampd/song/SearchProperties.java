@@ -9,7 +9,9 @@ public class SearchProperties extends MPDProperties {
     private enum Command {
         FIND("MPD_DB_FIND"),
         SEARCH("MPD_DB_SEARCH"),
-        WINDOW("MPD_DB_WINDOW");
+        WINDOW("MPD_DB_WINDOW"),
+        SORT("MPD_DB_SORT"),
+        LIST_ALL_INFO("MPD_DB_LIST_ALL_INFO");
 
         private final String key;
 
@@ -30,7 +32,15 @@ public class SearchProperties extends MPDProperties {
         return getPropertyString(Command.WINDOW.getKey());
     }
 
+    public String getSort() {
+        return getPropertyString(Command.SORT.getKey());
+    }
+
     public String getSearch() {
         return getPropertyString(Command.SEARCH.getKey());
     }
+
+    public String getListAllInfo() {
+        return getPropertyString(Command.LIST_ALL_INFO.getKey());
+    }
 }
@@ -1,6 +1,7 @@
 package org.bff.javampd.song;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author bill
@@ -14,5 +15,14 @@ public interface SongConverter {
      */
     List<MPDSong> convertResponseToSong(List<String> list);
 
+    /**
+     * Creates a parser that converts response lines into {@link MPDSong}s as they are read.  Hand it
+     * every line of the response then call {@link SongResponseParser#finish()}.
+     *
+     * @param songConsumer receives each song once all of its lines have been read
+     * @return the parser
+     */
+    SongResponseParser createSongParser(Consumer<MPDSong> songConsumer);
+
     List<String> getSongFileNameList(List<String> fileList);
 }
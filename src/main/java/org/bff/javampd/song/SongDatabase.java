@@ -5,9 +5,13 @@ import org.bff.javampd.artist.MPDArtist;
 import org.bff.javampd.genre.MPDGenre;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 /**
  * Database for song related items
+ * <p>
+ * The consumers given to the streaming methods run while the response is still being read from the
+ * connection, see {@link SongSearcher} for what they can't do.
  *
  * @author bill
  */
@@ -228,6 +232,57 @@ public interface SongDatabase {
      */
     Collection<MPDSong> findGenre(String genre);
 
+    /**
+     * Hands every {@link org.bff.javampd.song.MPDSong} in the database to the consumer as it is read
+     * from the server.  Unlike collecting the songs, memory use doesn't grow with the library.
+     *
+     * @param consumer receives the {@link org.bff.javampd.song.MPDSong}s, it must not send commands to the server
+     */
+    void listAllSongs(Consumer<MPDSong> consumer);
+
+    /**
+     * Hands the {@link org.bff.javampd.song.MPDSong}s of an album to the consumer as they are read.
+     * Please note this only returns an exact match of album.
+     *
+     * @param album    the album to find
+     * @param consumer receives the {@link org.bff.javampd.song.MPDSong}s, it must not send commands to the server
+     */
+    void findAlbum(String album, Consumer<MPDSong> consumer);
+
+    /**
+     * Hands the {@link org.bff.javampd.song.MPDSong}s of an artist to the consumer as they are read.
+     * Please note this only returns an exact match of artist.
+     *
+     * @param artist   the artist to find
+     * @param consumer receives the {@link org.bff.javampd.song.MPDSong}s, it must not send commands to the server
+     */
+    void findArtist(String artist, Consumer<MPDSong> consumer);
+
+    /**
+     * Hands the {@link org.bff.javampd.song.MPDSong}s of a genre to the consumer as they are read.
+     *
+     * @param genre    the genre to find
+     * @param consumer receives the {@link org.bff.javampd.song.MPDSong}s, it must not send commands to the server
+     */
+    void findGenre(String genre, Consumer<MPDSong> consumer);
+
+    /**
+     * Hands the {@link org.bff.javampd.song.MPDSong}s of a year to the consumer as they are read.
+     *
+     * @param year     the year to find
+     * @param consumer receives the {@link org.bff.javampd.song.MPDSong}s, it must not send commands to the server
+     */
+    void findYear(String year, Consumer<MPDSong> consumer);
+
+    /**
+     * Hands the {@link org.bff.javampd.song.MPDSong}s partially matching any tag to the consumer as
+     * they are read.
+     *
+     * @param criteria the criteria to match
+     * @param consumer receives the {@link org.bff.javampd.song.MPDSong}s, it must not send commands to the server
+     */
+    void searchAny(String criteria, Consumer<MPDSong> consumer);
+
     /**
      * Returns a {@link org.bff.javampd.song.MPDSong} for the given album and artist
      *
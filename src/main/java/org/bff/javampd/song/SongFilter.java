@@ -0,0 +1,186 @@
+package org.bff.javampd.song;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * A filter expression for {@link SongSearcher#find(SongQuery)} and {@link SongSearcher#search(SongQuery)}.
+ * The expression is evaluated by the server, which needs MPD 0.21 or later.
+ * <p>
+ * <pre>
+ * SongFilter.and(
+ *         SongFilter.equalTo(ScopeType.ALBUM, "Greatest Hits"),
+ *         SongFilter.equalTo(ScopeType.ARTIST, "Queen"))
+ * </pre>
+ * becomes <code>((album == 'Greatest Hits') AND (artist == 'Queen'))</code>.
+ *
+ * @author bill
+ */
+public final class SongFilter {
+
+    /**
+     * The comparisons between a tag and a value
+     */
+    public enum Operator {
+        EQUAL("=="),
+        NOT_EQUAL("!="),
+        CONTAINS("contains"),
+        MATCHES("=~"),
+        NOT_MATCHES("!~");
+
+        private final String operator;
+
+        Operator(String operator) {
+            this.operator = operator;
+        }
+
+        public String getOperator() {
+            return operator;
+        }
+    }
+
+    private final String expression;
+
+    private SongFilter(String expression) {
+        this.expression = expression;
+    }
+
+    /**
+     * Compares a tag with a value
+     *
+     * @param tag      the tag
+     * @param operator the comparison
+     * @param value    the value to compare with
+     * @return the filter
+     */
+    public static SongFilter tag(SongSearcher.ScopeType tag, Operator operator, String value) {
+        return new SongFilter("(" + tagName(tag) + " " + operator.getOperator() + " " + quote(value) + ")");
+    }
+
+    /**
+     * Matches songs with a tag equal to the value.  <code>find</code> compares case sensitive and
+     * <code>search</code> case insensitive.
+     *
+     * @param tag   the tag
+     * @param value the value
+     * @return the filter
+     */
+    public static SongFilter equalTo(SongSearcher.ScopeType tag, String value) {
+        return tag(tag, Operator.EQUAL, value);
+    }
+
+    /**
+     * Matches songs with a tag that isn't equal to the value
+     *
+     * @param tag   the tag
+     * @param value the value
+     * @return the filter
+     */
+    public static SongFilter notEqualTo(SongSearcher.ScopeType tag, String value) {
+        return tag(tag, Operator.NOT_EQUAL, value);
+    }
+
+    /**
+     * Matches songs with a tag containing the value
+     *
+     * @param tag   the tag
+     * @param value the value
+     * @return the filter
+     */
+    public static SongFilter contains(SongSearcher.ScopeType tag, String value) {
+        return tag(tag, Operator.CONTAINS, value);
+    }
+
+    /**
+     * Matches songs with a tag matching a Perl compatible regular expression.  The server must be built
+     * with PCRE support.
+     *
+     * @param tag   the tag
+     * @param regex the regular expression
+     * @return the filter
+     */
+    public static SongFilter matches(SongSearcher.ScopeType tag, String regex) {
+        return tag(tag, Operator.MATCHES, regex);
+    }
+
+    /**
+     * Matches songs modified since a time
+     *
+     * @param time an ISO 8601 time or seconds since the epoch
+     * @return the filter
+     */
+    public static SongFilter modifiedSince(String time) {
+        return new SongFilter("(modified-since " + quote(time) + ")");
+    }
+
+    /**
+     * Matches songs matching every filter
+     *
+     * @param filters the filters
+     * @return the filter
+     * @throws IllegalArgumentException if there are no filters
+     */
+    public static SongFilter and(SongFilter... filters) {
+        checkNotEmpty(filters);
+        if (filters.length == 1) {
+            return filters[0];
+        }
+        return new SongFilter(Arrays.stream(filters)
+                .map(SongFilter::getExpression)
+                .collect(Collectors.joining(" AND ", "(", ")")));
+    }
+
+    /**
+     * Matches songs matching any of the filters.  The protocol has no <code>OR</code> so it is sent
+     * as <code>(!((!a) AND (!b)))</code>.
+     *
+     * @param filters the filters
+     * @return the filter
+     * @throws IllegalArgumentException if there are no filters
+     */
+    public static SongFilter or(SongFilter... filters) {
+        checkNotEmpty(filters);
+        if (filters.length == 1) {
+            return filters[0];
+        }
+        return not(and(Arrays.stream(filters)
+                .map(SongFilter::not)
+                .toArray(SongFilter[]::new)));
+    }
+
+    /**
+     * Matches songs not matching the filter
+     *
+     * @param filter the filter
+     * @return the filter
+     */
+    public static SongFilter not(SongFilter filter) {
+        return new SongFilter("(!" + filter.getExpression() + ")");
+    }
+
+    /**
+     * @return the expression sent to the server
+     */
+    public String getExpression() {
+        return expression;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    private static void checkNotEmpty(SongFilter... filters) {
+        if (filters.length == 0) {
+            throw new IllegalArgumentException("At least one filter is needed");
+        }
+    }
+
+    private static String tagName(SongSearcher.ScopeType tag) {
+        return tag == SongSearcher.ScopeType.FILENAME ? "file" : tag.getType();
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+}
@@ -2,6 +2,8 @@ package org.bff.javampd.song;
 
 import org.bff.javampd.processor.*;
 
+import java.util.Arrays;
+
 public enum SongProcessor {
     FILE(new FileTagProcessor()),
     ARTIST(new ArtistTagProcessor()),
@@ -17,6 +19,10 @@ public enum SongProcessor {
     ID(new IdTagProcessor()),
     DISC(new DiscTagProcessor());
 
+    private static final TagDispatcher<SongTagResponseProcessor> DISPATCHER = new TagDispatcher<>(
+            Arrays.stream(values()).map(SongProcessor::getProcessor).toArray(SongTagResponseProcessor[]::new),
+            SongTagResponseProcessor::getPrefix);
+
     private final transient SongTagResponseProcessor songTagResponseProcessor;
 
     SongProcessor(SongTagResponseProcessor songTagResponseProcessor) {
@@ -35,4 +41,14 @@ public enum SongProcessor {
     public static String getDelimitingPrefix() {
         return FILE.getProcessor().getPrefix();
     }
+
+    /**
+     * Returns the processor for the tag of a response line
+     *
+     * @param line the response line
+     * @return the processor or null if the tag isn't processed
+     */
+    public static SongTagResponseProcessor lookup(String line) {
+        return DISPATCHER.lookup(line);
+    }
 }
@@ -0,0 +1,103 @@
+package org.bff.javampd.song;
+
+/**
+ * A {@link SongFilter} with the order and the part of the matching songs to return.  Use
+ * {@link SongQuery.Builder} to construct.
+ * <pre>
+ * new SongQuery.Builder(SongFilter.equalTo(ScopeType.GENRE, "Jazz"))
+ *         .sortDescending(ScopeType.DATE)
+ *         .window(0, 50)
+ *         .build();
+ * </pre>
+ *
+ * @author bill
+ */
+public class SongQuery {
+    private final SongFilter filter;
+    private final SongSearcher.ScopeType sort;
+    private final boolean descending;
+    private final int start;
+    private final int end;
+
+    private SongQuery(Builder builder) {
+        this.filter = builder.filter;
+        this.sort = builder.sort;
+        this.descending = builder.descending;
+        this.start = builder.start;
+        this.end = builder.end;
+    }
+
+    public SongFilter getFilter() {
+        return filter;
+    }
+
+    /**
+     * @return the tag to sort by or null to keep the server's order
+     */
+    public SongSearcher.ScopeType getSort() {
+        return sort;
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * @return true if only part of the matching songs should be returned
+     */
+    public boolean isWindowed() {
+        return start > -1;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    public static class Builder {
+        private final SongFilter filter;
+        private SongSearcher.ScopeType sort;
+        private boolean descending;
+        private int start = -1;
+        private int end = -1;
+
+        public Builder(SongFilter filter) {
+            this.filter = filter;
+        }
+
+        public Builder sort(SongSearcher.ScopeType sort) {
+            this.sort = sort;
+            this.descending = false;
+            return this;
+        }
+
+        public Builder sortDescending(SongSearcher.ScopeType sort) {
+            this.sort = sort;
+            this.descending = true;
+            return this;
+        }
+
+        /**
+         * Only return the matching songs from the start index up to but not including the end index
+         *
+         * @param start the starting index
+         * @param end   the ending index
+         * @return the builder
+         */
+        public Builder window(int start, int end) {
+            if (start < 0 || end < start) {
+                throw new IllegalArgumentException("Invalid window " + start + ":" + end);
+            }
+            this.start = start;
+            this.end = end;
+            return this;
+        }
+
+        public SongQuery build() {
+            return new SongQuery(this);
+        }
+    }
+}
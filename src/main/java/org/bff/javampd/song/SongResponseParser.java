@@ -0,0 +1,66 @@
+package org.bff.javampd.song;
+
+import org.bff.javampd.processor.SongTagResponseProcessor;
+
+import java.util.function.Consumer;
+
+/**
+ * Builds {@link MPDSong}s from response lines as they are read and hands each song on as soon as
+ * the next one starts, so only one song is held at a time.  Call {@link #finish()} after the last
+ * line to hand on the final song.
+ *
+ * @author bill
+ */
+public class SongResponseParser implements Consumer<String> {
+    private static final String DELIMITING_PREFIX = SongProcessor.getDelimitingPrefix();
+
+    private final Consumer<MPDSong> songConsumer;
+    private MPDSong song;
+
+    /**
+     * @param songConsumer receives the songs in response order
+     */
+    public SongResponseParser(Consumer<MPDSong> songConsumer) {
+        this.songConsumer = songConsumer;
+    }
+
+    @Override
+    public void accept(String line) {
+        if (line.startsWith(DELIMITING_PREFIX)) {
+            finish();
+            song = new MPDSong(line.substring(DELIMITING_PREFIX.length()).trim(), "");
+            initialize(song);
+        } else if (song != null) {
+            processLine(song, line);
+        }
+    }
+
+    /**
+     * Hands on the song being built, if any
+     */
+    public void finish() {
+        if (song != null) {
+            MPDSong lastSong = song;
+            song = null;
+            songConsumer.accept(lastSong);
+        }
+    }
+
+    private static void initialize(MPDSong song) {
+        song.setName("");
+        song.setAlbumName("");
+        song.setArtistName("");
+        song.setComment("");
+        song.setDiscNumber("");
+        song.setGenre("");
+        song.setTitle("");
+        song.setYear("");
+    }
+
+    private static void processLine(MPDSong song, String line) {
+        SongTagResponseProcessor processor = SongProcessor.lookup(line);
+        if (processor != null) {
+            processor.processTag(song, line);
+        }
+    }
+}
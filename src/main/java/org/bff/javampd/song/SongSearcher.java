@@ -1,9 +1,14 @@
 package org.bff.javampd.song;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 /**
  * Provides search and list functionality for {@link MPDSong}s
+ * <p>
+ * The consumers given to the streaming methods run while the response is still being read from the
+ * connection.  A consumer that sends a command of its own, for example adding each song to the
+ * playlist, gets an {@link IllegalStateException}; collect the songs first instead.
  *
  * @author Bill
  */
@@ -84,4 +89,58 @@ public interface SongSearcher {
      * @return a {@link java.util.Collection} of {@link MPDSong}s
      */
     Collection<MPDSong> find(ScopeType scopeType, String criteria, int start, int end);
+
+    /**
+     * Hands each {@link MPDSong} matching a partial search to the consumer as soon as it has been read
+     * from the server, so the matches are never all held in memory.
+     *
+     * @param searchType the {@link ScopeType}
+     * @param criteria   the search criteria
+     * @param consumer   receives the matching {@link MPDSong}s, it must not send commands to the server
+     */
+    void search(ScopeType searchType, String criteria, Consumer<MPDSong> consumer);
+
+    /**
+     * Hands each {@link MPDSong} matching exactly to the consumer as soon as it has been read from the
+     * server, so the matches are never all held in memory.
+     *
+     * @param scopeType the {@link ScopeType}
+     * @param criteria  the search criteria
+     * @param consumer  receives the matching {@link MPDSong}s, it must not send commands to the server
+     */
+    void find(ScopeType scopeType, String criteria, Consumer<MPDSong> consumer);
+
+    /**
+     * Returns the {@link MPDSong}s exactly matching a {@link SongQuery}.  The filter, sort and window are
+     * all applied by the server.
+     *
+     * @param query the {@link SongQuery}
+     * @return a {@link java.util.Collection} of {@link MPDSong}s
+     */
+    Collection<MPDSong> find(SongQuery query);
+
+    /**
+     * Hands each {@link MPDSong} exactly matching a {@link SongQuery} to the consumer as soon as it has
+     * been read from the server.
+     *
+     * @param query    the {@link SongQuery}
+     * @param consumer receives the matching {@link MPDSong}s, it must not send commands to the server
+     */
+    void find(SongQuery query, Consumer<MPDSong> consumer);
+
+    /**
+     * Returns the {@link MPDSong}s matching a {@link SongQuery}, ignoring case.  The filter, sort and window
+     * are all applied by the server.
+     *
+     * @param query the {@link SongQuery}
+     * @return a {@link java.util.Collection} of {@link MPDSong}s
+     */
+    Collection<MPDSong> search(SongQuery query);
+
+    /**
+     * Hands every {@link MPDSong} in the database to the consumer as it is read from the server.
+     *
+     * @param consumer receives the {@link MPDSong}s, it must not send commands to the server
+     */
+    void listAllSongs(Consumer<MPDSong> consumer);
 }
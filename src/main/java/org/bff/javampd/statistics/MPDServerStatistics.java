@@ -2,6 +2,7 @@ package org.bff.javampd.statistics;
 
 import com.google.inject.Inject;
 import org.bff.javampd.Clock;
+import org.bff.javampd.ExpiringCache;
 import org.bff.javampd.command.CommandExecutor;
 import org.bff.javampd.server.ServerProperties;
 import org.slf4j.Logger;
@@ -9,30 +10,36 @@ import org.slf4j.LoggerFactory;
 
 import java.text.NumberFormat;
 import java.text.ParseException;
-import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
+ * Answers the getters from the last <code>stats</code> response, parsed once when it is read.  The
+ * response is kept for the expiry interval, when it expires only one caller sends <code>stats</code>
+ * and any others asking at the same time share its response.
+ *
  * @author bill
  */
 public class MPDServerStatistics implements ServerStatistics {
     private static final Logger LOGGER = LoggerFactory.getLogger(MPDServerStatistics.class);
+    private static final long DEFAULT_EXPIRY_INTERVAL = 60;
+    private static final Map<String, StatList> STATS = new HashMap<>();
 
-    private long expiryInterval = 60;
-    private List<String> cachedResponse;
-    private Clock clock;
-    private LocalDateTime responseDate;
-    private ServerProperties serverProperties;
-    private CommandExecutor commandExecutor;
+    static {
+        for (StatList stat : StatList.values()) {
+            STATS.put(stat.getStatPrefix(), stat);
+        }
+    }
+
+    private final ExpiringCache<long[]> stats;
 
     @Inject
     public MPDServerStatistics(ServerProperties serverProperties,
                                CommandExecutor commandExecutor,
                                Clock clock) {
-        this.serverProperties = serverProperties;
-        this.commandExecutor = commandExecutor;
-        this.clock = clock;
-        this.responseDate = clock.min();
+        this.stats = new ExpiringCache<>(clock, DEFAULT_EXPIRY_INTERVAL,
+                () -> parse(commandExecutor.sendCommand(serverProperties.getStats())));
     }
 
     /**
@@ -43,69 +50,73 @@ public class MPDServerStatistics implements ServerStatistics {
      * @param stat the statistic desired
      * @return the requested statistic
      */
-    private Number getStat(StatList stat) {
-        LocalDateTime now = this.clock.now();
-        if (now.minusSeconds(this.expiryInterval).isAfter(this.responseDate)) {
-            this.responseDate = now;
-            this.cachedResponse = commandExecutor.sendCommand(serverProperties.getStats());
-        }
+    private long getStat(StatList stat) {
+        return stats.get()[stat.ordinal()];
+    }
 
-        for (String line : cachedResponse) {
-            if (line.startsWith(stat.getStatPrefix())) {
-                try {
-                    return (NumberFormat.getInstance()).parse(line.substring(stat.getStatPrefix().length()).trim());
-                } catch (ParseException e) {
-                    LOGGER.warn("Could not parse server statistic", e);
-                    return 0;
-                }
+    private static long[] parse(List<String> response) {
+        long[] values = new long[StatList.values().length];
+        for (String line : response) {
+            int separator = line.indexOf(':');
+            StatList stat = separator > 0 ? STATS.get(line.substring(0, separator + 1)) : null;
+            if (stat != null) {
+                values[stat.ordinal()] = parseStat(line.substring(separator + 1).trim());
             }
         }
+        return values;
+    }
 
-        return 0;
+    private static long parseStat(String value) {
+        try {
+            return NumberFormat.getInstance().parse(value).longValue();
+        } catch (ParseException e) {
+            LOGGER.warn("Could not parse server statistic", e);
+            return 0;
+        }
     }
 
     @Override
     public long getPlaytime() {
-        return getStat(StatList.PLAYTIME).longValue();
+        return getStat(StatList.PLAYTIME);
     }
 
     @Override
     public long getUptime() {
-        return getStat(StatList.UPTIME).longValue();
+        return getStat(StatList.UPTIME);
     }
 
     @Override
     public int getAlbumCount() {
-        return getStat(StatList.ALBUMS).intValue();
+        return (int) getStat(StatList.ALBUMS);
     }
 
     @Override
     public int getArtistCount() {
-        return getStat(StatList.ARTISTS).intValue();
+        return (int) getStat(StatList.ARTISTS);
     }
 
     @Override
     public int getSongCount() {
-        return getStat(StatList.SONGS).intValue();
+        return (int) getStat(StatList.SONGS);
     }
 
     @Override
     public long getDatabasePlaytime() {
-        return getStat(StatList.DBPLAYTIME).longValue();
+        return getStat(StatList.DBPLAYTIME);
     }
 
     @Override
     public long getLastUpdateTime() {
-        return getStat(StatList.DBUPDATE).longValue();
+        return getStat(StatList.DBUPDATE);
     }
 
     @Override
     public void setExpiryInterval(long seconds) {
-        this.expiryInterval = seconds;
+        stats.setExpiryInterval(seconds);
     }
 
     @Override
     public void forceUpdate() {
-        this.responseDate = clock.min();
+        stats.invalidate();
     }
 }
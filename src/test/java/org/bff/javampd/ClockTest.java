@@ -0,0 +1,28 @@
+package org.bff.javampd;
+
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.assertTrue;
+
+public class ClockTest {
+
+    @Test
+    public void testDefaultNanoTime() throws Exception {
+        Clock clock = new Clock() {
+            @Override
+            public LocalDateTime now() {
+                return LocalDateTime.now();
+            }
+
+            @Override
+            public LocalDateTime min() {
+                return LocalDateTime.MIN;
+            }
+        };
+
+        long before = System.nanoTime();
+        assertTrue(clock.nanoTime() - before >= 0);
+    }
+}
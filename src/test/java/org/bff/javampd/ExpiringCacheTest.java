@@ -0,0 +1,110 @@
+package org.bff.javampd;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ExpiringCacheTest {
+
+    @Mock
+    private Clock clock;
+
+    private AtomicInteger loads;
+    private ExpiringCache<Integer> cache;
+
+    @Before
+    public void setUp() throws Exception {
+        loads = new AtomicInteger();
+        cache = new ExpiringCache<>(clock, 5, loads::incrementAndGet);
+    }
+
+    @Test
+    public void testLoadedOnce() throws Exception {
+        assertEquals(1, (int) cache.get());
+        assertEquals(1, (int) cache.get());
+    }
+
+    @Test
+    public void testInsideExpiry() throws Exception {
+        cache.get();
+        when(clock.nanoTime()).thenReturn(TimeUnit.SECONDS.toNanos(5));
+
+        assertEquals(1, (int) cache.get());
+    }
+
+    @Test
+    public void testExpired() throws Exception {
+        cache.get();
+        when(clock.nanoTime()).thenReturn(TimeUnit.SECONDS.toNanos(6));
+
+        assertEquals(2, (int) cache.get());
+    }
+
+    @Test
+    public void testNoExpiryInterval() throws Exception {
+        cache.setExpiryInterval(0);
+        cache.get();
+
+        assertEquals(2, (int) cache.get());
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        cache.get();
+        cache.invalidate();
+
+        assertEquals(2, (int) cache.get());
+    }
+
+    @Test
+    public void testSet() throws Exception {
+        cache.set(10);
+
+        assertEquals(10, (int) cache.get());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    public void testSingleFlight() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExpiringCache<Integer> slowCache = new ExpiringCache<>(new MPDSystemClock(), 5, () -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loads.incrementAndGet();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            futures.add(executor.submit(slowCache::get));
+            loading.await();
+            for (int i = 0; i < 7; i++) {
+                futures.add(executor.submit(slowCache::get));
+            }
+            release.countDown();
+
+            for (Future<Integer> future : futures) {
+                assertEquals(1, (int) future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
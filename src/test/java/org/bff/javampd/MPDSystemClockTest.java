@@ -28,4 +28,13 @@ public class MPDSystemClockTest {
     public void min() throws Exception {
         assertEquals(LocalDateTime.MIN, clock.min());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void nanoTime() throws Exception {
+        long before = System.nanoTime();
+        long clockTime = clock.nanoTime();
+
+        assertTrue(clockTime - before >= 0);
+        assertTrue(clock.nanoTime() - clockTime >= 0);
+    }
+}
@@ -42,6 +42,19 @@ public class MPDAlbumConverterTest {
         }
     }
 
+    @Test
+    public void testUnknownTagsIgnored() {
+        List<String> albumResponse = new ArrayList<>();
+        albumResponse.add("Album: " + ALBUM);
+        albumResponse.add("Genre: rock");
+        albumResponse.add("Artist: " + ARTIST);
+        albumResponse.add("no tag");
+        albums = converter.convertResponseToAlbum(albumResponse);
+
+        assertEquals(1, albums.size());
+        assertEquals(ARTIST, albums.get(0).getArtistName());
+    }
+
     @Test
     public void testAlbumSingleTag() {
         List<String> albumResponse = new ArrayList<>();
@@ -1,10 +1,13 @@
 package org.bff.javampd.album;
 
 import org.bff.javampd.artist.MPDArtist;
+import org.bff.javampd.database.ListingCache;
 import org.bff.javampd.database.TagLister;
 import org.bff.javampd.genre.MPDGenre;
 import org.bff.javampd.processor.AlbumTagProcessor;
 import org.bff.javampd.processor.ArtistTagProcessor;
+import org.bff.javampd.processor.DateTagProcessor;
+import org.bff.javampd.statistics.ServerStatistics;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -15,7 +18,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public class MPDAlbumDatabaseTest {
@@ -30,12 +33,14 @@ public class MPDAlbumDatabaseTest {
 
     @Mock
     private TagLister tagLister;
+    @Mock
+    private ServerStatistics serverStatistics;
 
     private MPDAlbumDatabase albumDatabase;
 
     @Before
     public void before() {
-        albumDatabase = new MPDAlbumDatabase(tagLister, new MPDAlbumConverter());
+        albumDatabase = new MPDAlbumDatabase(tagLister, new MPDAlbumConverter(), new ListingCache(serverStatistics));
     }
 
     @Test
@@ -289,6 +294,81 @@ public class MPDAlbumDatabaseTest {
         assertEquals(0, albums.size());
     }
 
+    @Test
+    public void testListAllAlbumsPagesListedOnce() {
+        loadMockAlbums("testAlbum", "testArtist", 50);
+
+        assertEquals(10, albumDatabase.listAllAlbums(0, 10).size());
+        assertEquals(new MPDAlbum("testAlbum10", "testArtist10"), albumDatabase.listAllAlbums(10, 20).iterator().next());
+
+        verify(tagLister, times(1)).list(TagLister.ListType.ALBUM, ALBUM_GROUPS);
+    }
+
+    @Test
+    public void testListAllAlbumsReloadedOnDatabaseUpdate() {
+        loadMockAlbums("testAlbum", "testArtist", 50);
+
+        albumDatabase.listAllAlbums(0, 10);
+        when(serverStatistics.getLastUpdateTime()).thenReturn(100L);
+        albumDatabase.listAllAlbums(0, 10);
+
+        verify(tagLister, times(2)).list(TagLister.ListType.ALBUM, ALBUM_GROUPS);
+    }
+
+    @Test
+    public void testListAllAlbumsAfter() {
+        loadMockAlbums("testAlbum", "testArtist", 50);
+
+        List<MPDAlbum> first = new ArrayList<>(albumDatabase.listAllAlbumsAfter(null, 20));
+        List<MPDAlbum> second = new ArrayList<>(albumDatabase.listAllAlbumsAfter(first.get(19), 20));
+        List<MPDAlbum> last = new ArrayList<>(albumDatabase.listAllAlbumsAfter(second.get(19), 20));
+
+        assertEquals(new MPDAlbum("testAlbum0", "testArtist0"), first.get(0));
+        assertEquals(new MPDAlbum("testAlbum20", "testArtist20"), second.get(0));
+        assertEquals(10, last.size());
+        assertEquals(new MPDAlbum("testAlbum49", "testArtist49"), last.get(9));
+    }
+
+    @Test
+    public void testListAllAlbumsAfterSameNameDifferentArtist() {
+        List<String> mockAlbumList = new ArrayList<>();
+        mockAlbumList.add(new AlbumTagProcessor().getPrefix() + " Greatest Hits");
+        mockAlbumList.add(new ArtistTagProcessor().getPrefix() + " ABBA");
+        mockAlbumList.add(new DateTagProcessor().getPrefix() + " 1992");
+        mockAlbumList.add(new AlbumTagProcessor().getPrefix() + " Greatest Hits");
+        mockAlbumList.add(new ArtistTagProcessor().getPrefix() + " Queen");
+        mockAlbumList.add(new DateTagProcessor().getPrefix() + " 1981");
+        when(tagLister.list(TagLister.ListType.ALBUM, ALBUM_GROUPS)).thenReturn(mockAlbumList);
+
+        MPDAlbum abba = new MPDAlbum("Greatest Hits", "ABBA");
+        abba.setDate("1992");
+
+        List<MPDAlbum> albums = new ArrayList<>(albumDatabase.listAllAlbumsAfter(abba, 5));
+
+        assertEquals(1, albums.size());
+        assertEquals("Queen", albums.get(0).getArtistName());
+    }
+
+    @Test
+    public void testListAllAlbumsAfterRemovedAlbum() {
+        List<String> mockAlbumList = new ArrayList<>();
+        mockAlbumList.add(new AlbumTagProcessor().getPrefix() + " Arrival");
+        mockAlbumList.add(new ArtistTagProcessor().getPrefix() + " ABBA");
+        mockAlbumList.add(new AlbumTagProcessor().getPrefix() + " Voulez-Vous");
+        mockAlbumList.add(new ArtistTagProcessor().getPrefix() + " ABBA");
+        mockAlbumList.add(new AlbumTagProcessor().getPrefix() + " A Night at the Opera");
+        mockAlbumList.add(new ArtistTagProcessor().getPrefix() + " Queen");
+        mockAlbumList.add(new AlbumTagProcessor().getPrefix() + " Jazz");
+        mockAlbumList.add(new ArtistTagProcessor().getPrefix() + " Queen");
+        when(tagLister.list(TagLister.ListType.ALBUM, ALBUM_GROUPS)).thenReturn(mockAlbumList);
+
+        List<MPDAlbum> albums = new ArrayList<>(
+                albumDatabase.listAllAlbumsAfter(new MPDAlbum("Waterloo", "ABBA"), 5));
+
+        assertEquals(2, albums.size());
+        assertEquals(new MPDAlbum("A Night at the Opera", "Queen"), albums.get(0));
+    }
+
     @Test
     public void testFindAlbumByName() throws Exception {
         MPDArtist testArtist = new MPDArtist("testArtistName");
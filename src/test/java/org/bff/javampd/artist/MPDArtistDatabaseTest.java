@@ -1,7 +1,9 @@
 package org.bff.javampd.artist;
 
+import org.bff.javampd.database.ListingCache;
 import org.bff.javampd.database.TagLister;
 import org.bff.javampd.genre.MPDGenre;
+import org.bff.javampd.statistics.ServerStatistics;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -9,10 +11,11 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public class MPDArtistDatabaseTest {
@@ -20,12 +23,14 @@ public class MPDArtistDatabaseTest {
 
     @Mock
     private TagLister tagLister;
+    @Mock
+    private ServerStatistics serverStatistics;
 
     private MPDArtistDatabase artistDatabase;
 
     @Before
     public void before() {
-        artistDatabase = new MPDArtistDatabase(tagLister);
+        artistDatabase = new MPDArtistDatabase(tagLister, new ListingCache(serverStatistics));
     }
 
     @Test
@@ -120,4 +125,40 @@ public class MPDArtistDatabaseTest {
         assertEquals(1, artists.size());
         assertEquals(testArtist, artists.get(0));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testListAllArtistsWindowed() throws Exception {
+        when(tagLister.list(TagLister.ListType.ARTIST))
+                .thenReturn(Arrays.asList("Artist: A", "Artist: B", "Artist: C"));
+
+        assertEquals(Arrays.asList(new MPDArtist("B"), new MPDArtist("C")),
+                new ArrayList<>(artistDatabase.listAllArtists(1, 5)));
+        assertEquals(Arrays.asList(new MPDArtist("A")),
+                new ArrayList<>(artistDatabase.listAllArtists(0, 1)));
+        verify(tagLister, times(1)).list(TagLister.ListType.ARTIST);
+    }
+
+    @Test
+    public void testListAllArtistsAfter() throws Exception {
+        when(tagLister.list(TagLister.ListType.ARTIST))
+                .thenReturn(Arrays.asList("Artist: A", "Artist: C", "Artist: E"));
+
+        assertEquals(Arrays.asList(new MPDArtist("C")),
+                new ArrayList<>(artistDatabase.listAllArtistsAfter(new MPDArtist("A"), 1)));
+        assertEquals(Arrays.asList(new MPDArtist("E")),
+                new ArrayList<>(artistDatabase.listAllArtistsAfter(new MPDArtist("D"), 5)));
+    }
+
+    @Test
+    public void testListAllAlbumArtists() throws Exception {
+        when(tagLister.list(TagLister.ListType.ALBUM_ARTIST))
+                .thenReturn(Arrays.asList("AlbumArtist: A", "AlbumArtist: B"));
+
+        assertEquals(Arrays.asList(new MPDArtist("A"), new MPDArtist("B")),
+                new ArrayList<>(artistDatabase.listAllAlbumArtists()));
+        assertEquals(Arrays.asList(new MPDArtist("B")),
+                new ArrayList<>(artistDatabase.listAllAlbumArtists(1, 2)));
+        assertEquals(Arrays.asList(new MPDArtist("A")),
+                new ArrayList<>(artistDatabase.listAllAlbumArtistsAfter(null, 1)));
+    }
+}
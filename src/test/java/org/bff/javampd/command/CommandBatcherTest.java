@@ -0,0 +1,159 @@
+package org.bff.javampd.command;
+
+import org.bff.javampd.server.MPDCommandListException;
+import org.bff.javampd.server.MPDConnectionException;
+import org.bff.javampd.server.MPDResponseException;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CommandBatcherTest {
+    private final List<List<MPDCommand>> sentLists = new CopyOnWriteArrayList<>();
+    private final List<MPDCommand> sentCommands = new CopyOnWriteArrayList<>();
+    private final List<Deadline> sentDeadlines = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testSingleCommandIsNotWrapped() throws Exception {
+        CommandBatcher batcher = new CommandBatcher(this::echoList, this::echo, 0, 10);
+
+        assertEquals(Collections.singletonList("status"), batcher.send(new MPDCommand("status")));
+        assertTrue(sentLists.isEmpty());
+        assertEquals(1, sentCommands.size());
+    }
+
+    @Test
+    public void testConcurrentCommandsShareBatch() throws Exception {
+        CommandBatcher batcher = new CommandBatcher(this::echoList, this::echo, 10000, 3);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<List<String>>> responses = new ArrayList<>();
+            for (String name : Arrays.asList("status", "currentsong", "stats")) {
+                responses.add(executorService.submit(() -> batcher.send(new MPDCommand(name))));
+            }
+
+            assertEquals(Collections.singletonList("status"), responses.get(0).get(5, TimeUnit.SECONDS));
+            assertEquals(Collections.singletonList("currentsong"), responses.get(1).get(5, TimeUnit.SECONDS));
+            assertEquals(Collections.singletonList("stats"), responses.get(2).get(5, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertEquals(1, sentLists.size());
+        assertEquals(3, sentLists.get(0).size());
+        assertTrue(sentCommands.isEmpty());
+    }
+
+    @Test
+    public void testBatchSentWithEarliestDeadline() throws Exception {
+        CommandBatcher batcher = new CommandBatcher(this::echoList, this::echo, 10000, 3);
+        Deadline early = Deadline.after(Duration.ofSeconds(30));
+        Deadline late = Deadline.after(Duration.ofSeconds(60));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<List<String>>> responses = new ArrayList<>();
+            responses.add(executorService.submit(() -> batcher.send(new MPDCommand("status"))));
+            responses.add(executorService.submit(() -> batcher.send(new MPDCommand("stats"), late)));
+            responses.add(executorService.submit(() -> batcher.send(new MPDCommand("currentsong"), early)));
+            for (Future<List<String>> response : responses) {
+                response.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertEquals(1, sentLists.size());
+        assertSame(early, sentDeadlines.get(0));
+    }
+
+    @Test
+    public void testSingleCommandKeepsItsDeadline() throws Exception {
+        CommandBatcher batcher = new CommandBatcher(this::echoList, this::echo, 0, 10);
+        Deadline deadline = Deadline.after(Duration.ofSeconds(30));
+
+        batcher.send(new MPDCommand("status"), deadline);
+        assertSame(deadline, sentDeadlines.get(0));
+    }
+
+    @Test
+    public void testFailedCommandOnlyFailsItsCaller() throws Exception {
+        CommandBatcher batcher = new CommandBatcher((commands, deadline) -> {
+            sentLists.add(commands);
+            throw new MPDCommandListException("[50@1] {play} No such song", "play", 1,
+                    Collections.singletonList(Collections.singletonList("status")));
+        }, this::echo, 10000, 3);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(3);
+        try {
+            Future<List<String>> status = executorService.submit(() -> batcher.send(new MPDCommand("status")));
+            Thread.sleep(100);
+            Future<List<String>> play = executorService.submit(() -> batcher.send(new MPDCommand("play")));
+            Thread.sleep(100);
+            Future<List<String>> stats = executorService.submit(() -> batcher.send(new MPDCommand("stats")));
+
+            assertEquals(Collections.singletonList("status"), status.get(5, TimeUnit.SECONDS));
+            assertEquals(Collections.singletonList("stats"), stats.get(5, TimeUnit.SECONDS));
+            try {
+                play.get(5, TimeUnit.SECONDS);
+                fail("expected MPDResponseException");
+            } catch (ExecutionException e) {
+                assertEquals(MPDResponseException.class, e.getCause().getClass());
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertEquals(1, sentLists.size());
+        assertEquals(1, sentCommands.size());
+        assertEquals("stats", sentCommands.get(0).getCommand());
+    }
+
+    @Test(expected = MPDConnectionException.class)
+    public void testConnectionErrorFailsBatch() throws Exception {
+        CommandBatcher batcher = new CommandBatcher(this::echoList, (command, deadline) -> {
+            throw new MPDConnectionException("connection lost");
+        }, 0, 10);
+
+        batcher.send(new MPDCommand("status"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxCommands() throws Exception {
+        new CommandBatcher(this::echoList, this::echo, 2, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidWindow() throws Exception {
+        new CommandBatcher(this::echoList, this::echo, -1, 10);
+    }
+
+    private List<String> echo(MPDCommand command, Deadline deadline) {
+        sentCommands.add(command);
+        sentDeadlines.add(deadline);
+        return Collections.singletonList(command.getCommand());
+    }
+
+    private List<List<String>> echoList(List<MPDCommand> commands, Deadline deadline) {
+        sentLists.add(commands);
+        sentDeadlines.add(deadline);
+        List<List<String>> responses = new ArrayList<>();
+        commands.forEach(command -> responses.add(Collections.singletonList(command.getCommand())));
+        return responses;
+    }
+}
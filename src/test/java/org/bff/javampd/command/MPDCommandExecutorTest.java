@@ -3,6 +3,8 @@ package org.bff.javampd.command;
 import org.bff.javampd.server.*;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
@@ -13,11 +15,23 @@ import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.UnknownHostException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -25,6 +39,12 @@ public class MPDCommandExecutorTest {
     @Mock
     private MPDSocket mpdSocket;
 
+    @Mock
+    private MPDSocket bulkMpdSocket;
+
+    @Mock
+    private MPDAsyncSocket mpdAsyncSocket;
+
     @Mock
     private MPD mpd;
 
@@ -133,6 +153,48 @@ public class MPDCommandExecutorTest {
         assertEquals(response.get(0), testResponse.get(0));
     }
 
+    @Test
+    public void testSendCommandForValues() {
+        MPDCommand command = new MPDCommand("lsinfo");
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        when(mpdSocket.sendCommandForValues(command, "file:"))
+                .thenReturn(Collections.singletonList("song.mp3"));
+
+        assertEquals(Collections.singletonList("song.mp3"), commandExecutor.sendCommandForValues(command, "file:"));
+    }
+
+    @Test
+    public void testSendCommandForValuesSecurityException() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+
+        MPDCommand command = new MPDCommand("lsinfo");
+        when(mpdSocket.sendCommandForValues(command, "file:"))
+                .thenThrow(new MPDSecurityException("exception"))
+                .thenReturn(Collections.singletonList("song.mp3"));
+
+        assertEquals(Collections.singletonList("song.mp3"), commandExecutor.sendCommandForValues(command, "file:"));
+        verify(mpdSocket, times(2)).sendCommandForValues(command, "file:");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testStreamCommand() {
+        MPDCommand command = new MPDCommand("listallinfo");
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        doAnswer(invocation -> {
+            ((Consumer<String>) invocation.getArguments()[1]).accept("file: song.mp3");
+            return null;
+        }).when(mpdSocket).streamCommand(eq(command), any(Consumer.class));
+
+        List<String> lines = new ArrayList<>();
+        commandExecutor.streamCommand(command, lines::add);
+
+        assertEquals(Collections.singletonList("file: song.mp3"), lines);
+    }
+
     @Test
     public void testSendCommandsSecurityException() {
         commandExecutor = new TestMPDCommandExecutor();
@@ -157,6 +219,27 @@ public class MPDCommandExecutorTest {
         commandExecutor.sendCommands(commands);
     }
 
+    @Test
+    public void testSendCommandList() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+
+        List<MPDCommand> commands = new ArrayList<>();
+        commands.add(new MPDCommand("status"));
+        commands.add(new MPDCommand("stats"));
+        List<List<String>> responses = new ArrayList<>();
+        responses.add(Collections.singletonList("volume: 10"));
+        responses.add(Collections.singletonList("songs: 3"));
+
+        MPDCommand passwordCommand = new MPDCommand("password", "password");
+        when(mpdSocket.sendCommand(passwordCommand)).thenReturn(new ArrayList<>());
+        when(mpdSocket.sendCommandList(commands))
+                .thenThrow(new MPDSecurityException("exception"))
+                .thenReturn(responses);
+
+        assertEquals(responses, commandExecutor.sendCommandList(commands));
+    }
+
     @Test
     public void testSendCommands() {
         commandExecutor = new TestMPDCommandExecutor();
@@ -262,6 +345,62 @@ public class MPDCommandExecutorTest {
         commandExecutor.authenticate();
     }
 
+    @Test
+    public void testCommandListResumesAfterRefusedCommand() {
+        MPDCommand status = new MPDCommand("status");
+        MPDCommand add = new MPDCommand("add", "song.mp3");
+        MPDCommand play = new MPDCommand("play");
+        List<MPDCommand> commands = Arrays.asList(status, add, play);
+        when(mpdSocket.sendCommandList(commands)).thenThrow(new MPDCommandListSecurityException(
+                "[4@1] {add} you don't have permission", "add", 1,
+                Collections.singletonList(Collections.singletonList("volume: 10"))));
+        when(mpdSocket.sendCommandList(Arrays.asList(add, play)))
+                .thenReturn(Arrays.asList(Collections.emptyList(), Collections.emptyList()));
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.usePassword("password");
+
+        List<List<String>> responses = commandExecutor.sendCommandList(commands);
+
+        assertEquals(Arrays.asList(Collections.singletonList("volume: 10"), Collections.emptyList(),
+                Collections.emptyList()), responses);
+        InOrder inOrder = inOrder(mpdSocket);
+        inOrder.verify(mpdSocket).sendCommandList(commands);
+        inOrder.verify(mpdSocket).sendCommand(new MPDCommand(new ServerProperties().getPassword(), "password"));
+        inOrder.verify(mpdSocket).sendCommandList(Arrays.asList(add, play));
+        verify(mpdSocket, times(1)).sendCommandList(commands);
+    }
+
+    @Test
+    public void testBatchResumesAfterRefusedCommand() throws Exception {
+        MPDCommand status = new MPDCommand("status");
+        MPDCommand add = new MPDCommand("add", "song.mp3");
+        when(mpdSocket.sendCommandList(Arrays.asList(status, add))).thenThrow(new MPDCommandListSecurityException(
+                "[4@1] {add} you don't have permission", "add", 1,
+                Collections.singletonList(Collections.singletonList("volume: 10"))));
+        when(mpdSocket.sendCommandList(Collections.singletonList(add)))
+                .thenReturn(Collections.singletonList(Collections.singletonList("added")));
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.usePassword("password");
+        commandExecutor.useCommandBatching(10000, 2);
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<String>> statusResponse = executorService.submit(() -> commandExecutor.sendCommand(status));
+            Thread.sleep(100);
+            List<String> addResponse = commandExecutor.sendCommand(add);
+
+            assertEquals(Collections.singletonList("volume: 10"), statusResponse.get(5, TimeUnit.SECONDS));
+            assertEquals(Collections.singletonList("added"), addResponse);
+            verify(mpdSocket, times(1)).sendCommandList(Arrays.asList(status, add));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
     @Test(expected = MPDSecurityException.class)
     public void testAuthenticateSecurityException() {
         String password = "password";
@@ -288,10 +427,856 @@ public class MPDCommandExecutorTest {
         verify(mpdSocket).close();
     }
 
+    @Test
+    public void testCreateDedicatedSocket() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+
+        assertEquals(mpdSocket, commandExecutor.createDedicatedSocket());
+        verify(mpdSocket, never()).sendCommand(any(MPDCommand.class));
+    }
+
+    @Test
+    public void testCreateDedicatedSocketAuthenticates() {
+        String password = "password";
+        MPDCommand command = new MPDCommand(new ServerProperties().getPassword(), password);
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.usePassword(password);
+
+        commandExecutor.createDedicatedSocket();
+        verify(mpdSocket).sendCommand(command);
+    }
+
+    @Test
+    public void testCreateDedicatedSocketAuthenticationFailure() {
+        String password = "password";
+        MPDCommand command = new MPDCommand(new ServerProperties().getPassword(), password);
+        when(mpdSocket.sendCommand(command)).thenThrow(new MPDSecurityException("incorrect password"));
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.usePassword(password);
+
+        try {
+            commandExecutor.createDedicatedSocket();
+            fail("expected MPDSecurityException");
+        } catch (MPDSecurityException e) {
+            verify(mpdSocket).close();
+        }
+    }
+
+    @Test(expected = MPDConnectionException.class)
+    public void testCreateDedicatedSocketNoMPDSet() {
+        commandExecutor = new MPDCommandExecutor();
+        commandExecutor.createDedicatedSocket();
+    }
+
+    @Test
+    public void testPooledCommandsRunInParallel() throws Exception {
+        MPDCommand command = new MPDCommand("command");
+        CountDownLatch bothSending = new CountDownLatch(2);
+        List<MPDSocket> sockets = new ArrayList<>();
+        commandExecutor = new MPDCommandExecutor() {
+            @Override
+            protected MPDSocket createSocket() {
+                MPDSocket socket = mock(MPDSocket.class);
+                when(socket.sendCommand(command)).then(invocation -> {
+                    bothSending.countDown();
+                    assertTrue(bothSending.await(5, TimeUnit.SECONDS));
+                    return Collections.singletonList("response");
+                });
+                sockets.add(socket);
+                return socket;
+            }
+        };
+        commandExecutor.setMpd(mpd);
+        commandExecutor.useConnectionPool(new ConnectionPoolSettings(0, 2, 0, 0));
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        Future<List<String>> first = executorService.submit(() -> commandExecutor.sendCommand(command));
+        Future<List<String>> second = executorService.submit(() -> commandExecutor.sendCommand(command));
+
+        assertEquals("response", first.get(5, TimeUnit.SECONDS).get(0));
+        assertEquals("response", second.get(5, TimeUnit.SECONDS).get(0));
+        assertEquals(2, sockets.size());
+        executorService.shutdown();
+    }
+
+    @Test
+    public void testPooledCommandReauthenticates() {
+        String password = "password";
+        MPDCommand command = new MPDCommand("command");
+        MPDCommand passwordCommand = new MPDCommand(new ServerProperties().getPassword(), password);
+        when(mpdSocket.sendCommand(command))
+                .thenThrow(new MPDSecurityException("you don't have permission"))
+                .thenReturn(Collections.singletonList("response"));
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.usePassword(password);
+        commandExecutor.useConnectionPool(new ConnectionPoolSettings(0, 1, 0, 0));
+
+        assertEquals("response", commandExecutor.sendCommand(command).get(0));
+        verify(mpdSocket, times(2)).sendCommand(passwordCommand);
+    }
+
+    @Test
+    public void testPooledConnectionFailureClosesSocket() {
+        MPDCommand command = new MPDCommand("status");
+        when(mpdSocket.sendCommand(command)).thenThrow(new MPDConnectionException("connection lost"));
+        when(bulkMpdSocket.sendCommand(command)).thenReturn(Collections.singletonList("volume: 10"));
+
+        TestMPDCommandExecutor testExecutor = new TestMPDCommandExecutor();
+        testExecutor.sockets.add(mpdSocket);
+        testExecutor.sockets.add(bulkMpdSocket);
+        testExecutor.setMpd(mpd);
+        testExecutor.useConnectionPool(new ConnectionPoolSettings(0, 1, 0, 0));
+
+        try {
+            testExecutor.sendCommand(command);
+            fail("Connection exception should have been thrown");
+        } catch (MPDConnectionException e) {
+            verify(mpdSocket).close();
+        }
+        assertEquals(Collections.singletonList("volume: 10"), testExecutor.sendCommand(command));
+    }
+
+    @Test
+    public void testPooledTimeoutClosesSocket() {
+        MPDCommand command = new MPDCommand("status");
+        when(mpdSocket.sendCommand(eq(command), any(Duration.class))).thenThrow(new MPDTimeoutException("timed out"));
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.useConnectionPool(new ConnectionPoolSettings(0, 1, 0, 0));
+
+        try {
+            commandExecutor.sendCommand(command, Duration.ofSeconds(5));
+            fail("Timeout exception should have been thrown");
+        } catch (MPDTimeoutException e) {
+            verify(mpdSocket).close();
+        }
+    }
+
+    @Test
+    public void testPooledErrorResponseKeepsSocket() {
+        MPDCommand command = new MPDCommand("play", "100");
+        when(mpdSocket.sendCommand(command)).thenThrow(new MPDResponseException("[2@0] {play} Bad song index"));
+
+        TestMPDCommandExecutor testExecutor = new TestMPDCommandExecutor();
+        testExecutor.sockets.add(mpdSocket);
+        testExecutor.sockets.add(bulkMpdSocket);
+        testExecutor.setMpd(mpd);
+        testExecutor.useConnectionPool(new ConnectionPoolSettings(0, 1, 0, 0));
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                testExecutor.sendCommand(command);
+                fail("Response exception should have been thrown");
+            } catch (MPDResponseException e) {
+                verify(mpdSocket, never()).close();
+            }
+        }
+        verify(mpdSocket, times(2)).sendCommand(command);
+        verify(bulkMpdSocket, never()).sendCommand(command);
+    }
+
+    @Test
+    public void testPooledSendCommands() {
+        List<MPDCommand> commands = new ArrayList<>();
+        commands.add(new MPDCommand("command1"));
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.useConnectionPool(new ConnectionPoolSettings(0, 1, 0, 0));
+        commandExecutor.sendCommands(commands);
+
+        verify(mpdSocket).sendCommands(commands);
+    }
+
+    @Test
+    public void testPooledSendCommandList() {
+        List<MPDCommand> commands = new ArrayList<>();
+        commands.add(new MPDCommand("status"));
+        List<List<String>> responses = Collections.singletonList(Collections.singletonList("volume: 10"));
+        when(mpdSocket.sendCommandList(commands)).thenReturn(responses);
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.useConnectionPool(new ConnectionPoolSettings(0, 1, 0, 0));
+
+        assertEquals(responses, commandExecutor.sendCommandList(commands));
+    }
+
+    @Test
+    public void testCommandBatching() {
+        MPDCommand command = new MPDCommand("status");
+        when(mpdSocket.sendCommand(command)).thenReturn(Collections.singletonList("volume: 10"));
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.useCommandBatching(0, 10);
+
+        assertEquals(Collections.singletonList("volume: 10"), commandExecutor.sendCommand(command));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCommandFromStreamConsumerIsNotBatched() {
+        MPDCommand listAll = new MPDCommand("listallinfo");
+        MPDCommand add = new MPDCommand("add", "song.mp3");
+        doAnswer(invocation -> {
+            ((Consumer<String>) invocation.getArguments()[1]).accept("file: song.mp3");
+            return null;
+        }).when(mpdSocket).streamCommand(eq(listAll), any(Consumer.class));
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.useCommandBatching(10000, 10);
+        commandExecutor.streamCommand(listAll, line -> commandExecutor.sendCommand(add));
+
+        verify(mpdSocket).sendCommand(add);
+    }
+
+    @Test
+    public void testCloseIsNotBatched() {
+        MPDCommand command = new MPDCommand(new ServerProperties().getClose());
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.useCommandBatching(10000, 10);
+        commandExecutor.sendCommand(command);
+
+        verify(mpdSocket).sendCommand(command);
+    }
+
+    @Test
+    public void testBulkReadsShareTheConnectionByDefault() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.sendCommand(new MPDCommand("listallinfo"));
+
+        verify(mpdSocket).sendCommand(new MPDCommand("listallinfo"));
+    }
+
+    @Test
+    public void testPriorityLanes() {
+        MPDCommand status = new MPDCommand("status");
+        MPDCommand listAll = new MPDCommand("listallinfo");
+
+        commandExecutor = lanesExecutor();
+        commandExecutor.sendCommand(status);
+        commandExecutor.sendCommand(listAll);
+
+        verify(mpdSocket).sendCommand(status);
+        verify(bulkMpdSocket).sendCommand(listAll);
+        verify(mpdSocket, never()).sendCommand(listAll);
+    }
+
+    @Test
+    public void testPriorityOfCommand() {
+        MPDCommand status = new MPDCommand("status").withPriority(CommandPriority.BULK);
+        MPDCommand lsinfo = new MPDCommand("lsinfo").withPriority(CommandPriority.INTERACTIVE);
+
+        commandExecutor = lanesExecutor();
+        commandExecutor.sendCommand(lsinfo);
+        commandExecutor.sendCommand(status);
+
+        verify(mpdSocket).sendCommand(lsinfo);
+        verify(bulkMpdSocket).sendCommand(status);
+    }
+
+    @Test
+    public void testInteractiveCommandDoesNotWaitForBulkRead() throws Exception {
+        MPDCommand pause = new MPDCommand("pause");
+        MPDCommand listAll = new MPDCommand("listallinfo");
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch finishScan = new CountDownLatch(1);
+        when(bulkMpdSocket.sendCommand(listAll)).thenAnswer(invocation -> {
+            scanning.countDown();
+            finishScan.await();
+            return new ArrayList<>();
+        });
+
+        commandExecutor = lanesExecutor();
+        commandExecutor.sendCommand(new MPDCommand("status"));
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> scan = executorService.submit(() -> commandExecutor.sendCommand(listAll));
+            assertTrue(scanning.await(5, TimeUnit.SECONDS));
+
+            commandExecutor.sendCommand(pause);
+            verify(mpdSocket).sendCommand(pause);
+            assertFalse(scan.isDone());
+
+            finishScan.countDown();
+            scan.get(5, TimeUnit.SECONDS);
+        } finally {
+            finishScan.countDown();
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPriorityLanesForValues() {
+        MPDCommand lsinfo = new MPDCommand("lsinfo");
+        when(bulkMpdSocket.sendCommandForValues(lsinfo, "file:")).thenReturn(Collections.singletonList("song"));
+
+        commandExecutor = lanesExecutor();
+        commandExecutor.sendCommand(new MPDCommand("status"));
+
+        assertEquals(Collections.singletonList("song"), commandExecutor.sendCommandForValues(lsinfo, "file:"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testPriorityLanesForStream() {
+        MPDCommand listAll = new MPDCommand("listall");
+        Consumer<String> consumer = mock(Consumer.class);
+
+        commandExecutor = lanesExecutor();
+        commandExecutor.sendCommand(new MPDCommand("status"));
+        commandExecutor.streamCommand(listAll, consumer);
+
+        verify(bulkMpdSocket).streamCommand(listAll, consumer);
+    }
+
+    @Test
+    public void testPriorityLanesForCommandList() {
+        List<MPDCommand> bulkCommands = new ArrayList<>();
+        bulkCommands.add(new MPDCommand("find", "artist", "a"));
+        bulkCommands.add(new MPDCommand("find", "artist", "b"));
+        List<MPDCommand> mixedCommands = new ArrayList<>();
+        mixedCommands.add(new MPDCommand("find", "artist", "a"));
+        mixedCommands.add(new MPDCommand("pause"));
+
+        commandExecutor = lanesExecutor();
+        commandExecutor.sendCommand(new MPDCommand("status"));
+        commandExecutor.sendCommandList(bulkCommands);
+        commandExecutor.sendCommandList(mixedCommands);
+
+        verify(bulkMpdSocket).sendCommandList(bulkCommands);
+        verify(mpdSocket).sendCommandList(mixedCommands);
+    }
+
+    @Test
+    public void testPriorityLanesWithTimeout() {
+        MPDCommand listAll = new MPDCommand("listallinfo");
+
+        commandExecutor = lanesExecutor();
+        commandExecutor.sendCommand(new MPDCommand("status"));
+        commandExecutor.sendCommand(listAll, Duration.ofSeconds(5));
+
+        verify(bulkMpdSocket).sendCommand(eq(listAll), any(Duration.class));
+    }
+
+    @Test
+    public void testPriorityLanesAsync() throws Exception {
+        when(mpdAsyncSocket.sendCommand(any(MPDCommand.class)))
+                .thenReturn(CompletableFuture.completedFuture(new ArrayList<>()));
+
+        TestMPDCommandExecutor testExecutor = new TestMPDCommandExecutor();
+        testExecutor.setMpd(mpd);
+        testExecutor.usePriorityLanes();
+        testExecutor.sendCommandAsync(new MPDCommand("status")).get();
+        testExecutor.sendCommandAsync(new MPDCommand("listallinfo")).get();
+        testExecutor.sendCommandAsync(new MPDCommand("pause")).get();
+
+        assertEquals(2, testExecutor.asyncSocketsCreated);
+    }
+
+    @Test
+    public void testCloseClosesBulkConnection() {
+        commandExecutor = lanesExecutor();
+        commandExecutor.sendCommand(new MPDCommand("status"));
+        commandExecutor.sendCommand(new MPDCommand("listallinfo"));
+        commandExecutor.close();
+
+        verify(mpdSocket).close();
+        verify(bulkMpdSocket).close();
+    }
+
+    private TestMPDCommandExecutor lanesExecutor() {
+        TestMPDCommandExecutor testExecutor = new TestMPDCommandExecutor();
+        testExecutor.sockets.add(mpdSocket);
+        testExecutor.sockets.add(bulkMpdSocket);
+        testExecutor.setMpd(mpd);
+        testExecutor.usePriorityLanes();
+        return testExecutor;
+    }
+
+    @Test
+    public void testSendCommandWithTimeout() {
+        MPDCommand command = new MPDCommand("status");
+        when(mpdSocket.sendCommand(eq(command), any(Duration.class))).thenReturn(Collections.singletonList("volume: 10"));
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+
+        assertEquals(Collections.singletonList("volume: 10"), commandExecutor.sendCommand(command, Duration.ofSeconds(5)));
+    }
+
+    @Test
+    public void testPooledSendCommandWithTimeout() {
+        MPDCommand command = new MPDCommand("status");
+        when(mpdSocket.sendCommand(eq(command), any(Duration.class))).thenReturn(Collections.singletonList("volume: 10"));
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.useConnectionPool(new ConnectionPoolSettings(0, 1, 0, 0));
+
+        assertEquals(Collections.singletonList("volume: 10"), commandExecutor.sendCommand(command, Duration.ofSeconds(5)));
+    }
+
+    @Test
+    public void testCommandTimeout() {
+        MPDCommand command = new MPDCommand("status");
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.setCommandTimeout(500);
+        commandExecutor.sendCommand(command);
+
+        verify(mpdSocket).sendCommand(eq(command), any(Duration.class));
+        verify(mpdSocket, never()).sendCommand(command);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCommandTimeoutForStream() {
+        MPDCommand command = new MPDCommand("listallinfo");
+        Consumer<String> consumer = line -> {
+        };
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.setCommandTimeout(500);
+        commandExecutor.streamCommand(command, consumer);
+
+        verify(mpdSocket).streamCommand(eq(command), eq(consumer), any(Duration.class));
+        verify(mpdSocket, never()).streamCommand(eq(command), any(Consumer.class));
+    }
+
+    @Test
+    public void testCommandTimeoutForValues() {
+        MPDCommand command = new MPDCommand("list", "artist");
+        when(mpdSocket.sendCommandForValues(eq(command), any(Duration.class), eq("Artist:")))
+                .thenReturn(Collections.singletonList("Tool"));
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.setCommandTimeout(500);
+
+        assertEquals(Collections.singletonList("Tool"), commandExecutor.sendCommandForValues(command, "Artist:"));
+    }
+
+    @Test
+    public void testCommandTimeoutForCommandList() {
+        List<MPDCommand> commands = new ArrayList<>();
+        commands.add(new MPDCommand("status"));
+        commands.add(new MPDCommand("stats"));
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.setCommandTimeout(500);
+        commandExecutor.sendCommands(commands);
+        commandExecutor.sendCommandList(commands);
+
+        verify(mpdSocket).sendCommands(eq(commands), any(Duration.class));
+        verify(mpdSocket).sendCommandList(eq(commands), any(Duration.class));
+    }
+
+    @Test
+    public void testCommandTimeoutWaitingForStream() throws Exception {
+        MPDCommand status = new MPDCommand("status");
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mpdSocket.sendCommand(eq(status), any(Duration.class))).thenAnswer(invocation -> {
+            sending.countDown();
+            release.await();
+            return new ArrayList<>();
+        });
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.setCommandTimeout(50);
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            executorService.submit(() -> commandExecutor.sendCommand(status));
+            assertTrue(sending.await(5, TimeUnit.SECONDS));
+
+            commandExecutor.streamCommand(new MPDCommand("listallinfo"), line -> {
+            });
+            fail("Timeout exception should have been thrown");
+        } catch (MPDTimeoutException e) {
+            verify(mpdSocket, never()).streamCommand(any(MPDCommand.class), any(), any(Duration.class));
+        } finally {
+            release.countDown();
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCommandBatchingWithCommandTimeout() throws Exception {
+        MPDCommand status = new MPDCommand("status");
+        MPDCommand stats = new MPDCommand("stats");
+        List<List<String>> responses = new ArrayList<>();
+        responses.add(Collections.singletonList("volume: 10"));
+        responses.add(Collections.singletonList("songs: 5"));
+        when(mpdSocket.sendCommandList(any(List.class), any(Duration.class))).thenReturn(responses);
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.setCommandTimeout(5000);
+        commandExecutor.useCommandBatching(5000, 2);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<String>> statusResponse = executorService.submit(() -> commandExecutor.sendCommand(status));
+            Future<List<String>> statsResponse = executorService.submit(() -> commandExecutor.sendCommand(stats));
+
+            List<String> first = statusResponse.get(5, TimeUnit.SECONDS);
+            List<String> second = statsResponse.get(5, TimeUnit.SECONDS);
+            assertEquals(2, first.size() + second.size());
+            verify(mpdSocket).sendCommandList(any(List.class), any(Duration.class));
+            verify(mpdSocket, never()).sendCommand(any(MPDCommand.class), any(Duration.class));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCommandTimeout() {
+        commandExecutor.setCommandTimeout(-1);
+    }
+
+    @Test
+    public void testMaxQueuedCommands() throws Exception {
+        MPDCommand command = new MPDCommand("status");
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mpdSocket.sendCommand(command)).thenAnswer(invocation -> {
+            sending.countDown();
+            release.await();
+            return new ArrayList<>();
+        });
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.setMaxQueuedCommands(1);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            executorService.submit(() -> commandExecutor.sendCommand(command));
+            sending.await();
+            executorService.submit(() -> commandExecutor.sendCommand(command));
+
+            await().until(() -> {
+                try {
+                    commandExecutor.sendCommand(command, Duration.ofMillis(10));
+                    return false;
+                } catch (MPDTimeoutException e) {
+                    return false;
+                } catch (MPDConnectionException e) {
+                    return true;
+                }
+            });
+        } finally {
+            release.countDown();
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testEventLoopTimeoutDropsConnection() throws Exception {
+        MPDCommand command = new MPDCommand("status");
+        when(mpdAsyncSocket.sendCommand(command)).thenReturn(new CompletableFuture<>());
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.useEventLoopGroup(mock(MPDEventLoopGroup.class));
+
+        try {
+            commandExecutor.sendCommand(command, Duration.ofMillis(50));
+            fail("expected MPDTimeoutException");
+        } catch (MPDTimeoutException e) {
+            verify(mpdAsyncSocket).close();
+        }
+    }
+
+    @Test
+    public void testReconnectBackoff() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.useReconnectBackoff(10000, 10000);
+        List<ConnectionChangeEvent> events = new ArrayList<>();
+        commandExecutor.addConnectionChangeListener(events::add);
+        commandExecutor.sendCommand("status");
+
+        ArgumentCaptor<ConnectionCircuit> circuit = ArgumentCaptor.forClass(ConnectionCircuit.class);
+        verify(mpdSocket).setConnectionCircuit(circuit.capture());
+        assertEquals(ConnectionState.CONNECTED, commandExecutor.getConnectionState());
+
+        circuit.getValue().connectionLost();
+
+        assertEquals(ConnectionState.OPEN_CIRCUIT, commandExecutor.getConnectionState());
+        assertEquals(1, events.size());
+        assertSame(commandExecutor, events.get(0).getSource());
+        assertFalse(events.get(0).isConnected());
+        commandExecutor.close();
+    }
+
+    @Test
+    public void testConnectedWithoutReconnectBackoff() {
+        assertEquals(ConnectionState.CONNECTED, commandExecutor.getConnectionState());
+    }
+
+    @Test
+    public void testPooledClose() {
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.useConnectionPool(new ConnectionPoolSettings(0, 1, 0, 0));
+        commandExecutor.sendCommand("command");
+
+        commandExecutor.close();
+        verify(mpdSocket).close();
+    }
+
+    @Test
+    public void testSendCommandAsync() throws Exception {
+        MPDCommand command = new MPDCommand("command");
+        CompletableFuture<List<String>> future = CompletableFuture.completedFuture(Collections.singletonList("response"));
+        when(mpdAsyncSocket.sendCommand(command)).thenReturn(future);
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+
+        assertEquals("response", commandExecutor.sendCommandAsync(command).get().get(0));
+        verify(mpdSocket, never()).sendCommand(any(MPDCommand.class));
+    }
+
+    @Test
+    public void testSendCommandAsyncAuthenticatesFirst() throws Exception {
+        String password = "password";
+        MPDCommand command = new MPDCommand("command");
+        MPDCommand passwordCommand = new MPDCommand(new ServerProperties().getPassword(), password);
+        when(mpdAsyncSocket.sendCommand(any(MPDCommand.class)))
+                .thenReturn(CompletableFuture.completedFuture(new ArrayList<>()));
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.usePassword(password);
+        commandExecutor.sendCommandAsync(command);
+        commandExecutor.sendCommandAsync(command);
+
+        InOrder inOrder = inOrder(mpdAsyncSocket);
+        inOrder.verify(mpdAsyncSocket).sendCommand(passwordCommand);
+        inOrder.verify(mpdAsyncSocket, times(2)).sendCommand(command);
+    }
+
+    @Test
+    public void testSendCommandAsyncReconnects() throws Exception {
+        MPDCommand command = new MPDCommand("command");
+        when(mpdAsyncSocket.sendCommand(command))
+                .thenReturn(CompletableFuture.completedFuture(new ArrayList<>()));
+        when(mpdAsyncSocket.isClosed()).thenReturn(true);
+
+        TestMPDCommandExecutor testExecutor = new TestMPDCommandExecutor();
+        testExecutor.setMpd(mpd);
+        testExecutor.sendCommandAsync(command);
+        testExecutor.sendCommandAsync(command);
+
+        assertEquals(2, testExecutor.asyncSocketsCreated);
+    }
+
+    @Test
+    public void testSendCommandAsyncNoMPDSet() throws Exception {
+        commandExecutor = new MPDCommandExecutor();
+        try {
+            commandExecutor.sendCommandAsync(new MPDCommand("command")).get();
+            fail("expected MPDConnectionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof MPDConnectionException);
+        }
+    }
+
+    @Test
+    public void testCloseAsync() {
+        when(mpdAsyncSocket.sendCommand(any(MPDCommand.class)))
+                .thenReturn(CompletableFuture.completedFuture(new ArrayList<>()));
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.sendCommandAsync(new MPDCommand("command"));
+        commandExecutor.sendCommand("command");
+
+        commandExecutor.close();
+        verify(mpdAsyncSocket).close();
+        verify(mpdSocket).close();
+    }
+
+    @Test
+    public void testEventLoopSendCommand() throws Exception {
+        MPDCommand command = new MPDCommand("command");
+        when(mpdAsyncSocket.sendCommand(command))
+                .thenReturn(CompletableFuture.completedFuture(Collections.singletonList("response")));
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.useEventLoopGroup(mock(MPDEventLoopGroup.class));
+
+        assertEquals("response", commandExecutor.sendCommand(command).get(0));
+        verify(mpdSocket, never()).sendCommand(any(MPDCommand.class));
+    }
+
+    @Test
+    public void testEventLoopSendCommandForValues() throws Exception {
+        MPDCommand command = new MPDCommand("lsinfo");
+        List<String> response = new ArrayList<>();
+        response.add("directory: music");
+        response.add("file: song.mp3");
+        response.add("playlist: list");
+        when(mpdAsyncSocket.sendCommand(command)).thenReturn(CompletableFuture.completedFuture(response));
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.useEventLoopGroup(mock(MPDEventLoopGroup.class));
+
+        List<String> values = commandExecutor.sendCommandForValues(command, "file:", "playlist:");
+        assertEquals(2, values.size());
+        assertEquals("song.mp3", values.get(0));
+        assertEquals("list", values.get(1));
+    }
+
+    @Test
+    public void testEventLoopStreamCommand() throws Exception {
+        MPDCommand command = new MPDCommand("listallinfo");
+        List<String> response = new ArrayList<>();
+        response.add("file: song1.mp3");
+        response.add("file: song2.mp3");
+        when(mpdAsyncSocket.sendCommand(command)).thenReturn(CompletableFuture.completedFuture(response));
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.useEventLoopGroup(mock(MPDEventLoopGroup.class));
+
+        List<String> lines = new ArrayList<>();
+        commandExecutor.streamCommand(command, lines::add);
+
+        assertEquals(response, lines);
+    }
+
+    @Test
+    public void testEventLoopSendCommands() throws Exception {
+        List<MPDCommand> commands = new ArrayList<>();
+        commands.add(new MPDCommand("command1"));
+        when(mpdAsyncSocket.sendCommands(commands))
+                .thenReturn(CompletableFuture.completedFuture(Collections.singletonList("list_OK")));
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.useEventLoopGroup(mock(MPDEventLoopGroup.class));
+        commandExecutor.sendCommands(commands);
+
+        verify(mpdAsyncSocket).sendCommands(commands);
+        verify(mpdSocket, never()).sendCommands(commands);
+    }
+
+    @Test
+    public void testEventLoopSendCommandList() throws Exception {
+        List<MPDCommand> commands = new ArrayList<>();
+        commands.add(new MPDCommand("status"));
+        commands.add(new MPDCommand("stats"));
+        List<List<String>> responses = new ArrayList<>();
+        responses.add(Collections.singletonList("volume: 10"));
+        responses.add(Collections.singletonList("songs: 3"));
+        when(mpdAsyncSocket.sendCommandList(commands)).thenReturn(CompletableFuture.completedFuture(responses));
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.useEventLoopGroup(mock(MPDEventLoopGroup.class));
+
+        assertEquals(responses, commandExecutor.sendCommandList(commands));
+    }
+
+    @Test
+    public void testEventLoopReauthenticates() throws Exception {
+        String password = "password";
+        MPDCommand command = new MPDCommand("command");
+        MPDCommand passwordCommand = new MPDCommand(new ServerProperties().getPassword(), password);
+        CompletableFuture<List<String>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new MPDSecurityException("you don't have permission"));
+        when(mpdAsyncSocket.sendCommand(passwordCommand))
+                .thenReturn(CompletableFuture.completedFuture(new ArrayList<>()));
+        when(mpdAsyncSocket.sendCommand(command))
+                .thenReturn(failed)
+                .thenReturn(CompletableFuture.completedFuture(Collections.singletonList("response")));
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.usePassword(password);
+        commandExecutor.useEventLoopGroup(mock(MPDEventLoopGroup.class));
+
+        assertEquals("response", commandExecutor.sendCommand(command).get(0));
+        verify(mpdAsyncSocket, times(2)).sendCommand(passwordCommand);
+    }
+
+    @Test
+    public void testEventLoopRetriesOnLostConnection() throws Exception {
+        MPDCommand command = new MPDCommand("command");
+        CompletableFuture<List<String>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new MPDConnectionException("Connection closed by server"));
+        when(mpdAsyncSocket.sendCommand(command))
+                .thenReturn(failed)
+                .thenReturn(CompletableFuture.completedFuture(Collections.singletonList("response")));
+        when(mpdAsyncSocket.isClosed()).thenReturn(true);
+
+        TestMPDCommandExecutor testExecutor = new TestMPDCommandExecutor();
+        testExecutor.setMpd(mpd);
+        testExecutor.useEventLoopGroup(mock(MPDEventLoopGroup.class));
+
+        assertEquals("response", testExecutor.sendCommand(command).get(0));
+        assertEquals(2, testExecutor.asyncSocketsCreated);
+    }
+
+    @Test(expected = MPDConnectionException.class)
+    public void testEventLoopCommandError() throws Exception {
+        MPDCommand command = new MPDCommand("command");
+        CompletableFuture<List<String>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new MPDConnectionException("No such song"));
+        when(mpdAsyncSocket.sendCommand(command)).thenReturn(failed);
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.useEventLoopGroup(mock(MPDEventLoopGroup.class));
+        commandExecutor.sendCommand(command);
+    }
+
+    @Test
+    public void testEventLoopGetVersion() throws Exception {
+        when(mpdAsyncSocket.getVersion()).thenReturn("version");
+
+        commandExecutor = new TestMPDCommandExecutor();
+        commandExecutor.setMpd(mpd);
+        commandExecutor.useEventLoopGroup(mock(MPDEventLoopGroup.class));
+
+        assertEquals("version", commandExecutor.getMPDVersion());
+    }
+
     private class TestMPDCommandExecutor extends MPDCommandExecutor {
+        private int asyncSocketsCreated;
+        private final List<MPDSocket> sockets = new ArrayList<>();
+
         @Override
         protected MPDSocket createSocket() {
-            return mpdSocket;
+            return sockets.isEmpty() ? mpdSocket : sockets.remove(0);
+        }
+
+        @Override
+        protected AsyncConnection createAsyncConnection() {
+            ++asyncSocketsCreated;
+            return mpdAsyncSocket;
         }
     }
 }
@@ -110,4 +110,19 @@ public class MPDCommandTest {
     public void testNullException() throws Exception {
         new MPDCommand(null);
     }
+
+    @Test
+    public void testNoPriorityByDefault() {
+        assertNull(new MPDCommand("command").getPriority());
+    }
+
+    @Test
+    public void testWithPriority() {
+        MPDCommand mpdCommand = new MPDCommand("command", "parm");
+        MPDCommand bulkCommand = mpdCommand.withPriority(CommandPriority.BULK);
+
+        assertEquals(CommandPriority.BULK, bulkCommand.getPriority());
+        assertEquals(mpdCommand, bulkCommand);
+        assertNull(mpdCommand.getPriority());
+    }
 }
@@ -0,0 +1,193 @@
+package org.bff.javampd.command;
+
+import org.bff.javampd.server.MPDConnectionException;
+import org.bff.javampd.server.MPDSocket;
+import org.bff.javampd.server.MPDTimeoutException;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class MPDConnectionPoolTest {
+    private final AtomicInteger created = new AtomicInteger();
+
+    private MPDConnectionPool createPool(int min, int max, int idleTimeout, int borrowTimeout) {
+        return new MPDConnectionPool(() -> {
+            created.incrementAndGet();
+            return mock(MPDSocket.class);
+        }, new ConnectionPoolSettings(min, max, idleTimeout, borrowTimeout));
+    }
+
+    @Test
+    public void testReleasedSocketReused() {
+        MPDConnectionPool pool = createPool(0, 2, 0, 0);
+
+        MPDSocket socket = pool.borrow();
+        pool.release(socket);
+
+        assertSame(socket, pool.borrow());
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    public void testOpensUpToMax() {
+        MPDConnectionPool pool = createPool(0, 2, 0, 0);
+
+        assertNotSame(pool.borrow(), pool.borrow());
+        assertEquals(2, pool.getOpenCount());
+    }
+
+    @Test(expected = MPDConnectionException.class)
+    public void testBorrowTimeout() {
+        MPDConnectionPool pool = createPool(0, 1, 0, 50);
+
+        pool.borrow();
+        pool.borrow();
+    }
+
+    @Test(expected = MPDTimeoutException.class)
+    public void testBorrowWithTimeout() {
+        MPDConnectionPool pool = createPool(0, 1, 0, 0);
+
+        pool.borrow();
+        pool.borrow(50, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testMaxWaiting() throws Exception {
+        MPDConnectionPool pool = createPool(0, 1, 0, 0);
+        pool.setMaxWaiting(1);
+        MPDSocket socket = pool.borrow();
+
+        Thread thread = new Thread(() -> pool.release(pool.borrow()));
+        thread.start();
+        await().until(() -> thread.getState() == Thread.State.WAITING);
+
+        try {
+            pool.borrow();
+            fail("expected MPDConnectionException");
+        } catch (MPDConnectionException e) {
+            assertEquals(MPDConnectionException.class, e.getClass());
+        }
+
+        pool.release(socket);
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Test
+    public void testBorrowWaitsForRelease() throws Exception {
+        MPDConnectionPool pool = createPool(0, 1, 0, 5000);
+        MPDSocket socket = pool.borrow();
+        AtomicReference<MPDSocket> borrowed = new AtomicReference<>();
+        CountDownLatch started = new CountDownLatch(1);
+
+        Thread thread = new Thread(() -> {
+            started.countDown();
+            borrowed.set(pool.borrow());
+        });
+        thread.start();
+        started.await();
+
+        pool.release(socket);
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertSame(socket, borrowed.get());
+    }
+
+    @Test
+    public void testInvalidateFreesSlot() {
+        MPDConnectionPool pool = createPool(0, 1, 0, 50);
+        MPDSocket socket = pool.borrow();
+
+        pool.invalidate(socket);
+
+        verify(socket).close();
+        assertNotSame(socket, pool.borrow());
+        assertEquals(1, pool.getOpenCount());
+    }
+
+    @Test
+    public void testFactoryFailureFreesSlot() {
+        MPDConnectionPool pool = new MPDConnectionPool(() -> {
+            throw new MPDConnectionException("refused");
+        }, new ConnectionPoolSettings(0, 1, 0, 50));
+
+        try {
+            pool.borrow();
+            fail("expected MPDConnectionException");
+        } catch (MPDConnectionException e) {
+            assertEquals(0, pool.getOpenCount());
+        }
+    }
+
+    @Test
+    public void testEvictIdleKeepsMinimum() throws Exception {
+        MPDConnectionPool pool = createPool(1, 3, 1, 0);
+        MPDSocket socket1 = pool.borrow();
+        MPDSocket socket2 = pool.borrow();
+        MPDSocket socket3 = pool.borrow();
+        pool.release(socket1);
+        pool.release(socket2);
+        pool.release(socket3);
+
+        await().until(() -> pool.getOpenCount() == 1);
+        assertEquals(1, pool.getIdleCount());
+        verify(socket1).close();
+        verify(socket2).close();
+        verify(socket3, never()).close();
+    }
+
+    @Test
+    public void testEvictIdleNoTimeout() {
+        MPDConnectionPool pool = createPool(0, 2, 0, 0);
+        pool.release(pool.borrow());
+
+        pool.evictIdle();
+
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    public void testClose() {
+        MPDConnectionPool pool = createPool(0, 2, 0, 0);
+        MPDSocket idleSocket = pool.borrow();
+        MPDSocket borrowedSocket = pool.borrow();
+        pool.release(idleSocket);
+
+        pool.close();
+        verify(idleSocket).close();
+        verify(borrowedSocket, never()).close();
+
+        pool.release(borrowedSocket);
+        verify(borrowedSocket).close();
+        assertEquals(0, pool.getOpenCount());
+    }
+
+    @Test(expected = MPDConnectionException.class)
+    public void testBorrowAfterClose() {
+        MPDConnectionPool pool = createPool(0, 2, 0, 0);
+        pool.close();
+        pool.borrow();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidMaxSize() {
+        new ConnectionPoolSettings(0, 0, 0, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMinGreaterThanMax() {
+        new ConnectionPoolSettings(2, 1, 0, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeTimeout() {
+        new ConnectionPoolSettings(0, 1, -1, 0);
+    }
+}
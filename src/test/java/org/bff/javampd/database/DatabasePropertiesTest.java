@@ -43,4 +43,9 @@ public class DatabasePropertiesTest {
         assertEquals("listplaylist", databaseProperties.getListSongs());
     }
 
+    @Test
+    public void getListSongInfo() throws Exception {
+        assertEquals("listplaylistinfo", databaseProperties.getListSongInfo());
+    }
+
 }
\ No newline at end of file
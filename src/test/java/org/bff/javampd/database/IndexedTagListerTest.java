@@ -0,0 +1,121 @@
+package org.bff.javampd.database;
+
+import org.bff.javampd.album.MPDAlbum;
+import org.bff.javampd.album.MPDAlbumConverter;
+import org.bff.javampd.song.MPDSong;
+import org.bff.javampd.song.MPDSongSearcher;
+import org.bff.javampd.statistics.ServerStatistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class IndexedTagListerTest {
+
+    @Mock
+    private MPDTagLister mpdTagLister;
+    @Mock
+    private MPDSongSearcher songSearcher;
+    @Mock
+    private ServerStatistics serverStatistics;
+
+    private LibraryIndex libraryIndex;
+    private IndexedTagLister tagLister;
+
+    @Before
+    public void setUp() throws Exception {
+        List<MPDSong> library = new ArrayList<>();
+        library.add(createSong("b/1.flac", "Artist B", "Album 2", "Jazz", "2001"));
+        library.add(createSong("a/1.flac", "Artist A", "Album 1", "Rock", "1990"));
+        library.add(createSong("a/2.flac", "Artist A", "Album 1", "Rock", "1990"));
+        library.add(createSong("c/1.flac", "Artist C", "Album 1", "Rock", "1995"));
+
+        doAnswer(invocation -> {
+            Consumer<MPDSong> consumer = (Consumer<MPDSong>) invocation.getArguments()[0];
+            library.forEach(consumer);
+            return null;
+        }).when(songSearcher).listAllSongs(any());
+
+        libraryIndex = new LibraryIndex(songSearcher, serverStatistics);
+        libraryIndex.setEnabled(true);
+        tagLister = new IndexedTagLister(mpdTagLister, libraryIndex);
+    }
+
+    @Test
+    public void testList() throws Exception {
+        assertEquals(Arrays.asList("Artist: Artist A", "Artist: Artist B", "Artist: Artist C"),
+                tagLister.list(TagLister.ListType.ARTIST));
+        verifyZeroInteractions(mpdTagLister);
+    }
+
+    @Test
+    public void testListFiltered() throws Exception {
+        assertEquals(Arrays.asList("Artist: Artist A", "Artist: Artist C"),
+                tagLister.list(TagLister.ListType.ARTIST, Arrays.asList("genre", "Rock")));
+        assertEquals(Collections.singletonList("Artist: Artist C"),
+                tagLister.list(TagLister.ListType.ARTIST, Arrays.asList("genre", "Rock", "date", "1995")));
+    }
+
+    @Test
+    public void testListGrouped() throws Exception {
+        List<String> response = tagLister.list(TagLister.ListType.ALBUM,
+                new ArrayList<>(Arrays.asList("genre", "Rock")),
+                TagLister.GroupType.ARTIST,
+                TagLister.GroupType.DATE);
+
+        assertEquals(Arrays.asList(
+                "Album: Album 1", "Artist: Artist A", "Date: 1990",
+                "Album: Album 1", "Artist: Artist C", "Date: 1995"),
+                response);
+
+        List<MPDAlbum> albums = new MPDAlbumConverter().convertResponseToAlbum(response);
+        assertEquals(2, albums.size());
+        assertEquals("Artist A", albums.get(0).getArtistName());
+        assertEquals("1995", albums.get(1).getDate());
+    }
+
+    @Test
+    public void testListDisabled() throws Exception {
+        libraryIndex.setEnabled(false);
+        tagLister.list(TagLister.ListType.ARTIST);
+
+        verify(mpdTagLister).list(TagLister.ListType.ARTIST, new ArrayList<>());
+        verify(songSearcher, never()).listAllSongs(any());
+    }
+
+    @Test
+    public void testListUnindexedFilter() throws Exception {
+        List<String> params = Arrays.asList("composer", "Bach");
+        tagLister.list(TagLister.ListType.ALBUM, params);
+
+        verify(mpdTagLister).list(TagLister.ListType.ALBUM, params);
+    }
+
+    @Test
+    public void testListInfo() throws Exception {
+        tagLister.listInfo(TagLister.ListInfoType.FILE);
+
+        verify(mpdTagLister).listInfo(TagLister.ListInfoType.FILE);
+    }
+
+    private static MPDSong createSong(String file, String artist, String album, String genre, String year) {
+        MPDSong song = new MPDSong(file, file);
+        song.setArtistName(artist);
+        song.setAlbumName(album);
+        song.setGenre(genre);
+        song.setYear(year);
+        return song;
+    }
+}
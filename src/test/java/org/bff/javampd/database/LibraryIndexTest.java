@@ -0,0 +1,148 @@
+package org.bff.javampd.database;
+
+import org.bff.javampd.song.MPDSong;
+import org.bff.javampd.song.MPDSongSearcher;
+import org.bff.javampd.statistics.ServerStatistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LibraryIndexTest {
+
+    @Mock
+    private MPDSongSearcher songSearcher;
+    @Mock
+    private ServerStatistics serverStatistics;
+
+    @InjectMocks
+    private LibraryIndex libraryIndex;
+
+    private List<MPDSong> library;
+
+    @Before
+    public void setUp() throws Exception {
+        library = new ArrayList<>();
+        library.add(createSong("a/1.flac", "Artist A", "Album 1", "Rock", "1990"));
+        library.add(createSong("a/2.flac", "Artist A", "Album 1", "Rock", "1990"));
+        library.add(createSong("b/1.flac", "Artist B", "Album 2", "Jazz", "2001"));
+        library.add(new MPDSong("untagged.flac", "untagged"));
+
+        doAnswer(invocation -> {
+            Consumer<MPDSong> consumer = (Consumer<MPDSong>) invocation.getArguments()[0];
+            library.forEach(consumer);
+            return null;
+        }).when(songSearcher).listAllSongs(any());
+
+        when(serverStatistics.getLastUpdateTime()).thenReturn(100L);
+        libraryIndex.setEnabled(true);
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        assertFalse(new LibraryIndex(songSearcher, serverStatistics).isEnabled());
+    }
+
+    @Test
+    public void testGetSongs() throws Exception {
+        assertEquals(library, new ArrayList<>(libraryIndex.getSongs()));
+    }
+
+    @Test
+    public void testGetSongsByTag() throws Exception {
+        assertEquals(Arrays.asList(library.get(0), library.get(1)),
+                new ArrayList<>(libraryIndex.getSongs(TagLister.ListType.ARTIST, "Artist A")));
+        assertEquals(Arrays.asList(library.get(2)),
+                new ArrayList<>(libraryIndex.getSongs(TagLister.ListType.GENRE, "Jazz")));
+        assertEquals(Arrays.asList(library.get(2)),
+                new ArrayList<>(libraryIndex.getSongs(TagLister.ListType.ALBUM_ARTIST, "Artist B")));
+        assertTrue(libraryIndex.getSongs(TagLister.ListType.DATE, "1970").isEmpty());
+    }
+
+    @Test
+    public void testGetSongsIsExact() throws Exception {
+        assertTrue(libraryIndex.getSongs(TagLister.ListType.ARTIST, "artist a").isEmpty());
+        assertTrue(libraryIndex.getSongs(TagLister.ListType.ARTIST, "Artist").isEmpty());
+    }
+
+    @Test
+    public void testGetValuesSorted() throws Exception {
+        assertEquals(Arrays.asList("Jazz", "Rock"),
+                new ArrayList<>(libraryIndex.getValues(TagLister.ListType.GENRE)));
+        assertEquals(Arrays.asList("1990", "2001"),
+                new ArrayList<>(libraryIndex.getValues(TagLister.ListType.DATE)));
+    }
+
+    @Test
+    public void testGetSong() throws Exception {
+        assertEquals(library.get(2), libraryIndex.getSong("b/1.flac"));
+        assertNull(libraryIndex.getSong("missing.flac"));
+    }
+
+    @Test
+    public void testLoadedOnce() throws Exception {
+        libraryIndex.getSongs();
+        libraryIndex.getValues(TagLister.ListType.ARTIST);
+        libraryIndex.getSong("a/1.flac");
+
+        verify(songSearcher, times(1)).listAllSongs(any());
+    }
+
+    @Test
+    public void testReloadedOnDatabaseUpdate() throws Exception {
+        libraryIndex.getSongs();
+
+        library.add(createSong("c/1.flac", "Artist C", "Album 3", "Pop", "2010"));
+        when(serverStatistics.getLastUpdateTime()).thenReturn(200L);
+
+        assertEquals(library.get(4), libraryIndex.getSong("c/1.flac"));
+        verify(songSearcher, times(2)).listAllSongs(any());
+    }
+
+    @Test
+    public void testRefresh() throws Exception {
+        libraryIndex.getSongs();
+        library.remove(0);
+        libraryIndex.refresh();
+
+        assertNull(libraryIndex.getSong("a/1.flac"));
+        verify(songSearcher, times(2)).listAllSongs(any());
+    }
+
+    @Test
+    public void testDisableReleasesLibrary() throws Exception {
+        libraryIndex.getSongs();
+        libraryIndex.setEnabled(false);
+        libraryIndex.setEnabled(true);
+        libraryIndex.getSongs();
+
+        verify(songSearcher, times(2)).listAllSongs(any());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSongsUnmodifiable() throws Exception {
+        libraryIndex.getSongs(TagLister.ListType.ARTIST, "Artist A").clear();
+    }
+
+    private static MPDSong createSong(String file, String artist, String album, String genre, String year) {
+        MPDSong song = new MPDSong(file, file);
+        song.setArtistName(artist);
+        song.setAlbumArtistName(artist);
+        song.setAlbumName(album);
+        song.setGenre(genre);
+        song.setYear(year);
+        return song;
+    }
+}
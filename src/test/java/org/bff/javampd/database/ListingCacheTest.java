@@ -0,0 +1,125 @@
+package org.bff.javampd.database;
+
+import org.bff.javampd.genre.MPDGenre;
+import org.bff.javampd.statistics.ServerStatistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ListingCacheTest {
+
+    @Mock
+    private ServerStatistics serverStatistics;
+
+    @InjectMocks
+    private ListingCache listingCache;
+
+    private final List<MPDGenre> genres = Arrays.asList(
+            new MPDGenre("Blues"), new MPDGenre("Jazz"), new MPDGenre("Pop"), new MPDGenre("Rock"));
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<Collection<MPDGenre>> loader = () -> {
+        loads.incrementAndGet();
+        return genres;
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        when(serverStatistics.getLastUpdateTime()).thenReturn(100L);
+    }
+
+    @Test
+    public void testLoadedOnce() throws Exception {
+        listingCache.get("genres", loader, MPDGenre::getName);
+        listingCache.get("genres", loader, MPDGenre::getName);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testReloadedOnDatabaseUpdate() throws Exception {
+        listingCache.get("genres", loader, MPDGenre::getName);
+        when(serverStatistics.getLastUpdateTime()).thenReturn(200L);
+        listingCache.get("genres", loader, MPDGenre::getName);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        listingCache.get("genres", loader, MPDGenre::getName);
+        listingCache.clear();
+        listingCache.get("genres", loader, MPDGenre::getName);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testListingsKeptByName() throws Exception {
+        listingCache.get("genres", loader, MPDGenre::getName);
+        listingCache.get("other", loader, MPDGenre::getName);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testWindow() throws Exception {
+        ListingCache.Listing<MPDGenre> listing = listingCache.get("genres", loader, MPDGenre::getName);
+
+        assertEquals(genres, listing.getItems());
+        assertEquals(genres.subList(1, 3), listing.window(1, 3));
+        assertEquals(genres.subList(2, 4), listing.window(2, 10));
+        assertTrue(listing.window(5, 10).isEmpty());
+        assertTrue(listing.window(3, 1).isEmpty());
+    }
+
+    @Test
+    public void testAfter() throws Exception {
+        ListingCache.Listing<MPDGenre> listing = listingCache.get("genres", loader, MPDGenre::getName);
+
+        assertEquals(genres.subList(0, 2), listing.after(null, 2));
+        assertEquals(genres.subList(2, 4), listing.after(new MPDGenre("Jazz"), 2));
+        assertEquals(genres.subList(3, 4), listing.after(new MPDGenre("Pop"), Integer.MAX_VALUE));
+        assertEquals(Collections.emptyList(), listing.after(new MPDGenre("Rock"), 2));
+    }
+
+    @Test
+    public void testAfterRemovedItem() throws Exception {
+        ListingCache.Listing<MPDGenre> listing = listingCache.get("genres", loader, MPDGenre::getName);
+
+        assertEquals(genres.subList(2, 4), listing.after(new MPDGenre("Metal"), 2));
+        assertEquals(Collections.emptyList(), listing.after(new MPDGenre("Soul"), 2));
+    }
+
+    @Test
+    public void testAfterRemovedItemInListingOrder() throws Exception {
+        List<MPDGenre> reversed = Arrays.asList(
+                new MPDGenre("Rock"), new MPDGenre("Pop"), new MPDGenre("Jazz"), new MPDGenre("Blues"));
+        ListingCache.Listing<MPDGenre> listing = listingCache.get("genres",
+                () -> reversed,
+                MPDGenre::getName,
+                Comparator.comparing(MPDGenre::getName).reversed());
+
+        assertEquals(reversed.subList(2, 4), listing.after(new MPDGenre("Metal"), 2));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUnmodifiable() throws Exception {
+        listingCache.get("genres", loader, MPDGenre::getName).getItems().clear();
+    }
+}
@@ -1,5 +1,6 @@
 package org.bff.javampd.database;
 
+import org.bff.javampd.command.MPDCommand;
 import org.bff.javampd.command.MPDCommandExecutor;
 import org.junit.Before;
 import org.junit.Test;
@@ -35,8 +36,8 @@ public class MPDTagListerTest {
     @Test
     public void testListInfoSingle() throws Exception {
         List<String> retList = new ArrayList<>();
-        retList.add("playlist: 5");
-        when(commandExecutor.sendCommand("lsinfo")).thenReturn(retList);
+        retList.add("5");
+        when(commandExecutor.sendCommandForValues(new MPDCommand("lsinfo"), "playlist:")).thenReturn(retList);
         List<String> infoList = new ArrayList<>(tagLister.listInfo(TagLister.ListInfoType.PLAYLIST));
 
         assertEquals(1, infoList.size());
@@ -46,10 +47,11 @@ public class MPDTagListerTest {
     @Test
     public void testListInfoDouble() throws Exception {
         List<String> retList = new ArrayList<>();
-        retList.add("playlist: 5");
-        retList.add("directory: 6");
+        retList.add("5");
+        retList.add("6");
         when(databaseProperties.getListInfo()).thenReturn("lsinfo");
-        when(commandExecutor.sendCommand("lsinfo")).thenReturn(retList);
+        when(commandExecutor.sendCommandForValues(new MPDCommand("lsinfo"), "playlist:", "directory:"))
+                .thenReturn(retList);
         List<String> infoList = new ArrayList<>(
                 tagLister.listInfo(TagLister.ListInfoType.PLAYLIST,
                         TagLister.ListInfoType.DIRECTORY));
@@ -61,10 +63,9 @@ public class MPDTagListerTest {
 
     @Test
     public void testListInfoNone() throws Exception {
-        List<String> retList = new ArrayList<>();
-        retList.add("bogus: 5");
         when(databaseProperties.getListInfo()).thenReturn("lsinfo");
-        when(commandExecutor.sendCommand("lsinfo")).thenReturn(retList);
+        when(commandExecutor.sendCommandForValues(new MPDCommand("lsinfo"), "playlist:"))
+                .thenReturn(new ArrayList<>());
         List<String> infoList = new ArrayList<>(tagLister.listInfo(TagLister.ListInfoType.PLAYLIST));
 
         assertEquals(0, infoList.size());
@@ -1,17 +1,20 @@
 package org.bff.javampd.genre;
 
+import org.bff.javampd.database.ListingCache;
 import org.bff.javampd.database.TagLister;
+import org.bff.javampd.statistics.ServerStatistics;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public class MPDGenreDatabaseTest {
@@ -19,10 +22,16 @@ public class MPDGenreDatabaseTest {
 
     @Mock
     private TagLister tagLister;
+    @Mock
+    private ServerStatistics serverStatistics;
 
-    @InjectMocks
     private MPDGenreDatabase genreDatabase;
 
+    @Before
+    public void before() {
+        genreDatabase = new MPDGenreDatabase(tagLister, new ListingCache(serverStatistics));
+    }
+
     @Test
     public void testListAllGenres() throws Exception {
         MPDGenre testGenre1 = new MPDGenre("Genre1");
@@ -73,4 +82,16 @@ public class MPDGenreDatabaseTest {
 
         assertEquals(genre1, genreDatabase.listGenreByName(genre1.getName()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testListAllGenresWindowed() throws Exception {
+        when(tagLister.list(TagLister.ListType.GENRE))
+                .thenReturn(Arrays.asList(GENRE_PREFIX + "Blues", GENRE_PREFIX + "Jazz", GENRE_PREFIX + "Rock"));
+
+        assertEquals(Arrays.asList(new MPDGenre("Jazz")),
+                new ArrayList<>(genreDatabase.listAllGenres(1, 2)));
+        assertEquals(Arrays.asList(new MPDGenre("Rock")),
+                new ArrayList<>(genreDatabase.listAllGenresAfter(new MPDGenre("Jazz"), 2)));
+        verify(tagLister, times(1)).list(TagLister.ListType.GENRE);
+    }
+}
@@ -0,0 +1,32 @@
+package org.bff.javampd.monitor;
+
+import org.junit.Test;
+
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EventDispatcherTest {
+    private static final Executor DIRECT = Runnable::run;
+
+    @Test
+    public void testMonitorThreadByDefault() throws Exception {
+        assertFalse(new EventDispatcher().isAsynchronous());
+    }
+
+    @Test
+    public void testUseExecutor() throws Exception {
+        EventDispatcher eventDispatcher = new EventDispatcher();
+        eventDispatcher.useExecutor(DIRECT, 1, EventDispatcher.OverflowPolicy.COALESCE);
+        assertTrue(eventDispatcher.isAsynchronous());
+
+        eventDispatcher.useMonitorThread();
+        assertFalse(eventDispatcher.isAsynchronous());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidQueueSize() throws Exception {
+        new EventDispatcher().useExecutor(DIRECT, 0, EventDispatcher.OverflowPolicy.DROP_OLDEST);
+    }
+}
@@ -0,0 +1,211 @@
+package org.bff.javampd.monitor;
+
+import org.bff.javampd.MPDException;
+import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.command.MPDCommand;
+import org.bff.javampd.server.MPDSocket;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class IdleMonitorThreadTest {
+    @Mock
+    private CommandExecutor commandExecutor;
+    @Mock
+    private ConnectionMonitor connectionMonitor;
+    @Mock
+    private MPDSocket mpdSocket;
+
+    private IdleMonitorThread idleMonitorThread;
+    private CountDownLatch blockIdle;
+
+    private static final MPDCommand STATUS = new MPDCommand("status");
+
+    @Before
+    public void setUp() throws Exception {
+        blockIdle = new CountDownLatch(1);
+        when(commandExecutor.createDedicatedSocket()).thenReturn(mpdSocket);
+        idleMonitorThread = new IdleMonitorThread(commandExecutor, connectionMonitor, 0);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        idleMonitorThread.setStopped(true);
+        blockIdle.countDown();
+    }
+
+    @Test
+    public void testInitialStatus() throws Exception {
+        final int[] volume = {0};
+        blockOnIdle();
+        when(mpdSocket.sendCommand(STATUS)).thenReturn(Collections.singletonList("volume: 1"));
+
+        VolumeMonitor volumeMonitor = new MPDVolumeMonitor();
+        volumeMonitor.addVolumeChangeListener(event -> volume[0] = event.getVolume());
+        idleMonitorThread.addMonitor(IdleSubsystem.MIXER, volumeMonitor);
+        new Thread(idleMonitorThread).start();
+
+        await().until(() -> idleMonitorThread.isInitialized());
+        assertEquals(1, volume[0]);
+    }
+
+    @Test
+    public void testOnlyChangedSubsystemsChecked() throws Exception {
+        AtomicInteger outputChecks = new AtomicInteger();
+        AtomicInteger playlistChecks = new AtomicInteger();
+
+        when(mpdSocket.sendCommand(new MPDCommand("idle", "playlist", "output")))
+                .thenReturn(Collections.singletonList("changed: output"))
+                .then(invocation -> {
+                    blockIdle.await();
+                    throw new MPDException("closed");
+                });
+
+        idleMonitorThread.addMonitor(IdleSubsystem.OUTPUT, outputChecks::incrementAndGet);
+        idleMonitorThread.addMonitor(IdleSubsystem.PLAYLIST, playlistChecks::incrementAndGet);
+        new Thread(idleMonitorThread).start();
+
+        await().until(() -> outputChecks.get() == 2);
+        assertEquals(1, playlistChecks.get());
+    }
+
+    @Test
+    public void testStatusNotSentWithoutStatusMonitor() throws Exception {
+        AtomicInteger checks = new AtomicInteger();
+        when(mpdSocket.sendCommand(new MPDCommand("idle", "output")))
+                .thenReturn(Arrays.asList("changed: output", "changed: output"))
+                .then(invocation -> {
+                    blockIdle.await();
+                    throw new MPDException("closed");
+                });
+
+        idleMonitorThread.addMonitor(IdleSubsystem.OUTPUT, checks::incrementAndGet);
+        new Thread(idleMonitorThread).start();
+
+        await().until(() -> checks.get() == 2);
+        verify(mpdSocket, never()).sendCommand(STATUS);
+    }
+
+    @Test
+    public void testStatusFetchedOncePerChange() throws Exception {
+        List<String> status = new ArrayList<>();
+        status.add("volume: 5");
+        status.add("state: play");
+        when(mpdSocket.sendCommand(STATUS)).thenReturn(status);
+        when(mpdSocket.sendCommand(new MPDCommand("idle", "playlist", "player", "mixer")))
+                .thenReturn(Arrays.asList("changed: player", "changed: mixer", "changed: playlist"))
+                .then(invocation -> {
+                    blockIdle.await();
+                    throw new MPDException("closed");
+                });
+
+        PlayerMonitor playerMonitor = new MPDPlayerMonitor();
+        idleMonitorThread.addMonitor(IdleSubsystem.PLAYER, playerMonitor);
+        idleMonitorThread.addMonitor(IdleSubsystem.MIXER, playerMonitor);
+        idleMonitorThread.addMonitor(IdleSubsystem.PLAYLIST, new MPDPlaylistMonitor(playerMonitor));
+        new Thread(idleMonitorThread).start();
+
+        await().until(() -> playerMonitor.getStatus() == PlayerStatus.STATUS_PLAYING);
+        verify(mpdSocket, timeout(1000).times(2)).sendCommand(STATUS);
+    }
+
+    @Test
+    public void testRemoveMonitor() throws Exception {
+        Monitor monitor = () -> {
+        };
+        idleMonitorThread.addMonitor(IdleSubsystem.OUTPUT, monitor);
+        idleMonitorThread.addMonitor(IdleSubsystem.PLAYER, () -> {
+        });
+        idleMonitorThread.removeMonitor(monitor);
+        blockOnIdle();
+
+        new Thread(idleMonitorThread).start();
+        await().until(() -> idleMonitorThread.isInitialized());
+        verify(mpdSocket, timeout(1000)).sendCommand(new MPDCommand("idle", "player"));
+    }
+
+    @Test
+    public void testStopClosesConnection() throws Exception {
+        idleMonitorThread.addMonitor(IdleSubsystem.OUTPUT, () -> {
+        });
+        blockOnIdle();
+        new Thread(idleMonitorThread).start();
+        await().until(() -> idleMonitorThread.isInitialized());
+
+        idleMonitorThread.setStopped(true);
+        blockIdle.countDown();
+
+        await().until(() -> idleMonitorThread.isDone());
+        verify(mpdSocket, atLeastOnce()).close();
+    }
+
+    @Test
+    public void testReconnectAfterError() throws Exception {
+        AtomicInteger checks = new AtomicInteger();
+        when(connectionMonitor.isConnected()).thenReturn(true);
+        when(mpdSocket.sendCommand(new MPDCommand("idle", "output")))
+                .thenThrow(new MPDException("lost connection"))
+                .thenReturn(Collections.singletonList("changed: output"))
+                .then(invocation -> {
+                    blockIdle.await();
+                    throw new MPDException("closed");
+                });
+
+        idleMonitorThread.addMonitor(IdleSubsystem.OUTPUT, checks::incrementAndGet);
+        new Thread(idleMonitorThread).start();
+
+        await().until(() -> checks.get() == 2);
+        verify(commandExecutor, times(2)).createDedicatedSocket();
+        verify(connectionMonitor).checkStatus();
+    }
+
+    @Test(expected = MPDException.class)
+    public void testLoadInitialStatusException() throws Exception {
+        when(mpdSocket.sendCommand(STATUS)).thenThrow(new MPDException());
+        idleMonitorThread.addMonitor(IdleSubsystem.MIXER, new MPDVolumeMonitor());
+        idleMonitorThread.run();
+    }
+
+    @Test
+    public void testIsLoaded() throws Exception {
+        blockOnIdle();
+        assertFalse(idleMonitorThread.isInitialized());
+        new Thread(idleMonitorThread).start();
+        await().until(() -> idleMonitorThread.isInitialized());
+    }
+
+    @Test
+    public void testLookupSubsystem() throws Exception {
+        assertEquals(IdleSubsystem.MIXER, IdleSubsystem.lookup("changed: mixer"));
+        assertEquals(IdleSubsystem.DATABASE, IdleSubsystem.lookup("changed: database"));
+        assertNull(IdleSubsystem.lookup("changed: sticker"));
+        assertNull(IdleSubsystem.lookup("volume: 1"));
+    }
+
+    private void blockOnIdle() {
+        doAnswer(invocation -> {
+            MPDCommand command = (MPDCommand) invocation.getArguments()[0];
+            if ("idle".equals(command.getCommand())) {
+                blockIdle.await();
+                throw new MPDException("closed");
+            }
+            return new ArrayList<String>();
+        }).when(mpdSocket).sendCommand(any(MPDCommand.class));
+    }
+}
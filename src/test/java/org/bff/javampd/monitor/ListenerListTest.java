@@ -0,0 +1,190 @@
+package org.bff.javampd.monitor;
+
+import org.bff.javampd.player.PlayerBasicChangeEvent;
+import org.bff.javampd.player.VolumeChangeEvent;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ListenerListTest {
+    private EventDispatcher eventDispatcher;
+    private ListenerList<List<Object>> listenerList;
+    private List<Runnable> tasks;
+
+    @Before
+    public void setUp() throws Exception {
+        eventDispatcher = new EventDispatcher();
+        listenerList = eventDispatcher.createListenerList();
+        tasks = new ArrayList<>();
+    }
+
+    @Test
+    public void testFireOnMonitorThread() throws Exception {
+        List<Object> received = new ArrayList<>();
+        listenerList.add(received);
+
+        listenerList.fire("event", List::add);
+
+        assertEquals(Arrays.asList("event"), received);
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        List<Object> received = new ArrayList<>();
+        listenerList.add(received);
+        listenerList.remove(received);
+
+        listenerList.fire("event", List::add);
+
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    public void testFireOnExecutor() throws Exception {
+        eventDispatcher.useExecutor(tasks::add, 10, EventDispatcher.OverflowPolicy.DROP_OLDEST);
+        List<Object> received = new ArrayList<>();
+        listenerList.add(received);
+
+        listenerList.fire("event1", List::add);
+        listenerList.fire("event2", List::add);
+        assertTrue(received.isEmpty());
+        assertEquals(1, tasks.size());
+
+        runTasks();
+        assertEquals(Arrays.asList("event1", "event2"), received);
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        eventDispatcher.useExecutor(tasks::add, 2, EventDispatcher.OverflowPolicy.DROP_OLDEST);
+        List<Object> received = new ArrayList<>();
+        listenerList.add(received);
+
+        listenerList.fire("event1", List::add);
+        listenerList.fire("event2", List::add);
+        listenerList.fire("event3", List::add);
+        runTasks();
+
+        assertEquals(Arrays.asList("event2", "event3"), received);
+    }
+
+    @Test
+    public void testCoalesce() throws Exception {
+        eventDispatcher.useExecutor(tasks::add, 3, EventDispatcher.OverflowPolicy.COALESCE);
+        List<Object> received = new ArrayList<>();
+        listenerList.add(received);
+
+        VolumeChangeEvent volume3 = new VolumeChangeEvent(this, 3);
+        listenerList.fire(new VolumeChangeEvent(this, 1), List::add);
+        listenerList.fire("event", List::add);
+        listenerList.fire(new VolumeChangeEvent(this, 2), List::add);
+        listenerList.fire(volume3, List::add);
+        runTasks();
+
+        assertEquals(Arrays.asList("event", volume3), received);
+    }
+
+    @Test
+    public void testCoalesceKeepsTransitions() throws Exception {
+        eventDispatcher.useExecutor(tasks::add, 2, EventDispatcher.OverflowPolicy.COALESCE);
+        List<Object> received = new ArrayList<>();
+        listenerList.add(received);
+
+        PlayerBasicChangeEvent stopped = new PlayerBasicChangeEvent(this, PlayerBasicChangeEvent.Status.PLAYER_STOPPED);
+        PlayerBasicChangeEvent started = new PlayerBasicChangeEvent(this, PlayerBasicChangeEvent.Status.PLAYER_STARTED);
+        listenerList.fire("event", List::add);
+        listenerList.fire(stopped, List::add);
+        listenerList.fire(started, List::add);
+        runTasks();
+
+        assertEquals(Arrays.asList(stopped, started), received);
+    }
+
+    @Test
+    public void testCoalesceDropsOldestWithoutMatch() throws Exception {
+        eventDispatcher.useExecutor(tasks::add, 2, EventDispatcher.OverflowPolicy.COALESCE);
+        List<Object> received = new ArrayList<>();
+        listenerList.add(received);
+
+        listenerList.fire("event1", List::add);
+        listenerList.fire("event2", List::add);
+        listenerList.fire(1L, List::add);
+        runTasks();
+
+        assertEquals(Arrays.asList("event2", 1L), received);
+    }
+
+    @Test
+    public void testSlowListenerDoesntBlock() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            eventDispatcher.useExecutor(executorService, 10, EventDispatcher.OverflowPolicy.DROP_OLDEST);
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch received = new CountDownLatch(1);
+            ListenerList<Runnable> listeners = eventDispatcher.createListenerList();
+            listeners.add(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            listeners.add(received::countDown);
+
+            listeners.fire("event", (listener, event) -> listener.run());
+
+            assertTrue(received.await(5, TimeUnit.SECONDS));
+            release.countDown();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testListenerErrorDoesntStopQueue() throws Exception {
+        eventDispatcher.useExecutor(tasks::add, 10, EventDispatcher.OverflowPolicy.DROP_OLDEST);
+        List<Object> received = new ArrayList<>();
+        listenerList.add(received);
+
+        listenerList.fire("bad", (listener, event) -> {
+            throw new IllegalStateException("test");
+        });
+        listenerList.fire("event", List::add);
+        runTasks();
+
+        assertEquals(Arrays.asList("event"), received);
+    }
+
+    @Test
+    public void testRejected() throws Exception {
+        eventDispatcher.useExecutor(task -> {
+            throw new RejectedExecutionException();
+        }, 10, EventDispatcher.OverflowPolicy.DROP_OLDEST);
+        List<Object> received = new ArrayList<>();
+        listenerList.add(received);
+        listenerList.fire("event1", List::add);
+
+        eventDispatcher.useExecutor(tasks::add, 10, EventDispatcher.OverflowPolicy.DROP_OLDEST);
+        listenerList.fire("event2", List::add);
+        runTasks();
+
+        assertEquals(Arrays.asList("event2"), received);
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+}
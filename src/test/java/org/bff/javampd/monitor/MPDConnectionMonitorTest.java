@@ -2,6 +2,7 @@ package org.bff.javampd.monitor;
 
 import org.bff.javampd.server.ConnectionChangeEvent;
 import org.bff.javampd.server.ConnectionChangeListener;
+import org.bff.javampd.server.ConnectionState;
 import org.bff.javampd.server.Server;
 import org.junit.Before;
 import org.junit.Test;
@@ -9,7 +10,13 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.when;
 
@@ -71,4 +78,30 @@ public class MPDConnectionMonitorTest {
         connectionMonitor.checkStatus();
         assertEquals(false, connectionMonitor.isConnected());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testConnectionStateChanged() throws Exception {
+        List<ConnectionState> states = new ArrayList<>();
+
+        connectionMonitor.addConnectionChangeListener(event -> states.add(event.getState()));
+        connectionMonitor.connectionStateChanged(ConnectionState.OPEN_CIRCUIT);
+        connectionMonitor.connectionStateChanged(ConnectionState.RECONNECTING);
+        connectionMonitor.connectionStateChanged(ConnectionState.CONNECTED);
+
+        assertEquals(Arrays.asList(ConnectionState.OPEN_CIRCUIT, ConnectionState.RECONNECTING, ConnectionState.CONNECTED),
+                states);
+    }
+
+    @Test
+    public void testCheckStatusKeepsCircuitState() throws Exception {
+        List<ConnectionState> states = new ArrayList<>();
+
+        connectionMonitor.addConnectionChangeListener(event -> states.add(event.getState()));
+        connectionMonitor.connectionStateChanged(ConnectionState.RECONNECTING);
+        when(server.isConnected()).thenReturn(false);
+        connectionMonitor.checkStatus();
+
+        assertEquals(Collections.singletonList(ConnectionState.RECONNECTING), states);
+        assertFalse(connectionMonitor.isConnected());
+    }
+}
@@ -0,0 +1,111 @@
+package org.bff.javampd.monitor;
+
+import org.bff.javampd.MPDException;
+import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.command.MPDCommand;
+import org.bff.javampd.server.MPDSocket;
+import org.bff.javampd.server.ServerStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MPDIdleMonitorTest {
+    @Mock
+    private ServerStatus serverStatus;
+    @Mock
+    private CommandExecutor commandExecutor;
+    @Mock
+    private OutputMonitor outputMonitor;
+    @Mock
+    private TrackMonitor trackMonitor;
+    @Mock
+    private ConnectionMonitor connectionMonitor;
+    @Mock
+    private PlayerMonitor playerMonitor;
+    @Mock
+    private PlaylistMonitor playlistMonitor;
+    @Mock
+    private ErrorMonitor errorMonitor;
+    @Mock
+    private MPDSocket mpdSocket;
+
+    private MPDIdleMonitor idleMonitor;
+    private CountDownLatch blockIdle;
+
+    @Before
+    public void setUp() throws Exception {
+        blockIdle = new CountDownLatch(1);
+        when(commandExecutor.createDedicatedSocket()).thenReturn(mpdSocket);
+        doAnswer(invocation -> {
+            MPDCommand command = (MPDCommand) invocation.getArguments()[0];
+            if ("idle".equals(command.getCommand())) {
+                blockIdle.await();
+                throw new MPDException("closed");
+            }
+            return new ArrayList<String>();
+        }).when(mpdSocket).sendCommand(any(MPDCommand.class));
+
+        idleMonitor = new MPDIdleMonitor(serverStatus,
+                commandExecutor,
+                outputMonitor,
+                trackMonitor,
+                connectionMonitor,
+                playerMonitor,
+                playlistMonitor,
+                errorMonitor);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        idleMonitor.stop();
+        blockIdle.countDown();
+    }
+
+    @Test
+    public void testIdleSubsystems() throws Exception {
+        idleMonitor.start();
+        verify(mpdSocket, timeout(1000))
+                .sendCommand(new MPDCommand("idle", "update", "playlist", "player", "mixer", "output", "options"));
+    }
+
+    @Test
+    public void testAddMonitor() throws Exception {
+        Monitor monitor = () -> {
+        };
+        idleMonitor.addMonitor(IdleSubsystem.DATABASE, monitor);
+        idleMonitor.start();
+        verify(mpdSocket, timeout(1000))
+                .sendCommand(new MPDCommand("idle", "database", "update", "playlist", "player", "mixer", "output", "options"));
+    }
+
+    @Test
+    public void testNoPolling() throws Exception {
+        idleMonitor.start();
+        await().until(() -> idleMonitor.isLoaded());
+        verify(serverStatus, never()).getStatus();
+    }
+
+    @Test
+    public void testStop() throws Exception {
+        idleMonitor.start();
+        await().until(() -> idleMonitor.isLoaded());
+        assertFalse(idleMonitor.isDone());
+
+        idleMonitor.stop();
+        blockIdle.countDown();
+
+        await().until(() -> idleMonitor.isDone());
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import java.util.ArrayList;
@@ -23,6 +24,8 @@ public class MPDOutputMonitorTest {
 
     @Mock
     private Admin admin;
+    @Spy
+    private EventDispatcher eventDispatcher = new EventDispatcher();
 
     @InjectMocks
     private MPDOutputMonitor outputMonitor;
@@ -2,12 +2,17 @@ package org.bff.javampd.monitor;
 
 import org.bff.javampd.playlist.PlaylistBasicChangeEvent;
 import org.bff.javampd.playlist.PlaylistBasicChangeListener;
+import org.bff.javampd.server.StatusSnapshot;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.when;
@@ -17,6 +22,8 @@ public class MPDPlaylistMonitorTest {
 
     @Mock
     private PlayerMonitor playerMonitor;
+    @Spy
+    private EventDispatcher eventDispatcher = new EventDispatcher();
     @InjectMocks
     private MPDPlaylistMonitor playlistMonitor;
 
@@ -50,6 +57,25 @@ public class MPDPlaylistMonitorTest {
         assertEquals(1, playlistMonitor.getSongId());
     }
 
+    @Test
+    public void testProcessSnapshot() throws Exception {
+        final PlaylistBasicChangeEvent.Event[] changeEvent = new PlaylistBasicChangeEvent.Event[1];
+
+        playlistMonitor.addPlaylistChangeListener(event -> changeEvent[0] = event.getEvent());
+        playlistMonitor.processResponseStatus(StatusSnapshot.parse(Arrays.asList(
+                "playlist: 3", "song: 2", "songid: 7", "mixrampdb: 0.000000")));
+        playlistMonitor.checkStatus();
+        assertEquals(7, playlistMonitor.getSongId());
+        assertEquals(PlaylistBasicChangeEvent.Event.PLAYLIST_CHANGED, changeEvent[0]);
+    }
+
+    @Test
+    public void testSnapshotWithoutSongKeepsSongId() throws Exception {
+        playlistMonitor.processResponseStatus("songid: 1");
+        playlistMonitor.processResponseStatus(StatusSnapshot.parse(Collections.singletonList("state: play")));
+        assertEquals(1, playlistMonitor.getSongId());
+    }
+
     @Test
     public void testPlayerStopped() throws Exception {
         final PlaylistBasicChangeEvent.Event[] changeEvent = new PlaylistBasicChangeEvent.Event[1];
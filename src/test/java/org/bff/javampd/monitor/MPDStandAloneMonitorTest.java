@@ -7,6 +7,7 @@ import org.bff.javampd.playlist.PlaylistBasicChangeListener;
 import org.bff.javampd.server.ConnectionChangeListener;
 import org.bff.javampd.server.ErrorListener;
 import org.bff.javampd.server.ServerStatus;
+import org.bff.javampd.server.StatusSnapshot;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -15,12 +16,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 import static org.awaitility.Awaitility.await;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -45,6 +46,7 @@ public class MPDStandAloneMonitorTest {
     @Before
     public void setup() {
         Awaitility.setDefaultPollInterval(5, TimeUnit.MILLISECONDS);
+        when(serverStatus.getStatusSnapshot()).thenReturn(StatusSnapshot.parse(Collections.emptyList()));
     }
 
     @After
@@ -188,15 +190,37 @@ public class MPDStandAloneMonitorTest {
 
     @Test
     public void testLoaded() throws Exception {
-        List<String> status = new ArrayList<>();
-        status.add("volume: 2");
-
-        when(serverStatus.getStatus()).thenReturn(status);
+        when(serverStatus.getStatusSnapshot())
+                .thenReturn(StatusSnapshot.parse(Collections.singletonList("volume: 2")));
 
         standAloneMonitor.start();
         await().until(() -> standAloneMonitor.isLoaded());
     }
 
+    @Test(expected = IllegalStateException.class)
+    public void testMonitorPeriodWithoutScheduler() throws Exception {
+        standAloneMonitor.setMonitorPeriod(MonitorType.TRACK, 250, MonitorScheduler.Mode.FIXED_RATE);
+    }
+
+    @Test
+    public void testMonitorScheduler() throws Exception {
+        MonitorScheduler scheduler = new MonitorScheduler(1);
+        try {
+            standAloneMonitor.setMonitorScheduler(scheduler);
+            standAloneMonitor.setMonitorPeriod(MonitorType.STATUS, 10, MonitorScheduler.Mode.FIXED_DELAY);
+            standAloneMonitor.setMonitorPeriod(MonitorType.TRACK, 10, MonitorScheduler.Mode.FIXED_RATE);
+            standAloneMonitor.start();
+
+            await().until(() -> standAloneMonitor.isLoaded());
+            verify(trackMonitor, timeout(1000).atLeast(2)).checkStatus();
+
+            standAloneMonitor.stop();
+            assertTrue(standAloneMonitor.isDone());
+        } finally {
+            scheduler.close();
+        }
+    }
+
     @Test
     public void testStop() throws Exception {
         standAloneMonitor.start();
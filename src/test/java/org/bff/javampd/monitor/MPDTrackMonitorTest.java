@@ -1,12 +1,23 @@
 package org.bff.javampd.monitor;
 
+import org.bff.javampd.Clock;
+import org.bff.javampd.MPDSystemClock;
 import org.bff.javampd.player.TrackPositionChangeEvent;
 import org.bff.javampd.player.TrackPositionChangeListener;
+import org.bff.javampd.server.StatusSnapshot;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class MPDTrackMonitorTest {
 
@@ -31,6 +42,45 @@ public class MPDTrackMonitorTest {
         assertEquals(1, changeEvent2[0].getElapsedTime());
     }
 
+    @Test
+    public void testListenersOnExecutor() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        EventDispatcher eventDispatcher = new EventDispatcher();
+        eventDispatcher.useExecutor(tasks::add, 1, EventDispatcher.OverflowPolicy.COALESCE);
+        trackMonitor = new MPDTrackMonitor(eventDispatcher, new MPDSystemClock());
+
+        List<Long> positions = new ArrayList<>();
+        trackMonitor.addTrackPositionChangeListener(event -> positions.add(event.getElapsedTime()));
+        trackMonitor.processResponseStatus("time: 1");
+        trackMonitor.checkStatus();
+        trackMonitor.processResponseStatus("time: 2");
+        trackMonitor.checkStatus();
+        assertTrue(positions.isEmpty());
+
+        tasks.forEach(Runnable::run);
+        assertEquals(1, positions.size());
+        assertEquals(2, (long) positions.get(0));
+    }
+
+    @Test
+    public void testInterpolatedPosition() throws Exception {
+        Clock clock = mock(Clock.class);
+        trackMonitor = new MPDTrackMonitor(new EventDispatcher(), clock);
+
+        List<Long> positions = new ArrayList<>();
+        trackMonitor.addTrackPositionChangeListener(event -> positions.add(event.getElapsedMillis()));
+        trackMonitor.processResponseStatus(StatusSnapshot.parse(Arrays.asList(
+                "state: play", "songid: 3", "elapsed: 1.500", "duration: 100.000")));
+        trackMonitor.checkStatus();
+
+        when(clock.nanoTime()).thenReturn(TimeUnit.MILLISECONDS.toNanos(250));
+        trackMonitor.checkStatus();
+        when(clock.nanoTime()).thenReturn(TimeUnit.MILLISECONDS.toNanos(500));
+        trackMonitor.checkStatus();
+
+        assertEquals(Arrays.asList(1500L, 1750L, 2000L), positions);
+    }
+
     @Test
     public void testRemoveTrackPositionChangeListener() throws Exception {
         final TrackPositionChangeEvent[] changeEvent = new TrackPositionChangeEvent[1];
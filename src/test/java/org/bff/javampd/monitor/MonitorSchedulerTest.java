@@ -0,0 +1,79 @@
+package org.bff.javampd.monitor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class MonitorSchedulerTest {
+    private MonitorScheduler scheduler;
+
+    @Before
+    public void setUp() throws Exception {
+        scheduler = new MonitorScheduler(2);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        scheduler.close();
+    }
+
+    @Test
+    public void testScheduleFixedRate() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        scheduler.schedule(count::incrementAndGet, 10, MonitorScheduler.Mode.FIXED_RATE);
+
+        await().until(() -> count.get() > 2);
+    }
+
+    @Test
+    public void testScheduleFixedDelay() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        scheduler.schedule(count::incrementAndGet, 10, MonitorScheduler.Mode.FIXED_DELAY);
+
+        await().until(() -> count.get() > 2);
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        ScheduledFuture<?> future = scheduler.schedule(count::incrementAndGet, 10, MonitorScheduler.Mode.FIXED_DELAY);
+        await().until(() -> count.get() > 0);
+        future.cancel(false);
+
+        int cancelled = count.get();
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertTrue(count.get() <= cancelled + 1);
+    }
+
+    @Test
+    public void testModes() throws Exception {
+        ScheduledExecutorService executorService = mock(ScheduledExecutorService.class);
+        MonitorScheduler monitorScheduler = new MonitorScheduler(executorService);
+        Runnable task = () -> {
+        };
+
+        monitorScheduler.schedule(task, 250, MonitorScheduler.Mode.FIXED_RATE);
+        monitorScheduler.schedule(task, 500, MonitorScheduler.Mode.FIXED_DELAY);
+
+        verify(executorService).scheduleAtFixedRate(task, 0, 250, TimeUnit.MILLISECONDS);
+        verify(executorService).scheduleWithFixedDelay(task, 0, 500, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        assertFalse(scheduler.isClosed());
+        scheduler.close();
+        assertTrue(scheduler.isClosed());
+    }
+}
@@ -0,0 +1,155 @@
+package org.bff.javampd.monitor;
+
+import org.bff.javampd.MPDException;
+import org.bff.javampd.server.ServerStatus;
+import org.bff.javampd.server.StatusSnapshot;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ScheduledMonitorsTest {
+    @Mock
+    private ServerStatus serverStatus;
+    @Mock
+    private ConnectionMonitor connectionMonitor;
+
+    private MonitorScheduler scheduler;
+    private ScheduledMonitors scheduledMonitors;
+
+    @Before
+    public void setUp() throws Exception {
+        when(serverStatus.getStatusSnapshot()).thenReturn(StatusSnapshot.parse(Collections.singletonList("volume: 1")));
+        scheduler = new MonitorScheduler(2);
+        scheduledMonitors = new ScheduledMonitors(serverStatus, connectionMonitor, scheduler);
+        scheduledMonitors.setPeriod(MonitorType.STATUS, 10, MonitorScheduler.Mode.FIXED_DELAY);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        scheduledMonitors.stop();
+        scheduler.close();
+    }
+
+    @Test
+    public void testStatusMonitorsGetSnapshot() throws Exception {
+        VolumeMonitor volumeMonitor = new MPDVolumeMonitor();
+        AtomicInteger volume = new AtomicInteger();
+        volumeMonitor.addVolumeChangeListener(event -> volume.set(event.getVolume()));
+        scheduledMonitors.addMonitor(MonitorType.PLAYER, volumeMonitor, 10, MonitorScheduler.Mode.FIXED_RATE);
+        scheduledMonitors.start();
+
+        await().until(() -> volume.get() == 1);
+        assertTrue(scheduledMonitors.isInitialized());
+    }
+
+    @Test
+    public void testOwnPeriods() throws Exception {
+        AtomicInteger fast = new AtomicInteger();
+        AtomicInteger slow = new AtomicInteger();
+        scheduledMonitors.addMonitor(MonitorType.TRACK, fast::incrementAndGet, 5, MonitorScheduler.Mode.FIXED_RATE);
+        scheduledMonitors.addMonitor(MonitorType.OUTPUT, slow::incrementAndGet, 60000, MonitorScheduler.Mode.FIXED_DELAY);
+        scheduledMonitors.start();
+
+        await().until(() -> fast.get() > 5);
+        assertTrue(slow.get() <= 1);
+    }
+
+    @Test
+    public void testNotCheckedBeforeStatusLoaded() throws Exception {
+        when(serverStatus.getStatusSnapshot()).thenThrow(new MPDException());
+        AtomicInteger count = new AtomicInteger();
+        scheduledMonitors.addMonitor(MonitorType.TRACK, count::incrementAndGet, 5, MonitorScheduler.Mode.FIXED_RATE);
+        scheduledMonitors.start();
+
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertEquals(0, count.get());
+        assertFalse(scheduledMonitors.isInitialized());
+    }
+
+    @Test
+    public void testConnectionCheckedAfterError() throws Exception {
+        when(serverStatus.getStatusSnapshot())
+                .thenThrow(new MPDException())
+                .thenReturn(StatusSnapshot.parse(Collections.emptyList()));
+        when(connectionMonitor.isConnected()).thenReturn(false).thenReturn(true);
+        scheduledMonitors.start();
+
+        await().until(() -> scheduledMonitors.isInitialized());
+        verify(connectionMonitor, times(2)).checkStatus();
+    }
+
+    @Test
+    public void testMonitorErrorDoesntStopScheduling() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        scheduledMonitors.addMonitor(MonitorType.ERROR, () -> {
+            count.incrementAndGet();
+            throw new IllegalStateException("test");
+        }, 5, MonitorScheduler.Mode.FIXED_DELAY);
+        scheduledMonitors.start();
+
+        await().until(() -> count.get() > 2);
+    }
+
+    @Test
+    public void testStop() throws Exception {
+        StatusMonitor monitor = mock(StatusMonitor.class);
+        scheduledMonitors.addMonitor(MonitorType.PLAYER, monitor, 5, MonitorScheduler.Mode.FIXED_DELAY);
+        assertTrue(scheduledMonitors.isDone());
+        scheduledMonitors.start();
+        assertFalse(scheduledMonitors.isDone());
+
+        await().until(() -> scheduledMonitors.isInitialized());
+        scheduledMonitors.stop();
+
+        assertTrue(scheduledMonitors.isDone());
+        verify(monitor).reset();
+    }
+
+    @Test
+    public void testStalledServerDoesntStopOtherInstances() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ServerStatus stalledStatus = mock(ServerStatus.class);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(stalledStatus).forceUpdate();
+
+        ScheduledMonitors stalled = new ScheduledMonitors(stalledStatus, connectionMonitor, scheduler);
+        stalled.setPeriod(MonitorType.STATUS, 5, MonitorScheduler.Mode.FIXED_DELAY);
+        for (MonitorType type : new MonitorType[]{MonitorType.TRACK, MonitorType.OUTPUT, MonitorType.ERROR}) {
+            stalled.addMonitor(type, () -> {
+            }, 5, MonitorScheduler.Mode.FIXED_RATE);
+        }
+
+        try {
+            stalled.start();
+            verify(stalledStatus, timeout(1000)).forceUpdate();
+            scheduledMonitors.start();
+
+            verify(serverStatus, timeout(1000).atLeast(3)).forceUpdate();
+        } finally {
+            release.countDown();
+            stalled.stop();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPeriod() throws Exception {
+        scheduledMonitors.setPeriod(MonitorType.TRACK, 0, MonitorScheduler.Mode.FIXED_RATE);
+    }
+}
@@ -2,18 +2,20 @@ package org.bff.javampd.monitor;
 
 import org.bff.javampd.MPDException;
 import org.bff.javampd.server.ServerStatus;
+import org.bff.javampd.server.StatusSnapshot;
 import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.awaitility.Awaitility.await;
 import static org.junit.Assert.assertFalse;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public class StandAloneMonitorThreadTest {
@@ -25,6 +27,11 @@ public class StandAloneMonitorThreadTest {
 
     private StandAloneMonitorThread standAloneMonitorThread;
 
+    @Before
+    public void setUp() throws Exception {
+        when(serverStatus.getStatusSnapshot()).thenReturn(StatusSnapshot.parse(Collections.emptyList()));
+    }
+
     @After
     public void tearDown() throws Exception {
         standAloneMonitorThread.setStopped(true);
@@ -33,13 +40,9 @@ public class StandAloneMonitorThreadTest {
     @Test
     public void testInitialStatus() throws Exception {
         final boolean[] called = new boolean[1];
-        List<String> returnStatus1 = new ArrayList<>();
-        returnStatus1.add("volume: 1");
-
-        List<String> returnStatus2 = new ArrayList<>();
-        returnStatus2.add("volume: 2");
-
-        when(serverStatus.getStatus()).thenReturn(returnStatus1).thenReturn(returnStatus2);
+        when(serverStatus.getStatusSnapshot())
+                .thenReturn(StatusSnapshot.parse(Collections.singletonList("volume: 1")))
+                .thenReturn(StatusSnapshot.parse(Collections.singletonList("volume: 2")));
         VolumeMonitor volumeMonitor = new MPDVolumeMonitor();
         volumeMonitor.addVolumeChangeListener(event -> called[0] = true);
         createMonitor(0, 0).addMonitor(new ThreadedMonitor(volumeMonitor, 0));
@@ -48,6 +51,23 @@ public class StandAloneMonitorThreadTest {
         await().until(() -> called[0]);
     }
 
+    @Test
+    public void testSameSnapshotForEveryMonitor() throws Exception {
+        StatusSnapshot snapshot = StatusSnapshot.parse(Collections.singletonList("volume: 1"));
+        when(serverStatus.getStatusSnapshot()).thenReturn(snapshot);
+
+        AtomicInteger received = new AtomicInteger();
+        StatusMonitor monitor1 = mock(StatusMonitor.class);
+        StatusMonitor monitor2 = mock(StatusMonitor.class);
+        doAnswer(invocation -> received.incrementAndGet()).when(monitor2).processResponseStatus(snapshot);
+        createMonitor(0, 0).addMonitor(new ThreadedMonitor(monitor1, 0), new ThreadedMonitor(monitor2, 0));
+        runMonitor();
+
+        await().until(() -> received.get() > 1);
+        verify(monitor1, atLeast(2)).processResponseStatus(snapshot);
+        verify(serverStatus, never()).getStatus();
+    }
+
     @Test
     public void testAddMonitor() throws Exception {
         final boolean[] called = new boolean[1];
@@ -128,7 +148,7 @@ public class StandAloneMonitorThreadTest {
 
     @Test(expected = MPDException.class)
     public void testLoadInitialStatusException() throws Exception {
-        when(serverStatus.getStatus()).thenThrow(new MPDException());
+        when(serverStatus.getStatusSnapshot()).thenThrow(new MPDException());
         createMonitor(0, 0);
         standAloneMonitorThread.run();
     }
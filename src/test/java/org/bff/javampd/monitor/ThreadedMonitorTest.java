@@ -1,7 +1,10 @@
 package org.bff.javampd.monitor;
 
+import org.bff.javampd.server.StatusSnapshot;
 import org.junit.Test;
 
+import java.util.Collections;
+
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -54,6 +57,26 @@ public class ThreadedMonitorTest {
         assertTrue(processedResponse);
     }
 
+    @Test
+    public void testShouldntProcessResponseStatus() throws Exception {
+        Monitor testMonitor = new TestMonitor();
+
+        threadedMonitor = new ThreadedMonitor(testMonitor, 1);
+        threadedMonitor.processResponseStatus(StatusSnapshot.parse(Collections.emptyList()));
+
+        assertFalse(processedResponse);
+    }
+
+    @Test
+    public void testProcessResponseStatus() throws Exception {
+        Monitor testMonitor = new TestStatusMonitor();
+
+        threadedMonitor = new ThreadedMonitor(testMonitor, 1);
+        threadedMonitor.processResponseStatus(StatusSnapshot.parse(Collections.emptyList()));
+
+        assertTrue(processedResponse);
+    }
+
     @Test
     public void testReset() throws Exception {
         Monitor testMonitor = new TestStatusMonitor();
@@ -80,7 +103,7 @@ public class ThreadedMonitorTest {
         }
 
         @Override
-        public void processResponseStatus(String line) {
+        public void processResponseStatus(StatusSnapshot status) {
             processedResponse = true;
         }
 
@@ -0,0 +1,107 @@
+package org.bff.javampd.monitor;
+
+import org.bff.javampd.server.StatusSnapshot;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class TrackPositionEstimatorTest {
+    private TrackPositionEstimator estimator;
+
+    @Before
+    public void setUp() throws Exception {
+        estimator = new TrackPositionEstimator();
+    }
+
+    @Test
+    public void testInterpolatesWhilePlaying() throws Exception {
+        estimator.update(status("state: play", "songid: 1", "elapsed: 10.250", "duration: 200.000"), 0);
+
+        assertEquals(10250, estimator.getPositionMillis(0));
+        assertEquals(10500, estimator.getPositionMillis(millis(250)));
+        assertEquals(15250, estimator.getPositionMillis(millis(5000)));
+    }
+
+    @Test
+    public void testStoppedAtDuration() throws Exception {
+        estimator.update(status("state: play", "songid: 1", "elapsed: 199.000", "duration: 200.000"), 0);
+
+        assertEquals(200000, estimator.getPositionMillis(millis(5000)));
+    }
+
+    @Test
+    public void testPaused() throws Exception {
+        estimator.update(status("state: pause", "songid: 1", "elapsed: 10.000"), 0);
+
+        assertEquals(10000, estimator.getPositionMillis(millis(5000)));
+    }
+
+    @Test
+    public void testKeepsEstimateOnSmallDrift() throws Exception {
+        estimator.update(status("state: play", "songid: 1", "elapsed: 10.000"), 0);
+        estimator.update(status("state: play", "songid: 1", "elapsed: 11.300"), millis(1000));
+
+        assertEquals(11000, estimator.getPositionMillis(millis(1000)));
+    }
+
+    @Test
+    public void testResyncOnSeek() throws Exception {
+        estimator.update(status("state: play", "songid: 1", "elapsed: 10.000"), 0);
+        estimator.update(status("state: play", "songid: 1", "elapsed: 60.000"), millis(1000));
+
+        assertEquals(60000, estimator.getPositionMillis(millis(1000)));
+    }
+
+    @Test
+    public void testResyncOnSongChange() throws Exception {
+        estimator.update(status("state: play", "songid: 1", "elapsed: 10.000"), 0);
+        estimator.update(status("state: play", "songid: 2", "elapsed: 10.500"), millis(1000));
+
+        assertEquals(10500, estimator.getPositionMillis(millis(1000)));
+    }
+
+    @Test
+    public void testResyncOnStateChange() throws Exception {
+        estimator.update(status("state: pause", "songid: 1", "elapsed: 10.000"), 0);
+        estimator.update(status("state: play", "songid: 1", "elapsed: 10.000"), millis(5000));
+
+        assertEquals(10000, estimator.getPositionMillis(millis(5000)));
+        assertEquals(11000, estimator.getPositionMillis(millis(6000)));
+    }
+
+    @Test
+    public void testWholeSecondsWithoutElapsed() throws Exception {
+        estimator.update(status("state: play", "songid: 1", "time: 10:200"), 0);
+
+        assertEquals(10000, estimator.getPositionMillis(0));
+        assertEquals(10500, estimator.getPositionMillis(millis(500)));
+    }
+
+    @Test
+    public void testResetPosition() throws Exception {
+        estimator.update(status("state: play", "songid: 1", "elapsed: 10.000"), 0);
+        estimator.resetPosition(millis(1000));
+
+        assertEquals(500, estimator.getPositionMillis(millis(1500)));
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        estimator.update(status("state: play", "songid: 1", "elapsed: 10.000"), 0);
+        estimator.reset();
+
+        assertEquals(0, estimator.getPositionMillis(millis(1500)));
+    }
+
+    private static StatusSnapshot status(String... lines) {
+        return StatusSnapshot.parse(Arrays.asList(lines));
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -5,7 +5,6 @@ import org.bff.javampd.database.DatabaseProperties;
 import org.bff.javampd.database.TagLister;
 import org.bff.javampd.song.MPDSong;
 import org.bff.javampd.song.SongConverter;
-import org.bff.javampd.song.SongDatabase;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -16,13 +15,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
-import static org.mockito.Mockito.when;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public class MPDPlaylistDatabaseTest {
 
-    @Mock
-    private SongDatabase songDatabase;
     @Mock
     private CommandExecutor commandExecutor;
     @Mock
@@ -66,47 +64,66 @@ public class MPDPlaylistDatabaseTest {
         String testPlaylistName1 = "testName1";
         String testPlaylistName2 = "testName2";
 
-        String testSongName1 = "testSong1";
-        String testSongName2 = "testSong2";
-
         List<String> mockedResponseList = new ArrayList<>();
         mockedResponseList.add(testPlaylistName1);
         mockedResponseList.add(testPlaylistName2);
 
-        List<MPDSavedPlaylist> mockList = new ArrayList<>();
-
-        MPDSavedPlaylist mockedSavedPlaylist1 = new MPDSavedPlaylist(testPlaylistName1);
-        mockList.add(mockedSavedPlaylist1);
-        MPDSavedPlaylist mockedSavedPlaylist2 = new MPDSavedPlaylist(testPlaylistName2);
-        mockList.add(mockedSavedPlaylist2);
-
         when(tagLister.listInfo(TagLister.ListInfoType.PLAYLIST))
                 .thenReturn(mockedResponseList);
 
+        List<String> response1 = new ArrayList<>();
+        response1.add("file: file1");
+        List<String> response2 = new ArrayList<>();
+        response2.add("file: file2");
+
         List<MPDSong> mockedSongs1 = new ArrayList<>();
-        mockedSongs1.add(new MPDSong("file1", testSongName1));
+        mockedSongs1.add(new MPDSong("file1", "testSong1"));
         List<MPDSong> mockedSongs2 = new ArrayList<>();
-        mockedSongs2.add(new MPDSong("file2", testSongName2));
-
-        when(databaseProperties.getListSongs()).thenReturn("listplaylist");
-        when(commandExecutor.sendCommand("listplaylist", testPlaylistName1))
-                .thenReturn(mockedResponseList);
-        when(commandExecutor.sendCommand("listplaylist", testPlaylistName2))
-                .thenReturn(mockedResponseList);
+        mockedSongs2.add(new MPDSong("file2", "testSong2"));
 
-        when(songConverter.getSongFileNameList(mockedResponseList)).thenReturn(mockedResponseList);
-
-        when(songDatabase.searchFileName(testPlaylistName1)).thenReturn(mockedSongs1);
-        when(songDatabase.searchFileName(testPlaylistName2)).thenReturn(mockedSongs2);
+        when(databaseProperties.getListSongInfo()).thenReturn("listplaylistinfo");
+        when(commandExecutor.sendCommand("listplaylistinfo", testPlaylistName1)).thenReturn(response1);
+        when(commandExecutor.sendCommand("listplaylistinfo", testPlaylistName2)).thenReturn(response2);
+        when(songConverter.convertResponseToSong(response1)).thenReturn(mockedSongs1);
+        when(songConverter.convertResponseToSong(response2)).thenReturn(mockedSongs2);
 
         List<MPDSavedPlaylist> playlists =
                 new ArrayList<>(playlistDatabase.listSavedPlaylists());
 
-        playlists.forEach(playlist -> {
-            List<MPDSong> playlistSongs = new ArrayList<>(playlist.getSongs());
-            assertEquals(testSongName1, playlistSongs.get(0).getName());
-            assertEquals(testSongName2, playlistSongs.get(1).getName());
-        });
+        assertEquals(mockedSongs1, playlists.get(0).getSongs());
+        assertEquals(mockedSongs2, playlists.get(1).getSongs());
+    }
+
+    @Test
+    public void testListSavedPlaylistsLazy() throws Exception {
+        List<String> mockedResponseList = new ArrayList<>();
+        mockedResponseList.add("testName1");
+
+        when(tagLister.listInfo(TagLister.ListInfoType.PLAYLIST))
+                .thenReturn(mockedResponseList);
+        when(databaseProperties.getListSongInfo()).thenReturn("listplaylistinfo");
+
+        MPDSavedPlaylist playlist = new ArrayList<>(playlistDatabase.listSavedPlaylists()).get(0);
+        verify(commandExecutor, never()).sendCommand(anyString(), anyString());
+
+        playlist.getSongs();
+        playlist.getSongs();
+        verify(commandExecutor, times(1)).sendCommand("listplaylistinfo", "testName1");
+    }
+
+    @Test
+    public void testListPlaylistSongs() throws Exception {
+        List<String> response = new ArrayList<>();
+        response.add("file: file1");
+        List<MPDSong> mockedSongs = new ArrayList<>();
+        mockedSongs.add(new MPDSong("file1", "testSong1"));
+
+        when(databaseProperties.getListSongInfo()).thenReturn("listplaylistinfo");
+        when(commandExecutor.sendCommand("listplaylistinfo", "testPlaylist")).thenReturn(response);
+        when(songConverter.convertResponseToSong(response)).thenReturn(mockedSongs);
+
+        assertEquals(mockedSongs, playlistDatabase.listPlaylistSongs("testPlaylist"));
+        verify(commandExecutor, times(1)).sendCommand(anyString(), anyString());
     }
 
     @Test
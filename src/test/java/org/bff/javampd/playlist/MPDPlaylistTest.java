@@ -6,7 +6,6 @@ import org.bff.javampd.file.MPDFile;
 import org.bff.javampd.server.ServerStatus;
 import org.bff.javampd.song.MPDSong;
 import org.bff.javampd.song.SongConverter;
-import org.bff.javampd.song.SongDatabase;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -25,8 +24,6 @@ import static org.mockito.Mockito.when;
 @RunWith(MockitoJUnitRunner.class)
 public class MPDPlaylistTest {
 
-    @Mock
-    private SongDatabase songDatabase;
     @Mock
     private ServerStatus serverStatus;
     @Mock
@@ -7,7 +7,6 @@ import org.bff.javampd.command.MPDCommand;
 import org.bff.javampd.server.ServerStatus;
 import org.bff.javampd.song.MPDSong;
 import org.bff.javampd.song.SongConverter;
-import org.bff.javampd.song.SongDatabase;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -26,8 +25,6 @@ import static org.mockito.Mockito.*;
 @RunWith(MockitoJUnitRunner.class)
 public class MPDPlaylistTestAlbum {
 
-    @Mock
-    private SongDatabase songDatabase;
     @Mock
     private ServerStatus serverStatus;
     @Mock
@@ -57,25 +54,13 @@ public class MPDPlaylistTestAlbum {
         MPDArtist artist = new MPDArtist("testArtist");
         MPDAlbum album = new MPDAlbum("testAlbum", "testArtist");
 
-        List<MPDSong> songs = new ArrayList<>();
-        songs.add(new MPDSong("file1", "testSong1"));
-        songs.add(new MPDSong("file2", "testSong2"));
-        when(songDatabase.findAlbumByArtist(artist, album)).thenReturn(songs);
-
         final PlaylistChangeEvent[] changeEvent = new PlaylistChangeEvent[1];
         playlist.addPlaylistChangeListener(event -> changeEvent[0] = event);
 
         playlist.insertAlbum(artist, album);
 
-        when(playlistProperties.getAdd()).thenReturn(realPlaylistProperties.getAdd());
-
-        verify(commandExecutor, times(2))
-                .sendCommand(stringArgumentCaptor.capture(), stringArgumentCaptor.capture());
-
-        assertEquals(realPlaylistProperties.getAdd(), stringArgumentCaptor.getAllValues().get(0));
-        assertEquals("file1", stringArgumentCaptor.getAllValues().get(1));
-        assertEquals(realPlaylistProperties.getAdd(), stringArgumentCaptor.getAllValues().get(2));
-        assertEquals("file2", stringArgumentCaptor.getAllValues().get(3));
+        verify(commandExecutor).sendCommand(realPlaylistProperties.getFindAdd(), "artist", "testArtist", "album", "testAlbum");
+        verify(serverStatus).getPlaylistVersion();
         assertEquals(PlaylistChangeEvent.Event.ALBUM_ADDED, changeEvent[0].getEvent());
     }
 
@@ -84,25 +69,13 @@ public class MPDPlaylistTestAlbum {
         String artist = "testArtist";
         String album = "testAlbum";
 
-        List<MPDSong> songs = new ArrayList<>();
-        songs.add(new MPDSong("file1", "testSong1"));
-        songs.add(new MPDSong("file2", "testSong2"));
-        when(songDatabase.findAlbumByArtist(artist, album)).thenReturn(songs);
-
         final PlaylistChangeEvent[] changeEvent = new PlaylistChangeEvent[1];
         playlist.addPlaylistChangeListener(event -> changeEvent[0] = event);
 
         playlist.insertAlbum(artist, album);
 
-        when(playlistProperties.getAdd()).thenReturn(realPlaylistProperties.getAdd());
-
-        verify(commandExecutor, times(2))
-                .sendCommand(stringArgumentCaptor.capture(), stringArgumentCaptor.capture());
-
-        assertEquals(realPlaylistProperties.getAdd(), stringArgumentCaptor.getAllValues().get(0));
-        assertEquals("file1", stringArgumentCaptor.getAllValues().get(1));
-        assertEquals(realPlaylistProperties.getAdd(), stringArgumentCaptor.getAllValues().get(2));
-        assertEquals("file2", stringArgumentCaptor.getAllValues().get(3));
+        verify(commandExecutor).sendCommand(realPlaylistProperties.getFindAdd(), "artist", "testArtist", "album", "testAlbum");
+        verify(serverStatus).getPlaylistVersion();
         assertEquals(PlaylistChangeEvent.Event.ALBUM_ADDED, changeEvent[0].getEvent());
     }
 
@@ -110,25 +83,13 @@ public class MPDPlaylistTestAlbum {
     public void testInsertAlbumByName() throws Exception {
         String album = "testAlbum";
 
-        List<MPDSong> songs = new ArrayList<>();
-        songs.add(new MPDSong("file1", "testSong1"));
-        songs.add(new MPDSong("file2", "testSong2"));
-        when(songDatabase.findAlbum(album)).thenReturn(songs);
-
         final PlaylistChangeEvent[] changeEvent = new PlaylistChangeEvent[1];
         playlist.addPlaylistChangeListener(event -> changeEvent[0] = event);
 
         playlist.insertAlbum(album);
 
-        when(playlistProperties.getAdd()).thenReturn(realPlaylistProperties.getAdd());
-
-        verify(commandExecutor, times(2))
-                .sendCommand(stringArgumentCaptor.capture(), stringArgumentCaptor.capture());
-
-        assertEquals(realPlaylistProperties.getAdd(), stringArgumentCaptor.getAllValues().get(0));
-        assertEquals("file1", stringArgumentCaptor.getAllValues().get(1));
-        assertEquals(realPlaylistProperties.getAdd(), stringArgumentCaptor.getAllValues().get(2));
-        assertEquals("file2", stringArgumentCaptor.getAllValues().get(3));
+        verify(commandExecutor).sendCommand(realPlaylistProperties.getFindAdd(), "album", "testAlbum");
+        verify(serverStatus).getPlaylistVersion();
         assertEquals(PlaylistChangeEvent.Event.ALBUM_ADDED, changeEvent[0].getEvent());
     }
 
@@ -136,25 +97,13 @@ public class MPDPlaylistTestAlbum {
     public void testInsertAlbumByAlbum() throws Exception {
         MPDAlbum album = new MPDAlbum("testAlbum", "testArtist");
 
-        List<MPDSong> songs = new ArrayList<>();
-        songs.add(new MPDSong("file1", "testSong1"));
-        songs.add(new MPDSong("file2", "testSong2"));
-        when(songDatabase.findAlbum(album)).thenReturn(songs);
-
         final PlaylistChangeEvent[] changeEvent = new PlaylistChangeEvent[1];
         playlist.addPlaylistChangeListener(event -> changeEvent[0] = event);
 
         playlist.insertAlbum(album);
 
-        when(playlistProperties.getAdd()).thenReturn(realPlaylistProperties.getAdd());
-
-        verify(commandExecutor, times(2))
-                .sendCommand(stringArgumentCaptor.capture(), stringArgumentCaptor.capture());
-
-        assertEquals(realPlaylistProperties.getAdd(), stringArgumentCaptor.getAllValues().get(0));
-        assertEquals("file1", stringArgumentCaptor.getAllValues().get(1));
-        assertEquals(realPlaylistProperties.getAdd(), stringArgumentCaptor.getAllValues().get(2));
-        assertEquals("file2", stringArgumentCaptor.getAllValues().get(3));
+        verify(commandExecutor).sendCommand(realPlaylistProperties.getFindAdd(), "album", "testAlbum");
+        verify(serverStatus).getPlaylistVersion();
         assertEquals(PlaylistChangeEvent.Event.ALBUM_ADDED, changeEvent[0].getEvent());
     }
 
@@ -192,17 +141,13 @@ public class MPDPlaylistTestAlbum {
 
         playlist.removeAlbum(artist, album);
 
-        when(playlistProperties.getRemoveId()).thenReturn(realPlaylistProperties.getRemoveId());
-        verify(commandExecutor)
-                .sendCommand(stringArgumentCaptor.capture());
-        verify(commandExecutor, times(2))
-                .sendCommand(stringArgumentCaptor.capture(), integerArgumentCaptor.capture());
-
-        assertEquals(realPlaylistProperties.getRemoveId(), stringArgumentCaptor.getAllValues().get(1));
-        assertEquals((Integer) song1.getId(), integerArgumentCaptor.getAllValues().get(0));
-        assertEquals(realPlaylistProperties.getRemoveId(), stringArgumentCaptor.getAllValues().get(2));
-        assertEquals((Integer) song2.getId(), integerArgumentCaptor.getAllValues().get(1));
-        assertEquals(PlaylistChangeEvent.Event.SONG_DELETED, changeEvent[0].getEvent());
+        verify(commandExecutor).sendCommands(commandArgumentCaptor.capture());
+
+        List<MPDCommand> commands = commandArgumentCaptor.getValue();
+        assertEquals(2, commands.size());
+        assertEquals(new MPDCommand(realPlaylistProperties.getRemoveId(), Integer.toString(song1.getId())), commands.get(0));
+        assertEquals(new MPDCommand(realPlaylistProperties.getRemoveId(), Integer.toString(song2.getId())), commands.get(1));
+        assertEquals(PlaylistChangeEvent.Event.MULTIPLE_SONGS_DELETED, changeEvent[0].getEvent());
     }
 
     @Test
@@ -239,16 +184,12 @@ public class MPDPlaylistTestAlbum {
 
         playlist.removeAlbum(artist, album);
 
-        when(playlistProperties.getRemoveId()).thenReturn(realPlaylistProperties.getRemoveId());
-        verify(commandExecutor)
-                .sendCommand(stringArgumentCaptor.capture());
-        verify(commandExecutor, times(2))
-                .sendCommand(stringArgumentCaptor.capture(), integerArgumentCaptor.capture());
-
-        assertEquals(realPlaylistProperties.getRemoveId(), stringArgumentCaptor.getAllValues().get(1));
-        assertEquals((Integer) song1.getId(), integerArgumentCaptor.getAllValues().get(0));
-        assertEquals(realPlaylistProperties.getRemoveId(), stringArgumentCaptor.getAllValues().get(2));
-        assertEquals((Integer) song2.getId(), integerArgumentCaptor.getAllValues().get(1));
-        assertEquals(PlaylistChangeEvent.Event.SONG_DELETED, changeEvent[0].getEvent());
+        verify(commandExecutor).sendCommands(commandArgumentCaptor.capture());
+
+        List<MPDCommand> commands = commandArgumentCaptor.getValue();
+        assertEquals(2, commands.size());
+        assertEquals(new MPDCommand(realPlaylistProperties.getRemoveId(), Integer.toString(song1.getId())), commands.get(0));
+        assertEquals(new MPDCommand(realPlaylistProperties.getRemoveId(), Integer.toString(song2.getId())), commands.get(1));
+        assertEquals(PlaylistChangeEvent.Event.MULTIPLE_SONGS_DELETED, changeEvent[0].getEvent());
     }
 }
\ No newline at end of file
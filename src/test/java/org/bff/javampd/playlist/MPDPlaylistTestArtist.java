@@ -6,7 +6,6 @@ import org.bff.javampd.command.MPDCommand;
 import org.bff.javampd.server.ServerStatus;
 import org.bff.javampd.song.MPDSong;
 import org.bff.javampd.song.SongConverter;
-import org.bff.javampd.song.SongDatabase;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -25,8 +24,6 @@ import static org.mockito.Mockito.*;
 @RunWith(MockitoJUnitRunner.class)
 public class MPDPlaylistTestArtist {
 
-    @Mock
-    private SongDatabase songDatabase;
     @Mock
     private ServerStatus serverStatus;
     @Mock
@@ -82,17 +79,13 @@ public class MPDPlaylistTestArtist {
 
         playlist.removeArtist(artist);
 
-        when(playlistProperties.getRemoveId()).thenReturn(realPlaylistProperties.getRemoveId());
-        verify(commandExecutor)
-                .sendCommand(stringArgumentCaptor.capture());
-        verify(commandExecutor, times(2))
-                .sendCommand(stringArgumentCaptor.capture(), integerArgumentCaptor.capture());
-
-        assertEquals(realPlaylistProperties.getRemoveId(), stringArgumentCaptor.getAllValues().get(1));
-        assertEquals((Integer) song1.getId(), integerArgumentCaptor.getAllValues().get(0));
-        assertEquals(realPlaylistProperties.getRemoveId(), stringArgumentCaptor.getAllValues().get(2));
-        assertEquals((Integer) song2.getId(), integerArgumentCaptor.getAllValues().get(1));
-        assertEquals(PlaylistChangeEvent.Event.SONG_DELETED, changeEvent[0].getEvent());
+        verify(commandExecutor).sendCommands(commandArgumentCaptor.capture());
+
+        List<MPDCommand> commands = commandArgumentCaptor.getValue();
+        assertEquals(2, commands.size());
+        assertEquals(new MPDCommand(realPlaylistProperties.getRemoveId(), Integer.toString(song1.getId())), commands.get(0));
+        assertEquals(new MPDCommand(realPlaylistProperties.getRemoveId(), Integer.toString(song2.getId())), commands.get(1));
+        assertEquals(PlaylistChangeEvent.Event.MULTIPLE_SONGS_DELETED, changeEvent[0].getEvent());
     }
 
     @Test
@@ -126,43 +119,26 @@ public class MPDPlaylistTestArtist {
 
         playlist.removeArtist(artist);
 
-        when(playlistProperties.getRemoveId()).thenReturn(realPlaylistProperties.getRemoveId());
-        verify(commandExecutor)
-                .sendCommand(stringArgumentCaptor.capture());
-        verify(commandExecutor, times(2))
-                .sendCommand(stringArgumentCaptor.capture(), integerArgumentCaptor.capture());
-
-        assertEquals(realPlaylistProperties.getRemoveId(), stringArgumentCaptor.getAllValues().get(1));
-        assertEquals((Integer) song1.getId(), integerArgumentCaptor.getAllValues().get(0));
-        assertEquals(realPlaylistProperties.getRemoveId(), stringArgumentCaptor.getAllValues().get(2));
-        assertEquals((Integer) song2.getId(), integerArgumentCaptor.getAllValues().get(1));
-        assertEquals(PlaylistChangeEvent.Event.SONG_DELETED, changeEvent[0].getEvent());
+        verify(commandExecutor).sendCommands(commandArgumentCaptor.capture());
+
+        List<MPDCommand> commands = commandArgumentCaptor.getValue();
+        assertEquals(2, commands.size());
+        assertEquals(new MPDCommand(realPlaylistProperties.getRemoveId(), Integer.toString(song1.getId())), commands.get(0));
+        assertEquals(new MPDCommand(realPlaylistProperties.getRemoveId(), Integer.toString(song2.getId())), commands.get(1));
+        assertEquals(PlaylistChangeEvent.Event.MULTIPLE_SONGS_DELETED, changeEvent[0].getEvent());
     }
 
     @Test
     public void testInsertArtist() throws Exception {
         MPDArtist artist = new MPDArtist("testArtist");
 
-        List<MPDSong> songs = new ArrayList<>();
-        songs.add(new MPDSong("file1", "testSong1"));
-        songs.add(new MPDSong("file2", "testSong2"));
-
-        when(songDatabase.findArtist(artist.getName())).thenReturn(songs);
-
         final PlaylistChangeEvent[] changeEvent = new PlaylistChangeEvent[1];
         playlist.addPlaylistChangeListener(event -> changeEvent[0] = event);
 
         playlist.insertArtist(artist);
 
-        when(playlistProperties.getAdd()).thenReturn(realPlaylistProperties.getAdd());
-
-        verify(commandExecutor, times(2))
-                .sendCommand(stringArgumentCaptor.capture(), stringArgumentCaptor.capture());
-
-        assertEquals(realPlaylistProperties.getAdd(), stringArgumentCaptor.getAllValues().get(0));
-        assertEquals("file1", stringArgumentCaptor.getAllValues().get(1));
-        assertEquals(realPlaylistProperties.getAdd(), stringArgumentCaptor.getAllValues().get(2));
-        assertEquals("file2", stringArgumentCaptor.getAllValues().get(3));
+        verify(commandExecutor).sendCommand(realPlaylistProperties.getFindAdd(), "artist", "testArtist");
+        verify(serverStatus).getPlaylistVersion();
         assertEquals(PlaylistChangeEvent.Event.ARTIST_ADDED, changeEvent[0].getEvent());
     }
 
@@ -170,25 +146,13 @@ public class MPDPlaylistTestArtist {
     public void testInsertArtistByName() throws Exception {
         String artist = "testArtist";
 
-        List<MPDSong> songs = new ArrayList<>();
-        songs.add(new MPDSong("file1", "testSong1"));
-        songs.add(new MPDSong("file2", "testSong2"));
-        when(songDatabase.findArtist(artist)).thenReturn(songs);
-
         final PlaylistChangeEvent[] changeEvent = new PlaylistChangeEvent[1];
         playlist.addPlaylistChangeListener(event -> changeEvent[0] = event);
 
         playlist.insertArtist(artist);
 
-        when(playlistProperties.getAdd()).thenReturn(realPlaylistProperties.getAdd());
-
-        verify(commandExecutor, times(2))
-                .sendCommand(stringArgumentCaptor.capture(), stringArgumentCaptor.capture());
-
-        assertEquals(realPlaylistProperties.getAdd(), stringArgumentCaptor.getAllValues().get(0));
-        assertEquals("file1", stringArgumentCaptor.getAllValues().get(1));
-        assertEquals(realPlaylistProperties.getAdd(), stringArgumentCaptor.getAllValues().get(2));
-        assertEquals("file2", stringArgumentCaptor.getAllValues().get(3));
+        verify(commandExecutor).sendCommand(realPlaylistProperties.getFindAdd(), "artist", "testArtist");
+        verify(serverStatus).getPlaylistVersion();
         assertEquals(PlaylistChangeEvent.Event.ARTIST_ADDED, changeEvent[0].getEvent());
     }
 }
\ No newline at end of file
@@ -6,7 +6,6 @@ import org.bff.javampd.genre.MPDGenre;
 import org.bff.javampd.server.ServerStatus;
 import org.bff.javampd.song.MPDSong;
 import org.bff.javampd.song.SongConverter;
-import org.bff.javampd.song.SongDatabase;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -25,8 +24,6 @@ import static org.mockito.Mockito.*;
 @RunWith(MockitoJUnitRunner.class)
 public class MPDPlaylistTestGenreAndYear {
 
-    @Mock
-    private SongDatabase songDatabase;
     @Mock
     private ServerStatus serverStatus;
     @Mock
@@ -55,26 +52,13 @@ public class MPDPlaylistTestGenreAndYear {
     public void testInsertGenre() throws Exception {
         MPDGenre genre = new MPDGenre("testGenre");
 
-        List<MPDSong> songs = new ArrayList<>();
-        songs.add(new MPDSong("file1", "testSong1"));
-        songs.add(new MPDSong("file2", "testSong2"));
-
-        when(songDatabase.findGenre(genre.getName())).thenReturn(songs);
-
         final PlaylistChangeEvent[] changeEvent = new PlaylistChangeEvent[1];
         playlist.addPlaylistChangeListener(event -> changeEvent[0] = event);
 
         playlist.insertGenre(genre);
 
-        when(playlistProperties.getAdd()).thenReturn(realPlaylistProperties.getAdd());
-
-        verify(commandExecutor, times(2))
-                .sendCommand(stringArgumentCaptor.capture(), stringArgumentCaptor.capture());
-
-        assertEquals(realPlaylistProperties.getAdd(), stringArgumentCaptor.getAllValues().get(0));
-        assertEquals("file1", stringArgumentCaptor.getAllValues().get(1));
-        assertEquals(realPlaylistProperties.getAdd(), stringArgumentCaptor.getAllValues().get(2));
-        assertEquals("file2", stringArgumentCaptor.getAllValues().get(3));
+        verify(commandExecutor).sendCommand(realPlaylistProperties.getFindAdd(), "genre", "testGenre");
+        verify(serverStatus).getPlaylistVersion();
         assertEquals(PlaylistChangeEvent.Event.GENRE_ADDED, changeEvent[0].getEvent());
     }
 
@@ -82,26 +66,29 @@ public class MPDPlaylistTestGenreAndYear {
     public void testInsertGenreByName() throws Exception {
         String genre = "testGenre";
 
-        List<MPDSong> songs = new ArrayList<>();
-        songs.add(new MPDSong("file1", "testSong1"));
-        songs.add(new MPDSong("file2", "testSong2"));
-        when(songDatabase.findGenre(genre)).thenReturn(songs);
-
         final PlaylistChangeEvent[] changeEvent = new PlaylistChangeEvent[1];
         playlist.addPlaylistChangeListener(event -> changeEvent[0] = event);
 
         playlist.insertGenre(genre);
 
-        when(playlistProperties.getAdd()).thenReturn(realPlaylistProperties.getAdd());
+        verify(commandExecutor).sendCommand(realPlaylistProperties.getFindAdd(), "genre", "testGenre");
+        verify(serverStatus).getPlaylistVersion();
+        assertEquals(PlaylistChangeEvent.Event.GENRE_ADDED, changeEvent[0].getEvent());
+    }
+
+    @Test
+    public void testInsertGenreFiresOneChange() throws Exception {
+        when(serverStatus.getPlaylistVersion()).thenReturn(5);
 
-        verify(commandExecutor, times(2))
-                .sendCommand(stringArgumentCaptor.capture(), stringArgumentCaptor.capture());
+        List<PlaylistChangeEvent.Event> events = new ArrayList<>();
+        playlist.addPlaylistChangeListener(event -> events.add(event.getEvent()));
 
-        assertEquals(realPlaylistProperties.getAdd(), stringArgumentCaptor.getAllValues().get(0));
-        assertEquals("file1", stringArgumentCaptor.getAllValues().get(1));
-        assertEquals(realPlaylistProperties.getAdd(), stringArgumentCaptor.getAllValues().get(2));
-        assertEquals("file2", stringArgumentCaptor.getAllValues().get(3));
-        assertEquals(PlaylistChangeEvent.Event.GENRE_ADDED, changeEvent[0].getEvent());
+        playlist.insertGenre("testGenre");
+
+        assertEquals(2, events.size());
+        assertEquals(PlaylistChangeEvent.Event.PLAYLIST_CHANGED, events.get(0));
+        assertEquals(PlaylistChangeEvent.Event.GENRE_ADDED, events.get(1));
+        assertEquals(5, playlist.getVersion());
     }
 
     @Test
@@ -134,17 +121,13 @@ public class MPDPlaylistTestGenreAndYear {
 
         playlist.removeGenre(genre);
 
-        when(playlistProperties.getRemoveId()).thenReturn(realPlaylistProperties.getRemoveId());
-        verify(commandExecutor)
-                .sendCommand(stringArgumentCaptor.capture());
-        verify(commandExecutor, times(2))
-                .sendCommand(stringArgumentCaptor.capture(), integerArgumentCaptor.capture());
-
-        assertEquals(realPlaylistProperties.getRemoveId(), stringArgumentCaptor.getAllValues().get(1));
-        assertEquals((Integer) song1.getId(), integerArgumentCaptor.getAllValues().get(0));
-        assertEquals(realPlaylistProperties.getRemoveId(), stringArgumentCaptor.getAllValues().get(2));
-        assertEquals((Integer) song2.getId(), integerArgumentCaptor.getAllValues().get(1));
-        assertEquals(PlaylistChangeEvent.Event.SONG_DELETED, changeEvent[0].getEvent());
+        verify(commandExecutor).sendCommands(commandArgumentCaptor.capture());
+
+        List<MPDCommand> commands = commandArgumentCaptor.getValue();
+        assertEquals(2, commands.size());
+        assertEquals(new MPDCommand(realPlaylistProperties.getRemoveId(), Integer.toString(song1.getId())), commands.get(0));
+        assertEquals(new MPDCommand(realPlaylistProperties.getRemoveId(), Integer.toString(song2.getId())), commands.get(1));
+        assertEquals(PlaylistChangeEvent.Event.MULTIPLE_SONGS_DELETED, changeEvent[0].getEvent());
     }
 
     @Test
@@ -177,42 +160,26 @@ public class MPDPlaylistTestGenreAndYear {
 
         playlist.removeGenre(genre);
 
-        when(playlistProperties.getRemoveId()).thenReturn(realPlaylistProperties.getRemoveId());
-        verify(commandExecutor)
-                .sendCommand(stringArgumentCaptor.capture());
-        verify(commandExecutor, times(2))
-                .sendCommand(stringArgumentCaptor.capture(), integerArgumentCaptor.capture());
-
-        assertEquals(realPlaylistProperties.getRemoveId(), stringArgumentCaptor.getAllValues().get(1));
-        assertEquals((Integer) song1.getId(), integerArgumentCaptor.getAllValues().get(0));
-        assertEquals(realPlaylistProperties.getRemoveId(), stringArgumentCaptor.getAllValues().get(2));
-        assertEquals((Integer) song2.getId(), integerArgumentCaptor.getAllValues().get(1));
-        assertEquals(PlaylistChangeEvent.Event.SONG_DELETED, changeEvent[0].getEvent());
+        verify(commandExecutor).sendCommands(commandArgumentCaptor.capture());
+
+        List<MPDCommand> commands = commandArgumentCaptor.getValue();
+        assertEquals(2, commands.size());
+        assertEquals(new MPDCommand(realPlaylistProperties.getRemoveId(), Integer.toString(song1.getId())), commands.get(0));
+        assertEquals(new MPDCommand(realPlaylistProperties.getRemoveId(), Integer.toString(song2.getId())), commands.get(1));
+        assertEquals(PlaylistChangeEvent.Event.MULTIPLE_SONGS_DELETED, changeEvent[0].getEvent());
     }
 
     @Test
     public void testInsertYear() throws Exception {
         String year = "testYear";
 
-        List<MPDSong> songs = new ArrayList<>();
-        songs.add(new MPDSong("file1", "testSong1"));
-        songs.add(new MPDSong("file2", "testSong2"));
-        when(songDatabase.findYear(year)).thenReturn(songs);
-
         final PlaylistChangeEvent[] changeEvent = new PlaylistChangeEvent[1];
         playlist.addPlaylistChangeListener(event -> changeEvent[0] = event);
 
         playlist.insertYear(year);
 
-        when(playlistProperties.getAdd()).thenReturn(realPlaylistProperties.getAdd());
-
-        verify(commandExecutor, times(2))
-                .sendCommand(stringArgumentCaptor.capture(), stringArgumentCaptor.capture());
-
-        assertEquals(realPlaylistProperties.getAdd(), stringArgumentCaptor.getAllValues().get(0));
-        assertEquals("file1", stringArgumentCaptor.getAllValues().get(1));
-        assertEquals(realPlaylistProperties.getAdd(), stringArgumentCaptor.getAllValues().get(2));
-        assertEquals("file2", stringArgumentCaptor.getAllValues().get(3));
+        verify(commandExecutor).sendCommand(realPlaylistProperties.getFindAdd(), "date", "testYear");
+        verify(serverStatus).getPlaylistVersion();
         assertEquals(PlaylistChangeEvent.Event.YEAR_ADDED, changeEvent[0].getEvent());
     }
 
@@ -246,16 +213,12 @@ public class MPDPlaylistTestGenreAndYear {
 
         playlist.removeYear(year);
 
-        when(playlistProperties.getRemoveId()).thenReturn(realPlaylistProperties.getRemoveId());
-        verify(commandExecutor)
-                .sendCommand(stringArgumentCaptor.capture());
-        verify(commandExecutor, times(2))
-                .sendCommand(stringArgumentCaptor.capture(), integerArgumentCaptor.capture());
-
-        assertEquals(realPlaylistProperties.getRemoveId(), stringArgumentCaptor.getAllValues().get(1));
-        assertEquals((Integer) song1.getId(), integerArgumentCaptor.getAllValues().get(0));
-        assertEquals(realPlaylistProperties.getRemoveId(), stringArgumentCaptor.getAllValues().get(2));
-        assertEquals((Integer) song2.getId(), integerArgumentCaptor.getAllValues().get(1));
-        assertEquals(PlaylistChangeEvent.Event.SONG_DELETED, changeEvent[0].getEvent());
+        verify(commandExecutor).sendCommands(commandArgumentCaptor.capture());
+
+        List<MPDCommand> commands = commandArgumentCaptor.getValue();
+        assertEquals(2, commands.size());
+        assertEquals(new MPDCommand(realPlaylistProperties.getRemoveId(), Integer.toString(song1.getId())), commands.get(0));
+        assertEquals(new MPDCommand(realPlaylistProperties.getRemoveId(), Integer.toString(song2.getId())), commands.get(1));
+        assertEquals(PlaylistChangeEvent.Event.MULTIPLE_SONGS_DELETED, changeEvent[0].getEvent());
     }
 }
\ No newline at end of file
@@ -5,7 +5,6 @@ import org.bff.javampd.command.MPDCommand;
 import org.bff.javampd.server.ServerStatus;
 import org.bff.javampd.song.MPDSong;
 import org.bff.javampd.song.SongConverter;
-import org.bff.javampd.song.SongDatabase;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -16,18 +15,21 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class MPDPlaylistTestSong {
 
-    @Mock
-    private SongDatabase songDatabase;
     @Mock
     private ServerStatus serverStatus;
     @Mock
@@ -229,6 +231,59 @@ public class MPDPlaylistTestSong {
         assertEquals(PlaylistChangeEvent.Event.SONG_DELETED, changeEvent[0].getEvent());
     }
 
+    @Test
+    public void testRemoveSongsCollapsesRanges() throws Exception {
+        when(serverStatus.getPlaylistVersion()).thenReturn(1);
+
+        List<PlaylistChangeEvent.Event> events = new ArrayList<>();
+        playlist.addPlaylistChangeListener(event -> events.add(event.getEvent()));
+
+        List<MPDSong> songs = new ArrayList<>();
+        for (int position : new int[]{9, 2, 3, 4, 7, 10, 11}) {
+            songs.add(createSong(position, position + 100));
+        }
+        MPDSong unpositioned = new MPDSong("test", "test");
+        unpositioned.setId(200);
+        songs.add(unpositioned);
+
+        playlist.removeSongs(songs);
+
+        verify(commandExecutor).sendCommands(commandArgumentCaptor.capture());
+        List<MPDCommand> commands = commandArgumentCaptor.getValue();
+        assertEquals(4, commands.size());
+        assertEquals(new MPDCommand(realPlaylistProperties.getRemove(), "9:12"), commands.get(0));
+        assertEquals(new MPDCommand(realPlaylistProperties.getRemove(), "2:5"), commands.get(1));
+        assertEquals(new MPDCommand(realPlaylistProperties.getRemoveId(), "200"), commands.get(2));
+        assertEquals(new MPDCommand(realPlaylistProperties.getRemoveId(), "107"), commands.get(3));
+
+        assertEquals(2, events.size());
+        assertEquals(PlaylistChangeEvent.Event.PLAYLIST_CHANGED, events.get(0));
+        assertEquals(PlaylistChangeEvent.Event.MULTIPLE_SONGS_DELETED, events.get(1));
+    }
+
+    @Test
+    public void testRemoveSongsSingleWithoutId() throws Exception {
+        MPDSong song = new MPDSong("test", "test");
+        song.setPosition(3);
+
+        playlist.removeSongs(Collections.singletonList(song));
+
+        verify(commandExecutor).sendCommands(commandArgumentCaptor.capture());
+        assertEquals(Collections.singletonList(new MPDCommand(realPlaylistProperties.getRemove(), "3")),
+                commandArgumentCaptor.getValue());
+    }
+
+    @Test
+    public void testRemoveSongsEmpty() throws Exception {
+        final PlaylistChangeEvent[] changeEvent = new PlaylistChangeEvent[1];
+        playlist.addPlaylistChangeListener(event -> changeEvent[0] = event);
+
+        playlist.removeSongs(new ArrayList<>());
+
+        verify(commandExecutor, never()).sendCommands(anyListOf(MPDCommand.class));
+        assertNull(changeEvent[0]);
+    }
+
     @Test
     public void testGetCurrentSong() throws Exception {
         when(playlistProperties.getCurrentSong()).thenReturn(realPlaylistProperties.getCurrentSong());
@@ -264,4 +319,73 @@ public class MPDPlaylistTestSong {
         assertEquals(mockedSongs.get(0), songs.get(0));
         assertEquals(mockedSongs.get(1), songs.get(1));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetSongListCached() throws Exception {
+        when(serverStatus.getStatus()).thenReturn(status(5, 2));
+        List<MPDSong> songs = Arrays.asList(createSong(0, 10), createSong(1, 11));
+        stubResponse(realPlaylistProperties.getInfo(), songs);
+
+        assertEquals(songs, playlist.getSongList());
+        assertEquals(songs, playlist.getSongList());
+
+        verify(commandExecutor, times(1)).sendCommand(realPlaylistProperties.getInfo());
+    }
+
+    @Test
+    public void testGetSongListAppliesChanges() throws Exception {
+        when(serverStatus.getStatus()).thenReturn(status(5, 3), status(5, 3), status(8, 2));
+        List<MPDSong> songs = Arrays.asList(createSong(0, 10), createSong(1, 11), createSong(2, 12));
+        stubResponse(realPlaylistProperties.getInfo(), songs);
+        playlist.getSongList();
+
+        MPDSong moved = createSong(1, 12);
+        List<String> response = new ArrayList<>();
+        response.add("changes");
+        when(commandExecutor.sendCommand(realPlaylistProperties.getChanges(), 5)).thenReturn(response);
+        when(songConverter.convertResponseToSong(response)).thenReturn(Collections.singletonList(moved));
+
+        assertEquals(Arrays.asList(songs.get(0), moved), playlist.getSongList());
+        verify(commandExecutor, times(1)).sendCommand(realPlaylistProperties.getInfo());
+    }
+
+    @Test
+    public void testGetSongListRetriesWhenQueueChanges() throws Exception {
+        when(serverStatus.getStatus()).thenReturn(status(5, 1), status(6, 1), status(6, 1), status(6, 1));
+        List<MPDSong> songs = Collections.singletonList(createSong(0, 10));
+        stubResponse(realPlaylistProperties.getInfo(), songs);
+
+        assertEquals(songs, playlist.getSongList());
+        verify(commandExecutor, times(2)).sendCommand(realPlaylistProperties.getInfo());
+    }
+
+    @Test
+    public void testGetSongListWithoutStatus() throws Exception {
+        when(serverStatus.getStatus()).thenReturn(new ArrayList<>());
+        List<MPDSong> songs = Collections.singletonList(createSong(0, 10));
+        stubResponse(realPlaylistProperties.getInfo(), songs);
+
+        playlist.getSongList();
+        playlist.getSongList();
+
+        verify(commandExecutor, times(2)).sendCommand(realPlaylistProperties.getInfo());
+    }
+
+    private void stubResponse(String command, List<MPDSong> songs) {
+        List<String> response = new ArrayList<>();
+        response.add(command);
+        when(commandExecutor.sendCommand(command)).thenReturn(response);
+        when(songConverter.convertResponseToSong(response)).thenReturn(songs);
+    }
+
+    private static List<String> status(int version, int length) {
+        return Arrays.asList("volume: 50", "playlist: " + version, "playlistlength: " + length, "state: play");
+    }
+
+    private static MPDSong createSong(int position, int id) {
+        MPDSong song = new MPDSong("file" + position, "song" + position);
+        song.setPosition(position);
+        song.setId(id);
+        return song;
+    }
+}
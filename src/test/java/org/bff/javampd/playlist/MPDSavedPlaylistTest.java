@@ -5,10 +5,13 @@ import org.bff.javampd.song.MPDSong;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 public class MPDSavedPlaylistTest {
     @Test
@@ -77,4 +80,74 @@ public class MPDSavedPlaylistTest {
 
         assertNotEquals(playlist1, playlist2);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSongsLoadedOnce() throws Exception {
+        List<MPDSong> songs = new ArrayList<>();
+        songs.add(new MPDSong("file1", "song1"));
+        int[] loads = new int[1];
+
+        MPDSavedPlaylist playlist = new MPDSavedPlaylist("playlist1", () -> {
+            loads[0]++;
+            return songs;
+        });
+
+        assertEquals(0, loads[0]);
+        assertEquals(songs, playlist.getSongs());
+        assertEquals(songs, playlist.getSongs());
+        assertEquals(1, loads[0]);
+    }
+
+    @Test
+    public void testSetSongsReplacesLoader() throws Exception {
+        List<MPDSong> songs = new ArrayList<>();
+        MPDSavedPlaylist playlist = new MPDSavedPlaylist("playlist1", () -> {
+            throw new AssertionError("songs should not be loaded");
+        });
+
+        playlist.setSongs(songs);
+        assertEquals(songs, playlist.getSongs());
+    }
+
+    @Test
+    public void testEqualsDifferentNameDoesNotLoadSongs() throws Exception {
+        MPDSavedPlaylist playlist1 = new MPDSavedPlaylist("playlist1", () -> {
+            throw new AssertionError("songs should not be loaded");
+        });
+        MPDSavedPlaylist playlist2 = new MPDSavedPlaylist("playlist2", () -> {
+            throw new AssertionError("songs should not be loaded");
+        });
+
+        assertNotEquals(playlist1, playlist2);
+    }
+
+    @Test
+    public void testLoadedEqualsUnloaded() throws Exception {
+        List<MPDSong> songs = new ArrayList<>();
+        songs.add(new MPDSong("file1", "song1"));
+
+        MPDSavedPlaylist loaded = new MPDSavedPlaylist("playlist1", () -> new ArrayList<>(songs));
+        MPDSavedPlaylist unloaded = new MPDSavedPlaylist("playlist1", () -> new ArrayList<>(songs));
+        loaded.getSongs();
+
+        assertEquals(loaded, unloaded);
+        assertEquals(unloaded, loaded);
+        assertEquals(loaded.hashCode(), unloaded.hashCode());
+
+        Set<MPDSavedPlaylist> playlists = new HashSet<>();
+        playlists.add(unloaded);
+        assertTrue(playlists.contains(loaded));
+    }
+
+    @Test
+    public void testHashCodeSameAfterLoading() throws Exception {
+        List<MPDSong> songs = new ArrayList<>();
+        songs.add(new MPDSong("file1", "song1"));
+
+        MPDSavedPlaylist playlist = new MPDSavedPlaylist("playlist1", () -> songs);
+        int hashCode = playlist.hashCode();
+        playlist.getSongs();
+
+        assertEquals(hashCode, playlist.hashCode());
+    }
+}
@@ -88,6 +88,11 @@ public class PlaylistPropertiesTest {
         assertEquals("swap", playlistProperties.getSwap());
     }
 
+    @Test
+    public void getFindAdd() throws Exception {
+        assertEquals("findadd", playlistProperties.getFindAdd());
+    }
+
     @Test
     public void getSwapId() throws Exception {
         assertEquals("swapid", playlistProperties.getSwapId());
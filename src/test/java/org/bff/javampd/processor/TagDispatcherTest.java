@@ -0,0 +1,67 @@
+package org.bff.javampd.processor;
+
+import org.bff.javampd.song.SongProcessor;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TagDispatcherTest {
+
+    @Test
+    public void testLookupEverySongProcessor() throws Exception {
+        for (SongProcessor songProcessor : SongProcessor.values()) {
+            SongTagResponseProcessor processor = songProcessor.getProcessor();
+            assertSame(processor, SongProcessor.lookup(processor.getPrefix() + " value"));
+        }
+    }
+
+    @Test
+    public void testLookupMatchesWholeKey() throws Exception {
+        assertSame(SongProcessor.ALBUM.getProcessor(), SongProcessor.lookup("Album: album"));
+        assertSame(SongProcessor.ALBUM_ARTIST.getProcessor(), SongProcessor.lookup("AlbumArtist: artist"));
+    }
+
+    @Test
+    public void testLookupValueWithColon() throws Exception {
+        assertSame(SongProcessor.TITLE.getProcessor(), SongProcessor.lookup("Title: Part 1: The Start"));
+    }
+
+    @Test
+    public void testLookupUnknownKey() throws Exception {
+        assertNull(SongProcessor.lookup("Last-Modified: 2016-01-01T00:00:00Z"));
+        assertNull(SongProcessor.lookup("title: lower case"));
+        assertNull(SongProcessor.lookup("Titles: not a tag"));
+    }
+
+    @Test
+    public void testLookupNoKey() throws Exception {
+        assertNull(SongProcessor.lookup("no key here"));
+        assertNull(SongProcessor.lookup(""));
+    }
+
+    @Test
+    public void testSingleProcessor() throws Exception {
+        TimeTagProcessor processor = new TimeTagProcessor();
+        TagDispatcher<TimeTagProcessor> dispatcher =
+                new TagDispatcher<>(new TimeTagProcessor[]{processor}, TimeTagProcessor::getPrefix);
+
+        assertSame(processor, dispatcher.lookup("Time: 5"));
+        assertNull(dispatcher.lookup("Track: 5"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPrefixWithoutColon() throws Exception {
+        new TagDispatcher<>(new String[]{"Artist"}, s -> s);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPrefixWithTwoColons() throws Exception {
+        new TagDispatcher<>(new String[]{"Art:ist:"}, s -> s);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicatePrefix() throws Exception {
+        new TagDispatcher<>(new String[]{"Artist:", "Artist:"}, s -> s);
+    }
+}
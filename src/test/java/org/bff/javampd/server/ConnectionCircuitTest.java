@@ -0,0 +1,170 @@
+package org.bff.javampd.server;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ConnectionCircuitTest {
+    private final AtomicInteger probes = new AtomicInteger();
+    private final List<ConnectionChangeEvent> events = new ArrayList<>();
+
+    @Test
+    public void testConnectedByDefault() throws Exception {
+        ConnectionCircuit circuit = new ConnectionCircuit(probes::incrementAndGet, 10, 100);
+
+        circuit.checkAvailable();
+        assertEquals(ConnectionState.CONNECTED, circuit.getState());
+    }
+
+    @Test
+    public void testConnectionLostOpensCircuit() throws Exception {
+        ConnectionCircuit circuit = new ConnectionCircuit(this::unreachable, 10000, 10000);
+        circuit.addConnectionChangeListener(events::add);
+
+        circuit.connectionLost();
+
+        assertEquals(ConnectionState.OPEN_CIRCUIT, circuit.getState());
+        assertEquals(1, events.size());
+        assertFalse(events.get(0).isConnected());
+        try {
+            circuit.checkAvailable();
+            fail("expected MPDConnectionException");
+        } catch (MPDConnectionException e) {
+            assertEquals(0, probes.get());
+        }
+        circuit.close();
+    }
+
+    @Test
+    public void testReconnectsInBackground() throws Exception {
+        ConnectionCircuit circuit = new ConnectionCircuit(probes::incrementAndGet, 10, 100);
+        List<ConnectionState> states = new CopyOnWriteArrayList<>();
+        circuit.addConnectionChangeListener(event -> states.add(event.getState()));
+
+        circuit.connectionLost();
+
+        await().until(() -> circuit.getState() == ConnectionState.CONNECTED);
+        circuit.checkAvailable();
+        assertEquals(1, probes.get());
+        await().until(() -> states.size() == 3);
+        assertEquals(ConnectionState.OPEN_CIRCUIT, states.get(0));
+        assertEquals(ConnectionState.RECONNECTING, states.get(1));
+        assertEquals(ConnectionState.CONNECTED, states.get(2));
+    }
+
+    @Test
+    public void testBlockedProbeDoesntHoldUpOtherCircuits() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ConnectionCircuit blocked = new ConnectionCircuit(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 10, 100);
+        ConnectionCircuit other = new ConnectionCircuit(probes::incrementAndGet, 10, 100);
+
+        try {
+            blocked.connectionLost();
+            await().until(() -> blocked.getState() == ConnectionState.RECONNECTING);
+            other.connectionLost();
+
+            await().atMost(2, TimeUnit.SECONDS).until(() -> other.getState() == ConnectionState.CONNECTED);
+            assertEquals(ConnectionState.RECONNECTING, blocked.getState());
+        } finally {
+            release.countDown();
+            blocked.close();
+            other.close();
+        }
+    }
+
+    @Test
+    public void testFailedAttemptReopensCircuit() throws Exception {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        doReturn(mock(ScheduledFuture.class)).when(scheduler).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+        ConnectionCircuit circuit = new ConnectionCircuit(this::unreachable, 10, 30, scheduler);
+        circuit.addConnectionChangeListener(events::add);
+
+        circuit.connectionLost();
+        runScheduledAttempt(scheduler, 1);
+
+        assertEquals(3, events.size());
+        assertEquals(ConnectionState.OPEN_CIRCUIT, events.get(0).getState());
+        assertEquals(ConnectionState.RECONNECTING, events.get(1).getState());
+        assertEquals(ConnectionState.OPEN_CIRCUIT, events.get(2).getState());
+    }
+
+    @Test
+    public void testBackoffDoublesUpToMax() throws Exception {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        doReturn(mock(ScheduledFuture.class)).when(scheduler).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+        ConnectionCircuit circuit = new ConnectionCircuit(this::unreachable, 10, 30, scheduler);
+
+        circuit.connectionLost();
+        for (int i = 0; i < 3; i++) {
+            runScheduledAttempt(scheduler, i + 1);
+            assertEquals(ConnectionState.OPEN_CIRCUIT, circuit.getState());
+        }
+
+        ArgumentCaptor<Long> delays = ArgumentCaptor.forClass(Long.class);
+        verify(scheduler, times(4)).schedule(any(Runnable.class), delays.capture(), eq(TimeUnit.MILLISECONDS));
+        assertBetween(5, 10, delays.getAllValues().get(0));
+        assertBetween(10, 20, delays.getAllValues().get(1));
+        assertBetween(15, 30, delays.getAllValues().get(2));
+        assertBetween(15, 30, delays.getAllValues().get(3));
+        assertEquals(3, probes.get());
+    }
+
+    @Test
+    public void testCloseStopsReconnecting() throws Exception {
+        ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+        doReturn(mock(ScheduledFuture.class)).when(scheduler).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+        ConnectionCircuit circuit = new ConnectionCircuit(probes::incrementAndGet, 10, 30, scheduler);
+
+        circuit.connectionLost();
+        circuit.close();
+        runScheduledAttempt(scheduler, 1);
+
+        assertEquals(0, probes.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidInitialDelay() throws Exception {
+        new ConnectionCircuit(probes::incrementAndGet, 0, 100);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxLessThanInitial() throws Exception {
+        new ConnectionCircuit(probes::incrementAndGet, 100, 10);
+    }
+
+    private void unreachable() {
+        probes.incrementAndGet();
+        throw new MPDConnectionException("unreachable");
+    }
+
+    private static void runScheduledAttempt(ScheduledExecutorService scheduler, int attempt) {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler, times(attempt)).schedule(task.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+        task.getAllValues().get(attempt - 1).run();
+    }
+
+    private static void assertBetween(long min, long max, long value) {
+        assertTrue(value + " should be between " + min + " and " + max, value >= min && value <= max);
+    }
+}
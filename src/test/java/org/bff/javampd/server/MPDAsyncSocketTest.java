@@ -0,0 +1,213 @@
+package org.bff.javampd.server;
+
+import org.bff.javampd.command.MPDCommand;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class MPDAsyncSocketTest {
+    private ServerSocket serverSocket;
+    private Socket clientSocket;
+    private MPDAsyncSocket asyncSocket;
+    private List<String> received;
+
+    @Before
+    public void setUp() throws Exception {
+        serverSocket = new ServerSocket(0);
+        received = new CopyOnWriteArrayList<>();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (asyncSocket != null) {
+            asyncSocket.close();
+        }
+        if (clientSocket != null) {
+            clientSocket.close();
+        }
+        serverSocket.close();
+    }
+
+    @Test
+    public void testGetVersion() throws Exception {
+        connect(0);
+        assertEquals("MPD 0.19.0", asyncSocket.getVersion());
+    }
+
+    @Test
+    public void testCommandsArePipelined() throws Exception {
+        connect(3, "volume: 10", "OK", "OK", "file: song.mp3", "Title: song", "OK");
+
+        CompletableFuture<List<String>> status = asyncSocket.sendCommand(new MPDCommand("status"));
+        CompletableFuture<List<String>> play = asyncSocket.sendCommand(new MPDCommand("play"));
+        CompletableFuture<List<String>> song = asyncSocket.sendCommand(new MPDCommand("currentsong"));
+
+        assertEquals(Arrays.asList("volume: 10"), status.get(5, TimeUnit.SECONDS));
+        assertEquals(new ArrayList<>(), play.get(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("file: song.mp3", "Title: song"), song.get(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("status", "play", "currentsong"), received);
+    }
+
+    @Test
+    public void testParamsAreQuoted() throws Exception {
+        connect(1, "OK");
+
+        asyncSocket.sendCommand(new MPDCommand("add", "some \"file\"")).get(5, TimeUnit.SECONDS);
+        assertEquals("add \"some \\\"file\\\"\"", received.get(0));
+    }
+
+    @Test
+    public void testErrorOnlyFailsItsCommand() throws Exception {
+        connect(2, "ACK [50@0] {play} No such song", "volume: 10", "OK");
+
+        CompletableFuture<List<String>> play = asyncSocket.sendCommand(new MPDCommand("play", "99"));
+        CompletableFuture<List<String>> status = asyncSocket.sendCommand(new MPDCommand("status"));
+
+        assertException(MPDResponseException.class, play);
+        assertEquals(Arrays.asList("volume: 10"), status.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCommandList() throws Exception {
+        connect(4, "volume: 10", "list_OK", "songs: 3", "list_OK", "OK");
+
+        CompletableFuture<List<List<String>>> responses = asyncSocket.sendCommandList(
+                Arrays.asList(new MPDCommand("status"), new MPDCommand("stats")));
+
+        assertEquals(Arrays.asList(Arrays.asList("volume: 10"), Arrays.asList("songs: 3")),
+                responses.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCommandListError() throws Exception {
+        connect(4, "volume: 10", "list_OK", "ACK [50@1] {play} No such song");
+
+        CompletableFuture<List<List<String>>> responses = asyncSocket.sendCommandList(
+                Arrays.asList(new MPDCommand("status"), new MPDCommand("play", "99")));
+
+        try {
+            responses.get(5, TimeUnit.SECONDS);
+            fail("expected MPDCommandListException");
+        } catch (ExecutionException e) {
+            MPDCommandListException listException = (MPDCommandListException) e.getCause();
+            assertEquals(1, listException.getCommandIndex());
+            assertEquals("play", listException.getCommand());
+            assertEquals(Arrays.asList(Arrays.asList("volume: 10")), listException.getResponses());
+        }
+    }
+
+    @Test
+    public void testCommandListFirstCommandError() throws Exception {
+        connect(4, "ACK [50@0] {play} No such song");
+
+        CompletableFuture<List<List<String>>> responses = asyncSocket.sendCommandList(
+                Arrays.asList(new MPDCommand("play", "99"), new MPDCommand("status")));
+
+        assertException(MPDCommandListException.class, responses);
+    }
+
+    @Test
+    public void testPermissionError() throws Exception {
+        connect(1, "ACK [4@0] {play} you don't have permission for \"play\"");
+
+        assertException(MPDSecurityException.class, asyncSocket.sendCommand(new MPDCommand("play")));
+    }
+
+    @Test
+    public void testServerClosingFailsPending() throws Exception {
+        connect(2, "OK");
+
+        CompletableFuture<List<String>> first = asyncSocket.sendCommand(new MPDCommand("status"));
+        CompletableFuture<List<String>> second = asyncSocket.sendCommand(new MPDCommand("status"));
+
+        first.get(5, TimeUnit.SECONDS);
+        assertException(MPDConnectionException.class, second);
+        assertTrue(asyncSocket.isClosed());
+    }
+
+    @Test
+    public void testCloseFailsPending() throws Exception {
+        connect(0);
+
+        CompletableFuture<List<String>> future = asyncSocket.sendCommand(new MPDCommand("idle"));
+        asyncSocket.close();
+
+        assertException(MPDConnectionException.class, future);
+    }
+
+    @Test
+    public void testSendAfterClose() throws Exception {
+        connect(0);
+        asyncSocket.close();
+
+        assertException(MPDConnectionException.class, asyncSocket.sendCommand(new MPDCommand("status")));
+    }
+
+    @Test(expected = MPDConnectionException.class)
+    public void testBadVersion() throws Exception {
+        startServer("NOT MPD", 0);
+        asyncSocket = new MPDAsyncSocket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), 5000);
+    }
+
+    private void connect(int commands, String... responses) throws Exception {
+        startServer("OK MPD 0.19.0", commands, responses);
+        asyncSocket = new MPDAsyncSocket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), 5000);
+    }
+
+    /**
+     * Answers only after all the expected commands have been read so the test fails if the client
+     * waits for a response before writing the next command.  Closes the connection after responding.
+     */
+    private void startServer(String greeting, int commands, String... responses) {
+        Thread thread = new Thread(() -> {
+            try {
+                clientSocket = serverSocket.accept();
+                PrintWriter writer = new PrintWriter(clientSocket.getOutputStream(), true);
+                BufferedReader reader = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
+                writer.print(greeting + "\n");
+                writer.flush();
+
+                for (int i = 0; i < commands; i++) {
+                    received.add(reader.readLine());
+                }
+
+                for (String response : responses) {
+                    writer.print(response + "\n");
+                }
+                writer.flush();
+
+                if (commands > 0) {
+                    clientSocket.close();
+                }
+            } catch (IOException e) {
+                // test has finished
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void assertException(Class<? extends Exception> expected, CompletableFuture<?> future)
+            throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("expected " + expected.getSimpleName());
+        } catch (ExecutionException e) {
+            assertEquals(expected, e.getCause().getClass());
+        }
+    }
+}
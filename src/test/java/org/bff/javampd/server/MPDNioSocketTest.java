@@ -0,0 +1,221 @@
+package org.bff.javampd.server;
+
+import org.bff.javampd.command.MPDCommand;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.*;
+
+public class MPDNioSocketTest {
+    private MPDEventLoopGroup eventLoopGroup;
+    private ServerSocket serverSocket;
+    private Socket clientSocket;
+    private MPDNioSocket nioSocket;
+    private List<String> received;
+
+    @Before
+    public void setUp() throws Exception {
+        eventLoopGroup = new MPDEventLoopGroup(1);
+        serverSocket = new ServerSocket(0);
+        received = new CopyOnWriteArrayList<>();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (nioSocket != null) {
+            nioSocket.close();
+        }
+        if (clientSocket != null) {
+            clientSocket.close();
+        }
+        serverSocket.close();
+        eventLoopGroup.close();
+    }
+
+    @Test
+    public void testGetVersion() throws Exception {
+        connect(0);
+        assertEquals("MPD 0.19.0", nioSocket.getVersion());
+    }
+
+    @Test
+    public void testCommandsArePipelined() throws Exception {
+        connect(3, "volume: 10", "OK", "OK", "file: song.mp3", "Title: song", "OK");
+
+        CompletableFuture<List<String>> status = nioSocket.sendCommand(new MPDCommand("status"));
+        CompletableFuture<List<String>> play = nioSocket.sendCommand(new MPDCommand("play"));
+        CompletableFuture<List<String>> song = nioSocket.sendCommand(new MPDCommand("currentsong"));
+
+        assertEquals(Collections.singletonList("volume: 10"), status.get(5, TimeUnit.SECONDS));
+        assertEquals(new ArrayList<>(), play.get(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("file: song.mp3", "Title: song"), song.get(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("status", "play", "currentsong"), received);
+    }
+
+    @Test
+    public void testCommandList() throws Exception {
+        connect(4, "list_OK", "list_OK", "OK");
+
+        List<MPDCommand> commands = Arrays.asList(new MPDCommand("add", "song1"), new MPDCommand("add", "song2"));
+
+        assertEquals(Arrays.asList("list_OK", "list_OK"), nioSocket.sendCommands(commands).get(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("command_list_ok_begin", "add \"song1\"", "add \"song2\"", "command_list_end"),
+                received);
+    }
+
+    @Test
+    public void testLongResponse() throws Exception {
+        StringBuilder longValue = new StringBuilder("file: ");
+        for (int i = 0; i < 20000; i++) {
+            longValue.append('a');
+        }
+        connect(1, longValue.toString(), "Title: über", "OK");
+
+        List<String> response = nioSocket.sendCommand(new MPDCommand("currentsong")).get(5, TimeUnit.SECONDS);
+        assertEquals(longValue.toString(), response.get(0));
+        assertEquals("Title: über", response.get(1));
+    }
+
+    @Test
+    public void testErrorOnlyFailsItsCommand() throws Exception {
+        connect(2, "ACK [50@0] {play} No such song", "volume: 10", "OK");
+
+        CompletableFuture<List<String>> play = nioSocket.sendCommand(new MPDCommand("play", "99"));
+        CompletableFuture<List<String>> status = nioSocket.sendCommand(new MPDCommand("status"));
+
+        assertException(MPDResponseException.class, play);
+        assertEquals(Collections.singletonList("volume: 10"), status.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testPermissionError() throws Exception {
+        connect(1, "ACK [4@0] {play} you don't have permission for \"play\"");
+
+        assertException(MPDSecurityException.class, nioSocket.sendCommand(new MPDCommand("play")));
+    }
+
+    @Test
+    public void testServerClosingFailsPending() throws Exception {
+        connect(2, "OK");
+
+        CompletableFuture<List<String>> first = nioSocket.sendCommand(new MPDCommand("status"));
+        CompletableFuture<List<String>> second = nioSocket.sendCommand(new MPDCommand("status"));
+
+        first.get(5, TimeUnit.SECONDS);
+        assertException(MPDConnectionException.class, second);
+        assertTrue(nioSocket.isClosed());
+    }
+
+    @Test
+    public void testCloseFailsPending() throws Exception {
+        connect(0);
+
+        CompletableFuture<List<String>> future = nioSocket.sendCommand(new MPDCommand("idle"));
+        nioSocket.close();
+
+        assertException(MPDConnectionException.class, future);
+    }
+
+    @Test
+    public void testSendAfterClose() throws Exception {
+        connect(0);
+        nioSocket.close();
+
+        assertException(MPDConnectionException.class, nioSocket.sendCommand(new MPDCommand("status")));
+    }
+
+    @Test
+    public void testClosingGroupFailsConnections() throws Exception {
+        connect(0);
+
+        CompletableFuture<List<String>> future = nioSocket.sendCommand(new MPDCommand("idle"));
+        eventLoopGroup.close();
+
+        assertException(MPDConnectionException.class, future);
+        await().until(() -> nioSocket.isClosed());
+    }
+
+    @Test(expected = MPDConnectionException.class)
+    public void testBadVersion() throws Exception {
+        startServer("NOT MPD", 0);
+        nioSocket = new MPDNioSocket(eventLoopGroup, InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), 5000);
+    }
+
+    @Test(expected = MPDConnectionException.class)
+    public void testConnectTimeout() throws Exception {
+        nioSocket = new MPDNioSocket(eventLoopGroup, InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), 100);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGroupNeedsThreads() throws Exception {
+        new MPDEventLoopGroup(0);
+    }
+
+    @Test
+    public void testGroupThreadCount() throws Exception {
+        assertEquals(1, eventLoopGroup.getThreadCount());
+    }
+
+    private void connect(int commands, String... responses) throws Exception {
+        startServer("OK MPD 0.19.0", commands, responses);
+        nioSocket = new MPDNioSocket(eventLoopGroup, InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), 5000);
+    }
+
+    /**
+     * Answers only after all the expected commands have been read so the test fails if the client
+     * waits for a response before writing the next command.  Closes the connection after responding.
+     */
+    private void startServer(String greeting, int commands, String... responses) {
+        Thread thread = new Thread(() -> {
+            try {
+                clientSocket = serverSocket.accept();
+                OutputStream outputStream = clientSocket.getOutputStream();
+                BufferedReader reader = new BufferedReader(new InputStreamReader(clientSocket.getInputStream(), "UTF-8"));
+                outputStream.write((greeting + "\n").getBytes("UTF-8"));
+                outputStream.flush();
+
+                for (int i = 0; i < commands; i++) {
+                    received.add(reader.readLine());
+                }
+
+                for (String response : responses) {
+                    outputStream.write((response + "\n").getBytes("UTF-8"));
+                }
+                outputStream.flush();
+
+                if (commands > 0) {
+                    clientSocket.close();
+                }
+            } catch (IOException e) {
+                // test has finished
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void assertException(Class<? extends Exception> expected, CompletableFuture<?> future)
+            throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("expected " + expected.getSimpleName());
+        } catch (ExecutionException e) {
+            assertEquals(expected, e.getCause().getClass());
+        }
+    }
+}
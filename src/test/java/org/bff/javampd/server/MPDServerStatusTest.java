@@ -9,10 +9,10 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.times;
@@ -37,11 +37,9 @@ public class MPDServerStatusTest {
     @Before
     public void setUp() throws Exception {
         statusList = new ArrayList<>();
-        when(clock.min()).thenReturn(LocalDateTime.MIN);
         serverStatus = new MPDServerStatus(properties, commandExecutor, clock);
 
         when(properties.getStats()).thenReturn(new ServerProperties().getStatus());
-        when(clock.now()).thenReturn(LocalDateTime.now());
     }
 
     @Test
@@ -326,7 +324,7 @@ public class MPDServerStatusTest {
         statusList.add("random: " + random);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
         serverStatus.isRandom();
-        when(clock.now()).thenReturn(LocalDateTime.now().plusMinutes(5));
+        when(clock.nanoTime()).thenReturn(TimeUnit.MINUTES.toNanos(5));
         serverStatus.isRandom();
         Mockito.verify(commandExecutor, times(2)).sendCommand(properties.getStatus());
     }
@@ -339,7 +337,7 @@ public class MPDServerStatusTest {
         statusList.add("random: " + random);
         when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
         serverStatus.isRandom();
-        when(clock.now()).thenReturn(LocalDateTime.now().plusMinutes(interval * 2));
+        when(clock.nanoTime()).thenReturn(TimeUnit.MINUTES.toNanos(interval * 2));
         serverStatus.isRandom();
         Mockito.verify(commandExecutor, times(2)).sendCommand(properties.getStatus());
     }
@@ -370,4 +368,41 @@ public class MPDServerStatusTest {
 
         assertEquals(status.size(), statusList.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetStatusSnapshot() {
+        statusList.add("volume: 5");
+        statusList.add("state: play");
+        when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
+
+        StatusSnapshot snapshot = serverStatus.getStatusSnapshot();
+
+        assertSame(snapshot, serverStatus.getStatusSnapshot());
+        assertEquals(5, snapshot.getVolume());
+        assertEquals("play", serverStatus.getState());
+        Mockito.verify(commandExecutor, times(1)).sendCommand(properties.getStatus());
+    }
+
+    @Test
+    public void testGetStatusPublishesSnapshot() {
+        statusList.add("volume: 5");
+        when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
+
+        serverStatus.getStatus();
+
+        assertEquals(5, serverStatus.getVolume());
+        Mockito.verify(commandExecutor, times(1)).sendCommand(properties.getStatus());
+    }
+
+    @Test
+    public void testNoExpiry() {
+        serverStatus.setExpiryInterval(0);
+        statusList.add("volume: 5");
+        when(commandExecutor.sendCommand(properties.getStatus())).thenReturn(statusList);
+
+        serverStatus.getVolume();
+        serverStatus.getVolume();
+
+        Mockito.verify(commandExecutor, times(2)).sendCommand(properties.getStatus());
+    }
+}
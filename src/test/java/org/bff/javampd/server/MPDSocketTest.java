@@ -7,12 +7,20 @@ import org.mockito.ArgumentCaptor;
 import java.io.*;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.SocketAddress;
 import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
 
@@ -23,7 +31,7 @@ public class MPDSocketTest {
     private Socket mockSocket;
     private InputStream mockedInputStream;
     private OutputStream mockedOutputStream;
-    private BufferedReader mockedBufferedReader;
+    private ResponseReader mockedReader;
     private static final String VERSION_RESPONSE = "OK MPD 0.18.0";
 
     private ArgumentCaptor<byte[]> byteArgumentCaptor;
@@ -57,12 +65,12 @@ public class MPDSocketTest {
     @Test(expected = MPDConnectionException.class)
     public void testSocketCreationWithBadResponse() throws Exception {
         mockSocket = mock(Socket.class);
-        mockedBufferedReader = mock(BufferedReader.class);
+        mockedReader = mock(ResponseReader.class);
 
         mockedInputStream = new ByteArrayInputStream("NOTOK MPD 0.18.0".getBytes());
         when(mockSocket.getInputStream()).thenReturn(mockedInputStream);
 
-        when(mockedBufferedReader.readLine()).thenReturn("Bad");
+        when(mockedReader.readLine()).thenReturn("Bad");
         InetAddress inetAddress = InetAddress.getByName("localhost");
         socket = new TestSocket(inetAddress, 9999, 10);
     }
@@ -75,10 +83,9 @@ public class MPDSocketTest {
         List<String> responseList = new ArrayList<>();
         responseList.add(testResponse);
 
-        when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
+        when(mockedReader.readLine())
                 .thenReturn(testResponse)
-                .thenReturn(null);
+                .thenReturn("OK");
 
         MPDCommand command = new MPDCommand("command");
 
@@ -90,12 +97,8 @@ public class MPDSocketTest {
     public void testSendCommandOKButNoResponse() throws Exception {
         createValidSocket();
 
-        when(mockedBufferedReader.readLine())
-                .thenReturn(null)
-                .thenReturn("OK")
-                .thenReturn(null)
-                .thenReturn("OK")
-                .thenReturn(null);
+        when(mockedReader.readLine())
+                .thenReturn("OK");
 
         MPDCommand command = new MPDCommand("command");
 
@@ -111,12 +114,11 @@ public class MPDSocketTest {
         mockedInputStream = new ByteArrayInputStream(VERSION_RESPONSE.getBytes());
         when(mockSocket.getInputStream()).thenReturn(mockedInputStream);
 
-        when(mockedBufferedReader.readLine())
-                .thenReturn(VERSION_RESPONSE)
+        when(mockedReader.readLine())
                 .thenThrow(new SocketException())
                 .thenReturn(VERSION_RESPONSE)
                 .thenReturn(testResponse)
-                .thenReturn(null);
+                .thenReturn("OK");
 
         MPDCommand command = new MPDCommand("command");
 
@@ -132,10 +134,9 @@ public class MPDSocketTest {
         List<String> responseList = new ArrayList<>();
         responseList.add(testResponse);
 
-        when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
+        when(mockedReader.readLine())
                 .thenReturn(testResponse)
-                .thenReturn(null);
+                .thenReturn("OK");
 
         socket.sendCommand(new MPDCommand("command", "params"));
     }
@@ -144,8 +145,7 @@ public class MPDSocketTest {
     public void testSendCommandsSecurityException() throws Exception {
         createValidSocket();
 
-        when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
+        when(mockedReader.readLine())
                 .thenThrow(new MPDSecurityException("security exception"));
 
         List<MPDCommand> commands = new ArrayList<>();
@@ -158,8 +158,7 @@ public class MPDSocketTest {
     public void testSendCommandsException() throws Exception {
         createValidSocket();
 
-        when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
+        when(mockedReader.readLine())
                 .thenThrow(new RuntimeException("exception"));
 
         List<MPDCommand> commands = new ArrayList<>();
@@ -168,7 +167,7 @@ public class MPDSocketTest {
         socket.sendCommands(commands);
     }
 
-    @Test(expected = MPDConnectionException.class)
+    @Test(expected = MPDResponseException.class)
     public void testSendCommandError() throws Exception {
         String testResponse = "ACK: error";
         createValidSocket();
@@ -176,10 +175,9 @@ public class MPDSocketTest {
         List<String> responseList = new ArrayList<>();
         responseList.add(testResponse);
 
-        when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
+        when(mockedReader.readLine())
                 .thenReturn(testResponse)
-                .thenReturn(null);
+                .thenReturn("OK");
 
         socket.sendCommand(new MPDCommand("command", "params"));
     }
@@ -194,10 +192,9 @@ public class MPDSocketTest {
         List<String> responseList = new ArrayList<>();
         responseList.add(testResponse);
 
-        when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
+        when(mockedReader.readLine())
                 .thenReturn(testResponse)
-                .thenReturn(null);
+                .thenReturn("OK");
 
         socket.sendCommand(new MPDCommand("command", "params"));
     }
@@ -210,10 +207,10 @@ public class MPDSocketTest {
         List<String> responseList = new ArrayList<>();
         responseList.add(testResponse);
 
-        when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
+        when(mockedReader.readLine())
+                .thenReturn(VERSION_RESPONSE)
                 .thenReturn(testResponse)
-                .thenReturn(null);
+                .thenReturn("OK");
 
         when(mockSocket.isClosed()).thenReturn(true);
 
@@ -232,10 +229,10 @@ public class MPDSocketTest {
         List<String> responseList = new ArrayList<>();
         responseList.add(testResponse);
 
-        when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
+        when(mockedReader.readLine())
+                .thenReturn(VERSION_RESPONSE)
                 .thenReturn(testResponse)
-                .thenReturn(null);
+                .thenReturn("OK");
 
         socket.sendCommand(new MPDCommand("command", "params"));
     }
@@ -248,10 +245,9 @@ public class MPDSocketTest {
         List<String> responseList = new ArrayList<>();
         responseList.add(testResponse);
 
-        when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
+        when(mockedReader.readLine())
                 .thenReturn(testResponse)
-                .thenReturn(null);
+                .thenReturn("OK");
 
         socket.sendCommand(new MPDCommand("command", "params"));
     }
@@ -260,7 +256,7 @@ public class MPDSocketTest {
     public void testSendCommandGeneralException() throws Exception {
         createValidSocket();
 
-        when(mockedBufferedReader.readLine())
+        when(mockedReader.readLine())
                 .thenThrow(new RuntimeException());
 
         socket.sendCommand(new MPDCommand("command", "params"));
@@ -270,8 +266,7 @@ public class MPDSocketTest {
     public void testSendCommandException() throws Exception {
         createValidSocket();
 
-        when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
+        when(mockedReader.readLine())
                 .thenThrow(new RuntimeException());
 
         socket.sendCommand(new MPDCommand("command", "param"));
@@ -286,8 +281,7 @@ public class MPDSocketTest {
                 .thenThrow(new SocketException())
                 .thenReturn(mockedInputStream);
 
-        when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
+        when(mockedReader.readLine())
                 .thenThrow(new SocketException())
                 .thenReturn("OK");
 
@@ -297,8 +291,7 @@ public class MPDSocketTest {
     @Test(expected = MPDConnectionException.class)
     public void testSendCommandExceptionWithMaxConnectExceptions() throws Exception {
         createValidSocket();
-        when(mockedBufferedReader.readLine())
-                .thenReturn("OK")
+        when(mockedReader.readLine())
                 .thenThrow(new SocketException())
                 .thenThrow(new SocketException())
                 .thenThrow(new SocketException())
@@ -309,14 +302,114 @@ public class MPDSocketTest {
         socket.sendCommand(new MPDCommand("command"));
     }
 
+    @Test
+    public void testSendCommandForValues() throws Exception {
+        createValidSocket();
+        useResponse("directory: music\n" +
+                "file: first.mp3\n" +
+                "Last-Modified: 2016-01-01T00:00:00Z\n" +
+                "playlist: list\n" +
+                "file: second.mp3\n" +
+                "OK\n");
+
+        List<String> values = socket.sendCommandForValues(new MPDCommand("lsinfo"), "file:", "playlist:");
+
+        assertEquals(Arrays.asList("first.mp3", "list", "second.mp3"), values);
+    }
+
+    @Test
+    public void testSendCommandForValuesNoMatches() throws Exception {
+        createValidSocket();
+        useResponse("directory: music\nOK\n");
+
+        assertTrue(socket.sendCommandForValues(new MPDCommand("lsinfo"), "file:").isEmpty());
+    }
+
+    @Test(expected = MPDSecurityException.class)
+    public void testSendCommandForValuesSecurityException() throws Exception {
+        createValidSocket();
+        useResponse("ACK [4@0] {lsinfo} you don't have permission for \"lsinfo\"\n");
+
+        socket.sendCommandForValues(new MPDCommand("lsinfo"), "file:");
+    }
+
+    @Test(expected = MPDResponseException.class)
+    public void testSendCommandForValuesError() throws Exception {
+        createValidSocket();
+        useResponse("ACK [50@0] {lsinfo} No such directory\n");
+
+        socket.sendCommandForValues(new MPDCommand("lsinfo", "bogus"), "file:");
+    }
+
+    @Test
+    public void testStreamCommand() throws Exception {
+        createValidSocket();
+        useResponse("file: first.mp3\nTitle: first\nOK\n");
+
+        List<String> lines = new ArrayList<>();
+        socket.streamCommand(new MPDCommand("find", "artist", "first"), lines::add);
+
+        assertEquals(Arrays.asList("file: first.mp3", "Title: first"), lines);
+    }
+
+    @Test
+    public void testStreamCommandConsumerExceptionReadsRestOfResponse() throws Exception {
+        createValidSocket();
+        useResponse("file: first.mp3\nTitle: first\nOK\nvolume: 10\nOK\n");
+
+        IllegalStateException exception = new IllegalStateException();
+        try {
+            socket.streamCommand(new MPDCommand("listallinfo"), line -> {
+                throw exception;
+            });
+            fail("consumer exception should have been rethrown");
+        } catch (IllegalStateException e) {
+            assertSame(exception, e);
+        }
+
+        assertEquals(Arrays.asList("volume: 10"), socket.sendCommand(new MPDCommand("status")));
+    }
+
+    @Test
+    public void testStreamCommandConsumerCannotSend() throws Exception {
+        createValidSocket();
+        useResponse("file: first.mp3\nfile: second.mp3\nOK\nvolume: 10\nOK\n");
+
+        List<String> lines = new ArrayList<>();
+        try {
+            socket.streamCommand(new MPDCommand("listallinfo"), line -> {
+                lines.add(line);
+                socket.sendCommand(new MPDCommand("add", line));
+            });
+            fail("sending from the consumer should have been refused");
+        } catch (IllegalStateException e) {
+            assertEquals(Arrays.asList("file: first.mp3"), lines);
+        }
+
+        assertEquals("listallinfo\n", mockedOutputStream.toString());
+        assertEquals(Arrays.asList("volume: 10"), socket.sendCommand(new MPDCommand("status")));
+    }
+
+    @Test
+    public void testStreamCommandNotRetriedPartWay() throws Exception {
+        createValidSocket();
+        useResponse("file: first.mp3\n");
+
+        List<String> lines = new ArrayList<>();
+        try {
+            socket.streamCommand(new MPDCommand("listallinfo"), lines::add);
+            fail("connection loss should have been reported");
+        } catch (MPDConnectionException e) {
+            assertEquals(Arrays.asList("file: first.mp3"), lines);
+        }
+    }
+
     @Test
     public void testSendCommands() throws Exception {
         createValidSocket();
 
-        when(mockedBufferedReader.readLine())
-                .thenReturn(null)
-                .thenReturn("OK")
-                .thenReturn(null);
+        when(mockedReader.readLine())
+                .thenReturn("OK");
 
         List<MPDCommand> commands = new ArrayList<>();
 
@@ -338,21 +431,21 @@ public class MPDSocketTest {
         commands.forEach(command -> sb.append(convertCommand(command)));
         sb.append(convertCommand(new MPDCommand(serverProperties.getEndBulk())));
 
-        verify(mockedOutputStream, times(2)).write(byteArgumentCaptor.capture());
+        verify(mockedOutputStream).write(byteArgumentCaptor.capture());
 
-        assertTrue(Arrays.equals(sb.toString().getBytes(), byteArgumentCaptor.getAllValues().get(1)));
+        assertTrue(Arrays.equals(sb.toString().getBytes(), byteArgumentCaptor.getValue()));
     }
 
     @Test
     public void testSendCommandsExtraResponses() throws Exception {
         createValidSocket();
 
-        when(mockedBufferedReader.readLine())
+        when(mockedReader.readLine())
                 .thenReturn("OK")
                 .thenReturn("OK")
                 .thenReturn("unexpected");
 
-        when(mockedBufferedReader.ready())
+        when(mockedReader.ready())
                 .thenReturn(true)
                 .thenReturn(false);
 
@@ -376,21 +469,18 @@ public class MPDSocketTest {
         commands.forEach(command -> sb.append(convertCommand(command)));
         sb.append(convertCommand(new MPDCommand(serverProperties.getEndBulk())));
 
-        verify(mockedOutputStream, times(2)).write(byteArgumentCaptor.capture());
+        verify(mockedOutputStream).write(byteArgumentCaptor.capture());
 
-        assertTrue(Arrays.equals(sb.toString().getBytes(), byteArgumentCaptor.getAllValues().get(1)));
+        assertTrue(Arrays.equals(sb.toString().getBytes(), byteArgumentCaptor.getValue()));
     }
 
     @Test
     public void testSendCommandsWithError() throws Exception {
         createValidSocket();
 
-        when(mockedBufferedReader.readLine())
-                .thenReturn(null)
+        when(mockedReader.readLine())
                 .thenReturn("OK")
-                .thenReturn(null)
-                .thenReturn("Error")
-                .thenReturn(null);
+                .thenReturn("Error");
 
         List<MPDCommand> commands = new ArrayList<>();
 
@@ -412,9 +502,324 @@ public class MPDSocketTest {
         commands.forEach(command -> sb.append(convertCommand(command)));
         sb.append(convertCommand(new MPDCommand(serverProperties.getEndBulk())));
 
-        verify(mockedOutputStream, times(2)).write(byteArgumentCaptor.capture());
+        verify(mockedOutputStream).write(byteArgumentCaptor.capture());
+
+        assertTrue(Arrays.equals(sb.toString().getBytes(), byteArgumentCaptor.getValue()));
+    }
+
+    @Test
+    public void testSendCommandList() throws Exception {
+        createValidSocket();
+        useResponse("volume: 50\nstate: play\nlist_OK\nlist_OK\nsongs: 3\nlist_OK\nOK\n");
+
+        List<List<String>> responses = socket.sendCommandList(Arrays.asList(
+                new MPDCommand("status"), new MPDCommand("play"), new MPDCommand("stats")));
+
+        assertEquals(3, responses.size());
+        assertEquals(Arrays.asList("volume: 50", "state: play"), responses.get(0));
+        assertTrue(responses.get(1).isEmpty());
+        assertEquals(Arrays.asList("songs: 3"), responses.get(2));
+    }
 
-        assertTrue(Arrays.equals(sb.toString().getBytes(), byteArgumentCaptor.getAllValues().get(1)));
+    @Test
+    public void testSendCommandListError() throws Exception {
+        createValidSocket();
+        useResponse("volume: 50\nlist_OK\nACK [50@1] {play} No such song\n");
+
+        try {
+            socket.sendCommandList(Arrays.asList(new MPDCommand("status"), new MPDCommand("play", "99")));
+            fail("expected MPDCommandListException");
+        } catch (MPDCommandListException e) {
+            assertEquals(1, e.getCommandIndex());
+            assertEquals("play", e.getCommand());
+            assertEquals(Arrays.asList(Arrays.asList("volume: 50")), e.getResponses());
+        }
+    }
+
+    @Test(expected = MPDSecurityException.class)
+    public void testSendCommandListSecurityException() throws Exception {
+        createValidSocket();
+        useResponse("ACK [4@0] {status} you don't have permission for \"status\"\n");
+
+        socket.sendCommandList(Arrays.asList(new MPDCommand("status")));
+    }
+
+    @Test
+    public void testSendCommandListSecurityExceptionPartWay() throws Exception {
+        createValidSocket();
+        useResponse("volume: 50\nlist_OK\nACK [4@1] {add} you don't have permission for \"add\"\n");
+
+        try {
+            socket.sendCommandList(Arrays.asList(new MPDCommand("status"), new MPDCommand("add", "song.mp3")));
+            fail("expected MPDCommandListSecurityException");
+        } catch (MPDCommandListSecurityException e) {
+            assertEquals(1, e.getCommandIndex());
+            assertEquals("add", e.getCommand());
+            assertEquals(Arrays.asList(Arrays.asList("volume: 50")), e.getResponses());
+        }
+    }
+
+    @Test
+    public void testSendCommandsReadsWholeResponse() throws Exception {
+        createValidSocket();
+        useResponse("list_OK\nlist_OK\nOK\nvolume: 50\nOK\n");
+
+        socket.sendCommands(Arrays.asList(new MPDCommand("play"), new MPDCommand("pause")));
+
+        assertEquals(Arrays.asList("volume: 50"), socket.sendCommand(new MPDCommand("status")));
+    }
+
+    @Test
+    public void testSendCommandWithTimeout() throws Exception {
+        createValidSocket();
+        useResponse("volume: 50\nOK\n");
+
+        assertEquals(Arrays.asList("volume: 50"), socket.sendCommand(new MPDCommand("status"), Duration.ofSeconds(5)));
+
+        ArgumentCaptor<Integer> timeouts = ArgumentCaptor.forClass(Integer.class);
+        verify(mockSocket, atLeastOnce()).setSoTimeout(timeouts.capture());
+        List<Integer> values = timeouts.getAllValues();
+        assertTrue(values.get(values.size() - 2) > 0);
+        assertEquals(0, (int) values.get(values.size() - 1));
+    }
+
+    @Test
+    public void testSendCommandTimesOut() throws Exception {
+        createValidSocket();
+        when(mockedReader.readLine()).thenThrow(new SocketTimeoutException("Read timed out"));
+
+        try {
+            socket.sendCommand(new MPDCommand("status"), Duration.ofMillis(100));
+            fail("expected MPDTimeoutException");
+        } catch (MPDTimeoutException e) {
+            verify(mockSocket).close();
+            verify(mockedReader, times(2)).readLine();
+        }
+    }
+
+    @Test
+    public void testReconnectUsesTimeout() throws Exception {
+        createValidSocket();
+        when(mockedReader.readLine())
+                .thenThrow(new IOException("connection reset"))
+                .thenReturn(VERSION_RESPONSE)
+                .thenReturn("OK");
+
+        socket.sendCommand(new MPDCommand("status"));
+
+        verify(mockSocket, times(2)).connect(any(SocketAddress.class), eq(10));
+    }
+
+    @Test
+    public void testOpenCircuitFailsFast() throws Exception {
+        createValidSocket();
+        ConnectionCircuit circuit = new ConnectionCircuit(() -> {
+            throw new MPDConnectionException("unreachable");
+        }, 10000, 10000);
+        circuit.connectionLost();
+        socket.setConnectionCircuit(circuit);
+
+        try {
+            socket.sendCommand(new MPDCommand("status"));
+            fail("expected MPDConnectionException");
+        } catch (MPDConnectionException e) {
+            assertEquals(0, ((ByteArrayOutputStream) mockedOutputStream).size());
+        } finally {
+            circuit.close();
+        }
+    }
+
+    @Test
+    public void testFailedReconnectOpensCircuit() throws Exception {
+        createValidSocket();
+        ConnectionCircuit circuit = new ConnectionCircuit(() -> {
+            throw new MPDConnectionException("unreachable");
+        }, 10000, 10000);
+        socket.setConnectionCircuit(circuit);
+        when(mockedReader.readLine()).thenThrow(new IOException("connection reset"));
+        doThrow(new IOException("connection refused")).when(mockSocket).connect(any(SocketAddress.class), anyInt());
+
+        try {
+            socket.sendCommand(new MPDCommand("status"));
+            fail("expected MPDConnectionException");
+        } catch (MPDConnectionException e) {
+            assertEquals(ConnectionState.OPEN_CIRCUIT, circuit.getState());
+        } finally {
+            circuit.close();
+        }
+    }
+
+    @Test
+    public void testNoPingBeforeCommand() throws Exception {
+        createValidSocket();
+        when(mockedReader.readLine()).thenReturn("OK");
+
+        socket.sendCommand(new MPDCommand("command"));
+
+        assertEquals("command\n", mockedOutputStream.toString());
+    }
+
+    @Test
+    public void testPingAfterIdle() throws Exception {
+        String testResponse = "testResponse";
+        createValidSocket();
+        socket.setPingIdleTime(1);
+        Thread.sleep(5);
+
+        when(mockedReader.readLine())
+                .thenReturn("OK")
+                .thenReturn(testResponse)
+                .thenReturn("OK");
+
+        List<String> response = new ArrayList<>(socket.sendCommand(new MPDCommand("command")));
+
+        assertEquals(testResponse, response.get(0));
+        assertEquals(new ServerProperties().getPing() + "\ncommand\n", mockedOutputStream.toString());
+    }
+
+    @Test
+    public void testReconnectWhenServerClosesConnection() throws Exception {
+        String testResponse = "testResponse";
+        createValidSocket();
+
+        mockedInputStream = new ByteArrayInputStream(VERSION_RESPONSE.getBytes());
+        when(mockSocket.getInputStream()).thenReturn(mockedInputStream);
+
+        when(mockedReader.readLine())
+                .thenReturn(null)
+                .thenReturn(VERSION_RESPONSE)
+                .thenReturn(testResponse)
+                .thenReturn("OK");
+
+        List<String> response = new ArrayList<>(socket.sendCommand(new MPDCommand("command")));
+        assertEquals(testResponse, response.get(0));
+        assertEquals("command\ncommand\n", mockedOutputStream.toString());
+    }
+
+    @Test
+    public void testKeepAlive() throws Exception {
+        createValidSocket();
+        when(mockedReader.readLine()).thenReturn("OK");
+
+        socket.startKeepAlive(1);
+
+        await().until(() -> mockedOutputStream.toString().startsWith(new ServerProperties().getPing()));
+        verify(mockSocket, never()).close();
+        socket.close();
+    }
+
+    @Test
+    public void testKeepAliveFailureDropsConnection() throws Exception {
+        createValidSocket();
+        when(mockedReader.readLine()).thenReturn("ACK");
+
+        socket.startKeepAlive(1);
+
+        verify(mockSocket, timeout(1000).atLeastOnce()).close();
+        socket.close();
+    }
+
+    @Test
+    public void testKeepAliveUnansweredPingDropsConnection() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            CountDownLatch dropped = new CountDownLatch(1);
+            Thread server = new Thread(() -> {
+                try (Socket client = serverSocket.accept()) {
+                    client.getOutputStream().write((VERSION_RESPONSE + "\n").getBytes(StandardCharsets.UTF_8));
+                    InputStream in = client.getInputStream();
+                    while (in.read() != -1) {
+                        // swallow the ping without answering
+                    }
+                    dropped.countDown();
+                } catch (IOException e) {
+                    dropped.countDown();
+                }
+            });
+            server.setDaemon(true);
+            server.start();
+
+            MPDSocket unanswered = new MPDSocket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), 200);
+            try {
+                unanswered.startKeepAlive(50);
+                assertTrue(dropped.await(5, TimeUnit.SECONDS));
+            } finally {
+                unanswered.close();
+            }
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testSendCommandTimeoutBoundsTrickledResponse() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            Thread server = new Thread(() -> {
+                try (Socket client = serverSocket.accept()) {
+                    OutputStream out = client.getOutputStream();
+                    out.write((VERSION_RESPONSE + "\n").getBytes(StandardCharsets.UTF_8));
+                    new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8)).readLine();
+                    while (true) {
+                        out.write("file: song\n".getBytes(StandardCharsets.UTF_8));
+                        out.flush();
+                        Thread.sleep(50);
+                    }
+                } catch (IOException | InterruptedException e) {
+                    // the client dropped the connection
+                }
+            });
+            server.setDaemon(true);
+            server.start();
+
+            MPDSocket trickled = new MPDSocket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), 10000);
+            long start = System.nanoTime();
+            try {
+                trickled.sendCommand(new MPDCommand("playlistinfo"), Duration.ofMillis(300));
+                fail("a response that never finishes should time out");
+            } catch (MPDTimeoutException e) {
+                assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+            } finally {
+                trickled.close();
+            }
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testSendCommandTimeoutBoundsReconnect() throws Exception {
+        try (ServerSocket serverSocket = new ServerSocket(0)) {
+            CountDownLatch done = new CountDownLatch(1);
+            Thread server = new Thread(() -> {
+                try (Socket first = serverSocket.accept()) {
+                    first.getOutputStream().write((VERSION_RESPONSE + "\n").getBytes(StandardCharsets.UTF_8));
+                    new BufferedReader(new InputStreamReader(first.getInputStream(), StandardCharsets.UTF_8)).readLine();
+                } catch (IOException e) {
+                    return;
+                }
+                try (Socket second = serverSocket.accept()) {
+                    // accept the reconnect without ever sending the version
+                    done.await();
+                } catch (IOException | InterruptedException e) {
+                    // the test finished
+                }
+            });
+            server.setDaemon(true);
+            server.start();
+
+            MPDSocket reconnecting = new MPDSocket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort(), 10000);
+            long start = System.nanoTime();
+            try {
+                reconnecting.sendCommand(new MPDCommand("status"), Duration.ofMillis(300));
+                fail("a reconnect that never finishes should time out");
+            } catch (MPDTimeoutException e) {
+                assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+            } finally {
+                done.countDown();
+                reconnecting.close();
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testKeepAliveInvalidInterval() throws Exception {
+        createValidSocket();
+        socket.startKeepAlive(0);
     }
 
     @Test
@@ -441,7 +846,7 @@ public class MPDSocketTest {
     public void testCloseReaderException() throws Exception {
         createValidSocket();
 
-        doThrow(new IOException()).when(mockedBufferedReader).close();
+        doThrow(new IOException()).when(mockedReader).close();
         socket.close();
     }
 
@@ -451,11 +856,17 @@ public class MPDSocketTest {
         socket.close();
     }
 
+    @Test
+    public void testConvertCommandEscapesQuotesAndBackslashes() {
+        assertEquals("find \"(title == 'a \\\\'b\\\\\\\\c\\\" d')\"\n",
+                MPDSocket.convertCommand("find", Arrays.asList("(title == 'a \\'b\\\\c\" d')")));
+    }
+
     private String convertCommand(MPDCommand command) {
         StringBuilder sb = new StringBuilder(command.getCommand());
 
         for (String param : command.getParams()) {
-            param = param.replaceAll("\"", "\\\\\"");
+            param = param.replace("\\", "\\\\").replace("\"", "\\\"");
             sb.append(" \"").append(param).append("\"");
         }
 
@@ -470,7 +881,7 @@ public class MPDSocketTest {
         mockSocket = mock(Socket.class);
         mockedInputStream = new ByteArrayInputStream(VERSION_RESPONSE.getBytes());
         mockedOutputStream = new ByteArrayOutputStream();
-        mockedBufferedReader = mock(BufferedReader.class);
+        mockedReader = mock(ResponseReader.class);
         byteArgumentCaptor = ArgumentCaptor.forClass(byte[].class);
 
         when(mockSocket.getInputStream()).thenReturn(mockedInputStream);
@@ -479,18 +890,24 @@ public class MPDSocketTest {
         InetAddress inetAddress = InetAddress.getByName("localhost");
 
         try {
-            when(mockedBufferedReader.readLine()).thenReturn(VERSION_RESPONSE);
+            when(mockedReader.readLine()).thenReturn(VERSION_RESPONSE);
         } catch (IOException e) {
             e.printStackTrace();
         }
 
         socket = new TestSocket(inetAddress, 9999, 10);
-        socket.setReader(mockedBufferedReader);
+        socket.setReader(mockedReader);
         if (connected) {
             when(mockSocket.isConnected()).thenReturn(true);
         }
     }
 
+    private void useResponse(String response) {
+        mockedReader = new ResponseReader(new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8);
+        socket.setReader(mockedReader);
+    }
+
     private class TestSocket extends MPDSocket {
         public TestSocket(InetAddress server, int port, int timeout) {
             super(server, port, timeout);
@@ -501,8 +918,8 @@ public class MPDSocketTest {
             return mockSocket;
         }
 
-        public void setReader(BufferedReader reader) {
-            super.setReader(mockedBufferedReader);
+        public void setReader(ResponseReader reader) {
+            super.setReader(mockedReader);
         }
 
         public Socket createParentSocket() {
@@ -1,6 +1,12 @@
 package org.bff.javampd.server;
 
+import org.bff.javampd.command.ConnectionPoolSettings;
 import org.bff.javampd.command.MPDCommandExecutor;
+import org.bff.javampd.database.LibraryIndex;
+import org.bff.javampd.monitor.EventDispatcher;
+import org.bff.javampd.monitor.MonitorScheduler;
+import org.bff.javampd.monitor.MonitorType;
+import org.bff.javampd.monitor.StandAloneMonitor;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
@@ -11,8 +17,10 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import java.net.InetAddress;
 import java.util.ArrayList;
+import java.util.concurrent.Executor;
 
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -24,6 +32,15 @@ public class MPDTest {
     @Mock
     private ServerProperties serverProperties;
 
+    @Mock
+    private LibraryIndex libraryIndex;
+
+    @Mock
+    private StandAloneMonitor standAloneMonitor;
+
+    @Mock
+    private EventDispatcher eventDispatcher;
+
     @InjectMocks
     private MPD.Builder mpdBuilder;
 
@@ -119,6 +136,132 @@ public class MPDTest {
         MPD mpd = mpdBuilder.password(password).build();
     }
 
+    @Test
+    public void testConnectionPool() throws Exception {
+        ArgumentCaptor<ConnectionPoolSettings> captor = ArgumentCaptor.forClass(ConnectionPoolSettings.class);
+
+        mpdBuilder.poolSize(1, 4)
+                .poolIdleTimeout(1000)
+                .poolBorrowTimeout(500)
+                .build();
+
+        verify(mpdCommandExecutor).useConnectionPool(captor.capture());
+        assertEquals(1, captor.getValue().getMinSize());
+        assertEquals(4, captor.getValue().getMaxSize());
+        assertEquals(1000, captor.getValue().getIdleTimeout());
+        assertEquals(500, captor.getValue().getBorrowTimeout());
+    }
+
+    @Test
+    public void testEventLoopGroup() throws Exception {
+        MPDEventLoopGroup eventLoopGroup = mock(MPDEventLoopGroup.class);
+        mpdBuilder.eventLoopGroup(eventLoopGroup).build();
+
+        verify(mpdCommandExecutor).useEventLoopGroup(eventLoopGroup);
+    }
+
+    @Test
+    public void testReconnectBackoff() throws Exception {
+        mpdBuilder.reconnectBackoff(100, 30000).build();
+
+        verify(mpdCommandExecutor).useReconnectBackoff(100, 30000);
+    }
+
+    @Test
+    public void testConnectionEventsPassedToMonitor() throws Exception {
+        mpdBuilder.reconnectBackoff(100, 30000).build();
+
+        verify(mpdCommandExecutor).addConnectionChangeListener(any(ConnectionChangeListener.class));
+    }
+
+    @Test
+    public void testCommandTimeout() throws Exception {
+        mpdBuilder.commandTimeout(2000).maxQueuedCommands(8).build();
+
+        verify(mpdCommandExecutor).setCommandTimeout(2000);
+        verify(mpdCommandExecutor).setMaxQueuedCommands(8);
+    }
+
+    @Test
+    public void testCommandBatching() throws Exception {
+        mpdBuilder.commandBatching(2, 16).build();
+
+        verify(mpdCommandExecutor).useCommandBatching(2, 16);
+    }
+
+    @Test
+    public void testNoCommandBatchingByDefault() throws Exception {
+        mpdBuilder.build();
+        verify(mpdCommandExecutor, never()).useCommandBatching(anyInt(), anyInt());
+    }
+
+    @Test
+    public void testPriorityLanes() throws Exception {
+        mpdBuilder.priorityLanes(true).build();
+
+        verify(mpdCommandExecutor).usePriorityLanes();
+    }
+
+    @Test
+    public void testNoPriorityLanesByDefault() throws Exception {
+        mpdBuilder.build();
+        verify(mpdCommandExecutor, never()).usePriorityLanes();
+    }
+
+    @Test
+    public void testMonitorScheduler() throws Exception {
+        MonitorScheduler monitorScheduler = mock(MonitorScheduler.class);
+        mpdBuilder.monitorScheduler(monitorScheduler)
+                .monitorPeriod(MonitorType.TRACK, 250, MonitorScheduler.Mode.FIXED_RATE)
+                .build();
+
+        verify(standAloneMonitor).setMonitorScheduler(monitorScheduler);
+        verify(standAloneMonitor).setMonitorPeriod(MonitorType.TRACK, 250, MonitorScheduler.Mode.FIXED_RATE);
+    }
+
+    @Test
+    public void testNoMonitorSchedulerByDefault() throws Exception {
+        mpdBuilder.build();
+        verify(standAloneMonitor, never()).setMonitorScheduler(any(MonitorScheduler.class));
+    }
+
+    @Test
+    public void testListenerExecutor() throws Exception {
+        Executor executor = mock(Executor.class);
+        mpdBuilder.listenerExecutor(executor, 10, EventDispatcher.OverflowPolicy.COALESCE).build();
+
+        verify(eventDispatcher).useExecutor(executor, 10, EventDispatcher.OverflowPolicy.COALESCE);
+    }
+
+    @Test
+    public void testListenersOnMonitorThreadByDefault() throws Exception {
+        mpdBuilder.build();
+        verify(eventDispatcher, never()).useExecutor(any(Executor.class), anyInt(), any(EventDispatcher.OverflowPolicy.class));
+    }
+
+    @Test
+    public void testNoConnectionPoolByDefault() throws Exception {
+        mpdBuilder.build();
+        verify(mpdCommandExecutor, never()).useConnectionPool(any(ConnectionPoolSettings.class));
+    }
+
+    @Test
+    public void testLibraryIndex() throws Exception {
+        mpdBuilder.libraryIndex(true).build();
+        verify(libraryIndex).setEnabled(true);
+    }
+
+    @Test
+    public void testNoLibraryIndexByDefault() throws Exception {
+        mpdBuilder.build();
+        verify(libraryIndex, never()).setEnabled(true);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPoolSize() throws Exception {
+        mpdBuilder.poolSize(4, 1).build();
+    }
+
     @Test
     public void testGetPort() throws Exception {
         int port = 666;
@@ -164,6 +307,34 @@ public class MPDTest {
         assertEquals(0, mpd.getTimeout());
     }
 
+    @Test
+    public void testGetPingIdleTime() throws Exception {
+        MPD mpd = mpdBuilder.pingIdleTime(1000).build();
+
+        assertEquals(1000, mpd.getPingIdleTime());
+    }
+
+    @Test
+    public void testGetDefaultPingIdleTime() throws Exception {
+        MPD mpd = mpdBuilder.build();
+
+        assertEquals(30000, mpd.getPingIdleTime());
+    }
+
+    @Test
+    public void testGetKeepAliveInterval() throws Exception {
+        MPD mpd = mpdBuilder.keepAlive(20000).build();
+
+        assertEquals(20000, mpd.getKeepAliveInterval());
+    }
+
+    @Test
+    public void testGetDefaultKeepAliveInterval() throws Exception {
+        MPD mpd = mpdBuilder.build();
+
+        assertEquals(0, mpd.getKeepAliveInterval());
+    }
+
     @Test
     public void testGetPlayer() throws Exception {
         MPD mpd = mpdBuilder.build();
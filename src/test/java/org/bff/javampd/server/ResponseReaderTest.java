@@ -0,0 +1,153 @@
+package org.bff.javampd.server;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class ResponseReaderTest {
+
+    @Test
+    public void testReadLine() throws Exception {
+        ResponseReader reader = createReader("file: song.mp3\nTitle: song\nOK\n");
+
+        assertEquals("file: song.mp3", reader.readLine());
+        assertEquals("Title: song", reader.readLine());
+        assertEquals("OK", reader.readLine());
+        assertNull(reader.readLine());
+    }
+
+    @Test
+    public void testReadLineUnterminated() throws Exception {
+        ResponseReader reader = createReader("OK\nfile: song.mp3");
+
+        assertEquals("OK", reader.readLine());
+        assertEquals("file: song.mp3", reader.readLine());
+        assertNull(reader.readLine());
+    }
+
+    @Test
+    public void testReadLineDecodesUtf8() throws Exception {
+        ResponseReader reader = createReader("Artist: Sigur Rós\nTitle: 日本\nOK\n");
+
+        assertEquals("Artist: Sigur Rós", reader.readLine());
+        assertEquals("Title: 日本", reader.readLine());
+    }
+
+    @Test
+    public void testEmptyLine() throws Exception {
+        ResponseReader reader = createReader("\nOK\n");
+
+        assertEquals("", reader.readLine());
+        assertEquals("OK", reader.readLine());
+    }
+
+    @Test
+    public void testLineStartsWith() throws Exception {
+        ResponseReader reader = createReader("file: song.mp3\nfi\n");
+
+        assertTrue(reader.nextLine());
+        assertTrue(reader.lineStartsWith(bytes("file:")));
+        assertFalse(reader.lineStartsWith(bytes("Title:")));
+
+        assertTrue(reader.nextLine());
+        assertFalse(reader.lineStartsWith(bytes("file:")));
+        assertFalse(reader.nextLine());
+    }
+
+    @Test
+    public void testLineEquals() throws Exception {
+        ResponseReader reader = createReader("OK\nOK MPD 0.19.0\n");
+
+        assertTrue(reader.nextLine());
+        assertTrue(reader.lineEquals(bytes("OK")));
+
+        assertTrue(reader.nextLine());
+        assertFalse(reader.lineEquals(bytes("OK")));
+    }
+
+    @Test
+    public void testGetValue() throws Exception {
+        ResponseReader reader = createReader("Artist:  Sigur Rós \nArtist:\n");
+
+        assertTrue(reader.nextLine());
+        assertEquals("Sigur Rós", reader.getValue("Artist:".length()));
+        assertEquals("Artist:  Sigur Rós ", reader.getLine());
+
+        assertTrue(reader.nextLine());
+        assertEquals("", reader.getValue("Artist:".length()));
+    }
+
+    @Test
+    public void testLinesLongerThanBuffer() throws Exception {
+        StringBuilder sb = new StringBuilder("file: ");
+        for (int i = 0; i < 100; i++) {
+            sb.append("dir").append(i).append('/');
+        }
+        String longLine = sb.toString();
+
+        ResponseReader reader = new ResponseReader(
+                new ByteArrayInputStream((longLine + "\nOK\n").getBytes(StandardCharsets.UTF_8)),
+                StandardCharsets.UTF_8, 16);
+
+        assertEquals(longLine, reader.readLine());
+        assertEquals("OK", reader.readLine());
+        assertNull(reader.readLine());
+    }
+
+    @Test
+    public void testLinesSplitAcrossReads() throws Exception {
+        ResponseReader reader = new ResponseReader(
+                new TrickleInputStream(bytes("file: song.mp3\nTitle: song\nOK\n")),
+                StandardCharsets.UTF_8, 8);
+
+        assertEquals("file: song.mp3", reader.readLine());
+        assertEquals("Title: song", reader.readLine());
+        assertEquals("OK", reader.readLine());
+        assertNull(reader.readLine());
+    }
+
+    @Test
+    public void testReady() throws Exception {
+        ResponseReader reader = createReader("OK\nlist_OK\n");
+
+        assertTrue(reader.ready());
+        reader.readLine();
+        assertTrue(reader.ready());
+        reader.readLine();
+        assertFalse(reader.ready());
+    }
+
+    private static ResponseReader createReader(String response) {
+        return new ResponseReader(new ByteArrayInputStream(bytes(response)), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Hands out at most 3 bytes per read like a slow network
+     */
+    private static class TrickleInputStream extends InputStream {
+        private final ByteArrayInputStream delegate;
+
+        TrickleInputStream(byte[] bytes) {
+            this.delegate = new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public int read() throws IOException {
+            return delegate.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return delegate.read(b, off, Math.min(len, 3));
+        }
+    }
+}
@@ -4,6 +4,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class ServerPropertiesTest {
     private ServerProperties serverProperties;
@@ -33,6 +35,11 @@ public class ServerPropertiesTest {
         assertEquals("ping", serverProperties.getPing());
     }
 
+    @Test
+    public void getIdle() throws Exception {
+        assertEquals("idle", serverProperties.getIdle());
+    }
+
     @Test
     public void getPassword() throws Exception {
         assertEquals("password", serverProperties.getPassword());
@@ -53,6 +60,13 @@ public class ServerPropertiesTest {
         assertEquals("command_list_end", serverProperties.getEndBulk());
     }
 
+    @Test
+    public void getBulkReads() throws Exception {
+        assertTrue(serverProperties.getBulkReads().contains("listallinfo"));
+        assertTrue(serverProperties.getBulkReads().contains("lsinfo"));
+        assertFalse(serverProperties.getBulkReads().contains("pause"));
+    }
+
     @Test
     public void getEncoding() throws Exception {
         assertEquals("UTF-8", serverProperties.getEncoding());
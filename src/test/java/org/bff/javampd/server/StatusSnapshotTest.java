@@ -0,0 +1,103 @@
+package org.bff.javampd.server;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class StatusSnapshotTest {
+
+    @Test
+    public void testParse() {
+        StatusSnapshot snapshot = StatusSnapshot.parse(Arrays.asList(
+                "volume: 75",
+                "repeat: 1",
+                "random: 0",
+                "playlist: 12",
+                "playlistlength: 30",
+                "mixrampdb: 0.000000",
+                "state: play",
+                "song: 4",
+                "songid: 27",
+                "time: 95:240",
+                "elapsed: 95.320",
+                "bitrate: 320",
+                "xfade: 2",
+                "audio: 44100:24:2",
+                "updating_db: 3"));
+
+        assertEquals(75, snapshot.getVolume());
+        assertTrue(snapshot.isRepeat());
+        assertFalse(snapshot.isRandom());
+        assertEquals(12, snapshot.getPlaylistVersion());
+        assertEquals(30, snapshot.getPlaylistLength());
+        assertEquals("play", snapshot.getState());
+        assertEquals(4, snapshot.getCurrentSong());
+        assertEquals(27, snapshot.getCurrentSongId());
+        assertEquals(95, snapshot.getElapsedTime());
+        assertEquals(240, snapshot.getTotalTime());
+        assertEquals(320, snapshot.getBitrate());
+        assertEquals(2, snapshot.getXFade());
+        assertEquals("44100:24:2", snapshot.getAudio());
+        assertTrue(snapshot.isDatabaseUpdating());
+        assertFalse(snapshot.isError());
+    }
+
+    @Test
+    public void testElapsedMillis() throws Exception {
+        StatusSnapshot snapshot = StatusSnapshot.parse(Arrays.asList(
+                "time: 95:240", "elapsed: 95.320", "duration: 240.115"));
+
+        assertEquals(95320, snapshot.getElapsedMillis());
+        assertEquals(240115, snapshot.getDurationMillis());
+    }
+
+    @Test
+    public void testElapsedMillisFromTime() throws Exception {
+        StatusSnapshot snapshot = StatusSnapshot.parse(Collections.singletonList("time: 95:240"));
+
+        assertEquals(95000, snapshot.getElapsedMillis());
+        assertEquals(240000, snapshot.getDurationMillis());
+    }
+
+    @Test
+    public void testMissing() {
+        StatusSnapshot snapshot = StatusSnapshot.parse(Collections.singletonList("state: stop"));
+
+        assertEquals("", snapshot.get(Status.VOLUME));
+        assertFalse(snapshot.contains(Status.VOLUME));
+        assertTrue(snapshot.contains(Status.STATE));
+        assertEquals(0, snapshot.getVolume());
+        assertEquals(-1, snapshot.getCurrentSong());
+        assertEquals(-1, snapshot.getCurrentSongId());
+        assertEquals(0, snapshot.getElapsedTime());
+        assertFalse(snapshot.isDatabaseUpdating());
+    }
+
+    @Test
+    public void testError() {
+        StatusSnapshot snapshot = StatusSnapshot.parse(Collections.singletonList("error: problem"));
+
+        assertTrue(snapshot.isError());
+        assertEquals("problem", snapshot.getError());
+    }
+
+    @Test
+    public void testInvalidNumbers() {
+        StatusSnapshot snapshot = StatusSnapshot.parse(Arrays.asList("volume: junk", "time: 5:junk"));
+
+        assertEquals(0, snapshot.getVolume());
+        assertEquals(5, snapshot.getElapsedTime());
+        assertEquals(0, snapshot.getTotalTime());
+    }
+
+    @Test
+    public void testUnknownAndMalformedLinesIgnored() {
+        StatusSnapshot snapshot = StatusSnapshot.parse(Arrays.asList("unknown", ":", "nextsong: 5", "volume:50"));
+
+        assertEquals(50, snapshot.getVolume());
+        assertFalse(snapshot.contains(Status.UNKNOWN));
+    }
+}
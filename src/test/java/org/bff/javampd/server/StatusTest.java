@@ -10,4 +10,18 @@ public class StatusTest {
         assertEquals(Status.UNKNOWN, Status.lookupStatus("junk"));
     }
 
+    @Test
+    public void lookupNewerStatus() throws Exception {
+        assertEquals(Status.UNKNOWN, Status.lookupStatus("mixrampdb: 0.000000"));
+    }
+
+    @Test
+    public void lookupStatus() throws Exception {
+        for (Status status : Status.values()) {
+            if (status != Status.UNKNOWN) {
+                assertEquals(status, Status.lookupStatus(status.getStatusPrefix() + " 1"));
+            }
+        }
+    }
+
 }
\ No newline at end of file
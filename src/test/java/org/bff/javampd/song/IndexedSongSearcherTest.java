@@ -0,0 +1,119 @@
+package org.bff.javampd.song;
+
+import org.bff.javampd.database.LibraryIndex;
+import org.bff.javampd.database.TagLister;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class IndexedSongSearcherTest {
+
+    @Mock
+    private MPDSongSearcher mpdSongSearcher;
+    @Mock
+    private LibraryIndex libraryIndex;
+
+    @InjectMocks
+    private IndexedSongSearcher songSearcher;
+
+    private final List<MPDSong> songs = Arrays.asList(new MPDSong("1", "one"), new MPDSong("2", "two"), new MPDSong("3", "three"));
+
+    @Test
+    public void testFindIndexed() throws Exception {
+        when(libraryIndex.isEnabled()).thenReturn(true);
+        when(libraryIndex.getSongs(TagLister.ListType.ARTIST, "artist")).thenReturn(songs);
+
+        assertEquals(songs, songSearcher.find(SongSearcher.ScopeType.ARTIST, "artist"));
+        verifyZeroInteractions(mpdSongSearcher);
+    }
+
+    @Test
+    public void testFindWindowIndexed() throws Exception {
+        when(libraryIndex.isEnabled()).thenReturn(true);
+        when(libraryIndex.getSongs(TagLister.ListType.GENRE, "genre")).thenReturn(songs);
+
+        assertEquals(songs.subList(1, 3), songSearcher.find(SongSearcher.ScopeType.GENRE, "genre", 1, 5));
+        assertEquals(Collections.emptyList(), songSearcher.find(SongSearcher.ScopeType.GENRE, "genre", 4, 5));
+    }
+
+    @Test
+    public void testFindConsumerIndexed() throws Exception {
+        when(libraryIndex.isEnabled()).thenReturn(true);
+        when(libraryIndex.getSongs(TagLister.ListType.DATE, "1990")).thenReturn(songs);
+
+        List<MPDSong> found = new ArrayList<>();
+        songSearcher.find(SongSearcher.ScopeType.DATE, "1990", found::add);
+
+        assertEquals(songs, found);
+    }
+
+    @Test
+    public void testFindUnindexedScope() throws Exception {
+        when(libraryIndex.isEnabled()).thenReturn(true);
+        songSearcher.find(SongSearcher.ScopeType.TITLE, "title");
+
+        verify(mpdSongSearcher).find(SongSearcher.ScopeType.TITLE, "title");
+        verify(libraryIndex, never()).getSongs(any(), any());
+    }
+
+    @Test
+    public void testFindDisabled() throws Exception {
+        songSearcher.find(SongSearcher.ScopeType.ALBUM, "album");
+
+        verify(mpdSongSearcher).find(SongSearcher.ScopeType.ALBUM, "album");
+        verify(libraryIndex, never()).getSongs(any(), any());
+    }
+
+    @Test
+    public void testSearchNotIndexed() throws Exception {
+        when(libraryIndex.isEnabled()).thenReturn(true);
+        songSearcher.search(SongSearcher.ScopeType.ALBUM, "album");
+
+        verify(mpdSongSearcher).search(SongSearcher.ScopeType.ALBUM, "album");
+    }
+
+    @Test
+    public void testQueryNotIndexed() throws Exception {
+        when(libraryIndex.isEnabled()).thenReturn(true);
+        SongQuery query = new SongQuery.Builder(SongFilter.equalTo(SongSearcher.ScopeType.ALBUM, "album")).build();
+
+        songSearcher.find(query);
+        songSearcher.search(query);
+
+        verify(mpdSongSearcher).find(query);
+        verify(mpdSongSearcher).search(query);
+        verify(libraryIndex, never()).getSongs(any(), any());
+    }
+
+    @Test
+    public void testListAllSongsIndexed() throws Exception {
+        when(libraryIndex.isEnabled()).thenReturn(true);
+        when(libraryIndex.getSongs()).thenReturn(songs);
+
+        List<MPDSong> found = new ArrayList<>();
+        songSearcher.listAllSongs(found::add);
+
+        assertEquals(songs, found);
+        verify(mpdSongSearcher, never()).listAllSongs(any());
+    }
+
+    @Test
+    public void testListAllSongsDisabled() throws Exception {
+        songSearcher.listAllSongs(song -> {
+        });
+
+        verify(mpdSongSearcher).listAllSongs(any());
+    }
+}
@@ -123,6 +123,37 @@ public class MPDSongConverterTest {
         }
     }
 
+    @Test
+    public void testSongParserHandsOnSongsAsTheyEnd() {
+        List<MPDSong> parsed = new ArrayList<>();
+        SongResponseParser parser = converter.createSongParser(parsed::add);
+
+        List<String> response = createResponses();
+        int secondSong = response.indexOf(new FileTagProcessor().getPrefix() + FILE + 1);
+        response.subList(0, secondSong + 1).forEach(parser);
+        assertEquals(1, parsed.size());
+        assertEquals(FILE + 0, parsed.get(0).getFile());
+
+        response.subList(secondSong + 1, response.size()).forEach(parser);
+        parser.finish();
+        assertEquals(COUNT, parsed.size());
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals(songs.get(i).getFile(), parsed.get(i).getFile());
+            assertEquals(songs.get(i).getTitle(), parsed.get(i).getTitle());
+        }
+    }
+
+    @Test
+    public void testSongParserIgnoresLinesBeforeFirstSong() {
+        List<MPDSong> parsed = new ArrayList<>();
+        SongResponseParser parser = converter.createSongParser(parsed::add);
+        parser.accept("directory: music");
+        parser.accept(new TitleTagProcessor().getPrefix() + TITLE);
+        parser.finish();
+
+        assertEquals(0, parsed.size());
+    }
+
     private List<String> createResponses() {
         List<String> response = new ArrayList<>();
 
@@ -6,16 +6,19 @@ import org.bff.javampd.genre.MPDGenre;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
 public class MPDSongDatabaseTest {
@@ -132,32 +135,29 @@ public class MPDSongDatabaseTest {
         String testArtistName = "testArtistName";
         List<MPDSong> testSongs = generateSongs();
 
-        testSongs.get(0).setArtistName(testArtistName);
-        testSongs.get(2).setArtistName(testArtistName);
-
         MPDAlbum testAlbum = new MPDAlbum(testAlbumName, testArtistName);
         MPDArtist testArtist = new MPDArtist(testArtistName);
 
-        when(mockedSongSearcher.find(SongSearcher.ScopeType.ALBUM, testAlbumName))
+        when(mockedSongSearcher.find(any(SongQuery.class)))
                 .thenReturn(testSongs);
 
-        testSongsWithoutIndex1(testSongs, songDatabase.findAlbumByArtist(testArtist, testAlbum));
+        testSongs(testSongs, songDatabase.findAlbumByArtist(testArtist, testAlbum));
+        assertEquals("((album == 'testAlbumName') AND (artist == 'testArtistName'))",
+                captureFind().getFilter().getExpression());
     }
 
     @Test
     public void testFindAlbumByArtistByName() throws Exception {
         String testAlbumName = "testAlbumName";
         String testArtistName = "testArtistName";
-
         List<MPDSong> testSongs = generateSongs();
 
-        testSongs.get(0).setArtistName(testArtistName);
-        testSongs.get(2).setArtistName(testArtistName);
-
-        when(mockedSongSearcher.find(SongSearcher.ScopeType.ALBUM, testAlbumName))
+        when(mockedSongSearcher.find(any(SongQuery.class)))
                 .thenReturn(testSongs);
 
-        testSongsWithoutIndex1(testSongs, songDatabase.findAlbumByArtist(testArtistName, testAlbumName));
+        testSongs(testSongs, songDatabase.findAlbumByArtist(testArtistName, testAlbumName));
+        assertEquals("((album == 'testAlbumName') AND (artist == 'testArtistName'))",
+                captureFind().getFilter().getExpression());
     }
 
     @Test
@@ -169,13 +169,13 @@ public class MPDSongDatabaseTest {
         MPDGenre testGenre = new MPDGenre(testGenreName);
 
         List<MPDSong> testSongs = generateSongs();
-        testSongs.get(0).setGenre(testGenreName);
-        testSongs.get(2).setGenre(testGenreName);
 
-        when(mockedSongSearcher.find(SongSearcher.ScopeType.ALBUM, testAlbumName))
+        when(mockedSongSearcher.find(any(SongQuery.class)))
                 .thenReturn(testSongs);
 
-        testSongsWithoutIndex1(testSongs, songDatabase.findAlbumByGenre(testGenre, testAlbum));
+        testSongs(testSongs, songDatabase.findAlbumByGenre(testGenre, testAlbum));
+        assertEquals("((album == 'testAlbumName') AND (genre == 'testGenre'))",
+                captureFind().getFilter().getExpression());
     }
 
     @Test
@@ -183,14 +183,14 @@ public class MPDSongDatabaseTest {
         String testAlbumName = "testAlbumName";
         String testYear = "1990";
         List<MPDSong> testSongs = generateSongs();
-        testSongs.get(0).setYear(testYear);
-        testSongs.get(2).setYear(testYear);
         MPDAlbum testAlbum = new MPDAlbum(testAlbumName, "testArtist");
 
-        when(mockedSongSearcher.find(SongSearcher.ScopeType.ALBUM, testAlbumName))
+        when(mockedSongSearcher.find(any(SongQuery.class)))
                 .thenReturn(testSongs);
 
-        testSongsWithoutIndex1(testSongs, songDatabase.findAlbumByYear(testYear, testAlbum));
+        testSongs(testSongs, songDatabase.findAlbumByYear(testYear, testAlbum));
+        assertEquals("((album == 'testAlbumName') AND (date == '1990'))",
+                captureFind().getFilter().getExpression());
     }
 
     @Test
@@ -222,33 +222,24 @@ public class MPDSongDatabaseTest {
         String testArtistName = "testArtistName";
         List<MPDSong> testSongs = generateSongs();
 
-        testSongs.get(1).setAlbumName(testAlbumName);
-        testSongs.get(1).setArtistName(testArtistName);
-
-        when(mockedSongSearcher.find(SongSearcher.ScopeType.ALBUM, testAlbumName))
-                .thenReturn(testSongs);
+        when(mockedSongSearcher.find(any(SongQuery.class)))
+                .thenReturn(testSongs.subList(1, 2));
 
-        MPDSong song = songDatabase.findSong(testTitle, testAlbumName, testArtistName);
+        assertEquals(testSongs.get(1), songDatabase.findSong(testTitle, testAlbumName, testArtistName));
 
-        assertEquals(testSongs.get(1), song);
-        assertEquals(testSongs.get(1).getAlbumName(), song.getAlbumName());
-        assertEquals(testSongs.get(1).getArtistName(), song.getArtistName());
+        SongQuery query = captureFind();
+        assertEquals("((title == 'testTitle') AND (album == 'testAlbumName') AND (artist == 'testArtistName'))",
+                query.getFilter().getExpression());
+        assertEquals(0, query.getStart());
+        assertEquals(1, query.getEnd());
     }
 
     @Test
     public void testFindSongByAlbumAndArtistNotFound() throws Exception {
-        String testTitle = "testTitle";
-        String testAlbumName = "testAlbumName";
-        String testArtistName = "testArtistName";
-        List<MPDSong> testSongs = generateSongs();
-
-        testSongs.get(1).setAlbumName(testAlbumName);
-        testSongs.get(1).setArtistName(testArtistName + "bogus");
-
-        when(mockedSongSearcher.find(SongSearcher.ScopeType.ALBUM, testAlbumName))
-                .thenReturn(testSongs);
+        when(mockedSongSearcher.find(any(SongQuery.class)))
+                .thenReturn(new ArrayList<>());
 
-        assertNull(songDatabase.findSong(testTitle, testAlbumName, testArtistName));
+        assertNull(songDatabase.findSong("testTitle", "testAlbumName", "testArtistName"));
     }
 
     @Test
@@ -387,6 +378,18 @@ public class MPDSongDatabaseTest {
         testSongsWithoutIndex1(testSongs, songDatabase.searchTitle(testTitle, testStartYear, testEndYear));
     }
 
+    @Test
+    public void testSearchTitleByYearReversed() throws Exception {
+        assertTrue(songDatabase.searchTitle("testTitle", 1992, 1990).isEmpty());
+        verifyZeroInteractions(mockedSongSearcher);
+    }
+
+    private SongQuery captureFind() {
+        ArgumentCaptor<SongQuery> captor = ArgumentCaptor.forClass(SongQuery.class);
+        verify(mockedSongSearcher).find(captor.capture());
+        return captor.getValue();
+    }
+
     private void testSongsWithoutIndex1(List<MPDSong> testSongs, Collection<MPDSong> songList) {
         testSongs.remove(1);
         testSongs(testSongs, songList);
@@ -404,6 +407,33 @@ public class MPDSongDatabaseTest {
         }
     }
 
+    @Test
+    public void testListAllSongs() throws Exception {
+        Consumer<MPDSong> consumer = song -> {
+        };
+        songDatabase.listAllSongs(consumer);
+
+        verify(mockedSongSearcher).listAllSongs(consumer);
+    }
+
+    @Test
+    public void testFindArtistStreaming() throws Exception {
+        Consumer<MPDSong> consumer = song -> {
+        };
+        songDatabase.findArtist("testArtistName", consumer);
+
+        verify(mockedSongSearcher).find(SongSearcher.ScopeType.ARTIST, "testArtistName", consumer);
+    }
+
+    @Test
+    public void testFindGenreStreaming() throws Exception {
+        Consumer<MPDSong> consumer = song -> {
+        };
+        songDatabase.findGenre("testGenre", consumer);
+
+        verify(mockedSongSearcher).find(SongSearcher.ScopeType.GENRE, "testGenre", consumer);
+    }
+
     private List<MPDSong> generateSongs() {
         MPDSong mpdSong1 = new MPDSong("file1", "title1");
         MPDSong mpdSong2 = new MPDSong("file2", "title2");
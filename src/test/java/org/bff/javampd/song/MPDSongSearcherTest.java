@@ -1,6 +1,7 @@
 package org.bff.javampd.song;
 
 import org.bff.javampd.command.CommandExecutor;
+import org.bff.javampd.command.MPDCommand;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -11,8 +12,11 @@ import org.mockito.runners.MockitoJUnitRunner;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.*;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -183,12 +187,107 @@ public class MPDSongSearcherTest {
         assertEquals(testSongList.get(0), songList.get(0));
     }
 
+    @Test
+    public void testFindStreaming() throws Exception {
+        SongSearcher.ScopeType scopeType = SongSearcher.ScopeType.ARTIST;
+        streamResponse(new MPDCommand(searchProperties.getFind(), generateParams(scopeType, "artist")));
+
+        List<MPDSong> songs = new ArrayList<>();
+        songSearcher.find(scopeType, "artist", songs::add);
+
+        assertEquals(Arrays.asList(new MPDSong("song1.mp3", ""), new MPDSong("song2.mp3", "")), songs);
+    }
+
+    @Test
+    public void testSearchStreaming() throws Exception {
+        SongSearcher.ScopeType scopeType = SongSearcher.ScopeType.TITLE;
+        streamResponse(new MPDCommand(searchProperties.getSearch(), generateParams(scopeType, "song")));
+
+        List<MPDSong> songs = new ArrayList<>();
+        songSearcher.search(scopeType, "song", songs::add);
+
+        assertEquals(2, songs.size());
+    }
+
+    @Test
+    public void testFindQuery() throws Exception {
+        SongQuery query = new SongQuery.Builder(
+                SongFilter.and(
+                        SongFilter.equalTo(SongSearcher.ScopeType.ALBUM, "Greatest Hits"),
+                        SongFilter.equalTo(SongSearcher.ScopeType.ARTIST, "Queen")))
+                .build();
+
+        songSearcher.find(query);
+
+        verify(mockedCommandExecuter).sendCommand(commandArgumentCaptor.capture(), paramArgumentCaptor.capture());
+        assertEquals(searchProperties.getFind(), commandArgumentCaptor.getValue());
+        assertEquals(Arrays.asList("((album == 'Greatest Hits') AND (artist == 'Queen'))"),
+                paramArgumentCaptor.getAllValues());
+    }
+
+    @Test
+    public void testSearchQuerySortedWindowed() throws Exception {
+        SongQuery query = new SongQuery.Builder(SongFilter.contains(SongSearcher.ScopeType.TITLE, "love"))
+                .sortDescending(SongSearcher.ScopeType.DATE)
+                .window(10, 20)
+                .build();
+
+        songSearcher.search(query);
+
+        verify(mockedCommandExecuter).sendCommand(commandArgumentCaptor.capture(), paramArgumentCaptor.capture());
+        assertEquals(searchProperties.getSearch(), commandArgumentCaptor.getValue());
+        assertEquals(Arrays.asList("(title contains 'love')",
+                searchProperties.getSort(), "-date",
+                searchProperties.getWindow(), "10:20"),
+                paramArgumentCaptor.getAllValues());
+    }
+
+    @Test
+    public void testFindQueryStreaming() throws Exception {
+        SongQuery query = new SongQuery.Builder(SongFilter.equalTo(SongSearcher.ScopeType.GENRE, "Jazz"))
+                .sort(SongSearcher.ScopeType.TITLE)
+                .build();
+        streamResponse(new MPDCommand(searchProperties.getFind(), "(genre == 'Jazz')", searchProperties.getSort(), "title"));
+
+        List<MPDSong> songs = new ArrayList<>();
+        songSearcher.find(query, songs::add);
+
+        assertEquals(2, songs.size());
+    }
+
+    @Test
+    public void testListAllSongs() throws Exception {
+        streamResponse(new MPDCommand(searchProperties.getListAllInfo()));
+
+        List<MPDSong> songs = new ArrayList<>();
+        songSearcher.listAllSongs(songs::add);
+
+        assertEquals(2, songs.size());
+        assertEquals("song2.mp3", songs.get(1).getFile());
+        verify(mockedCommandExecuter, never()).sendCommand(any(MPDCommand.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamResponse(MPDCommand command) {
+        when(mockedSongConverter.createSongParser(any(Consumer.class)))
+                .thenAnswer(invocation -> new SongResponseParser((Consumer<MPDSong>) invocation.getArguments()[0]));
+        doAnswer(invocation -> {
+            Consumer<String> consumer = (Consumer<String>) invocation.getArguments()[1];
+            consumer.accept("directory: music");
+            consumer.accept("file: song1.mp3");
+            consumer.accept("Title: song1");
+            consumer.accept("file: song2.mp3");
+            consumer.accept("Title: song2");
+            return null;
+        }).when(mockedCommandExecuter).streamCommand(eq(command), any(Consumer.class));
+    }
+
     private String[] addWindowedParams(String[] params,
                                        int start,
                                        int end) {
         String[] paramList = Arrays.copyOf(params, params.length + 2);
         paramList[params.length] = searchProperties.getWindow();
-        paramList[params.length + 1] = start + "." + end;
+        paramList[params.length + 1] = start + ":" + end;
 
         return paramList;
     }
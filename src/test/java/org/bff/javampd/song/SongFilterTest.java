@@ -0,0 +1,81 @@
+package org.bff.javampd.song;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SongFilterTest {
+
+    @Test
+    public void testOperators() {
+        assertEquals("(artist == 'Queen')", SongFilter.equalTo(SongSearcher.ScopeType.ARTIST, "Queen").getExpression());
+        assertEquals("(artist != 'Queen')", SongFilter.notEqualTo(SongSearcher.ScopeType.ARTIST, "Queen").getExpression());
+        assertEquals("(title contains 'love')", SongFilter.contains(SongSearcher.ScopeType.TITLE, "love").getExpression());
+        assertEquals("(date =~ '^19')", SongFilter.matches(SongSearcher.ScopeType.DATE, "^19").getExpression());
+        assertEquals("(date !~ '^19')",
+                SongFilter.tag(SongSearcher.ScopeType.DATE, SongFilter.Operator.NOT_MATCHES, "^19").getExpression());
+    }
+
+    @Test
+    public void testFileName() {
+        assertEquals("(file == 'a/b.flac')", SongFilter.equalTo(SongSearcher.ScopeType.FILENAME, "a/b.flac").getExpression());
+    }
+
+    @Test
+    public void testModifiedSince() {
+        assertEquals("(modified-since '2020-01-01T00:00:00Z')", SongFilter.modifiedSince("2020-01-01T00:00:00Z").getExpression());
+    }
+
+    @Test
+    public void testEscaping() {
+        assertEquals("(album == 'Don\\'t Stop \\\\ Go')",
+                SongFilter.equalTo(SongSearcher.ScopeType.ALBUM, "Don't Stop \\ Go").getExpression());
+    }
+
+    @Test
+    public void testAnd() {
+        assertEquals("((album == 'a') AND (artist == 'b') AND (genre == 'c'))",
+                SongFilter.and(
+                        SongFilter.equalTo(SongSearcher.ScopeType.ALBUM, "a"),
+                        SongFilter.equalTo(SongSearcher.ScopeType.ARTIST, "b"),
+                        SongFilter.equalTo(SongSearcher.ScopeType.GENRE, "c")).getExpression());
+    }
+
+    @Test
+    public void testNot() {
+        assertEquals("(!(album == 'a'))", SongFilter.not(SongFilter.equalTo(SongSearcher.ScopeType.ALBUM, "a")).getExpression());
+    }
+
+    @Test
+    public void testOr() {
+        assertEquals("(!((!(genre == 'Jazz')) AND (!(genre == 'Blues'))))",
+                SongFilter.or(
+                        SongFilter.equalTo(SongSearcher.ScopeType.GENRE, "Jazz"),
+                        SongFilter.equalTo(SongSearcher.ScopeType.GENRE, "Blues")).getExpression());
+    }
+
+    @Test
+    public void testSingleFilter() {
+        SongFilter filter = SongFilter.equalTo(SongSearcher.ScopeType.ALBUM, "a");
+
+        assertEquals(filter, SongFilter.and(filter));
+        assertEquals(filter, SongFilter.or(filter));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyAnd() {
+        SongFilter.and();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyOr() {
+        SongFilter.or();
+    }
+
+    @Test
+    public void testToString() {
+        SongFilter filter = SongFilter.equalTo(SongSearcher.ScopeType.ALBUM, "a");
+
+        assertEquals(filter.getExpression(), filter.toString());
+    }
+}
@@ -0,0 +1,61 @@
+package org.bff.javampd.song;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SongQueryTest {
+    private final SongFilter filter = SongFilter.equalTo(SongSearcher.ScopeType.ALBUM, "album");
+
+    @Test
+    public void testDefaults() {
+        SongQuery query = new SongQuery.Builder(filter).build();
+
+        assertEquals(filter, query.getFilter());
+        assertNull(query.getSort());
+        assertFalse(query.isDescending());
+        assertFalse(query.isWindowed());
+    }
+
+    @Test
+    public void testSort() {
+        SongQuery query = new SongQuery.Builder(filter)
+                .sortDescending(SongSearcher.ScopeType.DATE)
+                .sort(SongSearcher.ScopeType.TRACK)
+                .build();
+
+        assertEquals(SongSearcher.ScopeType.TRACK, query.getSort());
+        assertFalse(query.isDescending());
+    }
+
+    @Test
+    public void testSortDescending() {
+        SongQuery query = new SongQuery.Builder(filter)
+                .sortDescending(SongSearcher.ScopeType.DATE)
+                .build();
+
+        assertEquals(SongSearcher.ScopeType.DATE, query.getSort());
+        assertTrue(query.isDescending());
+    }
+
+    @Test
+    public void testWindow() {
+        SongQuery query = new SongQuery.Builder(filter)
+                .window(5, 10)
+                .build();
+
+        assertTrue(query.isWindowed());
+        assertEquals(5, query.getStart());
+        assertEquals(10, query.getEnd());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWindowNegative() {
+        new SongQuery.Builder(filter).window(-1, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWindowReversed() {
+        new SongQuery.Builder(filter).window(10, 5);
+    }
+}
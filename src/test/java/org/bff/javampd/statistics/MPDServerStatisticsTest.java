@@ -10,9 +10,9 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.times;
@@ -36,12 +36,10 @@ public class MPDServerStatisticsTest {
 
     @Before
     public void setUp() throws Exception {
-        when(clock.min()).thenReturn(LocalDateTime.MIN);
         serverStatistics = new MPDServerStatistics(properties, commandExecutor, clock);
         statList = new ArrayList<>();
 
         when(properties.getStats()).thenReturn(new ServerProperties().getStats());
-        when(clock.now()).thenReturn(LocalDateTime.now());
     }
 
     @Test
@@ -130,8 +128,7 @@ public class MPDServerStatisticsTest {
         String songs = "5";
         statList.add("songs: " + songs);
         when(commandExecutor.sendCommand(properties.getStats())).thenReturn(statList);
-        when(clock.now()).thenReturn(LocalDateTime.now());
-        when(clock.now()).thenReturn(LocalDateTime.MIN.plusMinutes(5));
+        when(clock.nanoTime()).thenReturn(TimeUnit.MINUTES.toNanos(5));
         serverStatistics.getSongCount();
         serverStatistics.getSongCount();
         Mockito.verify(commandExecutor, times(1)).sendCommand(properties.getStats());
@@ -143,7 +140,7 @@ public class MPDServerStatisticsTest {
         statList.add("songs: " + songs);
         when(commandExecutor.sendCommand(properties.getStats())).thenReturn(statList);
         serverStatistics.getSongCount();
-        when(clock.now()).thenReturn(LocalDateTime.now().plusMinutes(5));
+        when(clock.nanoTime()).thenReturn(TimeUnit.MINUTES.toNanos(5));
         serverStatistics.getSongCount();
         Mockito.verify(commandExecutor, times(2)).sendCommand(properties.getStats());
     }
@@ -156,7 +153,7 @@ public class MPDServerStatisticsTest {
         statList.add("songs: " + songs);
         when(commandExecutor.sendCommand(properties.getStats())).thenReturn(statList);
         serverStatistics.getSongCount();
-        when(clock.now()).thenReturn(LocalDateTime.now().plusMinutes(interval * 2));
+        when(clock.nanoTime()).thenReturn(TimeUnit.MINUTES.toNanos(interval * 2));
         serverStatistics.getSongCount();
         Mockito.verify(commandExecutor, times(2)).sendCommand(properties.getStats());
     }